@@ -0,0 +1,313 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.storage.filesystem;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A bounded cache of open FileChannels, keyed by file path and access mode (read or write). Evicts the least recently
+ * used channels when the number of open channels exceeds the configured limit.
+ *
+ * Channels are handed out as {@link Lease}s, which must be closed when no longer needed. A channel that is evicted or
+ * invalidated while it is still leased is only closed after all its outstanding leases have been released. If the
+ * cache has a capacity of 0, every lease will open a new channel and close it upon release.
+ */
+@Slf4j
+@ThreadSafe
+class FileChannelCache implements AutoCloseable {
+    //region Members
+
+    private final int maxSize;
+    @GuardedBy("channels")
+    private final LinkedHashMap<Key, CachedChannel> channels;
+    @GuardedBy("channels")
+    private boolean closed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FileChannelCache class.
+     *
+     * @param maxSize The maximum number of FileChannels to keep open.
+     */
+    FileChannelCache(int maxSize) {
+        Preconditions.checkArgument(maxSize >= 0, "maxSize must be a non-negative number.");
+        this.maxSize = maxSize;
+        this.channels = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        List<CachedChannel> toClose;
+        synchronized (this.channels) {
+            this.closed = true;
+            toClose = new ArrayList<>(this.channels.values());
+            this.channels.clear();
+        }
+
+        toClose.forEach(CachedChannel::markEvicted);
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Gets a Lease for a FileChannel that can be used to read from the given file. The FileChannel is opened if not
+     * already cached.
+     *
+     * @param path The path of the file.
+     * @return A Lease that must be closed when the channel is no longer needed.
+     * @throws IOException If the file could not be opened.
+     */
+    Lease acquireRead(Path path) throws IOException {
+        return acquire(new Key(path, false));
+    }
+
+    /**
+     * Gets a Lease for a FileChannel that can be used to write to the given file. The FileChannel is opened if not
+     * already cached.
+     *
+     * @param path The path of the file.
+     * @return A Lease that must be closed when the channel is no longer needed.
+     * @throws IOException If the file could not be opened.
+     */
+    Lease acquireWrite(Path path) throws IOException {
+        return acquire(new Key(path, true));
+    }
+
+    /**
+     * Removes the cached write channel for the given file (if any). Should be invoked when the file is sealed, so that
+     * no further writes may be made through an already open channel.
+     *
+     * @param path The path of the file.
+     */
+    void invalidateWrite(Path path) {
+        invalidate(new Key(path, true));
+    }
+
+    /**
+     * Removes all cached channels for the given file. Should be invoked when the file is deleted (or otherwise
+     * replaced), as open channels would otherwise continue to refer to the old file.
+     *
+     * @param path The path of the file.
+     */
+    void invalidateAll(Path path) {
+        invalidate(new Key(path, false));
+        invalidate(new Key(path, true));
+    }
+
+    /**
+     * Gets the number of cached FileChannels.
+     *
+     * @return The number of cached FileChannels.
+     */
+    int size() {
+        synchronized (this.channels) {
+            return this.channels.size();
+        }
+    }
+
+    private Lease acquire(Key key) throws IOException {
+        CachedChannel result;
+        synchronized (this.channels) {
+            Preconditions.checkState(!this.closed, "FileChannelCache is closed.");
+            result = this.channels.get(key);
+            if (result != null) {
+                result.acquire();
+                return new Lease(result);
+            }
+        }
+
+        // Open the channel outside of the lock; this may take a while on remote file systems.
+        result = new CachedChannel(key.open());
+        result.acquire();
+        List<CachedChannel> evicted = new ArrayList<>();
+        CachedChannel discarded = null;
+        synchronized (this.channels) {
+            CachedChannel existing = this.channels.get(key);
+            if (existing != null) {
+                // Someone else opened this in the meantime; use theirs and discard ours.
+                existing.acquire();
+                discarded = result;
+                result = existing;
+            } else if (this.maxSize > 0 && !this.closed) {
+                this.channels.put(key, result);
+                Iterator<CachedChannel> iterator = this.channels.values().iterator();
+                while (this.channels.size() > this.maxSize && iterator.hasNext()) {
+                    evicted.add(iterator.next());
+                    iterator.remove();
+                }
+            } else {
+                // Not caching anything; close the channel when the lease is released.
+                evicted.add(result);
+            }
+        }
+
+        evicted.forEach(CachedChannel::markEvicted);
+        if (discarded != null) {
+            discarded.markEvicted();
+            discarded.release();
+        }
+
+        return new Lease(result);
+    }
+
+    private void invalidate(Key key) {
+        CachedChannel removed;
+        synchronized (this.channels) {
+            removed = this.channels.remove(key);
+        }
+
+        if (removed != null) {
+            removed.markEvicted();
+        }
+    }
+
+    //endregion
+
+    //region Lease
+
+    /**
+     * A lease on a cached FileChannel. The FileChannel is guaranteed to remain open until the lease is closed.
+     */
+    static class Lease implements AutoCloseable {
+        private final CachedChannel cachedChannel;
+        @Getter
+        private final FileChannel channel;
+        private boolean closed;
+
+        private Lease(CachedChannel cachedChannel) {
+            this.cachedChannel = cachedChannel;
+            this.channel = cachedChannel.channel;
+        }
+
+        @Override
+        public void close() {
+            if (!this.closed) {
+                this.closed = true;
+                this.cachedChannel.release();
+            }
+        }
+    }
+
+    //endregion
+
+    //region CachedChannel
+
+    /**
+     * A FileChannel along with its lease count.
+     */
+    private static class CachedChannel {
+        private final FileChannel channel;
+        @GuardedBy("this")
+        private int leaseCount;
+        @GuardedBy("this")
+        private boolean evicted;
+
+        CachedChannel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        synchronized void acquire() {
+            this.leaseCount++;
+        }
+
+        void release() {
+            boolean close;
+            synchronized (this) {
+                this.leaseCount--;
+                close = this.evicted && this.leaseCount == 0;
+            }
+
+            if (close) {
+                closeChannel();
+            }
+        }
+
+        void markEvicted() {
+            boolean close;
+            synchronized (this) {
+                close = !this.evicted && this.leaseCount == 0;
+                this.evicted = true;
+            }
+
+            if (close) {
+                closeChannel();
+            }
+        }
+
+        private void closeChannel() {
+            try {
+                this.channel.close();
+            } catch (IOException ex) {
+                log.warn("Unable to close FileChannel.", ex);
+            }
+        }
+    }
+
+    //endregion
+
+    //region Key
+
+    /**
+     * Cache key: file path and access mode.
+     */
+    private static class Key {
+        private final Path path;
+        private final boolean write;
+
+        Key(Path path, boolean write) {
+            this.path = Preconditions.checkNotNull(path, "path");
+            this.write = write;
+        }
+
+        FileChannel open() throws IOException {
+            OpenOption mode = this.write ? StandardOpenOption.WRITE : StandardOpenOption.READ;
+            return FileChannel.open(this.path, mode);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.path.hashCode() * 31 + (this.write ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Key) {
+                Key other = (Key) obj;
+                return this.write == other.write && this.path.equals(other.path);
+            }
+
+            return false;
+        }
+    }
+
+    //endregion
+}
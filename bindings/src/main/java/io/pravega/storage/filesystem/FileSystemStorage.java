@@ -39,7 +39,6 @@ import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.PosixFileAttributes;
 import java.nio.file.attribute.PosixFilePermission;
@@ -72,6 +71,15 @@ import static java.nio.file.attribute.PosixFilePermission.OWNER_WRITE;
  * In the absence of locking this is the expected behavior in case of ownership change: both the hosts will keep
  * writing the same data at the same offset till the time the earlier owner gets a notification that it is not the
  * current owner. Once the earlier owner received this notification, it stops writing to the segment.
+ *
+ * File handles:
+ *
+ * Open FileChannels are cached (up to {@link FileSystemStorageConfig#getMaxOpenFiles()}) and reused across reads and
+ * writes, which avoids an open/close pair for each call. Cached channels for a file are invalidated whenever this
+ * instance seals, concatenates, deletes or (re)creates that file.
+ *
+ * If enabled ({@link FileSystemStorageConfig#getMmapReadCacheSize()}), reads from sealed files are served from
+ * memory-mapped regions of those files (see {@link MappedFileCache}).
  */
 @Slf4j
 public class FileSystemStorage implements SyncStorage {
@@ -90,6 +98,8 @@ public class FileSystemStorage implements SyncStorage {
 
     private final FileSystemStorageConfig config;
     private final AtomicBoolean closed;
+    private final FileChannelCache channels;
+    private final MappedFileCache mappedFiles;
 
     //endregion
 
@@ -103,7 +113,10 @@ public class FileSystemStorage implements SyncStorage {
     public FileSystemStorage(FileSystemStorageConfig config) {
         this.config = Preconditions.checkNotNull(config, "config");
         this.closed = new AtomicBoolean(false);
-
+        this.channels = new FileChannelCache(config.getMaxOpenFiles());
+        this.mappedFiles = config.getMmapReadCacheSize() > 0
+                ? new MappedFileCache(config.getMmapReadCacheSize(), MappedFileCache.DEFAULT_REGION_SIZE)
+                : null;
     }
 
     //endregion
@@ -192,7 +205,9 @@ public class FileSystemStorage implements SyncStorage {
 
     @Override
     public void close() {
-        this.closed.set(true);
+        if (!this.closed.getAndSet(true)) {
+            this.channels.close();
+        }
     }
 
     //endregion
@@ -230,23 +245,40 @@ public class FileSystemStorage implements SyncStorage {
         Timer timer = new Timer();
 
         Path path = Paths.get(config.getRoot(), handle.getSegmentName());
+        if (this.mappedFiles != null) {
+            int bytesRead = this.mappedFiles.read(path, offset, buffer, bufferOffset, length);
+            if (bytesRead >= 0) {
+                FileSystemMetrics.READ_LATENCY.reportSuccessEvent(timer.getElapsed());
+                FileSystemMetrics.READ_BYTES.add(bytesRead);
+                LoggerHelpers.traceLeave(log, "read", traceId, bytesRead);
+                return bytesRead;
+            }
 
-        long fileSize = Files.size(path);
-        if (fileSize < offset) {
-            throw new IllegalArgumentException(String.format("Reading at offset (%d) which is beyond the " +
-                    "current size of segment (%d).", offset, fileSize));
+            // Not a sealed file; read it using its FileChannel.
         }
 
-        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
-            int totalBytesRead = 0;
+        try (FileChannelCache.Lease lease = this.channels.acquireRead(path)) {
+            FileChannel channel = lease.getChannel();
+            long fileSize = channel.size();
+            if (fileSize < offset) {
+                throw new IllegalArgumentException(String.format("Reading at offset (%d) which is beyond the " +
+                        "current size of segment (%d).", offset, fileSize));
+            }
 
+            // Positional reads do not change the channel's position, so the same channel may be used concurrently.
+            int totalBytesRead = 0;
+            ByteBuffer readBuffer = ByteBuffer.wrap(buffer, bufferOffset, length);
             do {
-                ByteBuffer readBuffer = ByteBuffer.wrap(buffer, bufferOffset, length);
                 int bytesRead = channel.read(readBuffer, offset);
-                bufferOffset += bytesRead;
+                if (bytesRead < 0) {
+                    throw new IllegalArgumentException(String.format("Reading at offset (%d) which is beyond the " +
+                            "current size of segment (%d).", offset, channel.size()));
+                }
+
+                offset += bytesRead;
                 totalBytesRead += bytesRead;
-                length -= bytesRead;
-            } while (length != 0);
+            } while (readBuffer.hasRemaining());
+
             FileSystemMetrics.READ_LATENCY.reportSuccessEvent(timer.getElapsed());
             FileSystemMetrics.READ_BYTES.add(totalBytesRead);
             LoggerHelpers.traceLeave(log, "read", traceId, totalBytesRead);
@@ -282,6 +314,9 @@ public class FileSystemStorage implements SyncStorage {
         assert parent != null;
         Files.createDirectories(parent);
         Files.createFile(path, fileAttributes);
+
+        // Make sure we do not reuse any handles to a previous file with the same name.
+        invalidate(path);
         LoggerHelpers.traceLeave(log, "create", traceId);
         FileSystemMetrics.CREATE_COUNT.inc();
         return FileSystemSegmentHandle.writeHandle(streamSegmentName);
@@ -303,23 +338,25 @@ public class FileSystemStorage implements SyncStorage {
             throw new StreamSegmentSealedException(handle.getSegmentName());
         }
 
-        long fileSize = path.toFile().length();
-        if (fileSize < offset) {
-            throw new BadOffsetException(handle.getSegmentName(), fileSize, offset);
-        } else {
+        try (FileChannelCache.Lease lease = this.channels.acquireWrite(path)) {
+            FileChannel channel = lease.getChannel();
+            long fileSize = channel.size();
+            if (fileSize < offset) {
+                throw new BadOffsetException(handle.getSegmentName(), fileSize, offset);
+            }
+
             long totalBytesWritten = 0;
-            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
-                // Wrap the input data into a ReadableByteChannel, but do not close it. Doing so will result in closing
-                // the underlying InputStream, which is not desirable if it is to be reused.
-                ReadableByteChannel sourceChannel = Channels.newChannel(data);
-                while (length != 0) {
-                    long bytesWritten = channel.transferFrom(sourceChannel, offset, length);
-                    assert bytesWritten > 0 : "Unable to make any progress transferring data.";
-                    offset += bytesWritten;
-                    totalBytesWritten += bytesWritten;
-                    length -= bytesWritten;
-                }
+            // Wrap the input data into a ReadableByteChannel, but do not close it. Doing so will result in closing
+            // the underlying InputStream, which is not desirable if it is to be reused.
+            ReadableByteChannel sourceChannel = Channels.newChannel(data);
+            while (length != 0) {
+                long bytesWritten = channel.transferFrom(sourceChannel, offset, length);
+                assert bytesWritten > 0 : "Unable to make any progress transferring data.";
+                offset += bytesWritten;
+                totalBytesWritten += bytesWritten;
+                length -= bytesWritten;
             }
+
             FileSystemMetrics.WRITE_LATENCY.reportSuccessEvent(timer.getElapsed());
             FileSystemMetrics.WRITE_BYTES.add(totalBytesWritten);
             LoggerHelpers.traceLeave(log, "write", traceId);
@@ -338,14 +375,23 @@ public class FileSystemStorage implements SyncStorage {
             throw new IllegalArgumentException(handle.getSegmentName());
         }
 
-        Files.setPosixFilePermissions(Paths.get(config.getRoot(), handle.getSegmentName()), READ_ONLY_PERMISSION);
+        Path path = Paths.get(config.getRoot(), handle.getSegmentName());
+        Files.setPosixFilePermissions(path, READ_ONLY_PERMISSION);
+        this.channels.invalidateWrite(path);
+        if (this.mappedFiles != null) {
+            this.mappedFiles.invalidate(path);
+        }
         LoggerHelpers.traceLeave(log, "seal", traceId);
         return null;
     }
 
     private Void doUnseal(SegmentHandle handle) throws IOException {
         long traceId = LoggerHelpers.traceEnter(log, "unseal", handle.getSegmentName());
-        Files.setPosixFilePermissions(Paths.get(config.getRoot(), handle.getSegmentName()), READ_WRITE_PERMISSION);
+        Path path = Paths.get(config.getRoot(), handle.getSegmentName());
+        Files.setPosixFilePermissions(path, READ_WRITE_PERMISSION);
+        if (this.mappedFiles != null) {
+            this.mappedFiles.invalidate(path);
+        }
         LoggerHelpers.traceLeave(log, "unseal", traceId);
         return null;
     }
@@ -367,8 +413,9 @@ public class FileSystemStorage implements SyncStorage {
         Path targetPath = Paths.get(config.getRoot(), targetHandle.getSegmentName());
 
         long length = Files.size(sourcePath);
-        try (FileChannel targetChannel = FileChannel.open(targetPath, StandardOpenOption.WRITE);
+        try (FileChannelCache.Lease targetLease = this.channels.acquireWrite(targetPath);
              RandomAccessFile sourceFile = new RandomAccessFile(String.valueOf(sourcePath), "r")) {
+            FileChannel targetChannel = targetLease.getChannel();
             if (isWritableFile(sourcePath)) {
                 throw new IllegalStateException(String.format("Source segment (%s) is not sealed.", sourceSegment));
             }
@@ -378,16 +425,26 @@ public class FileSystemStorage implements SyncStorage {
                 length -= bytesTransferred;
             }
             Files.delete(sourcePath);
+            invalidate(sourcePath);
             LoggerHelpers.traceLeave(log, "concat", traceId);
             return null;
         }
     }
 
     private Void doDelete(SegmentHandle handle) throws IOException {
-        Files.delete(Paths.get(config.getRoot(), handle.getSegmentName()));
+        Path path = Paths.get(config.getRoot(), handle.getSegmentName());
+        Files.delete(path);
+        invalidate(path);
         return null;
     }
 
+    private void invalidate(Path path) {
+        this.channels.invalidateAll(path);
+        if (this.mappedFiles != null) {
+            this.mappedFiles.invalidate(path);
+        }
+    }
+
     /**
      * Executes the given Callable and returns its result, while translating any Exceptions bubbling out of it into
      * StreamSegmentExceptions.
@@ -24,6 +24,8 @@ public class FileSystemStorageConfig {
     //region Config Names
 
     public static final Property<String> ROOT = Property.named("root", "/fs/");
+    public static final Property<Integer> MAX_OPEN_FILES = Property.named("maxOpenFiles", 128);
+    public static final Property<Long> MMAP_READ_CACHE_SIZE = Property.named("mmapReadCacheSizeBytes", 0L);
     public static final String COMPONENT_CODE = "filesystem";
 
     //endregion
@@ -37,6 +39,20 @@ public class FileSystemStorageConfig {
     @Getter
     private final String root;
 
+    /**
+     * The maximum number of file handles to keep open (and reuse) for reading from and writing to segment files. Setting
+     * this to 0 disables caching, in which case each read or write opens (and closes) its own file handle.
+     */
+    @Getter
+    private final int maxOpenFiles;
+
+    /**
+     * The maximum number of bytes of sealed segment files to keep memory-mapped for reading. Setting this to 0 disables
+     * memory-mapped reads, in which case all reads are served using regular file reads.
+     */
+    @Getter
+    private final long mmapReadCacheSize;
+
     //endregion
 
     //region Constructor
@@ -48,6 +64,15 @@ public class FileSystemStorageConfig {
      */
     private FileSystemStorageConfig(TypedProperties properties) throws ConfigurationException {
         this.root = properties.get(ROOT);
+        this.maxOpenFiles = properties.getInt(MAX_OPEN_FILES);
+        if (this.maxOpenFiles < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", MAX_OPEN_FILES));
+        }
+
+        this.mmapReadCacheSize = properties.getLong(MMAP_READ_CACHE_SIZE);
+        if (this.mmapReadCacheSize < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", MMAP_READ_CACHE_SIZE));
+        }
     }
 
     /**
@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.storage.filesystem;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A bounded cache of memory-mapped regions of sealed (read-only) files. Sealed files are immutable, so their contents
+ * can be served directly from mapped memory, without issuing a read system call (or going through an intermediate
+ * direct buffer) for every read.
+ *
+ * Files are mapped lazily, in regions of fixed size, and only once they are known to be sealed. Files which are found
+ * not to be sealed are remembered as such (until invalidated or evicted) so that subsequent reads need not check again.
+ * When the total size of the mapped regions exceeds the configured limit, the least recently used files are evicted.
+ * Evicted regions are unmapped when they are garbage collected.
+ */
+@ThreadSafe
+class MappedFileCache {
+    //region Members
+
+    /**
+     * Default size of a mapped region.
+     */
+    static final int DEFAULT_REGION_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Maximum number of files (whether mapped or not) to keep track of.
+     */
+    private static final int MAX_FILE_COUNT = 4096;
+    private final long maxSizeBytes;
+    private final int regionSize;
+    @GuardedBy("files")
+    private final LinkedHashMap<Path, MappedFile> files;
+    @GuardedBy("files")
+    private long mappedBytes;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the MappedFileCache class.
+     *
+     * @param maxSizeBytes The maximum number of bytes to keep mapped.
+     * @param regionSize   The size of a mapped region.
+     */
+    MappedFileCache(long maxSizeBytes, int regionSize) {
+        Preconditions.checkArgument(maxSizeBytes > 0, "maxSizeBytes must be a positive number.");
+        Preconditions.checkArgument(regionSize > 0, "regionSize must be a positive number.");
+        this.maxSizeBytes = maxSizeBytes;
+        this.regionSize = regionSize;
+        this.files = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Attempts to read from the given file using memory-mapped regions.
+     *
+     * @param path         The path of the file to read from.
+     * @param offset       The offset within the file to read at.
+     * @param buffer       The buffer to read into.
+     * @param bufferOffset The offset within the buffer to start reading into.
+     * @param length       The number of bytes to read.
+     * @return The number of bytes read, or -1 if the file is not sealed (in which case nothing was read and the caller
+     * should read it using other means).
+     * @throws IOException              If an IOException occurred.
+     * @throws IllegalArgumentException If the file is sealed and the read would go beyond its end.
+     */
+    int read(Path path, long offset, byte[] buffer, int bufferOffset, int length) throws IOException {
+        MappedFile file = getMappedFile(path);
+        if (!file.sealed) {
+            return -1;
+        }
+
+        if (offset < 0 || offset + length > file.length) {
+            throw new IllegalArgumentException(String.format("Reading at offset (%d) with length (%d) which is beyond the " +
+                    "current size of segment (%d).", offset, length, file.length));
+        }
+
+        int bytesRead = 0;
+        while (bytesRead < length) {
+            long regionIndex = (offset + bytesRead) / this.regionSize;
+            ByteBuffer region = getRegion(path, file, regionIndex).duplicate();
+            region.position((int) (offset + bytesRead - regionIndex * this.regionSize));
+            int count = Math.min(length - bytesRead, region.remaining());
+            region.get(buffer, bufferOffset + bytesRead, count);
+            bytesRead += count;
+        }
+
+        return bytesRead;
+    }
+
+    /**
+     * Removes any information about the given file. Should be invoked whenever the file is sealed, unsealed, deleted or
+     * (re)created.
+     *
+     * @param path The path of the file.
+     */
+    void invalidate(Path path) {
+        synchronized (this.files) {
+            MappedFile file = this.files.remove(path);
+            if (file != null) {
+                this.mappedBytes -= file.getMappedBytes();
+            }
+        }
+    }
+
+    /**
+     * Gets the total number of bytes currently mapped.
+     *
+     * @return The number of mapped bytes.
+     */
+    long getMappedBytes() {
+        synchronized (this.files) {
+            return this.mappedBytes;
+        }
+    }
+
+    private MappedFile getMappedFile(Path path) throws IOException {
+        MappedFile file;
+        synchronized (this.files) {
+            file = this.files.get(path);
+        }
+
+        if (file == null) {
+            PosixFileAttributes attrs = Files.readAttributes(path, PosixFileAttributes.class);
+            MappedFile newFile = new MappedFile(!attrs.permissions().contains(PosixFilePermission.OWNER_WRITE), attrs.size());
+            synchronized (this.files) {
+                file = this.files.putIfAbsent(path, newFile);
+                if (file == null) {
+                    file = newFile;
+                    evictIfNeeded();
+                }
+            }
+        }
+
+        return file;
+    }
+
+    private ByteBuffer getRegion(Path path, MappedFile file, long regionIndex) throws IOException {
+        ByteBuffer region;
+        synchronized (this.files) {
+            region = file.regions.get(regionIndex);
+        }
+
+        if (region == null) {
+            long regionOffset = regionIndex * this.regionSize;
+            MappedByteBuffer newRegion;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                // The mapping remains valid after the channel is closed.
+                newRegion = channel.map(FileChannel.MapMode.READ_ONLY, regionOffset, Math.min(this.regionSize, file.length - regionOffset));
+            }
+
+            synchronized (this.files) {
+                region = file.regions.putIfAbsent(regionIndex, newRegion);
+                if (region == null) {
+                    region = newRegion;
+                    if (this.files.get(path) == file) {
+                        // Only account for it if this file is still tracked (it may have been invalidated in the meantime).
+                        this.mappedBytes += newRegion.capacity();
+                        evictIfNeeded();
+                    }
+                }
+            }
+        }
+
+        return region;
+    }
+
+    @GuardedBy("files")
+    private void evictIfNeeded() {
+        Iterator<MappedFile> iterator = this.files.values().iterator();
+        while ((this.mappedBytes > this.maxSizeBytes || this.files.size() > MAX_FILE_COUNT) && iterator.hasNext()) {
+            this.mappedBytes -= iterator.next().getMappedBytes();
+            iterator.remove();
+        }
+    }
+
+    //endregion
+
+    //region MappedFile
+
+    /**
+     * Information about a file and its mapped regions.
+     */
+    private static class MappedFile {
+        private final boolean sealed;
+        private final long length;
+        @GuardedBy("MappedFileCache.this.files")
+        private final Map<Long, ByteBuffer> regions;
+
+        MappedFile(boolean sealed, long length) {
+            this.sealed = sealed;
+            this.length = length;
+            this.regions = new HashMap<>();
+        }
+
+        @GuardedBy("MappedFileCache.this.files")
+        long getMappedBytes() {
+            return this.regions.values().stream().mapToLong(ByteBuffer::capacity).sum();
+        }
+    }
+
+    //endregion
+}
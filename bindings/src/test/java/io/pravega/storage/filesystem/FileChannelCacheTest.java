@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.storage.filesystem;
+
+import io.pravega.common.io.FileHelpers;
+import io.pravega.test.common.AssertExtensions;
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Cleanup;
+import lombok.val;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the FileChannelCache class.
+ */
+public class FileChannelCacheTest {
+    private static final int MAX_SIZE = 5;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10);
+    private File baseDir = null;
+
+    @Before
+    public void setUp() throws Exception {
+        this.baseDir = Files.createTempDirectory("test_channel_cache").toFile().getAbsoluteFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileHelpers.deleteFileOrDirectory(this.baseDir);
+        this.baseDir = null;
+    }
+
+    /**
+     * Tests that channels are reused and that the least recently used ones are evicted (and closed) once the cache
+     * exceeds its capacity.
+     */
+    @Test
+    public void testReuseAndEviction() throws Exception {
+        @Cleanup
+        val cache = new FileChannelCache(MAX_SIZE);
+        List<Path> paths = createFiles(MAX_SIZE);
+        List<FileChannel> channels = new ArrayList<>();
+        for (int i = 0; i < MAX_SIZE; i++) {
+            try (FileChannelCache.Lease lease = cache.acquireRead(paths.get(i))) {
+                channels.add(lease.getChannel());
+            }
+        }
+
+        Assert.assertEquals(MAX_SIZE, cache.size());
+        for (int i = 0; i < MAX_SIZE; i++) {
+            try (FileChannelCache.Lease lease = cache.acquireRead(paths.get(i))) {
+                Assert.assertSame("Expected channel to be reused.", channels.get(i), lease.getChannel());
+                Assert.assertTrue("Expected cached channel to be open.", lease.getChannel().isOpen());
+            }
+        }
+
+        // Read and write channels are cached separately.
+        try (FileChannelCache.Lease lease = cache.acquireWrite(paths.get(0))) {
+            Assert.assertNotSame(channels.get(0), lease.getChannel());
+        }
+
+        // The least recently used channel (index 0) should have been evicted.
+        Assert.assertEquals(MAX_SIZE, cache.size());
+        Assert.assertFalse("Expected evicted channel to be closed.", channels.get(0).isOpen());
+        for (int i = 1; i < MAX_SIZE; i++) {
+            Assert.assertTrue("Not expecting channel to be evicted.", channels.get(i).isOpen());
+        }
+
+        cache.close();
+        Assert.assertEquals(0, cache.size());
+        channels.forEach(c -> Assert.assertFalse("Expected all channels to be closed.", c.isOpen()));
+        AssertExtensions.assertThrows(
+                "acquireRead() worked after close().",
+                () -> cache.acquireRead(paths.get(0)),
+                ex -> ex instanceof IllegalStateException);
+    }
+
+    /**
+     * Tests that channels which are evicted or invalidated while leased are only closed when the lease is released.
+     */
+    @Test
+    public void testInvalidate() throws Exception {
+        @Cleanup
+        val cache = new FileChannelCache(MAX_SIZE);
+        Path path = createFiles(1).get(0);
+        val readLease = cache.acquireRead(path);
+        val writeLease = cache.acquireWrite(path);
+        Assert.assertEquals(2, cache.size());
+
+        cache.invalidateWrite(path);
+        Assert.assertEquals(1, cache.size());
+        Assert.assertTrue("Not expecting leased channel to be closed.", writeLease.getChannel().isOpen());
+        writeLease.close();
+        Assert.assertFalse("Expected invalidated channel to be closed after its lease was released.", writeLease.getChannel().isOpen());
+
+        cache.invalidateAll(path);
+        Assert.assertEquals(0, cache.size());
+        Assert.assertTrue("Not expecting leased channel to be closed.", readLease.getChannel().isOpen());
+        readLease.close();
+        readLease.close(); // Closing a lease multiple times should have no effect.
+        Assert.assertFalse("Expected invalidated channel to be closed after its lease was released.", readLease.getChannel().isOpen());
+
+        // A new lease should yield a new channel.
+        try (FileChannelCache.Lease lease = cache.acquireRead(path)) {
+            Assert.assertNotSame(readLease.getChannel(), lease.getChannel());
+            Assert.assertTrue(lease.getChannel().isOpen());
+        }
+    }
+
+    /**
+     * Tests a FileChannelCache with no capacity, which should open a new channel for each lease.
+     */
+    @Test
+    public void testNoCaching() throws Exception {
+        @Cleanup
+        val cache = new FileChannelCache(0);
+        Path path = createFiles(1).get(0);
+        FileChannel channel;
+        try (FileChannelCache.Lease lease = cache.acquireRead(path)) {
+            channel = lease.getChannel();
+            Assert.assertTrue(channel.isOpen());
+        }
+
+        Assert.assertEquals(0, cache.size());
+        Assert.assertFalse("Expected channel to be closed when its lease was released.", channel.isOpen());
+    }
+
+    private List<Path> createFiles(int count) throws Exception {
+        List<Path> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Path path = new File(this.baseDir, "file" + i).toPath();
+            Files.write(path, new byte[]{(byte) i});
+            result.add(path);
+        }
+
+        return result;
+    }
+}
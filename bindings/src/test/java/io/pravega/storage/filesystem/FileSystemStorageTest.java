@@ -145,8 +145,8 @@ public class FileSystemStorageTest extends IdempotentStorageTestBase {
     public static class RollingStorageTests extends RollingStorageTestBase {
         @Rule
         public Timeout globalTimeout = Timeout.seconds(TIMEOUT.getSeconds());
-        private File baseDir = null;
-        private FileSystemStorageConfig adapterConfig;
+        protected File baseDir = null;
+        protected FileSystemStorageConfig adapterConfig;
 
         @Before
         public void setUp() throws Exception {
@@ -168,5 +168,21 @@ public class FileSystemStorageTest extends IdempotentStorageTestBase {
         }
     }
 
+    /**
+     * Tests the FileSystemStorage adapter with a RollingStorage wrapper and memory-mapped reads enabled.
+     */
+    public static class MemoryMappedRollingStorageTests extends RollingStorageTests {
+        @Before
+        @Override
+        public void setUp() throws Exception {
+            super.setUp();
+            this.adapterConfig = FileSystemStorageConfig
+                    .builder()
+                    .with(FileSystemStorageConfig.ROOT, this.baseDir.getAbsolutePath())
+                    .with(FileSystemStorageConfig.MMAP_READ_CACHE_SIZE, 1024 * 1024L)
+                    .build();
+        }
+    }
+
     //endregion
 }
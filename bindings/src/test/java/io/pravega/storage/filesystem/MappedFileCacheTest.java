@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.storage.filesystem;
+
+import com.google.common.collect.ImmutableSet;
+import io.pravega.common.io.FileHelpers;
+import io.pravega.test.common.AssertExtensions;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Random;
+import lombok.val;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the MappedFileCache class.
+ */
+public class MappedFileCacheTest {
+    private static final int REGION_SIZE = 1000;
+    private static final int FILE_LENGTH = 10 * REGION_SIZE + REGION_SIZE / 2;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10);
+    private final Random random = new Random(0);
+    private File baseDir = null;
+
+    @Before
+    public void setUp() throws Exception {
+        this.baseDir = Files.createTempDirectory("test_mapped_files").toFile().getAbsoluteFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileHelpers.deleteFileOrDirectory(this.baseDir);
+        this.baseDir = null;
+    }
+
+    /**
+     * Tests reading from sealed files, including reads that span multiple regions.
+     */
+    @Test
+    public void testReadSealed() throws Exception {
+        val cache = new MappedFileCache(Long.MAX_VALUE, REGION_SIZE);
+        byte[] data = new byte[FILE_LENGTH];
+        Path path = createFile(data, true);
+
+        for (int offset = 0; offset < FILE_LENGTH; offset += REGION_SIZE / 3) {
+            int length = Math.min(FILE_LENGTH - offset, REGION_SIZE * 2);
+            byte[] buffer = new byte[length + 1];
+            int count = cache.read(path, offset, buffer, 1, length);
+            Assert.assertEquals("Unexpected number of bytes read.", length, count);
+            for (int i = 0; i < length; i++) {
+                Assert.assertEquals("Unexpected data read at offset " + (offset + i), data[offset + i], buffer[i + 1]);
+            }
+        }
+
+        Assert.assertEquals("Expected the whole file to be mapped.", FILE_LENGTH, cache.getMappedBytes());
+        AssertExtensions.assertThrows(
+                "read() allowed reading beyond the end of the file.",
+                () -> cache.read(path, FILE_LENGTH - 1, new byte[2], 0, 2),
+                ex -> ex instanceof IllegalArgumentException);
+
+        cache.invalidate(path);
+        Assert.assertEquals("Expected invalidate() to unmap the file.", 0, cache.getMappedBytes());
+    }
+
+    /**
+     * Tests that files which are not sealed are not read from.
+     */
+    @Test
+    public void testReadNotSealed() throws Exception {
+        val cache = new MappedFileCache(Long.MAX_VALUE, REGION_SIZE);
+        Path path = createFile(new byte[FILE_LENGTH], false);
+        Assert.assertEquals("Not expecting a read from a file that is not sealed.", -1, cache.read(path, 0, new byte[1], 0, 1));
+        Assert.assertEquals(0, cache.getMappedBytes());
+
+        // Seal the file; the cache should only pick it up once invalidated.
+        Files.setPosixFilePermissions(path, ImmutableSet.of(PosixFilePermission.OWNER_READ));
+        Assert.assertEquals("Not expecting a read from a file that was not sealed when last checked.",
+                -1, cache.read(path, 0, new byte[1], 0, 1));
+        cache.invalidate(path);
+        Assert.assertEquals(1, cache.read(path, 0, new byte[1], 0, 1));
+    }
+
+    /**
+     * Tests that the least recently used files are evicted when the mapped size exceeds the limit.
+     */
+    @Test
+    public void testEviction() throws Exception {
+        val cache = new MappedFileCache(FILE_LENGTH, REGION_SIZE);
+        Path path1 = createFile(new byte[FILE_LENGTH], true);
+        Path path2 = createFile(new byte[FILE_LENGTH], true);
+        cache.read(path1, 0, new byte[FILE_LENGTH], 0, FILE_LENGTH);
+        Assert.assertEquals(FILE_LENGTH, cache.getMappedBytes());
+
+        cache.read(path2, 0, new byte[1], 0, 1);
+        Assert.assertEquals("Expected the first file to be evicted.", REGION_SIZE, cache.getMappedBytes());
+    }
+
+    private Path createFile(byte[] data, boolean sealed) throws Exception {
+        this.random.nextBytes(data);
+        Path path = Files.createTempFile(this.baseDir.toPath(), "file", null);
+        Files.write(path, data);
+        if (sealed) {
+            Files.setPosixFilePermissions(path, ImmutableSet.of(PosixFilePermission.OWNER_READ));
+        }
+
+        return path;
+    }
+}
@@ -11,6 +11,7 @@ package io.pravega.client;
 
 import com.google.common.annotations.Beta;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import io.pravega.client.stream.impl.Credentials;
 import java.io.Serializable;
 import java.net.URI;
@@ -59,6 +60,12 @@ public class ClientConfig implements Serializable {
      */
     private boolean validateHostName;
 
+    /**
+     * The maximum number of connections to each segment store that may be shared by segment readers. If this is 0 (default),
+     * every segment reader uses its own connection.
+     */
+    private int maxConnectionsPerSegmentStore;
+
     public boolean isEnableTls() {
         String scheme = this.controllerURI.getScheme();
         if (scheme == null) {
@@ -97,7 +104,8 @@ public class ClientConfig implements Serializable {
             if (credentials == null) {
                 log.warn("The credentials are not specified or could not be extracted.");
             }
-            return new ClientConfig(controllerURI, credentials, trustStore, validateHostName);
+            Preconditions.checkArgument(maxConnectionsPerSegmentStore >= 0, "maxConnectionsPerSegmentStore must be a non-negative number.");
+            return new ClientConfig(controllerURI, credentials, trustStore, validateHostName, maxConnectionsPerSegmentStore);
         }
 
         /**
@@ -12,7 +12,6 @@ package io.pravega.client.admin.impl;
 import io.pravega.client.netty.impl.ConnectionFactory;
 import io.pravega.client.segment.impl.Segment;
 import io.pravega.client.segment.impl.SegmentInfo;
-import io.pravega.client.segment.impl.SegmentMetadataClient;
 import io.pravega.client.segment.impl.SegmentMetadataClientFactory;
 import io.pravega.client.segment.impl.SegmentMetadataClientFactoryImpl;
 import io.pravega.client.stream.Stream;
@@ -20,12 +19,10 @@ import io.pravega.client.stream.StreamCut;
 import io.pravega.client.stream.impl.Controller;
 import io.pravega.client.stream.impl.StreamCutImpl;
 import io.pravega.client.stream.impl.StreamImpl;
-import lombok.Cleanup;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -35,12 +32,10 @@ import java.util.stream.Collectors;
 public class StreamCutHelper {
     private final Controller controller;
     private final SegmentMetadataClientFactory segmentMetadataClientFactory;
-    private final AtomicReference<String> latestDelegationToken;
 
     public StreamCutHelper(Controller controller, ConnectionFactory connectionFactory) {
         this.controller = controller;
         this.segmentMetadataClientFactory = new SegmentMetadataClientFactoryImpl(controller, connectionFactory);
-        this.latestDelegationToken = new AtomicReference<>();
     }
 
     /**
@@ -61,18 +56,13 @@ public class StreamCutHelper {
      */
     public CompletableFuture<StreamCut> fetchTailStreamCut(final Stream stream) {
         return controller.getCurrentSegments(stream.getScope(), stream.getStreamName())
-                         .thenApply(s -> {
-                             latestDelegationToken.set(s.getDelegationToken());
+                         .thenCompose(s -> segmentMetadataClientFactory.createBulkSegmentMetadataClient(s.getDelegationToken())
+                                                                       .getSegmentInfo(s.getSegments()))
+                         .thenApply(infos -> {
                              Map<Segment, Long> pos =
-                                     s.getSegments().stream().map(this::segmentToInfo)
-                                      .collect(Collectors.toMap(SegmentInfo::getSegment, SegmentInfo::getWriteOffset));
+                                     infos.values().stream()
+                                          .collect(Collectors.toMap(SegmentInfo::getSegment, SegmentInfo::getWriteOffset));
                              return new StreamCutImpl(stream, pos);
                          });
     }
-
-    private SegmentInfo segmentToInfo(Segment s) {
-        @Cleanup
-        SegmentMetadataClient client = segmentMetadataClientFactory.createSegmentMetadataClient(s, latestDelegationToken.get());
-        return client.getSegmentInfo();
-    }
 }
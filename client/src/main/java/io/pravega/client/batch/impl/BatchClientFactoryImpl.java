@@ -23,7 +23,6 @@ import io.pravega.client.segment.impl.Segment;
 import io.pravega.client.segment.impl.SegmentInfo;
 import io.pravega.client.segment.impl.SegmentInputStreamFactory;
 import io.pravega.client.segment.impl.SegmentInputStreamFactoryImpl;
-import io.pravega.client.segment.impl.SegmentMetadataClient;
 import io.pravega.client.segment.impl.SegmentMetadataClientFactory;
 import io.pravega.client.segment.impl.SegmentMetadataClientFactoryImpl;
 import io.pravega.client.stream.Serializer;
@@ -31,17 +30,17 @@ import io.pravega.client.stream.Stream;
 import io.pravega.client.stream.StreamCut;
 import io.pravega.client.stream.impl.Controller;
 import io.pravega.client.stream.impl.StreamSegmentSuccessors;
-import lombok.Cleanup;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
-import javax.annotation.concurrent.GuardedBy;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import static io.pravega.common.concurrent.Futures.getAndHandleExceptions;
 
@@ -56,16 +55,12 @@ public class BatchClientFactoryImpl implements BatchClientFactory, io.pravega.cl
     private final SegmentMetadataClientFactory segmentMetadataClientFactory;
     private final StreamCutHelper streamCutHelper;
 
-    @GuardedBy("this")
-    private final AtomicReference<String> latestDelegationToken;
-
     public BatchClientFactoryImpl(Controller controller, ConnectionFactory connectionFactory) {
         this.controller = controller;
         this.connectionFactory = connectionFactory;
         this.inputStreamFactory = new SegmentInputStreamFactoryImpl(controller, connectionFactory);
         this.segmentMetadataClientFactory = new SegmentMetadataClientFactoryImpl(controller, connectionFactory);
         this.streamCutHelper = new StreamCutHelper(controller, connectionFactory);
-        this.latestDelegationToken = new AtomicReference<>();
     }
 
     /**
@@ -125,44 +120,44 @@ public class BatchClientFactoryImpl implements BatchClientFactory, io.pravega.cl
         StreamSegmentSuccessors segments = getAndHandleExceptions(controller.getSegments(startStreamCut, endStreamCut),
                 RuntimeException::new);
         segmentSet.addAll(segments.getSegments());
-        synchronized (this) {
-            latestDelegationToken.set(segments.getDelegationToken());
-        }
         log.debug("List of Segments between the start and end stream cuts : {}", segmentSet);
 
+        // Fetch the metadata for all the segments that are not fully described by the stream cuts at once.
+        List<Segment> segmentsToFetch = segmentSet.stream()
+                                                  .filter(s -> !isInStreamCuts(s, startStreamCut, endStreamCut))
+                                                  .collect(Collectors.toList());
+        Map<Segment, SegmentInfo> segmentInfos = getAndHandleExceptions(
+                segmentMetadataClientFactory.createBulkSegmentMetadataClient(segments.getDelegationToken())
+                                            .getSegmentInfo(segmentsToFetch),
+                RuntimeException::new);
+
         Iterator<SegmentRange> iterator = Iterators.transform(segmentSet.iterator(),
-                s -> getSegmentRange(s, startStreamCut, endStreamCut));
+                s -> getSegmentRange(s, startStreamCut, endStreamCut, segmentInfos));
         return StreamSegmentsInfoImpl.builder().segmentRangeIterator(iterator)
                                      .startStreamCut(startStreamCut)
                                      .endStreamCut(endStreamCut).build();
     }
 
-    private SegmentInfo segmentToInfo(Segment s) {
-        String delegationToken;
-        synchronized (this) {
-            delegationToken = latestDelegationToken.get();
-        }
-        @Cleanup
-        SegmentMetadataClient client = segmentMetadataClientFactory.createSegmentMetadataClient(s, delegationToken);
-        return client.getSegmentInfo();
+    private boolean isInStreamCuts(final Segment segment, final StreamCut startStreamCut, final StreamCut endStreamCut) {
+        return startStreamCut.asImpl().getPositions().containsKey(segment) && endStreamCut.asImpl().getPositions().containsKey(segment);
     }
 
     /*
      * Given a segment, fetch its SegmentRange.
      * - If segment is part of startStreamCut / endStreamCut update startOffset and endOffset accordingly.
-     * - If segment is not part of the streamCuts fetch the data using SegmentMetadataClient.
+     * - If segment is not part of the streamCuts use the segment metadata fetched using BulkSegmentMetadataClient.
      */
     private SegmentRange getSegmentRange(final Segment segment, final StreamCut startStreamCut,
-                                         final StreamCut endStreamCut) {
+                                         final StreamCut endStreamCut, final Map<Segment, SegmentInfo> segmentInfos) {
         SegmentRangeImpl.SegmentRangeImplBuilder segmentRangeBuilder = SegmentRangeImpl.builder()
                                                                                        .segment(segment);
-        if (startStreamCut.asImpl().getPositions().containsKey(segment) && endStreamCut.asImpl().getPositions().containsKey(segment)) {
+        if (isInStreamCuts(segment, startStreamCut, endStreamCut)) {
             //use the meta data present in startStreamCut and endStreamCuts.
             segmentRangeBuilder.startOffset(startStreamCut.asImpl().getPositions().get(segment))
                                .endOffset(endStreamCut.asImpl().getPositions().get(segment));
         } else {
-            //use segment meta data client to fetch the segment offsets.
-            SegmentInfo r = segmentToInfo(segment);
+            //use the segment meta data fetched from the segment store.
+            SegmentInfo r = segmentInfos.get(segment);
             segmentRangeBuilder.startOffset(startStreamCut.asImpl().getPositions().getOrDefault(segment, r.getStartingOffset()))
                                .endOffset(endStreamCut.asImpl().getPositions().getOrDefault(segment, r.getWriteOffset()));
         }
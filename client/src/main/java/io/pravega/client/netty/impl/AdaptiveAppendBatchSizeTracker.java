@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.client.netty.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.pravega.common.ExponentialMovingAverage;
+import io.pravega.common.MathHelpers;
+import io.pravega.shared.protocol.netty.AppendBatchSizeTracker;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * See {@link AppendBatchSizeTracker}.
+ *
+ * This implementation sizes append blocks based on feedback from the server, in the style of a delay-based congestion
+ * controller. It tracks:
+ * 1. The rate at which data is being appended (bytes per millisecond).
+ * 2. The round trip time between sending an append and receiving its DataAppended ack. This is sampled for one append
+ * at a time, so the amount of state kept does not depend on the number of appends in flight.
+ * 3. A block size cap, which is doubled every time an RTT sample is close to the lowest RTT observed (the server keeps
+ * up) and halved every time the RTT inflates beyond that (the server, or the network, is queuing up our data).
+ *
+ * If the number of unacked appends is &lt;= 1 batching is disabled. This improves latency for low volume and synchronous
+ * writers. Otherwise the batch timeout is set to half the smoothed round trip time (capped to {@link #MAX_BATCH_TIME_MILLIS})
+ * and the block size is set to the amount of data that is expected to be written within that timeout, capped to the
+ * current block size cap. This way, blocks are rarely closed (and padded) by the timeout, and they grow up to
+ * {@link #MAX_BLOCK_SIZE} when a writer is under sustained load. If the writer goes idle, the cap is reset.
+ */
+@ThreadSafe
+public class AdaptiveAppendBatchSizeTracker implements AppendBatchSizeTracker {
+    @VisibleForTesting
+    static final int MAX_BATCH_TIME_MILLIS = 100;
+    @VisibleForTesting
+    static final int MIN_BLOCK_SIZE_CAP = 32 * 1024;
+    @VisibleForTesting
+    static final int MAX_BLOCK_SIZE = 4 * 1024 * 1024;
+    @VisibleForTesting
+    static final int IDLE_RESET_MILLIS = 1000;
+    private static final int RATE_SAMPLE_MILLIS = 10;
+    private static final double RTT_INFLATION_FACTOR = 2.0;
+    private static final long RTT_INFLATION_SLACK_MILLIS = 1;
+    private static final double MIN_RTT_DRIFT = 1.01;
+
+    private final Supplier<Long> clock;
+    private final Object lock = new Object();
+    private final ExponentialMovingAverage bytesPerMilli = new ExponentialMovingAverage(0, 0.2, false);
+    private final ExponentialMovingAverage roundTripMillis = new ExponentialMovingAverage(MAX_BATCH_TIME_MILLIS, 0.2, false);
+    @GuardedBy("lock")
+    private long lastAppendNumber;
+    @GuardedBy("lock")
+    private long lastAckNumber;
+    @GuardedBy("lock")
+    private long lastAppendTime;
+    @GuardedBy("lock")
+    private long rateSampleStartTime;
+    @GuardedBy("lock")
+    private long rateSampleBytes;
+    @GuardedBy("lock")
+    private long probeEventNumber;
+    @GuardedBy("lock")
+    private long probeSendTime;
+    @GuardedBy("lock")
+    private double minRoundTripMillis;
+    @GuardedBy("lock")
+    private int blockSizeCap;
+
+    /**
+     * Creates a new instance of the AdaptiveAppendBatchSizeTracker class.
+     */
+    public AdaptiveAppendBatchSizeTracker() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a new instance of the AdaptiveAppendBatchSizeTracker class.
+     *
+     * @param clock A Supplier that returns the current time, in milliseconds.
+     */
+    @VisibleForTesting
+    AdaptiveAppendBatchSizeTracker(Supplier<Long> clock) {
+        this.clock = clock;
+        long now = clock.get();
+        this.lastAppendTime = now;
+        this.rateSampleStartTime = now;
+        this.probeEventNumber = -1;
+        this.minRoundTripMillis = Double.MAX_VALUE;
+        this.blockSizeCap = MIN_BLOCK_SIZE_CAP;
+    }
+
+    @Override
+    public void recordAppend(long eventNumber, int size) {
+        synchronized (this.lock) {
+            long now = Math.max(this.lastAppendTime, this.clock.get());
+            if (now - this.lastAppendTime >= IDLE_RESET_MILLIS) {
+                // We have been idle for a while; whatever we learned about the load is no longer relevant.
+                this.blockSizeCap = MIN_BLOCK_SIZE_CAP;
+                this.rateSampleStartTime = now;
+                this.rateSampleBytes = 0;
+                this.bytesPerMilli.addNewSample(0);
+            }
+
+            this.lastAppendTime = now;
+            this.lastAppendNumber = eventNumber;
+            this.rateSampleBytes += size;
+            long elapsed = now - this.rateSampleStartTime;
+            if (elapsed >= RATE_SAMPLE_MILLIS) {
+                this.bytesPerMilli.addNewSample((double) this.rateSampleBytes / elapsed);
+                this.rateSampleStartTime = now;
+                this.rateSampleBytes = 0;
+            }
+
+            if (this.probeEventNumber < 0) {
+                this.probeEventNumber = eventNumber;
+                this.probeSendTime = now;
+            }
+        }
+    }
+
+    @Override
+    public void recordAck(long eventNumber) {
+        synchronized (this.lock) {
+            this.lastAckNumber = eventNumber;
+            if (this.probeEventNumber < 0 || eventNumber < this.probeEventNumber) {
+                return;
+            }
+
+            long rtt = Math.max(0, this.clock.get() - this.probeSendTime);
+            this.probeEventNumber = -1;
+            this.roundTripMillis.addNewSample(rtt);
+
+            // Allow the minimum to slowly drift upwards, so that a stale minimum does not keep us from ever growing again.
+            this.minRoundTripMillis = Math.min(rtt, this.minRoundTripMillis * MIN_RTT_DRIFT);
+            if (rtt <= this.minRoundTripMillis * RTT_INFLATION_FACTOR + RTT_INFLATION_SLACK_MILLIS) {
+                this.blockSizeCap = (int) Math.min((long) this.blockSizeCap * 2, MAX_BLOCK_SIZE);
+            } else {
+                this.blockSizeCap = Math.max(this.blockSizeCap / 2, MIN_BLOCK_SIZE_CAP);
+            }
+        }
+    }
+
+    /**
+     * Returns a block size that is an estimate of how much data will be written within the next {@link #getBatchTimeout()},
+     * capped by the current block size cap.
+     */
+    @Override
+    public int getAppendBlockSize() {
+        synchronized (this.lock) {
+            long numInflight = this.lastAppendNumber - this.lastAckNumber;
+            if (numInflight <= 1) {
+                return 0;
+            }
+
+            double expectedBytes = this.bytesPerMilli.getCurrentValue() * getBatchTimeout();
+            return (int) MathHelpers.minMax((long) expectedBytes, 0, this.blockSizeCap);
+        }
+    }
+
+    /**
+     * Returns half the smoothed round trip time, but no more than {@link #MAX_BATCH_TIME_MILLIS}.
+     */
+    @Override
+    public int getBatchTimeout() {
+        return (int) MathHelpers.minMax((long) (this.roundTripMillis.getCurrentValue() / 2), 1, MAX_BATCH_TIME_MILLIS);
+    }
+
+    @VisibleForTesting
+    int getBlockSizeCap() {
+        synchronized (this.lock) {
+            return this.blockSizeCap;
+        }
+    }
+}
@@ -12,6 +12,7 @@ package io.pravega.client.netty.impl;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 
+import io.pravega.shared.protocol.netty.AppendBatchSizeTracker;
 import io.pravega.shared.protocol.netty.PravegaNodeUri;
 import io.pravega.shared.protocol.netty.ReplyProcessor;
 
@@ -30,6 +31,35 @@ public interface ConnectionFactory extends AutoCloseable {
      */
     CompletableFuture<ClientConnection> establishConnection(PravegaNodeUri endpoint, ReplyProcessor rp);
 
+    /**
+     * Establishes a connection between server and client with given parameters, using the given AppendBatchSizeTracker
+     * to size the append blocks sent on it. Implementations which do not batch appends may ignore batchSizeTracker.
+     *
+     * @param endpoint         The Pravega Node URI.
+     * @param rp               Reply Processor instance.
+     * @param batchSizeTracker The AppendBatchSizeTracker to use for the connection.
+     * @return An instance of client connection.
+     */
+    default CompletableFuture<ClientConnection> establishConnection(PravegaNodeUri endpoint, ReplyProcessor rp,
+                                                                    AppendBatchSizeTracker batchSizeTracker) {
+        return establishConnection(endpoint, rp);
+    }
+
+    /**
+     * Establishes a connection that is used to perform operations on a single segment, and which may be multiplexed with
+     * connections for other segments over the same underlying network connection. Replies for other segments are not
+     * delivered to the given ReplyProcessor, and closing the returned connection does not affect the other ones. Request
+     * ids sent on such a connection for replies that do not carry the segment name must be unique across connections.
+     *
+     * @param endpoint The Pravega Node URI.
+     * @param segment  The name of the segment that the connection is used for.
+     * @param rp       Reply Processor instance.
+     * @return An instance of client connection.
+     */
+    default CompletableFuture<ClientConnection> establishSharedConnection(PravegaNodeUri endpoint, String segment, ReplyProcessor rp) {
+        return establishConnection(endpoint, rp);
+    }
+
     /**
      * Get the internal executor which is used by the client.
      * @return A ScheduledExecutorService.
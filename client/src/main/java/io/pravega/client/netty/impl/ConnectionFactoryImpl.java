@@ -70,6 +70,7 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
     private final ScheduledExecutorService executor;
     @Getter(AccessLevel.PACKAGE)
     private final ChannelGroup channelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    private final ConnectionPool connectionPool;
 
     /**
      * Actual implementation of ConnectionFactory interface.
@@ -84,6 +85,7 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
         this.executor = ExecutorServiceHelpers.newScheduledThreadPool(getNumThreads(numThreadsInPool), "clientInternal");
         this.clientConfig = clientConfig;
         this.group = getEventLoopGroup();
+        this.connectionPool = createConnectionPool();
     }
 
     @VisibleForTesting
@@ -91,6 +93,7 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
         this.executor = executor;
         this.clientConfig = clientConfig;
         this.group = getEventLoopGroup();
+        this.connectionPool = createConnectionPool();
     }
 
     private EventLoopGroup getEventLoopGroup() {
@@ -102,6 +105,11 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
         }
     }
 
+    private ConnectionPool createConnectionPool() {
+        int maxConnections = clientConfig.getMaxConnectionsPerSegmentStore();
+        return maxConnections > 0 ? new ConnectionPool(maxConnections, this::establishConnection) : null;
+    }
+
     private int getNumThreads(Integer numThreadsInPool) {
         if (numThreadsInPool != null) {
             return numThreadsInPool;
@@ -115,7 +123,14 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
     
     @Override
     public CompletableFuture<ClientConnection> establishConnection(PravegaNodeUri location, ReplyProcessor rp) {
+        return establishConnection(location, rp, new AppendBatchSizeTrackerImpl());
+    }
+
+    @Override
+    public CompletableFuture<ClientConnection> establishConnection(PravegaNodeUri location, ReplyProcessor rp,
+                                                                   AppendBatchSizeTracker batchSizeTracker) {
         Preconditions.checkNotNull(location);
+        Preconditions.checkNotNull(batchSizeTracker);
         Exceptions.checkNotClosed(closed.get(), this);
         final SslContext sslCtx;
         if (clientConfig.isEnableTls()) {
@@ -136,7 +151,6 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
         } else {
             sslCtx = null;
         }
-        AppendBatchSizeTracker batchSizeTracker = new AppendBatchSizeTrackerImpl();
         ClientConnectionInboundHandler handler = new ClientConnectionInboundHandler(location.getEndpoint(), rp, batchSizeTracker);
         Bootstrap b = new Bootstrap();
         b.group(group)
@@ -194,6 +208,15 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
         return connectionComplete.thenCombine(channelRegisteredFuture, (clientConnection, v) -> clientConnection);
     }
 
+    @Override
+    public CompletableFuture<ClientConnection> establishSharedConnection(PravegaNodeUri location, String segment, ReplyProcessor rp) {
+        if (connectionPool == null) {
+            return establishConnection(location, rp);
+        }
+        Exceptions.checkNotClosed(closed.get(), this);
+        return connectionPool.establishConnection(location, segment, rp);
+    }
+
     @Override
     public ScheduledExecutorService getInternalExecutor() {
         return executor;
@@ -203,6 +226,9 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
     public void close() {
         log.info("Shutting down connection factory");
         if (closed.compareAndSet(false, true)) {
+            if (connectionPool != null) {
+                connectionPool.close();
+            }
             // Shut down the event loop to terminate all threads.
             group.shutdownGracefully();
             ExecutorServiceHelpers.shutdown(executor);
@@ -0,0 +1,524 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.client.netty.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.shared.protocol.netty.Append;
+import io.pravega.shared.protocol.netty.ConnectionFailedException;
+import io.pravega.shared.protocol.netty.FailingReplyProcessor;
+import io.pravega.shared.protocol.netty.PravegaNodeUri;
+import io.pravega.shared.protocol.netty.Reply;
+import io.pravega.shared.protocol.netty.ReplyProcessor;
+import io.pravega.shared.protocol.netty.Request;
+import io.pravega.shared.protocol.netty.WireCommand;
+import io.pravega.shared.protocol.netty.WireCommands;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import javax.annotation.concurrent.GuardedBy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Multiplexes connections for individual segments (sessions) over a bounded number of connections per segment store.
+ *
+ * Every session is bound to a single segment, and a connection carries at most one session per segment. Replies received
+ * on a shared connection are delivered as follows:
+ * 1. Hello and KeepAlive are delivered to all sessions (as they would be on dedicated connections).
+ * 2. Replies that refer to a segment are delivered to the session for that segment.
+ * 3. All other replies are delivered to the session that sent the request with the same request id. This is why request
+ * ids for such replies need to be unique across sessions.
+ *
+ * New connections are opened until there are maxConnectionsPerEndpoint of them, after which sessions are assigned to the
+ * connection with the fewest sessions. If every connection to a segment store already carries a session for a segment,
+ * any further session for that segment gets a dedicated connection. A shared connection is closed when its last session
+ * is closed.
+ *
+ * If the segment store supports it, ReadSegment requests from different sessions on the same shared connection are
+ * batched: while a send is in progress, any ReadSegment requests are queued up and then sent as a single ReadSegments
+ * request once that send completes. The combined SegmentsRead replies are split back into individual SegmentRead replies
+ * and delivered to their sessions.
+ */
+@Slf4j
+class ConnectionPool implements AutoCloseable {
+    /**
+     * The first wire protocol version that supports the ReadSegments request.
+     */
+    private static final int BATCHED_READS_WIRE_VERSION = 8;
+    private final int maxConnectionsPerEndpoint;
+    private final BiFunction<PravegaNodeUri, ReplyProcessor, CompletableFuture<ClientConnection>> connectionFactory;
+    private final Object lock = new Object();
+    @GuardedBy("lock")
+    private final Map<PravegaNodeUri, List<SharedConnection>> connections = new HashMap<>();
+    @GuardedBy("lock")
+    private boolean closed;
+
+    /**
+     * Creates a new instance of the ConnectionPool class.
+     *
+     * @param maxConnectionsPerEndpoint The maximum number of shared connections to each endpoint.
+     * @param connectionFactory         A function that establishes a new (dedicated) connection to an endpoint.
+     */
+    ConnectionPool(int maxConnectionsPerEndpoint,
+                   BiFunction<PravegaNodeUri, ReplyProcessor, CompletableFuture<ClientConnection>> connectionFactory) {
+        Preconditions.checkArgument(maxConnectionsPerEndpoint > 0, "maxConnectionsPerEndpoint must be a positive number.");
+        this.maxConnectionsPerEndpoint = maxConnectionsPerEndpoint;
+        this.connectionFactory = Preconditions.checkNotNull(connectionFactory, "connectionFactory");
+    }
+
+    /**
+     * Establishes a connection for the given segment, which may be shared with connections for other segments.
+     *
+     * @param endpoint The endpoint to connect to.
+     * @param segment  The segment the connection is used for.
+     * @param rp       The ReplyProcessor to deliver replies for this segment to.
+     * @return A CompletableFuture that, when completed, will contain the connection.
+     */
+    CompletableFuture<ClientConnection> establishConnection(PravegaNodeUri endpoint, String segment, ReplyProcessor rp) {
+        Preconditions.checkNotNull(endpoint, "endpoint");
+        Preconditions.checkNotNull(segment, "segment");
+        Preconditions.checkNotNull(rp, "rp");
+        SharedConnection connection;
+        Session session;
+        synchronized (this.lock) {
+            Exceptions.checkNotClosed(this.closed, this);
+            List<SharedConnection> endpointConnections = this.connections.computeIfAbsent(endpoint, e -> new ArrayList<>());
+            connection = endpointConnections.stream()
+                                            .filter(c -> c.canAccept(segment))
+                                            .min(Comparator.comparingInt(SharedConnection::getSessionCount))
+                                            .orElse(null);
+            if (endpointConnections.size() < this.maxConnectionsPerEndpoint
+                    && (connection == null || connection.getSessionCount() > 0)) {
+                connection = new SharedConnection(endpoint);
+                endpointConnections.add(connection);
+            }
+
+            session = connection == null ? null : connection.addSession(segment, rp);
+        }
+
+        if (session == null) {
+            log.debug("All shared connections to {} already carry segment {}; using a dedicated connection.", endpoint, segment);
+            return this.connectionFactory.apply(endpoint, rp);
+        }
+
+        if (connection.isNew()) {
+            connection.connect();
+        }
+
+        return connection.getConnection().thenApply(c -> session);
+    }
+
+    @Override
+    public void close() {
+        List<SharedConnection> toClose = new ArrayList<>();
+        synchronized (this.lock) {
+            this.closed = true;
+            this.connections.values().forEach(toClose::addAll);
+            this.connections.clear();
+        }
+
+        toClose.forEach(SharedConnection::close);
+    }
+
+    @VisibleForTesting
+    int getConnectionCount(PravegaNodeUri endpoint) {
+        synchronized (this.lock) {
+            return this.connections.getOrDefault(endpoint, Collections.emptyList()).size();
+        }
+    }
+
+    private void removeConnection(SharedConnection connection) {
+        synchronized (this.lock) {
+            List<SharedConnection> endpointConnections = this.connections.get(connection.endpoint);
+            if (endpointConnections != null) {
+                endpointConnections.remove(connection);
+                if (endpointConnections.isEmpty()) {
+                    this.connections.remove(connection.endpoint);
+                }
+            }
+        }
+    }
+
+    private void closeSession(Session session) {
+        boolean closeConnection;
+        synchronized (this.lock) {
+            closeConnection = session.owner.removeSession(session) == 0;
+            if (closeConnection) {
+                removeConnection(session.owner);
+            }
+        }
+
+        if (closeConnection) {
+            session.owner.close();
+        }
+    }
+
+    //region SharedConnection
+
+    /**
+     * A connection to an endpoint that is shared by multiple sessions. Demultiplexes replies to the sessions.
+     */
+    private final class SharedConnection extends FailingReplyProcessor {
+        private final PravegaNodeUri endpoint;
+        private final CompletableFuture<ClientConnection> connection = new CompletableFuture<>();
+        private final AtomicBoolean connectRequested = new AtomicBoolean();
+        private final Object sessionLock = new Object();
+        @GuardedBy("sessionLock")
+        private final Map<String, Session> sessionsBySegment = new HashMap<>();
+        @GuardedBy("sessionLock")
+        private final Map<Long, Set<Session>> sessionsByRequestId = new HashMap<>();
+        private final AtomicLong nextBatchRequestId = new AtomicLong();
+        private volatile boolean batchedReadsSupported;
+        private final Object readBatchLock = new Object();
+        @GuardedBy("readBatchLock")
+        private final List<PendingRead> pendingReads = new ArrayList<>();
+        @GuardedBy("readBatchLock")
+        private boolean readSendInProgress;
+
+        SharedConnection(PravegaNodeUri endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        boolean isNew() {
+            return this.connectRequested.compareAndSet(false, true);
+        }
+
+        void connect() {
+            ConnectionPool.this.connectionFactory.apply(this.endpoint, this).whenComplete((c, ex) -> {
+                if (ex == null) {
+                    this.connection.complete(c);
+                } else {
+                    removeConnection(this);
+                    this.connection.completeExceptionally(ex);
+                }
+            });
+        }
+
+        CompletableFuture<ClientConnection> getConnection() {
+            return this.connection;
+        }
+
+        ClientConnection getConnectionNow() throws ConnectionFailedException {
+            ClientConnection c = this.connection.getNow(null);
+            if (c == null) {
+                throw new ConnectionFailedException("Connection to " + this.endpoint + " is not established.");
+            }
+            return c;
+        }
+
+        int getSessionCount() {
+            synchronized (this.sessionLock) {
+                return this.sessionsBySegment.size();
+            }
+        }
+
+        boolean canAccept(String segment) {
+            synchronized (this.sessionLock) {
+                return !this.sessionsBySegment.containsKey(segment);
+            }
+        }
+
+        Session addSession(String segment, ReplyProcessor processor) {
+            Session session = new Session(this, segment, processor);
+            synchronized (this.sessionLock) {
+                this.sessionsBySegment.put(segment, session);
+            }
+            return session;
+        }
+
+        int removeSession(Session session) {
+            synchronized (this.sessionLock) {
+                this.sessionsBySegment.remove(session.segment, session);
+                this.sessionsByRequestId.values().removeIf(sessions -> sessions.remove(session) && sessions.isEmpty());
+                return this.sessionsBySegment.size();
+            }
+        }
+
+        void registerRequest(long requestId, Session session) {
+            synchronized (this.sessionLock) {
+                this.sessionsByRequestId.computeIfAbsent(requestId, id -> new HashSet<>()).add(session);
+            }
+        }
+
+        void close() {
+            this.connection.thenAccept(ClientConnection::close);
+        }
+
+        boolean isBatchedReadsSupported() {
+            return this.batchedReadsSupported;
+        }
+
+        /**
+         * Sends the given ReadSegment request right away, or, if another batch of reads is currently being sent, queues it
+         * up to be sent with the next batch.
+         */
+        void sendRead(WireCommands.ReadSegment read, ClientConnection.CompletedCallback callback) {
+            List<PendingRead> batch;
+            synchronized (this.readBatchLock) {
+                this.pendingReads.add(new PendingRead(read, callback));
+                if (this.readSendInProgress) {
+                    return;
+                }
+
+                this.readSendInProgress = true;
+                batch = drainPendingReads();
+            }
+
+            sendReads(batch);
+        }
+
+        private void sendReads(List<PendingRead> batch) {
+            ClientConnection c;
+            try {
+                c = getConnectionNow();
+            } catch (ConnectionFailedException e) {
+                readsSent(batch, e);
+                return;
+            }
+
+            WireCommand cmd = batch.size() == 1
+                    ? batch.get(0).read
+                    : new WireCommands.ReadSegments(this.nextBatchRequestId.incrementAndGet(),
+                                                    batch.stream().map(r -> r.read).collect(Collectors.toList()));
+            c.sendAsync(cmd, e -> readsSent(batch, e));
+        }
+
+        private void readsSent(List<PendingRead> batch, ConnectionFailedException e) {
+            batch.forEach(r -> r.callback.complete(e));
+            List<PendingRead> nextBatch;
+            synchronized (this.readBatchLock) {
+                if (this.pendingReads.isEmpty()) {
+                    this.readSendInProgress = false;
+                    return;
+                }
+
+                nextBatch = drainPendingReads();
+            }
+
+            sendReads(nextBatch);
+        }
+
+        @GuardedBy("readBatchLock")
+        private List<PendingRead> drainPendingReads() {
+            List<PendingRead> result = new ArrayList<>(this.pendingReads);
+            this.pendingReads.clear();
+            return result;
+        }
+
+        @Override
+        public void process(Reply reply) {
+            if (reply instanceof WireCommands.SegmentsRead) {
+                ((WireCommands.SegmentsRead) reply).getReads().forEach(this::process);
+                return;
+            }
+
+            if (reply instanceof WireCommands.Hello) {
+                this.batchedReadsSupported = ((WireCommands.Hello) reply).getHighVersion() >= BATCHED_READS_WIRE_VERSION;
+            }
+
+            if (reply instanceof WireCommands.Hello || reply instanceof WireCommands.KeepAlive) {
+                getSessions().forEach(session -> session.deliver(reply));
+                return;
+            }
+
+            Collection<Session> targets;
+            String segment = getSegment(reply);
+            synchronized (this.sessionLock) {
+                Set<Session> requestSessions = this.sessionsByRequestId.remove(reply.getRequestId());
+                if (segment != null) {
+                    Session session = this.sessionsBySegment.get(segment);
+                    targets = session == null ? Collections.emptyList() : Collections.singletonList(session);
+                    if (requestSessions != null) {
+                        requestSessions.remove(session);
+                        if (!requestSessions.isEmpty()) {
+                            // Other sessions are still waiting for a reply with the same request id.
+                            this.sessionsByRequestId.put(reply.getRequestId(), requestSessions);
+                        }
+                    }
+                } else {
+                    targets = requestSessions == null ? Collections.emptyList() : requestSessions;
+                }
+            }
+
+            if (targets.isEmpty()) {
+                log.warn("Unable to route reply {} received on shared connection to {}.", reply, this.endpoint);
+            }
+
+            targets.forEach(session -> session.deliver(reply));
+        }
+
+        @Override
+        public void authTokenCheckFailed(WireCommands.AuthTokenCheckFailed authTokenCheckFailed) {
+            // Not invoked by process(Reply), which routes replies to the sessions instead.
+            process(authTokenCheckFailed);
+        }
+
+        @Override
+        public void connectionDropped() {
+            removeConnection(this);
+            List<Session> sessions;
+            synchronized (this.sessionLock) {
+                sessions = new ArrayList<>(this.sessionsBySegment.values());
+                this.sessionsBySegment.clear();
+                this.sessionsByRequestId.clear();
+            }
+
+            sessions.forEach(session -> session.processor.connectionDropped());
+        }
+
+        @Override
+        public void processingFailure(Exception error) {
+            getSessions().forEach(session -> session.processor.processingFailure(error));
+        }
+
+        private List<Session> getSessions() {
+            synchronized (this.sessionLock) {
+                return new ArrayList<>(this.sessionsBySegment.values());
+            }
+        }
+
+        private String getSegment(Reply reply) {
+            if (reply instanceof WireCommands.SegmentRead) {
+                return ((WireCommands.SegmentRead) reply).getSegment();
+            } else if (reply instanceof WireCommands.StreamSegmentInfo) {
+                return ((WireCommands.StreamSegmentInfo) reply).getSegmentName();
+            } else if (reply instanceof WireCommands.NoSuchSegment) {
+                return ((WireCommands.NoSuchSegment) reply).getSegment();
+            } else if (reply instanceof WireCommands.WrongHost) {
+                return ((WireCommands.WrongHost) reply).getSegment();
+            } else if (reply instanceof WireCommands.SegmentIsSealed) {
+                return ((WireCommands.SegmentIsSealed) reply).getSegment();
+            } else if (reply instanceof WireCommands.SegmentIsTruncated) {
+                return ((WireCommands.SegmentIsTruncated) reply).getSegment();
+            } else if (reply instanceof WireCommands.SegmentSealed) {
+                return ((WireCommands.SegmentSealed) reply).getSegment();
+            } else if (reply instanceof WireCommands.SegmentTruncated) {
+                return ((WireCommands.SegmentTruncated) reply).getSegment();
+            } else {
+                return null;
+            }
+        }
+    }
+
+    //endregion
+
+    //region PendingRead
+
+    /**
+     * A ReadSegment request waiting to be sent as part of a batch.
+     */
+    @RequiredArgsConstructor
+    private static final class PendingRead {
+        private final WireCommands.ReadSegment read;
+        private final ClientConnection.CompletedCallback callback;
+    }
+
+    //endregion
+
+    //region Session
+
+    /**
+     * A connection for a single segment, which is multiplexed over a SharedConnection.
+     */
+    private final class Session implements ClientConnection {
+        private final SharedConnection owner;
+        private final String segment;
+        private final ReplyProcessor processor;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Session(SharedConnection owner, String segment, ReplyProcessor processor) {
+            this.owner = owner;
+            this.segment = segment;
+            this.processor = processor;
+        }
+
+        void deliver(Reply reply) {
+            try {
+                this.processor.process(reply);
+            } catch (Exception e) {
+                this.processor.processingFailure(e);
+            }
+        }
+
+        @Override
+        public void send(WireCommand cmd) throws ConnectionFailedException {
+            ClientConnection c = getConnection();
+            trackRequest(cmd);
+            c.send(cmd);
+        }
+
+        @Override
+        public void send(Append append) throws ConnectionFailedException {
+            getConnection().send(append);
+        }
+
+        @Override
+        public void sendAsync(WireCommand cmd, CompletedCallback callback) {
+            ClientConnection c;
+            try {
+                c = getConnection();
+            } catch (ConnectionFailedException e) {
+                callback.complete(e);
+                return;
+            }
+
+            trackRequest(cmd);
+            if (cmd instanceof WireCommands.ReadSegment && this.owner.isBatchedReadsSupported()) {
+                this.owner.sendRead((WireCommands.ReadSegment) cmd, callback);
+            } else {
+                c.sendAsync(cmd, callback);
+            }
+        }
+
+        @Override
+        public void sendAsync(List<Append> appends, CompletedCallback callback) {
+            try {
+                getConnection().sendAsync(appends, callback);
+            } catch (ConnectionFailedException e) {
+                callback.complete(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this.closed.compareAndSet(false, true)) {
+                closeSession(this);
+            }
+        }
+
+        private ClientConnection getConnection() throws ConnectionFailedException {
+            if (this.closed.get()) {
+                throw new ConnectionFailedException("Connection for segment " + this.segment + " is closed.");
+            }
+            return this.owner.getConnectionNow();
+        }
+
+        private void trackRequest(WireCommand cmd) {
+            if (cmd instanceof Request) {
+                this.owner.registerRequest(((Request) cmd).getRequestId(), this);
+            }
+        }
+    }
+
+    //endregion
+}
@@ -35,7 +35,8 @@ import lombok.extern.slf4j.Slf4j;
 public class RawClient implements AutoCloseable {
 
     private final CompletableFuture<ClientConnection> connection;
-    private final Segment segmentId;
+    private final String target;
+    private final CompletableFuture<Hello> serverHello = new CompletableFuture<>();
 
     private final Object lock = new Object();
     @GuardedBy("lock")
@@ -51,6 +52,8 @@ public class RawClient implements AutoCloseable {
                 log.info("Received hello: {}", hello);
                 if (hello.getLowVersion() > WireCommands.WIRE_VERSION || hello.getHighVersion() < WireCommands.OLDEST_COMPATIBLE_VERSION) {
                     closeConnection(new IllegalStateException("Incompatible wire protocol versions " + hello));
+                } else {
+                    serverHello.complete(hello);
                 }
             } else {
                 log.debug("Received reply {}", reply);
@@ -77,12 +80,18 @@ public class RawClient implements AutoCloseable {
     }
 
     public RawClient(Controller controller, ConnectionFactory connectionFactory, Segment segmentId) {
-        this.segmentId = segmentId;
+        this.target = "segment " + segmentId;
         this.connection = controller.getEndpointForSegment(segmentId.getScopedName())
                                     .thenCompose((PravegaNodeUri uri) -> connectionFactory.establishConnection(uri, responseProcessor));
         Futures.exceptionListener(connection, e -> closeConnection(e));
     }
 
+    public RawClient(PravegaNodeUri uri, ConnectionFactory connectionFactory) {
+        this.target = uri.toString();
+        this.connection = connectionFactory.establishConnection(uri, responseProcessor);
+        Futures.exceptionListener(connection, e -> closeConnection(e));
+    }
+
     private void reply(Reply reply) {
         CompletableFuture<Reply> future;
         synchronized (lock) {
@@ -95,10 +104,11 @@ public class RawClient implements AutoCloseable {
 
     private void closeConnection(Throwable exceptionToInflightRequests) {
         if (closed.get() || exceptionToInflightRequests instanceof ConnectionClosedException) {
-            log.debug("Closing connection to segment {} with exception {}", this.segmentId, exceptionToInflightRequests);
+            log.debug("Closing connection to {} with exception {}", this.target, exceptionToInflightRequests);
         } else {
-            log.warn("Closing connection to segment {} with exception: {}", this.segmentId, exceptionToInflightRequests);
+            log.warn("Closing connection to {} with exception: {}", this.target, exceptionToInflightRequests);
         }
+        serverHello.completeExceptionally(exceptionToInflightRequests);
         if (closed.compareAndSet(false, true)) {
             connection.thenAccept(c -> {
                 try {
@@ -138,6 +148,16 @@ public class RawClient implements AutoCloseable {
         });
     }
 
+    /**
+     * Gets the highest wire protocol version supported by the server, as soon as the server has reported it.
+     *
+     * @return A CompletableFuture that, when completed, will contain the server's wire protocol version. If the connection
+     * is closed before that, the Future will be failed with the exception that caused it to close.
+     */
+    public CompletableFuture<Integer> getServerVersion() {
+        return serverHello.thenApply(Hello::getHighVersion);
+    }
+
     public boolean isClosed() {
         return closed.get();
     }
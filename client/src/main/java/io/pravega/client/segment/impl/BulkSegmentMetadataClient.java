@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.client.segment.impl;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A client for looking at the metadata of many segments at once. This is equivalent to using a
+ * {@link SegmentMetadataClient} for each of the segments, except that it needs a single round trip to every segment
+ * store that owns any of them.
+ */
+public interface BulkSegmentMetadataClient {
+
+    /**
+     * Returns info for the given segments.
+     *
+     * @param segments The segments to get info for.
+     * @return A CompletableFuture that, when completed, will contain the info for each of the segments. If any of the
+     * segments could not be looked up, the Future will be failed with the appropriate exception.
+     */
+    CompletableFuture<Map<Segment, SegmentInfo>> getSegmentInfo(Collection<Segment> segments);
+
+    /**
+     * Gets the current value of the provided attribute for the given segments.
+     *
+     * @param segments  The segments to get the attribute value for.
+     * @param attribute The attribute to get the value of.
+     * @return A CompletableFuture that, when completed, will contain the value of the attribute for each segment (or
+     * {@link SegmentAttribute#NULL_VALUE} if it is not set). If any of the segments does not exist, the Future will be
+     * failed with a {@link NoSuchSegmentException}.
+     */
+    CompletableFuture<Map<Segment, Long>> fetchProperty(Collection<Segment> segments, SegmentAttribute attribute);
+}
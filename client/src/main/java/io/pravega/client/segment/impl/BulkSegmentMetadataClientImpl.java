@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.client.segment.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import io.pravega.client.netty.impl.ConnectionFactory;
+import io.pravega.client.netty.impl.RawClient;
+import io.pravega.client.stream.impl.Controller;
+import io.pravega.common.concurrent.Futures;
+import io.pravega.common.util.Retry;
+import io.pravega.common.util.Retry.RetryWithBackoff;
+import io.pravega.shared.protocol.netty.ConnectionFailedException;
+import io.pravega.shared.protocol.netty.PravegaNodeUri;
+import io.pravega.shared.protocol.netty.Reply;
+import io.pravega.shared.protocol.netty.WireCommands;
+import io.pravega.shared.protocol.netty.WireCommands.GetSegmentAttribute;
+import io.pravega.shared.protocol.netty.WireCommands.GetSegmentsAttribute;
+import io.pravega.shared.protocol.netty.WireCommands.GetStreamSegmentInfo;
+import io.pravega.shared.protocol.netty.WireCommands.GetStreamSegmentsInfo;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentsAttribute;
+import io.pravega.shared.protocol.netty.WireCommands.StreamSegmentInfo;
+import io.pravega.shared.protocol.netty.WireCommands.StreamSegmentsInfo;
+import io.pravega.shared.protocol.netty.WireCommands.WrongHost;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fetches the metadata for many segments at once. The segments are grouped by the segment store that owns them, and
+ * the metadata for each group is fetched using a GetStreamSegmentsInfo/GetSegmentsAttribute request (in batches of up to
+ * {@link #MAX_SEGMENTS_PER_REQUEST} segments). Segment stores which do not support these requests are sent one request
+ * per segment instead (all on the same connection).
+ */
+@RequiredArgsConstructor
+@Slf4j
+class BulkSegmentMetadataClientImpl implements BulkSegmentMetadataClient {
+    private static final RetryWithBackoff RETRY_SCHEDULE = Retry.withExpBackoff(1, 10, 9, 30000);
+
+    /**
+     * The first wire protocol version that supports the GetStreamSegmentsInfo and GetSegmentsAttribute requests.
+     */
+    private static final int BULK_METADATA_WIRE_VERSION = 9;
+
+    /**
+     * The maximum number of segments to include in a single request.
+     */
+    @VisibleForTesting
+    static final int MAX_SEGMENTS_PER_REQUEST = 1000;
+
+    private final Controller controller;
+    private final ConnectionFactory connectionFactory;
+    private final String delegationToken;
+    private final Supplier<Long> requestIdGenerator = new AtomicLong()::incrementAndGet;
+
+    @Override
+    public CompletableFuture<Map<Segment, SegmentInfo>> getSegmentInfo(Collection<Segment> segments) {
+        return execute(segments, this::getSegmentInfo);
+    }
+
+    @Override
+    public CompletableFuture<Map<Segment, Long>> fetchProperty(Collection<Segment> segments, SegmentAttribute attribute) {
+        return execute(segments, (connection, batch) -> fetchProperty(connection, batch, attribute));
+    }
+
+    /**
+     * Groups the given segments by the endpoint that owns them and executes the given function for every batch of segments
+     * on a connection to their endpoint. Any connection failure (including the segments having moved to a different
+     * endpoint) causes the whole operation to be retried, since the endpoints need to be looked up again.
+     */
+    private <T> CompletableFuture<Map<Segment, T>> execute(Collection<Segment> segments, BatchFetcher<T> fetch) {
+        if (segments.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        return RETRY_SCHEDULE.retryingOn(ConnectionFailedException.class)
+                             .throwingOn(NoSuchSegmentException.class)
+                             .runAsync(() -> groupByEndpoint(segments).thenCompose(byEndpoint -> {
+                                 List<CompletableFuture<Map<Segment, T>>> results = byEndpoint
+                                         .entrySet().stream()
+                                         .map(e -> executeOnEndpoint(e.getKey(), e.getValue(), fetch))
+                                         .collect(Collectors.toList());
+                                 return Futures.allOfWithResults(results).thenApply(this::merge);
+                             }), connectionFactory.getInternalExecutor());
+    }
+
+    private CompletableFuture<Map<PravegaNodeUri, List<Segment>>> groupByEndpoint(Collection<Segment> segments) {
+        Map<Segment, CompletableFuture<PravegaNodeUri>> endpoints = new HashMap<>();
+        segments.forEach(s -> endpoints.put(s, controller.getEndpointForSegment(s.getScopedName())));
+        return Futures.allOfWithResults(endpoints)
+                      .thenApply(m -> m.entrySet().stream().collect(Collectors.groupingBy(Map.Entry::getValue,
+                              Collectors.mapping(Map.Entry::getKey, Collectors.toList()))));
+    }
+
+    private <T> CompletableFuture<Map<Segment, T>> executeOnEndpoint(PravegaNodeUri endpoint, List<Segment> segments,
+                                                                   BatchFetcher<T> fetch) {
+        log.debug("Fetching metadata for {} segments from {}.", segments.size(), endpoint);
+        RawClient connection = new RawClient(endpoint, connectionFactory);
+        List<CompletableFuture<Map<Segment, T>>> results = Lists.partition(segments, MAX_SEGMENTS_PER_REQUEST)
+                                                                .stream()
+                                                                .map(batch -> fetch.apply(connection, batch))
+                                                                .collect(Collectors.toList());
+        return Futures.allOfWithResults(results)
+                      .thenApply(this::merge)
+                      .whenComplete((r, ex) -> connection.close());
+    }
+
+    private CompletableFuture<Map<Segment, SegmentInfo>> getSegmentInfo(RawClient connection, List<Segment> segments) {
+        return connection.getServerVersion().thenCompose(version -> {
+            if (version >= BULK_METADATA_WIRE_VERSION) {
+                long requestId = requestIdGenerator.get();
+                GetStreamSegmentsInfo request = new GetStreamSegmentsInfo(requestId, getNames(segments), delegationToken);
+                return connection.sendRequest(requestId, request)
+                                 .thenApply(r -> zip(segments, transformReply(r, StreamSegmentsInfo.class).getSegments()))
+                                 .thenApply(this::toSegmentInfos);
+            } else {
+                Map<Segment, CompletableFuture<StreamSegmentInfo>> infos = new HashMap<>();
+                for (Segment segment : segments) {
+                    long requestId = requestIdGenerator.get();
+                    GetStreamSegmentInfo request = new GetStreamSegmentInfo(requestId, segment.getScopedName(), delegationToken);
+                    infos.put(segment, connection.sendRequest(requestId, request)
+                                                 .thenApply(r -> transformReply(r, StreamSegmentInfo.class)));
+                }
+                return Futures.allOfWithResults(infos).thenApply(this::toSegmentInfos);
+            }
+        });
+    }
+
+    private CompletableFuture<Map<Segment, Long>> fetchProperty(RawClient connection, List<Segment> segments, SegmentAttribute attribute) {
+        return connection.getServerVersion().thenCompose(version -> {
+            if (version >= BULK_METADATA_WIRE_VERSION) {
+                long requestId = requestIdGenerator.get();
+                GetSegmentsAttribute request = new GetSegmentsAttribute(requestId, getNames(segments), attribute.getValue(),
+                                                                        delegationToken);
+                return connection.sendRequest(requestId, request)
+                                 .thenApply(r -> zip(segments, transformReply(r, SegmentsAttribute.class).getValues()));
+            } else {
+                Map<Segment, CompletableFuture<Long>> values = new HashMap<>();
+                for (Segment segment : segments) {
+                    long requestId = requestIdGenerator.get();
+                    GetSegmentAttribute request = new GetSegmentAttribute(requestId, segment.getScopedName(), attribute.getValue(),
+                                                                          delegationToken);
+                    values.put(segment, connection.sendRequest(requestId, request)
+                                                  .thenApply(r -> transformReply(r, WireCommands.SegmentAttribute.class).getValue()));
+                }
+                return Futures.allOfWithResults(values);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    @SneakyThrows(ConnectionFailedException.class)
+    private <T extends Reply> T transformReply(Reply reply, Class<T> klass) {
+        if (klass.isAssignableFrom(reply.getClass())) {
+            return (T) reply;
+        }
+        if (reply instanceof WireCommands.NoSuchSegment) {
+            throw new NoSuchSegmentException(reply.toString());
+        } else if (reply instanceof WrongHost) {
+            throw new ConnectionFailedException(reply.toString());
+        } else {
+            throw new ConnectionFailedException("Unexpected reply of " + reply + " when expecting a " + klass.getName());
+        }
+    }
+
+    @SneakyThrows(ConnectionFailedException.class)
+    private <T> Map<Segment, T> zip(List<Segment> segments, List<T> values) {
+        if (segments.size() != values.size()) {
+            throw new ConnectionFailedException(String.format("Expected %d results; received %d.", segments.size(), values.size()));
+        }
+
+        Map<Segment, T> result = new HashMap<>();
+        for (int i = 0; i < segments.size(); i++) {
+            result.put(segments.get(i), values.get(i));
+        }
+        return result;
+    }
+
+    private <T> Map<Segment, T> merge(List<Map<Segment, T>> maps) {
+        Map<Segment, T> result = new HashMap<>();
+        maps.forEach(result::putAll);
+        return result;
+    }
+
+    private Map<Segment, SegmentInfo> toSegmentInfos(Map<Segment, StreamSegmentInfo> infos) {
+        Map<Segment, SegmentInfo> result = new HashMap<>();
+        infos.forEach((segment, info) -> {
+            if (!info.isExists()) {
+                // Bulk replies report missing segments inline; treat them the same as a NoSuchSegment reply would be.
+                throw new NoSuchSegmentException(segment.getScopedName());
+            }
+            result.put(segment, new SegmentInfo(segment, info.getStartOffset(), info.getWriteOffset(), info.isSealed(),
+                                                info.getLastModified()));
+        });
+        return result;
+    }
+
+    private List<String> getNames(List<Segment> segments) {
+        return segments.stream().map(Segment::getScopedName).collect(Collectors.toList());
+    }
+
+    /**
+     * Fetches the metadata for a batch of segments (all owned by the same endpoint) over the given connection.
+     */
+    @FunctionalInterface
+    private interface BatchFetcher<T> extends BiFunction<RawClient, List<Segment>, CompletableFuture<Map<Segment, T>>> {
+    }
+}
@@ -26,4 +26,13 @@ public interface SegmentMetadataClientFactory {
      */
     SegmentMetadataClient createSegmentMetadataClient(Segment segment, String delegationToken);
 
+    /**
+     * Creates a client for looking at the metadata of many (existing) segments at once.
+     *
+     * @param delegationToken token to be passed on to segmentstore for validation. This must be valid for all the
+     *                        segments that will be looked up using the returned client.
+     * @return New instance of BulkSegmentMetadataClient.
+     */
+    BulkSegmentMetadataClient createBulkSegmentMetadataClient(String delegationToken);
+
 }
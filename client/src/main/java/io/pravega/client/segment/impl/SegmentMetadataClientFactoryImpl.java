@@ -24,4 +24,9 @@ public class SegmentMetadataClientFactoryImpl implements SegmentMetadataClientFa
         return new SegmentMetadataClientImpl(segment, controller, cf, delegationToken);
     }
 
+    @Override
+    public BulkSegmentMetadataClient createBulkSegmentMetadataClient(String delegationToken) {
+        return new BulkSegmentMetadataClientImpl(controller, cf, delegationToken);
+    }
+
 }
@@ -36,13 +36,13 @@ public class SegmentOutputStreamFactoryImpl implements SegmentOutputStreamFactor
     public SegmentOutputStream createOutputStreamForTransaction(Segment segment, UUID txId, EventWriterConfig config,
                                                                 String delegationToken) {
         return new SegmentOutputStreamImpl(StreamSegmentNameUtils.getTransactionNameFromId(segment.getScopedName(), txId), controller, cf,
-                UUID.randomUUID(), nopSegmentSealedCallback, getRetryFromConfig(config), delegationToken);
+                UUID.randomUUID(), nopSegmentSealedCallback, getRetryFromConfig(config), delegationToken, config.isEnableAdaptiveBatching());
     }
 
     @Override
     public SegmentOutputStream createOutputStreamForSegment(Segment segment, Consumer<Segment> segmentSealedCallback, EventWriterConfig config, String delegationToken) {
         SegmentOutputStreamImpl result = new SegmentOutputStreamImpl(segment.getScopedName(), controller, cf,
-                UUID.randomUUID(), segmentSealedCallback, getRetryFromConfig(config), delegationToken);
+                UUID.randomUUID(), segmentSealedCallback, getRetryFromConfig(config), delegationToken, config.isEnableAdaptiveBatching());
         try {
             result.getConnection();
         } catch (RetriesExhaustedException | SegmentSealedException | NoSuchSegmentException e) {
@@ -54,7 +54,8 @@ public class SegmentOutputStreamFactoryImpl implements SegmentOutputStreamFactor
     @Override
     public SegmentOutputStream createOutputStreamForSegment(Segment segment, EventWriterConfig config, String delegationToken) {
         return new SegmentOutputStreamImpl(segment.getScopedName(), controller, cf, UUID.randomUUID(),
-                                           Callbacks::doNothing, getRetryFromConfig(config), delegationToken);
+                                           Callbacks::doNothing, getRetryFromConfig(config), delegationToken,
+                                           config.isEnableAdaptiveBatching());
     }
     
     private RetryWithBackoff getRetryFromConfig(EventWriterConfig config) {
@@ -12,6 +12,7 @@ package io.pravega.client.segment.impl;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import io.pravega.auth.AuthenticationException;
+import io.pravega.client.netty.impl.AdaptiveAppendBatchSizeTracker;
 import io.pravega.client.netty.impl.ClientConnection;
 import io.pravega.client.netty.impl.ConnectionFactory;
 import io.pravega.client.stream.impl.Controller;
@@ -80,6 +81,15 @@ class SegmentOutputStreamImpl implements SegmentOutputStream {
     private final RetryWithBackoff retrySchedule;
     private final Object writeOrderLock = new Object();
     private final String delegationToken;
+    private final boolean adaptiveBatching;
+
+    /**
+     * Creates a new instance of the SegmentOutputStreamImpl class, which uses the default append batching strategy.
+     */
+    SegmentOutputStreamImpl(String segmentName, Controller controller, ConnectionFactory connectionFactory, UUID writerId,
+                            Consumer<Segment> resendToSuccessorsCallback, RetryWithBackoff retrySchedule, String delegationToken) {
+        this(segmentName, controller, connectionFactory, writerId, resendToSuccessorsCallback, retrySchedule, delegationToken, false);
+    }
 
     /**
      * Internal object that tracks the state of the connection.
@@ -533,7 +543,11 @@ class SegmentOutputStreamImpl implements SegmentOutputStream {
                      log.info("Fetching endpoint for segment {}, writerID: {}", segmentName, writerId);
                      return controller.getEndpointForSegment(segmentName).thenComposeAsync((PravegaNodeUri uri) -> {
                          log.info("Establishing connection to {} for {}, writerID: {}", uri, segmentName, writerId);
-                         return connectionFactory.establishConnection(uri, responseProcessor);
+                         if (adaptiveBatching) {
+                             return connectionFactory.establishConnection(uri, responseProcessor, new AdaptiveAppendBatchSizeTracker());
+                         } else {
+                             return connectionFactory.establishConnection(uri, responseProcessor);
+                         }
                      }, connectionFactory.getInternalExecutor()).thenComposeAsync(connection -> {
                          CompletableFuture<Void> connectionSetupFuture = state.newConnection(connection);
                          SetupAppend cmd = new SetupAppend(requestIdGenerator.get(), writerId, segmentName, delegationToken);
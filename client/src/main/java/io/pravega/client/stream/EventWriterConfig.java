@@ -46,11 +46,21 @@ public class EventWriterConfig implements Serializable {
      */
     private final long transactionTimeoutTime;
 
+    /*
+     * If true, the size of the append blocks sent to the Segment Store is adjusted based on the measured round trip
+     * time of appends and the rate at which the writer produces data. Blocks grow up to several MB while the writer is
+     * under sustained load and the Segment Store keeps up, and shrink when acknowledgements slow down or the writer goes
+     * idle. If false, append blocks are sized based on event size and the number of outstanding appends only, and are
+     * capped to 32KB.
+     */
+    private final boolean enableAdaptiveBatching;
+
     public static final class EventWriterConfigBuilder {
         private int initalBackoffMillis = 1;
         private int maxBackoffMillis = 20000;
         private int retryAttempts = 10;
         private int backoffMultiple = 10;
         private long transactionTimeoutTime = 30 * 1000 - 1;
+        private boolean enableAdaptiveBatching = false;
     }
 }
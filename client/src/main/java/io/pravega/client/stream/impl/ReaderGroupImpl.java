@@ -13,7 +13,7 @@ import com.google.common.base.Preconditions;
 import io.pravega.client.SynchronizerClientFactory;
 import io.pravega.client.netty.impl.ConnectionFactory;
 import io.pravega.client.segment.impl.Segment;
-import io.pravega.client.segment.impl.SegmentMetadataClient;
+import io.pravega.client.segment.impl.SegmentInfo;
 import io.pravega.client.segment.impl.SegmentMetadataClientFactory;
 import io.pravega.client.segment.impl.SegmentMetadataClientFactoryImpl;
 import io.pravega.client.state.InitialUpdate;
@@ -54,7 +54,6 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
-import lombok.Cleanup;
 import lombok.Data;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -277,13 +276,20 @@ public class ReaderGroupImpl implements ReaderGroup, ReaderGroupMetrics {
         }
         StreamSegmentSuccessors unreadVal = Futures.getAndHandleExceptions(unread, RuntimeException::new);
         //compute remaining bytes.
+        List<Segment> segmentsToFetch = new ArrayList<>();
         for (Segment s : unreadVal.getSegments()) {
             if (endPositions.containsKey(s)) {
                 totalLength += endPositions.get(s);
             } else {
-                @Cleanup
-                SegmentMetadataClient metadataClient = metaFactory.createSegmentMetadataClient(s, unreadVal.getDelegationToken());
-                totalLength += metadataClient.fetchCurrentSegmentLength();
+                segmentsToFetch.add(s);
+            }
+        }
+        if (!segmentsToFetch.isEmpty()) {
+            Map<Segment, SegmentInfo> segmentInfos = getAndHandleExceptions(
+                    metaFactory.createBulkSegmentMetadataClient(unreadVal.getDelegationToken()).getSegmentInfo(segmentsToFetch),
+                    RuntimeException::new);
+            for (SegmentInfo info : segmentInfos.values()) {
+                totalLength += info.getWriteOffset();
             }
         }
         for (long bytesRead : fromStreamCut.asImpl().getPositions().values()) {
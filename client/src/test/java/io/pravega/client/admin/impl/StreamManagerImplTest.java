@@ -33,6 +33,7 @@ import org.mockito.stubbing.Answer;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -105,7 +106,21 @@ public class StreamManagerImplTest {
             }
         }).when(connection).sendAsync(Mockito.any(WireCommands.GetStreamSegmentInfo.class),
                                       Mockito.any(ClientConnection.CompletedCallback.class));
+        Mockito.doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                WireCommands.GetStreamSegmentsInfo request = (WireCommands.GetStreamSegmentsInfo) invocation.getArgument(0);
+                connectionFactory.getProcessor(location)
+                                 .process(new WireCommands.StreamSegmentsInfo(request.getRequestId(), request.getSegmentNames().stream()
+                                         .map(name -> new WireCommands.StreamSegmentInfo(request.getRequestId(), name, true,
+                                                 false, false, 0, 0, 0))
+                                         .collect(Collectors.toList())));
+                return null;
+            }
+        }).when(connection).sendAsync(Mockito.any(WireCommands.GetStreamSegmentsInfo.class),
+                                      Mockito.any(ClientConnection.CompletedCallback.class));
         connectionFactory.provideConnection(location, connection);
+        connectionFactory.setServerHello(new WireCommands.Hello(WireCommands.WIRE_VERSION, WireCommands.OLDEST_COMPATIBLE_VERSION));
         MockController mockController = new MockController(location.getEndpoint(), location.getPort(),
                                                            connectionFactory);
         @Cleanup
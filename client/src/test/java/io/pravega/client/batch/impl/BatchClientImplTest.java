@@ -22,12 +22,17 @@ import io.pravega.client.stream.mock.MockConnectionFactoryImpl;
 import io.pravega.client.stream.mock.MockController;
 import io.pravega.shared.protocol.netty.ConnectionFailedException;
 import io.pravega.shared.protocol.netty.PravegaNodeUri;
+import io.pravega.shared.protocol.netty.WireCommands;
 import io.pravega.shared.protocol.netty.WireCommands.CreateSegment;
 import io.pravega.shared.protocol.netty.WireCommands.GetStreamSegmentInfo;
+import io.pravega.shared.protocol.netty.WireCommands.GetStreamSegmentsInfo;
+import io.pravega.shared.protocol.netty.WireCommands.Hello;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentCreated;
 import io.pravega.shared.protocol.netty.WireCommands.StreamSegmentInfo;
+import io.pravega.shared.protocol.netty.WireCommands.StreamSegmentsInfo;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.junit.Test;
@@ -135,6 +140,7 @@ public class BatchClientImplTest {
             }
         }).when(connection).sendAsync(Mockito.any(GetStreamSegmentInfo.class),
                                       Mockito.any(ClientConnection.CompletedCallback.class));
+        mockGetStreamSegmentsInfo(connectionFactory, connection, location);
         connectionFactory.provideConnection(location, connection);
         MockController mockController = new MockController(location.getEndpoint(), location.getPort(),
                 connectionFactory);
@@ -192,10 +198,28 @@ public class BatchClientImplTest {
             }
         }).when(connection).sendAsync(Mockito.any(GetStreamSegmentInfo.class),
                                       Mockito.any(ClientConnection.CompletedCallback.class));
+        mockGetStreamSegmentsInfo(connectionFactory, connection, location);
         connectionFactory.provideConnection(location, connection);
         return connectionFactory;
     }
 
+    private void mockGetStreamSegmentsInfo(MockConnectionFactoryImpl connectionFactory, ClientConnection connection,
+                                           PravegaNodeUri location) {
+        Mockito.doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                GetStreamSegmentsInfo request = (GetStreamSegmentsInfo) invocation.getArgument(0);
+                List<StreamSegmentInfo> infos = request.getSegmentNames().stream()
+                        .map(name -> new StreamSegmentInfo(request.getRequestId(), name, true, false, false, 0, 0, 0))
+                        .collect(Collectors.toList());
+                connectionFactory.getProcessor(location).process(new StreamSegmentsInfo(request.getRequestId(), infos));
+                return null;
+            }
+        }).when(connection).sendAsync(Mockito.any(GetStreamSegmentsInfo.class),
+                                      Mockito.any(ClientConnection.CompletedCallback.class));
+        connectionFactory.setServerHello(new Hello(WireCommands.WIRE_VERSION, WireCommands.OLDEST_COMPATIBLE_VERSION));
+    }
+
     private StreamCut getStreamCut(long offset, int... segments) {
         final Map<Segment, Long> positionMap = Arrays.stream(segments).boxed()
                                                      .collect(Collectors.toMap(s -> new Segment("scope", STREAM, s),
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.client.netty.impl;
+
+import io.pravega.test.common.AssertExtensions;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the AdaptiveAppendBatchSizeTracker class.
+ */
+public class AdaptiveAppendBatchSizeTrackerTest {
+    private static final int EVENT_SIZE = 10 * 1024;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10);
+
+    /**
+     * Verifies that batching is disabled for synchronous writers (at most one outstanding append).
+     */
+    @Test
+    public void testSynchronousWriter() {
+        AtomicLong clock = new AtomicLong();
+        AdaptiveAppendBatchSizeTracker tracker = new AdaptiveAppendBatchSizeTracker(clock::get);
+        for (int i = 1; i <= 100; i++) {
+            tracker.recordAppend(i, EVENT_SIZE);
+            Assert.assertEquals("Not expecting batching with a single outstanding append.", 0, tracker.getAppendBlockSize());
+            clock.addAndGet(5);
+            tracker.recordAck(i);
+        }
+    }
+
+    /**
+     * Verifies that the block size grows up to MAX_BLOCK_SIZE while the round trip time is stable, shrinks when it
+     * inflates, and that the block size cap is reset when the writer goes idle.
+     */
+    @Test
+    public void testGrowAndShrink() {
+        AtomicLong clock = new AtomicLong();
+        AdaptiveAppendBatchSizeTracker tracker = new AdaptiveAppendBatchSizeTracker(clock::get);
+        Writer writer = new Writer(tracker, clock);
+        Assert.assertEquals("Unexpected initial cap.", AdaptiveAppendBatchSizeTracker.MIN_BLOCK_SIZE_CAP, tracker.getBlockSizeCap());
+
+        // Heavy load, stable RTT.
+        writer.run(1000, 100, 10);
+        Assert.assertEquals("Expected the cap to grow to the maximum.", AdaptiveAppendBatchSizeTracker.MAX_BLOCK_SIZE, tracker.getBlockSizeCap());
+        Assert.assertEquals("Expected the batch timeout to be half the RTT.", 5, tracker.getBatchTimeout());
+        Assert.assertEquals("Expected the block size to be capped.", AdaptiveAppendBatchSizeTracker.MAX_BLOCK_SIZE, tracker.getAppendBlockSize());
+
+        // Same load, but the server is now taking much longer to ack.
+        writer.run(5000, 100, 200);
+        Assert.assertEquals("Expected the cap to shrink to the minimum.", AdaptiveAppendBatchSizeTracker.MIN_BLOCK_SIZE_CAP, tracker.getBlockSizeCap());
+        AssertExtensions.assertLessThanOrEqual("Expected the block size to shrink.",
+                AdaptiveAppendBatchSizeTracker.MIN_BLOCK_SIZE_CAP, tracker.getAppendBlockSize());
+        Assert.assertEquals("Expected the batch timeout to be capped.", AdaptiveAppendBatchSizeTracker.MAX_BATCH_TIME_MILLIS, tracker.getBatchTimeout());
+
+        // Recover, then go idle.
+        writer.run(5000, 100, 10);
+        AssertExtensions.assertGreaterThan("Expected the cap to grow again.", AdaptiveAppendBatchSizeTracker.MIN_BLOCK_SIZE_CAP, tracker.getBlockSizeCap());
+        writer.ackAll();
+        clock.addAndGet(AdaptiveAppendBatchSizeTracker.IDLE_RESET_MILLIS);
+        writer.run(1, 1, 10);
+        Assert.assertEquals("Expected the cap to be reset after being idle.", AdaptiveAppendBatchSizeTracker.MIN_BLOCK_SIZE_CAP, tracker.getBlockSizeCap());
+    }
+
+    /**
+     * Simulates a writer which appends at a constant rate, and a server that acks with a constant round trip time.
+     */
+    private static class Writer {
+        private final AdaptiveAppendBatchSizeTracker tracker;
+        private final AtomicLong clock;
+        private final ArrayDeque<long[]> inflight = new ArrayDeque<>(); // {sendTime, eventNumber}
+        private long nextEventNumber = 1;
+
+        Writer(AdaptiveAppendBatchSizeTracker tracker, AtomicLong clock) {
+            this.tracker = tracker;
+            this.clock = clock;
+        }
+
+        void run(int millis, int eventsPerMilli, int roundTripMillis) {
+            for (int t = 0; t < millis; t++) {
+                long now = this.clock.incrementAndGet();
+                for (int i = 0; i < eventsPerMilli; i++) {
+                    this.tracker.recordAppend(this.nextEventNumber, EVENT_SIZE);
+                    this.inflight.addLast(new long[]{now, this.nextEventNumber});
+                    this.nextEventNumber++;
+                }
+
+                long lastAcked = -1;
+                while (!this.inflight.isEmpty() && this.inflight.peekFirst()[0] <= now - roundTripMillis) {
+                    lastAcked = this.inflight.removeFirst()[1];
+                }
+
+                if (lastAcked >= 0) {
+                    this.tracker.recordAck(lastAcked);
+                }
+            }
+        }
+
+        void ackAll() {
+            if (!this.inflight.isEmpty()) {
+                this.tracker.recordAck(this.inflight.peekLast()[1]);
+                this.inflight.clear();
+            }
+        }
+    }
+}
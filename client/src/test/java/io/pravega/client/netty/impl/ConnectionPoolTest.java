@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.client.netty.impl;
+
+import io.pravega.shared.protocol.netty.ConnectionFailedException;
+import io.pravega.shared.protocol.netty.PravegaNodeUri;
+import io.pravega.shared.protocol.netty.Reply;
+import io.pravega.shared.protocol.netty.ReplyProcessor;
+import io.pravega.shared.protocol.netty.WireCommand;
+import io.pravega.shared.protocol.netty.WireCommands;
+import io.pravega.test.common.AssertExtensions;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import lombok.Cleanup;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the ConnectionPool class.
+ */
+public class ConnectionPoolTest {
+    private static final PravegaNodeUri ENDPOINT = new PravegaNodeUri("localhost", 12345);
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10);
+
+    /**
+     * Verifies that sessions are spread over up to maxConnectionsPerEndpoint connections, that a connection never carries
+     * two sessions for the same segment, and that a connection is closed when its last session is closed.
+     */
+    @Test
+    public void testConnectionAssignment() throws Exception {
+        TestConnectionFactory factory = new TestConnectionFactory();
+        @Cleanup
+        ConnectionPool pool = new ConnectionPool(2, factory::establishConnection);
+        ClientConnection a1 = pool.establishConnection(ENDPOINT, "a", mock(ReplyProcessor.class)).join();
+        ClientConnection b1 = pool.establishConnection(ENDPOINT, "b", mock(ReplyProcessor.class)).join();
+        ClientConnection c1 = pool.establishConnection(ENDPOINT, "c", mock(ReplyProcessor.class)).join();
+        Assert.assertEquals("Expected new connections to be opened until the maximum is reached.", 2, factory.connections.size());
+        Assert.assertEquals(2, pool.getConnectionCount(ENDPOINT));
+
+        // Both connections can still accept a session for "a" or "b", but not for both.
+        ClientConnection a2 = pool.establishConnection(ENDPOINT, "a", mock(ReplyProcessor.class)).join();
+        Assert.assertEquals(2, factory.connections.size());
+        ClientConnection a3 = pool.establishConnection(ENDPOINT, "a", mock(ReplyProcessor.class)).join();
+        Assert.assertEquals("Expected a dedicated connection.", 3, factory.connections.size());
+        Assert.assertSame(factory.connections.get(2), a3);
+        Assert.assertEquals(2, pool.getConnectionCount(ENDPOINT));
+
+        // Close all sessions; the shared connections should be closed once they have no more sessions.
+        a1.close();
+        c1.close();
+        verify(factory.connections.get(0)).close();
+        verify(factory.connections.get(1), never()).close();
+        b1.close();
+        a2.close();
+        a2.close();
+        verify(factory.connections.get(1), times(1)).close();
+        Assert.assertEquals(0, pool.getConnectionCount(ENDPOINT));
+        AssertExtensions.assertThrows("Closed session was used.",
+                () -> a1.send(new WireCommands.KeepAlive()),
+                ex -> ex instanceof ConnectionFailedException);
+    }
+
+    /**
+     * Verifies that replies are routed to the correct sessions.
+     */
+    @Test
+    public void testReplyRouting() throws Exception {
+        TestConnectionFactory factory = new TestConnectionFactory();
+        @Cleanup
+        ConnectionPool pool = new ConnectionPool(1, factory::establishConnection);
+        ReplyProcessor rpA = mock(ReplyProcessor.class);
+        ReplyProcessor rpB = mock(ReplyProcessor.class);
+        ClientConnection a = pool.establishConnection(ENDPOINT, "a", rpA).join();
+        ClientConnection b = pool.establishConnection(ENDPOINT, "b", rpB).join();
+        Assert.assertEquals(1, factory.connections.size());
+        ReplyProcessor shared = factory.processors.get(0);
+
+        // Replies with a segment name.
+        Reply readA = new WireCommands.SegmentRead("a", 0, false, false, ByteBuffer.allocate(1));
+        shared.process(readA);
+        verify(rpA).process(readA);
+        verify(rpB, never()).process(any());
+
+        // Replies without a segment name are routed based on the request id.
+        b.send(new WireCommands.GetSegmentAttribute(10, "b", UUID.randomUUID(), ""));
+        Reply attributeB = new WireCommands.SegmentAttribute(10, 1);
+        shared.process(attributeB);
+        verify(rpB).process(attributeB);
+        verify(rpA, never()).process(attributeB);
+
+        // A reply for a request that is no longer outstanding is not delivered to anyone.
+        shared.process(attributeB);
+        verify(rpB, times(1)).process(attributeB);
+
+        // Connection level replies and events are delivered to all sessions.
+        Reply keepAlive = new WireCommands.KeepAlive();
+        shared.process(keepAlive);
+        verify(rpA).process(keepAlive);
+        verify(rpB).process(keepAlive);
+
+        a.close();
+        shared.connectionDropped();
+        verify(rpA, never()).connectionDropped();
+        verify(rpB).connectionDropped();
+        Assert.assertEquals("Expected the dropped connection to be removed.", 0, pool.getConnectionCount(ENDPOINT));
+    }
+
+    /**
+     * Verifies that ReadSegment requests are batched while a previous send is in progress (if the server supports it),
+     * and that combined SegmentsRead replies are routed to the correct sessions.
+     */
+    @Test
+    public void testBatchedReads() throws Exception {
+        TestConnectionFactory factory = new TestConnectionFactory();
+        @Cleanup
+        ConnectionPool pool = new ConnectionPool(1, factory::establishConnection);
+        ReplyProcessor rpA = mock(ReplyProcessor.class);
+        ReplyProcessor rpB = mock(ReplyProcessor.class);
+        ClientConnection a = pool.establishConnection(ENDPOINT, "a", rpA).join();
+        ClientConnection b = pool.establishConnection(ENDPOINT, "b", rpB).join();
+        ClientConnection shared = factory.connections.get(0);
+        ReplyProcessor sharedProcessor = factory.processors.get(0);
+        List<WireCommand> sent = new ArrayList<>();
+        List<ClientConnection.CompletedCallback> sendCallbacks = new ArrayList<>();
+        doAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            sendCallbacks.add(invocation.getArgument(1));
+            return null;
+        }).when(shared).sendAsync(any(WireCommand.class), any(ClientConnection.CompletedCallback.class));
+
+        // Older servers do not support batching: reads are sent as they are.
+        WireCommands.ReadSegment readA1 = new WireCommands.ReadSegment("a", 0, 10, "");
+        a.sendAsync(readA1, e -> { });
+        b.sendAsync(new WireCommands.ReadSegment("b", 0, 10, ""), e -> { });
+        Assert.assertEquals(2, sent.size());
+        Assert.assertSame(readA1, sent.get(0));
+        sent.clear();
+        sendCallbacks.clear();
+
+        // Newer servers: reads are queued up while another send is in progress.
+        sharedProcessor.process(new WireCommands.Hello(WireCommands.WIRE_VERSION, WireCommands.OLDEST_COMPATIBLE_VERSION));
+        WireCommands.ReadSegment readA2 = new WireCommands.ReadSegment("a", 10, 10, "");
+        WireCommands.ReadSegment readB2 = new WireCommands.ReadSegment("b", 10, 10, "");
+        WireCommands.ReadSegment readA3 = new WireCommands.ReadSegment("a", 20, 10, "");
+        List<ConnectionFailedException> completed = new ArrayList<>();
+        a.sendAsync(readA2, completed::add);
+        b.sendAsync(readB2, completed::add);
+        a.sendAsync(readA3, completed::add);
+        Assert.assertEquals("Expected the first read to be sent right away.", 1, sent.size());
+        Assert.assertSame(readA2, sent.get(0));
+        Assert.assertEquals(0, completed.size());
+
+        sendCallbacks.get(0).complete(null);
+        Assert.assertEquals("Expected the queued reads to be sent once the previous send completed.", 2, sent.size());
+        Assert.assertTrue(sent.get(1) instanceof WireCommands.ReadSegments);
+        Assert.assertEquals(Arrays.asList(readB2, readA3), ((WireCommands.ReadSegments) sent.get(1)).getReads());
+        Assert.assertEquals(1, completed.size());
+
+        sendCallbacks.get(1).complete(null);
+        Assert.assertEquals("Expected all callbacks to be invoked.", 3, completed.size());
+
+        // Nothing is queued up: the next read goes out right away.
+        a.sendAsync(new WireCommands.ReadSegment("a", 30, 10, ""), completed::add);
+        Assert.assertEquals(3, sent.size());
+        Assert.assertTrue(sent.get(2) instanceof WireCommands.ReadSegment);
+
+        // Combined replies are split up and routed to their sessions.
+        WireCommands.SegmentRead replyA = new WireCommands.SegmentRead("a", 20, false, false, ByteBuffer.allocate(1));
+        WireCommands.SegmentRead replyB = new WireCommands.SegmentRead("b", 10, false, false, ByteBuffer.allocate(1));
+        sharedProcessor.process(new WireCommands.SegmentsRead(1, Arrays.asList(replyA, replyB)));
+        verify(rpA).process(replyA);
+        verify(rpB).process(replyB);
+        verify(rpA, never()).process(replyB);
+        verify(rpB, never()).process(replyA);
+    }
+
+    /**
+     * Verifies that a failure to connect is propagated to all the sessions waiting for that connection.
+     */
+    @Test
+    public void testConnectFailure() {
+        TestConnectionFactory factory = new TestConnectionFactory();
+        @Cleanup
+        ConnectionPool pool = new ConnectionPool(1, factory::establishConnection);
+        factory.nextResult = new CompletableFuture<>();
+        CompletableFuture<ClientConnection> a = pool.establishConnection(ENDPOINT, "a", mock(ReplyProcessor.class));
+        CompletableFuture<ClientConnection> b = pool.establishConnection(ENDPOINT, "b", mock(ReplyProcessor.class));
+        Assert.assertFalse(a.isDone());
+        factory.nextResult.completeExceptionally(new ConnectionFailedException());
+        AssertExtensions.assertThrows("", a::join, ex -> ex instanceof ConnectionFailedException);
+        AssertExtensions.assertThrows("", b::join, ex -> ex instanceof ConnectionFailedException);
+        Assert.assertEquals(0, pool.getConnectionCount(ENDPOINT));
+    }
+
+    private static class TestConnectionFactory {
+        final List<ClientConnection> connections = new ArrayList<>();
+        final List<ReplyProcessor> processors = new ArrayList<>();
+        CompletableFuture<ClientConnection> nextResult;
+
+        CompletableFuture<ClientConnection> establishConnection(PravegaNodeUri endpoint, ReplyProcessor rp) {
+            if (this.nextResult != null) {
+                return this.nextResult;
+            }
+
+            ClientConnection c = mock(ClientConnection.class);
+            this.connections.add(c);
+            this.processors.add(rp);
+            return CompletableFuture.completedFuture(c);
+        }
+    }
+}
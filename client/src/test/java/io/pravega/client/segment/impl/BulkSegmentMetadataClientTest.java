@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.client.segment.impl;
+
+import io.pravega.client.netty.impl.ClientConnection;
+import io.pravega.client.stream.impl.Controller;
+import io.pravega.client.stream.mock.MockConnectionFactoryImpl;
+import io.pravega.common.Exceptions;
+import io.pravega.shared.protocol.netty.PravegaNodeUri;
+import io.pravega.shared.protocol.netty.Reply;
+import io.pravega.shared.protocol.netty.WireCommand;
+import io.pravega.shared.protocol.netty.WireCommands;
+import io.pravega.shared.protocol.netty.WireCommands.GetSegmentsAttribute;
+import io.pravega.shared.protocol.netty.WireCommands.GetStreamSegmentInfo;
+import io.pravega.shared.protocol.netty.WireCommands.GetStreamSegmentsInfo;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentsAttribute;
+import io.pravega.shared.protocol.netty.WireCommands.StreamSegmentInfo;
+import io.pravega.shared.protocol.netty.WireCommands.StreamSegmentsInfo;
+import io.pravega.test.common.AssertExtensions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.Cleanup;
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.mockito.Mockito;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the BulkSegmentMetadataClientImpl class.
+ */
+public class BulkSegmentMetadataClientTest {
+    private static final int SEGMENT_COUNT = 10;
+    private static final PravegaNodeUri ENDPOINT_1 = new PravegaNodeUri("localhost", 1);
+    private static final PravegaNodeUri ENDPOINT_2 = new PravegaNodeUri("localhost", 2);
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10);
+
+    /**
+     * Tests that segment info is fetched with a single request per segment store.
+     */
+    @Test
+    public void testGetSegmentInfo() throws Exception {
+        @Cleanup
+        val context = new TestContext(WireCommands.WIRE_VERSION);
+        val result = context.client.getSegmentInfo(context.segments).get();
+        Assert.assertEquals(SEGMENT_COUNT, result.size());
+        for (Segment s : context.segments) {
+            checkSegmentInfo(s, result.get(s));
+        }
+
+        for (val e : context.requests.entrySet()) {
+            Assert.assertEquals("Expected a single request per endpoint.", 1, e.getValue().size());
+            val request = (GetStreamSegmentsInfo) e.getValue().get(0);
+            val expectedNames = context.segments.stream()
+                                                .filter(s -> context.getEndpoint(s).equals(e.getKey()))
+                                                .map(Segment::getScopedName)
+                                                .collect(Collectors.toList());
+            Assert.assertEquals("Unexpected segments requested from " + e.getKey(), expectedNames, request.getSegmentNames());
+        }
+
+        Assert.assertTrue("Not expecting any requests for no segments.",
+                context.client.getSegmentInfo(Collections.emptyList()).join().isEmpty());
+    }
+
+    /**
+     * Tests that segment stores that do not support bulk requests are sent one request per segment.
+     */
+    @Test
+    public void testGetSegmentInfoLegacyServer() throws Exception {
+        @Cleanup
+        val context = new TestContext(WireCommands.WIRE_VERSION - 1);
+        val result = context.client.getSegmentInfo(context.segments).get();
+        Assert.assertEquals(SEGMENT_COUNT, result.size());
+        for (Segment s : context.segments) {
+            checkSegmentInfo(s, result.get(s));
+        }
+
+        int requestCount = 0;
+        for (val requests : context.requests.values()) {
+            Assert.assertTrue("Not expecting any bulk requests.",
+                    requests.stream().allMatch(r -> r instanceof GetStreamSegmentInfo));
+            requestCount += requests.size();
+        }
+        Assert.assertEquals("Expected one request per segment.", SEGMENT_COUNT, requestCount);
+    }
+
+    /**
+     * Tests the fetchProperty method.
+     */
+    @Test
+    public void testFetchProperty() throws Exception {
+        @Cleanup
+        val context = new TestContext(WireCommands.WIRE_VERSION);
+        val result = context.client.fetchProperty(context.segments, SegmentAttribute.RevisionStreamClientMark).get();
+        Assert.assertEquals(SEGMENT_COUNT, result.size());
+        for (Segment s : context.segments) {
+            Assert.assertEquals("Unexpected attribute value for " + s, s.getSegmentId(), (long) result.get(s));
+        }
+
+        for (val requests : context.requests.values()) {
+            Assert.assertEquals("Expected a single request per endpoint.", 1, requests.size());
+            Assert.assertEquals(SegmentAttribute.RevisionStreamClientMark.getValue(),
+                    ((GetSegmentsAttribute) requests.get(0)).getAttributeId());
+        }
+    }
+
+    /**
+     * Tests that a NoSuchSegment reply fails the whole operation.
+     */
+    @Test
+    public void testNoSuchSegment() throws Exception {
+        @Cleanup
+        val context = new TestContext(WireCommands.WIRE_VERSION);
+        Mockito.doAnswer(invocation -> {
+            GetStreamSegmentsInfo request = invocation.getArgument(0);
+            String segmentName = request.getSegmentNames().get(0);
+            context.connectionFactory.getProcessor(ENDPOINT_1)
+                                     .process(new WireCommands.NoSuchSegment(request.getRequestId(), segmentName, ""));
+            return null;
+        }).when(context.connections.get(ENDPOINT_1)).sendAsync(any(GetStreamSegmentsInfo.class), any());
+
+        AssertExtensions.assertThrows(
+                "Expected the operation to fail.",
+                () -> context.client.getSegmentInfo(context.segments).join(),
+                ex -> Exceptions.unwrap(ex) instanceof NoSuchSegmentException);
+    }
+
+    /**
+     * Tests that a segment reported as missing in a bulk reply fails the whole operation, the same way as a NoSuchSegment
+     * reply does.
+     */
+    @Test
+    public void testMissingSegmentInBulkReply() throws Exception {
+        @Cleanup
+        val context = new TestContext(WireCommands.WIRE_VERSION);
+        Mockito.doAnswer(invocation -> {
+            GetStreamSegmentsInfo request = invocation.getArgument(0);
+            val infos = request.getSegmentNames().stream()
+                               .map(name -> createInfo(request.getRequestId(), name))
+                               .collect(Collectors.toList());
+            infos.set(0, new StreamSegmentInfo(request.getRequestId(), request.getSegmentNames().get(0), false, true, true, 0, 0, 0));
+            context.connectionFactory.getProcessor(ENDPOINT_1).process(new StreamSegmentsInfo(request.getRequestId(), infos));
+            return null;
+        }).when(context.connections.get(ENDPOINT_1)).sendAsync(any(GetStreamSegmentsInfo.class), any());
+
+        AssertExtensions.assertThrows(
+                "Expected the operation to fail.",
+                () -> context.client.getSegmentInfo(context.segments).join(),
+                ex -> Exceptions.unwrap(ex) instanceof NoSuchSegmentException);
+    }
+
+    private void checkSegmentInfo(Segment segment, SegmentInfo info) {
+        Assert.assertNotNull("No info for " + segment, info);
+        Assert.assertEquals(segment, info.getSegment());
+        Assert.assertEquals("Unexpected write offset for " + segment, segment.getSegmentId() * 10, info.getWriteOffset());
+        Assert.assertEquals("Unexpected start offset for " + segment, segment.getSegmentId(), info.getStartingOffset());
+    }
+
+    private static StreamSegmentInfo createInfo(long requestId, String segmentName) {
+        long number = Segment.fromScopedName(segmentName).getSegmentId();
+        return new StreamSegmentInfo(requestId, segmentName, true, false, false, 0, number * 10, number);
+    }
+
+    private static class TestContext implements AutoCloseable {
+        final MockConnectionFactoryImpl connectionFactory = new MockConnectionFactoryImpl();
+        final Map<PravegaNodeUri, ClientConnection> connections = new HashMap<>();
+        final Map<PravegaNodeUri, List<WireCommand>> requests = new HashMap<>();
+        final List<Segment> segments;
+        final BulkSegmentMetadataClient client;
+
+        TestContext(int serverVersion) throws Exception {
+            this.segments = IntStream.range(0, SEGMENT_COUNT).mapToObj(i -> new Segment("scope", "stream", i))
+                                     .collect(Collectors.toList());
+            Controller controller = mock(Controller.class);
+            Mockito.when(controller.getEndpointForSegment(anyString()))
+                   .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                           getEndpoint(Segment.fromScopedName(invocation.getArgument(0)))));
+
+            for (PravegaNodeUri endpoint : new PravegaNodeUri[]{ENDPOINT_1, ENDPOINT_2}) {
+                ClientConnection connection = mock(ClientConnection.class);
+                List<WireCommand> received = Collections.synchronizedList(new ArrayList<>());
+                Mockito.doAnswer(invocation -> {
+                    WireCommand request = invocation.getArgument(0);
+                    received.add(request);
+                    this.connectionFactory.getProcessor(endpoint).process(reply(request));
+                    return null;
+                }).when(connection).sendAsync(any(WireCommand.class), any());
+                this.connectionFactory.provideConnection(endpoint, connection);
+                this.connections.put(endpoint, connection);
+                this.requests.put(endpoint, received);
+            }
+
+            this.connectionFactory.setServerHello(new WireCommands.Hello(serverVersion, WireCommands.OLDEST_COMPATIBLE_VERSION));
+            this.client = new BulkSegmentMetadataClientImpl(controller, this.connectionFactory, "");
+        }
+
+        PravegaNodeUri getEndpoint(Segment segment) {
+            return segment.getSegmentId() % 2 == 0 ? ENDPOINT_1 : ENDPOINT_2;
+        }
+
+        private Reply reply(WireCommand request) {
+            if (request instanceof GetStreamSegmentsInfo) {
+                val r = (GetStreamSegmentsInfo) request;
+                return new StreamSegmentsInfo(r.getRequestId(), r.getSegmentNames().stream()
+                                                                 .map(name -> createInfo(r.getRequestId(), name))
+                                                                 .collect(Collectors.toList()));
+            } else if (request instanceof GetStreamSegmentInfo) {
+                val r = (GetStreamSegmentInfo) request;
+                return createInfo(r.getRequestId(), r.getSegmentName());
+            } else if (request instanceof GetSegmentsAttribute) {
+                val r = (GetSegmentsAttribute) request;
+                return new SegmentsAttribute(r.getRequestId(), r.getSegmentNames().stream()
+                                                                .map(name -> Segment.fromScopedName(name).getSegmentId())
+                                                                .collect(Collectors.toList()));
+            }
+            throw new AssertionError("Unexpected request " + request);
+        }
+
+        @Override
+        public void close() {
+            this.connectionFactory.close();
+        }
+    }
+}
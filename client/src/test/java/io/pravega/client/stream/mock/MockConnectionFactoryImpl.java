@@ -15,6 +15,7 @@ import io.pravega.client.netty.impl.ConnectionFactory;
 import io.pravega.common.concurrent.ExecutorServiceHelpers;
 import io.pravega.shared.protocol.netty.PravegaNodeUri;
 import io.pravega.shared.protocol.netty.ReplyProcessor;
+import io.pravega.shared.protocol.netty.WireCommands;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -29,6 +30,11 @@ public class MockConnectionFactoryImpl implements ConnectionFactory {
     Map<PravegaNodeUri, ReplyProcessor> processors = new HashMap<>();
     @Setter
     ScheduledExecutorService executor = ExecutorServiceHelpers.newScheduledThreadPool(5, "testClientInternal");
+    /**
+     * If set, this is delivered to every ReplyProcessor as soon as its connection is established (as a segment store would).
+     */
+    @Setter
+    WireCommands.Hello serverHello;
 
     @Override
     @Synchronized
@@ -36,6 +42,9 @@ public class MockConnectionFactoryImpl implements ConnectionFactory {
         ClientConnection connection = connections.get(location);
         Preconditions.checkState(connection != null, "Unexpected Endpoint");
         processors.put(location, rp);
+        if (serverHello != null) {
+            rp.process(serverHello);
+        }
         return CompletableFuture.completedFuture(connection);
     }
 
@@ -9,10 +9,13 @@
  */
 package io.pravega.client.stream.mock;
 
+import io.pravega.client.segment.impl.BulkSegmentMetadataClient;
 import io.pravega.client.segment.impl.ConditionalOutputStream;
 import io.pravega.client.segment.impl.ConditionalOutputStreamFactory;
 import io.pravega.client.segment.impl.EventSegmentReader;
 import io.pravega.client.segment.impl.Segment;
+import io.pravega.client.segment.impl.SegmentAttribute;
+import io.pravega.client.segment.impl.SegmentInfo;
 import io.pravega.client.segment.impl.SegmentInputStream;
 import io.pravega.client.segment.impl.SegmentInputStreamFactory;
 import io.pravega.client.segment.impl.SegmentMetadataClient;
@@ -20,10 +23,13 @@ import io.pravega.client.segment.impl.SegmentMetadataClientFactory;
 import io.pravega.client.segment.impl.SegmentOutputStream;
 import io.pravega.client.segment.impl.SegmentOutputStreamFactory;
 import io.pravega.client.stream.EventWriterConfig;
+import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public class MockSegmentStreamFactory implements SegmentInputStreamFactory, SegmentOutputStreamFactory, ConditionalOutputStreamFactory, SegmentMetadataClientFactory {
 
@@ -81,4 +87,21 @@ public class MockSegmentStreamFactory implements SegmentInputStreamFactory, Segm
         return getMockStream(segment);
     }
 
+    @Override
+    public BulkSegmentMetadataClient createBulkSegmentMetadataClient(String delegationToken) {
+        return new BulkSegmentMetadataClient() {
+            @Override
+            public CompletableFuture<Map<Segment, SegmentInfo>> getSegmentInfo(Collection<Segment> segments) {
+                return CompletableFuture.completedFuture(
+                        segments.stream().collect(Collectors.toMap(s -> s, s -> getMockStream(s).getSegmentInfo())));
+            }
+
+            @Override
+            public CompletableFuture<Map<Segment, Long>> fetchProperty(Collection<Segment> segments, SegmentAttribute attribute) {
+                return CompletableFuture.completedFuture(
+                        segments.stream().collect(Collectors.toMap(s -> s, s -> getMockStream(s).fetchProperty(attribute))));
+            }
+        };
+    }
+
 }
@@ -209,6 +209,19 @@ public final class BitConverter {
                 | (source.get(position + 7) & 0xFF);
     }
 
+    /**
+     * Reads a 64-bit long from the given InputStream that was encoded using BitConverter.writeLong.
+     *
+     * @param source The InputStream to read from.
+     * @return The read number.
+     * @throws IOException If an exception got thrown.
+     */
+    public static long readLong(InputStream source) throws IOException {
+        long high = readInt(source);
+        long low = readInt(source);
+        return (high << 32) | (low & 0xFFFF_FFFFL);
+    }
+
     /**
      * Reads a 64-bit long from the given byte array starting at the given position.
      *
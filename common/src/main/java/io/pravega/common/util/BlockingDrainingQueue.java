@@ -16,24 +16,28 @@ import java.util.ArrayDeque;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Represents a thread-safe queue that dequeues all elements at once. Blocks the Dequeue if empty until new elements arrive.
  *
+ * This queue is optimized for many concurrent producers and a single consumer: add() does not acquire any locks unless
+ * there is a pending take() request that needs to be completed. Only the dequeue operations (take(), poll(), close())
+ * synchronize with each other.
+ *
  * @param <T> The type of the items in the queue.
  */
 @ThreadSafe
 public class BlockingDrainingQueue<T> {
     //region Members
 
-    @GuardedBy("contents")
-    private final ArrayDeque<T> contents;
-    @GuardedBy("contents")
-    private CompletableFuture<Queue<T>> pendingTake;
-    @GuardedBy("contents")
-    private boolean closed;
+    private final ConcurrentLinkedQueue<T> contents;
+    private final Object lock = new Object();
+    // Both of these are only modified while holding the lock, but they may be read without it (see add()).
+    private volatile CompletableFuture<Queue<T>> pendingTake;
+    private volatile boolean closed;
 
     ///endregion
 
@@ -43,7 +47,7 @@ public class BlockingDrainingQueue<T> {
      * Creates a new instance of the BlockingDrainingQueue class.
      */
     public BlockingDrainingQueue() {
-        this.contents = new ArrayDeque<>();
+        this.contents = new ConcurrentLinkedQueue<>();
     }
 
     //endregion
@@ -59,12 +63,12 @@ public class BlockingDrainingQueue<T> {
     public Queue<T> close() {
         CompletableFuture<Queue<T>> pending = null;
         Queue<T> result = null;
-        synchronized (this.contents) {
+        synchronized (this.lock) {
             if (!this.closed) {
                 this.closed = true;
                 pending = this.pendingTake;
                 this.pendingTake = null;
-                result = fetch(this.contents.size());
+                result = fetch(Integer.MAX_VALUE);
             }
         }
 
@@ -81,7 +85,7 @@ public class BlockingDrainingQueue<T> {
      */
     public void cancelPendingTake() {
         CompletableFuture<Queue<T>> pending;
-        synchronized (this.contents) {
+        synchronized (this.lock) {
             pending = this.pendingTake;
             this.pendingTake = null;
         }
@@ -99,15 +103,30 @@ public class BlockingDrainingQueue<T> {
      * @throws ObjectClosedException If the Queue is closed.
      */
     public void add(T item) {
-        CompletableFuture<Queue<T>> pending;
+        Exceptions.checkNotClosed(this.closed, this);
+        this.contents.add(item);
+        if (this.closed && this.contents.remove(item)) {
+            // The queue was closed concurrently with this call and close() did not pick up our item.
+            throw new ObjectClosedException(this);
+        }
+
+        // This check does not need to be made while holding the lock. take() registers its pendingTake before checking
+        // the contents, so either it will find our item, or we will find its pendingTake here.
+        if (this.pendingTake == null) {
+            return;
+        }
+
+        CompletableFuture<Queue<T>> pending = null;
         Queue<T> result = null;
-        synchronized (this.contents) {
-            Exceptions.checkNotClosed(this.closed, this);
-            this.contents.addLast(item);
-            pending = this.pendingTake;
-            this.pendingTake = null;
-            if (pending != null) {
-                result = fetch(this.contents.size());
+        synchronized (this.lock) {
+            if (this.pendingTake != null) {
+                result = fetch(Integer.MAX_VALUE);
+                if (result.size() > 0) {
+                    // Our item may have already been picked up by someone else; only complete the pending take() if
+                    // we have something to complete it with.
+                    pending = this.pendingTake;
+                    this.pendingTake = null;
+                }
             }
         }
 
@@ -124,7 +143,7 @@ public class BlockingDrainingQueue<T> {
      * @throws IllegalStateException If there is a pending take() operation which hasn't completed yet.
      */
     public Queue<T> poll(int maxCount) {
-        synchronized (this.contents) {
+        synchronized (this.lock) {
             Exceptions.checkNotClosed(this.closed, this);
             Preconditions.checkState(this.pendingTake == null, "Cannot call poll() when there is a pending take() request.");
             return fetch(maxCount);
@@ -135,7 +154,7 @@ public class BlockingDrainingQueue<T> {
      * Returns the next items from the queue. If the queue is empty, it blocks the call until at least one item is added.
      *
      * @param maxCount The maximum number of items to return. This argument will be ignored if the queue is currently empty,
-     *                 but in that case the result will always be completed with exactly one element.
+     *                 but in that case the result will always be completed with at least one element.
      * @return A CompletableFuture that, when completed, will contain the requested result. If the queue is not currently
      * empty, this Future will already be completed, otherwise it will be completed the next time the add() method is called.
      * If the queue is closed and this Future is not yet completed, it will be cancelled.
@@ -143,36 +162,43 @@ public class BlockingDrainingQueue<T> {
      * @throws IllegalStateException If another call to take() is in progress.
      */
     public CompletableFuture<Queue<T>> take(int maxCount) {
-        synchronized (this.contents) {
+        synchronized (this.lock) {
             Exceptions.checkNotClosed(this.closed, this);
             Preconditions.checkState(this.pendingTake == null, "Cannot have more than one concurrent pending take() request.");
+
+            // Register the pending take() before checking the contents (see add() for why).
+            CompletableFuture<Queue<T>> pending = new CompletableFuture<>();
+            this.pendingTake = pending;
             Queue<T> result = fetch(maxCount);
             if (result.size() > 0) {
+                this.pendingTake = null;
                 return CompletableFuture.completedFuture(result);
             } else {
-                this.pendingTake = new CompletableFuture<>();
-                return this.pendingTake;
+                return pending;
             }
         }
     }
 
     /**
-     * Gets a value indicating the size of this queue.
+     * Gets a value indicating the size of this queue. This is not a constant-time operation and, if the queue is being
+     * modified concurrently, the result is only an estimate.
      *
      * @return The size.
      */
     public int size() {
-        synchronized (this.contents) {
-            return this.contents.size();
-        }
+        return this.contents.size();
     }
 
-    @GuardedBy("contents")
+    @GuardedBy("lock")
     private Queue<T> fetch(int maxCount) {
-        int count = Math.min(maxCount, this.contents.size());
-        ArrayDeque<T> result = new ArrayDeque<>(count);
-        while (result.size() < count) {
-            result.addLast(this.contents.pollFirst());
+        ArrayDeque<T> result = new ArrayDeque<>();
+        while (result.size() < maxCount) {
+            T item = this.contents.poll();
+            if (item == null) {
+                break;
+            }
+
+            result.addLast(item);
         }
 
         return result;
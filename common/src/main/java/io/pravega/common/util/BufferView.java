@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.common.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Defines a generic read-only view of a buffer, which may or may not be backed by a single array (i.e., it may be made
+ * up of multiple non-contiguous memory regions, some of which may be off-heap).
+ *
+ * Some implementations may be reference-counted. Components that need to hold on to a BufferView beyond the scope of
+ * the call in which it was handed to them should invoke retain() and later release() to ensure the underlying memory is
+ * not reclaimed while still in use. For non-reference-counted implementations, these methods have no effect.
+ */
+public interface BufferView {
+    /**
+     * Gets a value representing the length of this BufferView.
+     *
+     * @return The length.
+     */
+    int getLength();
+
+    /**
+     * Creates an InputStream that can be used to read the contents of this BufferView. The InputStream returned
+     * spans the entire BufferView.
+     *
+     * @return The InputStream.
+     */
+    InputStream getReader();
+
+    /**
+     * Returns a copy of the contents of this BufferView.
+     *
+     * @return A byte array with the same length as this BufferView, containing a copy of the data within it.
+     */
+    byte[] getCopy();
+
+    /**
+     * Copies the entire contents of this BufferView to the given OutputStream, without making any intermediate copies
+     * (where possible).
+     *
+     * @param target The OutputStream to write to.
+     * @throws IOException If the OutputStream threw one.
+     */
+    void copyTo(OutputStream target) throws IOException;
+
+    /**
+     * Increments the reference count of this BufferView, if it is reference-counted.
+     */
+    default void retain() {
+        // Not reference-counted by default.
+    }
+
+    /**
+     * Decrements the reference count of this BufferView, if it is reference-counted. The underlying memory may be
+     * reclaimed once the reference count reaches 0, so no further access to this BufferView should be made after that.
+     */
+    default void release() {
+        // Not reference-counted by default.
+    }
+}
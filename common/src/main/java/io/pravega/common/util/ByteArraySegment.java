@@ -24,7 +24,7 @@ import java.util.stream.IntStream;
 /**
  * Allows segmenting a byte array and operating only on that segment.
  */
-public class ByteArraySegment implements ArrayView {
+public class ByteArraySegment implements ArrayView, BufferView {
     //region Members
 
     private final byte[] array;
@@ -141,6 +141,11 @@ public class ByteArraySegment implements ArrayView {
         System.arraycopy(this.array, this.startOffset, target, targetOffset, length);
     }
 
+    @Override
+    public void copyTo(OutputStream target) throws IOException {
+        writeTo(target);
+    }
+
     //endregion
 
     //region Operations
@@ -9,6 +9,8 @@
  */
 package io.pravega.common.util;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -42,6 +44,18 @@ public class BitConverterTests {
         test(BitConverter::writeLong, BitConverter::readLong, Long.MIN_VALUE, Long.MAX_VALUE, -1L, 0L, 1L);
     }
 
+    /**
+     * Tests the {@link BitConverter#writeLong} and {@link BitConverter#readLong(java.io.InputStream)}.
+     */
+    @Test
+    public void testLongInputStream() throws IOException {
+        byte[] buffer = new byte[MAX_LENGTH];
+        for (long value : new long[]{Long.MIN_VALUE, Long.MAX_VALUE, -1L, 0L, 1L}) {
+            BitConverter.writeLong(buffer, 0, value);
+            Assert.assertEquals("Unexpected deserialized value.", value, BitConverter.readLong(new ByteArrayInputStream(buffer)));
+        }
+    }
+
     /**
      * Tests the {@link BitConverter#writeUnsignedLong} and {@link BitConverter#readUnsignedLong}.
      */
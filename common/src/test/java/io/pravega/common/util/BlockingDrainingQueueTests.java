@@ -9,13 +9,20 @@
  */
 package io.pravega.common.util;
 
+import io.pravega.common.ObjectClosedException;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.test.common.AssertExtensions;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Queue;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import lombok.Cleanup;
 import lombok.val;
 import org.junit.Assert;
@@ -213,6 +220,66 @@ public class BlockingDrainingQueueTests {
         }
     }
 
+    /**
+     * Tests the ability of the queue to handle multiple concurrent producers, while a single consumer alternates between
+     * take() and poll(). Verifies that every item is dequeued exactly once and in the order in which it was added.
+     */
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        final int producerCount = 4;
+        final int itemsPerProducer = ITEM_COUNT * 10;
+
+        @Cleanup("shutdown")
+        ScheduledExecutorService executor = ExecutorServiceHelpers.newScheduledThreadPool(producerCount, "test");
+        @Cleanup
+        BlockingDrainingQueue<Integer> queue = new BlockingDrainingQueue<>();
+
+        // Each item encodes its producer (high-order) and its index within that producer (low-order).
+        val producers = IntStream.range(0, producerCount)
+                                 .mapToObj(p -> CompletableFuture.runAsync(() -> {
+                                     for (int i = 0; i < itemsPerProducer; i++) {
+                                         queue.add(p * itemsPerProducer + i);
+                                     }
+                                 }, executor))
+                                 .collect(Collectors.toList());
+
+        val received = new HashMap<Integer, ArrayList<Integer>>();
+        int receivedCount = 0;
+        while (receivedCount < producerCount * itemsPerProducer) {
+            Queue<Integer> items = receivedCount % 2 == 0
+                    ? queue.take(MAX_READ_COUNT).get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                    : queue.poll(MAX_READ_COUNT);
+            for (int item : items) {
+                received.computeIfAbsent(item / itemsPerProducer, p -> new ArrayList<>()).add(item % itemsPerProducer);
+                receivedCount++;
+            }
+        }
+
+        Futures.allOf(producers).get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        Assert.assertEquals("Not expecting any more items in the queue.", 0, queue.size());
+        Assert.assertEquals("Unexpected number of producers.", producerCount, received.size());
+        for (val e : received.entrySet()) {
+            val expected = IntStream.range(0, itemsPerProducer).boxed().collect(Collectors.toList());
+            Assert.assertEquals("Unexpected items or order for producer " + e.getKey(), expected, e.getValue());
+        }
+    }
+
+    /**
+     * Tests that add() fails once the queue is closed.
+     */
+    @Test
+    public void testAddAfterClose() {
+        @Cleanup
+        BlockingDrainingQueue<Integer> queue = new BlockingDrainingQueue<>();
+        queue.add(1);
+        Assert.assertEquals("Unexpected result size from Queue.close().", 1, queue.close().size());
+        AssertExtensions.assertThrows(
+                "add() succeeded after the queue was closed.",
+                () -> queue.add(2),
+                ex -> ex instanceof ObjectClosedException);
+        Assert.assertEquals("Not expecting the item to be added to a closed queue.", 0, queue.size());
+    }
+
     private void populate(BlockingDrainingQueue<Integer> queue) {
         for (int i = 0; i < ITEM_COUNT; i++) {
             queue.add(i);
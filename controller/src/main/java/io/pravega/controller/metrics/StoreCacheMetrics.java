@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.controller.metrics;
+
+import static io.pravega.shared.MetricsNames.STORE_CACHE_EVICTIONS;
+import static io.pravega.shared.MetricsNames.STORE_CACHE_HITS;
+import static io.pravega.shared.MetricsNames.STORE_CACHE_MISSES;
+
+/**
+ * Class to encapsulate the logic to report Controller metrics for the Stream metadata store cache.
+ */
+public final class StoreCacheMetrics extends AbstractControllerMetrics {
+
+    /**
+     * Reports that a lookup was served from the cache.
+     */
+    public void cacheHit() {
+        DYNAMIC_LOGGER.incCounterValue(STORE_CACHE_HITS, 1);
+    }
+
+    /**
+     * Reports that a lookup could not be served from the cache and had to be loaded from the store.
+     */
+    public void cacheMiss() {
+        DYNAMIC_LOGGER.incCounterValue(STORE_CACHE_MISSES, 1);
+    }
+
+    /**
+     * Reports that an entry was evicted from the cache to make room for others.
+     */
+    public void cacheEviction() {
+        DYNAMIC_LOGGER.incCounterValue(STORE_CACHE_EVICTIONS, 1);
+    }
+}
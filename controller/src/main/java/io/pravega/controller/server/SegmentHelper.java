@@ -12,7 +12,6 @@ package io.pravega.controller.server;
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
 import io.pravega.auth.AuthenticationException;
-import io.pravega.client.netty.impl.ClientConnection;
 import io.pravega.client.netty.impl.ConnectionFactory;
 import io.pravega.client.stream.ScalingPolicy;
 import io.pravega.client.stream.impl.ModelHelper;
@@ -36,6 +35,7 @@ import io.pravega.shared.protocol.netty.ConnectionFailedException;
 import io.pravega.shared.protocol.netty.FailingReplyProcessor;
 import io.pravega.shared.protocol.netty.PravegaNodeUri;
 import io.pravega.shared.protocol.netty.ReplyProcessor;
+import io.pravega.shared.protocol.netty.Request;
 import io.pravega.shared.protocol.netty.WireCommand;
 import io.pravega.shared.protocol.netty.WireCommandType;
 import io.pravega.shared.protocol.netty.WireCommands;
@@ -57,11 +57,25 @@ import static io.pravega.shared.segment.StreamSegmentNameUtils.getScopedStreamNa
 import static io.pravega.shared.segment.StreamSegmentNameUtils.getSegmentNumber;
 import static io.pravega.shared.segment.StreamSegmentNameUtils.getTransactionNameFromId;
 
-public class SegmentHelper {
+public class SegmentHelper implements AutoCloseable {
 
     private static final TagLogger log = new TagLogger(LoggerFactory.getLogger(SegmentHelper.class));
 
     private final Supplier<Long> idGenerator = new AtomicLong(0)::incrementAndGet;
+    private final SegmentStoreConnectionManager connectionManager;
+
+    public SegmentHelper() {
+        this(new SegmentStoreConnectionManager());
+    }
+
+    public SegmentHelper(SegmentStoreConnectionManager connectionManager) {
+        this.connectionManager = Preconditions.checkNotNull(connectionManager, "connectionManager");
+    }
+
+    @Override
+    public void close() {
+        connectionManager.close();
+    }
 
     public Controller.NodeUri getSegmentUri(final String scope,
                                             final String stream,
@@ -1234,31 +1248,31 @@ public class SegmentHelper {
         return key;
     }
 
-    private <ResultT> void sendRequestAsync(final WireCommand request, final ReplyProcessor replyProcessor,
-                                            final CompletableFuture<ResultT> resultFuture,
-                                            final ConnectionFactory connectionFactory, final PravegaNodeUri uri) {
-        CompletableFuture<ClientConnection> connectionFuture = connectionFactory.establishConnection(uri, replyProcessor);
-        connectionFuture.whenComplete((connection, e) -> {
-            if (connection == null) {
-                resultFuture.completeExceptionally(new WireCommandFailedException(new ConnectionFailedException(e),
-                        request.getType(),
-                        WireCommandFailedException.Reason.ConnectionFailed));
-            } else {                
-                connection.sendAsync(request, cfe -> {
-                    if (cfe != null) {
-                        Throwable cause = Exceptions.unwrap(cfe);
-                        if (cause instanceof ConnectionFailedException) {
-                            resultFuture.completeExceptionally(new WireCommandFailedException(cause, request.getType(), WireCommandFailedException.Reason.ConnectionFailed));
-                        } else {
-                            resultFuture.completeExceptionally(new RuntimeException(cause));
-                        }                        
-                    }
-                });                
+    private <ResultT, T extends Request & WireCommand> void sendRequestAsync(final T request, final ReplyProcessor replyProcessor,
+                                                                            final CompletableFuture<ResultT> resultFuture,
+                                                                            final ConnectionFactory connectionFactory,
+                                                                            final PravegaNodeUri uri) {
+        SegmentStoreConnectionManager.PendingRequest pendingRequest;
+        try {
+            pendingRequest = connectionManager.sendRequest(uri, connectionFactory, request, replyProcessor);
+        } catch (Exception e) {
+            resultFuture.completeExceptionally(new WireCommandFailedException(new ConnectionFailedException(e),
+                    request.getType(),
+                    WireCommandFailedException.Reason.ConnectionFailed));
+            return;
+        }
+
+        pendingRequest.getSendFuture().whenComplete((r, e) -> {
+            if (e != null) {
+                Throwable cause = Exceptions.unwrap(e);
+                if (cause instanceof ConnectionFailedException) {
+                    resultFuture.completeExceptionally(new WireCommandFailedException(cause, request.getType(), WireCommandFailedException.Reason.ConnectionFailed));
+                } else {
+                    resultFuture.completeExceptionally(new RuntimeException(cause));
+                }
             }
         });
-        resultFuture.whenComplete((result, e) -> {
-            connectionFuture.thenAccept(ClientConnection::close);
-        });
+        resultFuture.whenComplete((result, e) -> pendingRequest.close());
     }
 
     private Pair<Byte, Integer> extractFromPolicy(ScalingPolicy policy) {
@@ -0,0 +1,404 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.controller.server;
+
+import com.google.common.base.Preconditions;
+import io.pravega.client.netty.impl.ClientConnection;
+import io.pravega.client.netty.impl.ConnectionFactory;
+import io.pravega.common.Exceptions;
+import io.pravega.shared.protocol.netty.ConnectionFailedException;
+import io.pravega.shared.protocol.netty.FailingReplyProcessor;
+import io.pravega.shared.protocol.netty.PravegaNodeUri;
+import io.pravega.shared.protocol.netty.Reply;
+import io.pravega.shared.protocol.netty.ReplyProcessor;
+import io.pravega.shared.protocol.netty.Request;
+import io.pravega.shared.protocol.netty.WireCommand;
+import io.pravega.shared.protocol.netty.WireCommands;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains a pool of long-lived, multiplexed connections to each Segment Store node.
+ *
+ * Every request sent through this class is associated with a ReplyProcessor which is registered with one of the pooled
+ * connections under the request's id. Replies arriving on that connection are dispatched to the ReplyProcessor registered
+ * for their request id, so many concurrent requests can share the same connection. Since request ids are only required
+ * to be unique per connection, two in-flight requests with the same id will never be placed on the same connection.
+ */
+@Slf4j
+@ThreadSafe
+public class SegmentStoreConnectionManager implements AutoCloseable {
+    //region Members
+
+    /**
+     * Default maximum number of pooled connections to each Segment Store node.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 4;
+    private final int maxConnectionsPerHost;
+    private final Object lock = new Object();
+    @GuardedBy("lock")
+    private final Map<PravegaNodeUri, List<MultiplexedConnection>> pools = new HashMap<>();
+    @GuardedBy("lock")
+    private boolean closed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the SegmentStoreConnectionManager class using the default maximum number of connections
+     * per Segment Store node.
+     */
+    public SegmentStoreConnectionManager() {
+        this(DEFAULT_MAX_CONNECTIONS_PER_HOST);
+    }
+
+    /**
+     * Creates a new instance of the SegmentStoreConnectionManager class.
+     *
+     * @param maxConnectionsPerHost The maximum number of pooled connections to keep open to each Segment Store node.
+     */
+    public SegmentStoreConnectionManager(int maxConnectionsPerHost) {
+        Preconditions.checkArgument(maxConnectionsPerHost > 0, "maxConnectionsPerHost must be a positive integer.");
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        List<MultiplexedConnection> toClose = new ArrayList<>();
+        synchronized (this.lock) {
+            if (this.closed) {
+                return;
+            }
+
+            this.closed = true;
+            this.pools.values().forEach(toClose::addAll);
+            this.pools.clear();
+        }
+
+        toClose.forEach(c -> c.fail(new ConnectionFailedException("SegmentStoreConnectionManager is closed.")));
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Sends the given request to the given Segment Store node using one of the pooled connections, and routes the reply
+     * to the given ReplyProcessor.
+     *
+     * The ReplyProcessor remains registered until either a reply is received for this request, the connection fails or
+     * the returned PendingRequest is closed, whichever comes first. Callers should always close the PendingRequest when
+     * they are no longer interested in its outcome.
+     *
+     * @param uri               The URI of the Segment Store node to send the request to.
+     * @param connectionFactory The ConnectionFactory to use if a new connection needs to be established.
+     * @param request           The request to send.
+     * @param replyProcessor    The ReplyProcessor to dispatch the reply (or connection failures) to.
+     * @param <T>               Type of the request.
+     * @return A PendingRequest representing the request. Its getSendFuture() will be completed when the request has been
+     * sent, or failed (with ConnectionFailedException if the connection could not be established).
+     */
+    <T extends Request & WireCommand> PendingRequest sendRequest(PravegaNodeUri uri, ConnectionFactory connectionFactory,
+                                                                 T request, ReplyProcessor replyProcessor) {
+        final long requestId = request.getRequestId();
+        MultiplexedConnection connection;
+        synchronized (this.lock) {
+            Exceptions.checkNotClosed(this.closed, this);
+            connection = getOrCreateConnection(uri, requestId, connectionFactory);
+            connection.register(requestId, replyProcessor);
+        }
+
+        PendingRequest pendingRequest = new PendingRequest(connection, requestId);
+        connection.getConnection().whenComplete((c, ex) -> {
+            if (ex != null) {
+                Throwable cause = Exceptions.unwrap(ex);
+                pendingRequest.getSendFuture().completeExceptionally(
+                        cause instanceof ConnectionFailedException ? cause : new ConnectionFailedException(cause));
+                return;
+            }
+
+            c.sendAsync(request, cfe -> {
+                if (cfe == null) {
+                    pendingRequest.getSendFuture().complete(null);
+                } else {
+                    pendingRequest.getSendFuture().completeExceptionally(cfe);
+                    connection.fail(cfe);
+                }
+            });
+        });
+        return pendingRequest;
+    }
+
+    @GuardedBy("lock")
+    private MultiplexedConnection getOrCreateConnection(PravegaNodeUri uri, long requestId, ConnectionFactory connectionFactory) {
+        List<MultiplexedConnection> pool = this.pools.computeIfAbsent(uri, u -> new ArrayList<>());
+        pool.removeIf(MultiplexedConnection::isClosed);
+
+        // Pick the least loaded connection that does not already have a request with this id in flight.
+        MultiplexedConnection result = null;
+        for (MultiplexedConnection c : pool) {
+            if (!c.hasRequest(requestId) && (result == null || c.getPendingRequestCount() < result.getPendingRequestCount())) {
+                result = c;
+            }
+        }
+
+        if (result == null || (result.getPendingRequestCount() > 0 && pool.size() < this.maxConnectionsPerHost)) {
+            // Either nothing usable in the pool, or everything is busy and we have room for more.
+            MultiplexedConnection newConnection = new MultiplexedConnection(uri, this::connectionFailed);
+            newConnection.connect(connectionFactory);
+            if (pool.size() < this.maxConnectionsPerHost) {
+                pool.add(newConnection);
+            } else {
+                // The pool is full and all connections already have a request with this id in flight. Use a dedicated
+                // connection for this request which will be closed as soon as it is no longer used.
+                log.debug("Using a non-pooled connection to {} for request {}.", uri, requestId);
+                newConnection.setCloseWhenIdle();
+            }
+
+            result = newConnection;
+        }
+
+        return result;
+    }
+
+    private void connectionFailed(MultiplexedConnection connection) {
+        synchronized (this.lock) {
+            List<MultiplexedConnection> pool = this.pools.get(connection.getUri());
+            if (pool != null) {
+                pool.remove(connection);
+            }
+        }
+    }
+
+    //endregion
+
+    //region PendingRequest
+
+    /**
+     * A request that has been sent (or is about to be sent) through a pooled connection.
+     */
+    static class PendingRequest implements AutoCloseable {
+        private final MultiplexedConnection connection;
+        private final long requestId;
+        private final CompletableFuture<Void> sendFuture;
+
+        private PendingRequest(MultiplexedConnection connection, long requestId) {
+            this.connection = connection;
+            this.requestId = requestId;
+            this.sendFuture = new CompletableFuture<>();
+        }
+
+        /**
+         * Gets a CompletableFuture that will be completed when the request has been sent, or failed if it could not be sent.
+         *
+         * @return The CompletableFuture.
+         */
+        CompletableFuture<Void> getSendFuture() {
+            return this.sendFuture;
+        }
+
+        /**
+         * Unregisters the ReplyProcessor for this request. Any reply received after this will be discarded.
+         */
+        @Override
+        public void close() {
+            this.connection.unregister(this.requestId);
+        }
+    }
+
+    //endregion
+
+    //region MultiplexedConnection
+
+    /**
+     * A single connection to a Segment Store node, shared by multiple concurrent requests.
+     */
+    private static class MultiplexedConnection extends FailingReplyProcessor {
+        private final PravegaNodeUri uri;
+        private final Consumer<MultiplexedConnection> onFailure;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        @GuardedBy("this")
+        private final Map<Long, ReplyProcessor> pendingRequests = new HashMap<>();
+        @GuardedBy("this")
+        private boolean closeWhenIdle;
+        private volatile CompletableFuture<ClientConnection> connection;
+
+        MultiplexedConnection(PravegaNodeUri uri, Consumer<MultiplexedConnection> onFailure) {
+            this.uri = uri;
+            this.onFailure = onFailure;
+        }
+
+        //region Connection Management
+
+        PravegaNodeUri getUri() {
+            return this.uri;
+        }
+
+        CompletableFuture<ClientConnection> getConnection() {
+            return this.connection;
+        }
+
+        boolean isClosed() {
+            return this.closed.get();
+        }
+
+        void connect(ConnectionFactory connectionFactory) {
+            this.connection = connectionFactory.establishConnection(this.uri, this);
+            this.connection.whenComplete((c, ex) -> {
+                if (ex != null) {
+                    // Pending requests are notified of this via their PendingRequest's send future.
+                    failAll(ex, p -> { });
+                }
+            });
+        }
+
+        synchronized void setCloseWhenIdle() {
+            this.closeWhenIdle = true;
+        }
+
+        synchronized boolean hasRequest(long requestId) {
+            return this.pendingRequests.containsKey(requestId);
+        }
+
+        synchronized int getPendingRequestCount() {
+            return this.pendingRequests.size();
+        }
+
+        synchronized void register(long requestId, ReplyProcessor replyProcessor) {
+            ReplyProcessor existing = this.pendingRequests.putIfAbsent(requestId, replyProcessor);
+            assert existing == null : "request id " + requestId + " is already in flight on this connection";
+        }
+
+        void unregister(long requestId) {
+            boolean closeNow;
+            synchronized (this) {
+                this.pendingRequests.remove(requestId);
+                closeNow = this.closeWhenIdle && this.pendingRequests.isEmpty();
+            }
+
+            if (closeNow) {
+                closeConnection();
+            }
+        }
+
+        /**
+         * Closes this connection and notifies all registered ReplyProcessors that it has been dropped.
+         */
+        void fail(Throwable cause) {
+            failAll(cause, ReplyProcessor::connectionDropped);
+        }
+
+        private void failAll(Throwable cause, Consumer<ReplyProcessor> notifier) {
+            if (!this.closed.compareAndSet(false, true)) {
+                return;
+            }
+
+            log.info("Closing connection to {} with {} pending request(s): {}.", this.uri, getPendingRequestCount(), cause.toString());
+            this.onFailure.accept(this);
+            closeConnection();
+            List<ReplyProcessor> toNotify;
+            synchronized (this) {
+                toNotify = new ArrayList<>(this.pendingRequests.values());
+                this.pendingRequests.clear();
+            }
+
+            toNotify.forEach(notifier);
+        }
+
+        private void closeConnection() {
+            this.closed.set(true);
+            this.connection.thenAccept(c -> {
+                try {
+                    c.close();
+                } catch (Exception e) {
+                    log.warn("Exception tearing down connection to {}: ", this.uri, e);
+                }
+            });
+        }
+
+        private ReplyProcessor removeProcessor(long requestId) {
+            ReplyProcessor result;
+            boolean closeNow;
+            synchronized (this) {
+                result = this.pendingRequests.remove(requestId);
+                closeNow = this.closeWhenIdle && this.pendingRequests.isEmpty();
+            }
+
+            if (closeNow) {
+                closeConnection();
+            }
+
+            return result;
+        }
+
+        //endregion
+
+        //region ReplyProcessor Implementation
+
+        @Override
+        public void process(Reply reply) {
+            if (reply instanceof WireCommands.Hello) {
+                WireCommands.Hello hello = (WireCommands.Hello) reply;
+                if (hello.getLowVersion() > WireCommands.WIRE_VERSION || hello.getHighVersion() < WireCommands.OLDEST_COMPATIBLE_VERSION) {
+                    fail(new IllegalStateException("Incompatible wire protocol versions " + hello));
+                }
+                return;
+            } else if (reply instanceof WireCommands.KeepAlive) {
+                return;
+            }
+
+            ReplyProcessor processor = removeProcessor(reply.getRequestId());
+            if (processor == null) {
+                log.debug("Discarding reply {} from {} since there is no pending request for it.", reply, this.uri);
+                return;
+            }
+
+            try {
+                reply.process(processor);
+            } catch (Exception ex) {
+                processor.processingFailure(ex);
+            }
+        }
+
+        @Override
+        public void connectionDropped() {
+            fail(new ConnectionFailedException("Connection to " + this.uri + " dropped."));
+        }
+
+        @Override
+        public void processingFailure(Exception error) {
+            // This is a connection-level failure (i.e., a reply could not be decoded), so we cannot tell which request it
+            // belongs to. Fail all of them.
+            failAll(error, p -> p.processingFailure(error));
+        }
+
+        @Override
+        public void authTokenCheckFailed(WireCommands.AuthTokenCheckFailed authTokenCheckFailed) {
+            process(authTokenCheckFailed);
+        }
+
+        //endregion
+    }
+
+    //endregion
+}
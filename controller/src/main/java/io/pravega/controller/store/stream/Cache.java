@@ -9,52 +9,268 @@
  */
 package io.pravega.controller.store.stream;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-
-import javax.annotation.ParametersAreNonnullByDefault;
+import com.google.common.cache.RemovalNotification;
+import io.pravega.controller.metrics.StoreCacheMetrics;
+import io.pravega.controller.util.Config;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
+/**
+ * Cache for metadata records, keyed by their path in the store.
+ *
+ * The cache is bounded by the total size (in bytes) of the records it holds, rather than by their number, so that a
+ * single instance can be shared by all the streams in a store. Each record is cached according to a {@link Policy}:
+ * mutable records expire a configured amount of time after they were loaded, while immutable records (which never change
+ * once written) can be kept for as long as there is room for them.
+ *
+ * A record may also be tagged with the generation of the object it belongs to (for stream records, the creation time of
+ * the stream). A cached record is only returned to lookups for the same generation, so that records of an object that
+ * was deleted and recreated with the same name (and thus the same keys), possibly by another process, are never served.
+ *
+ * Concurrent lookups for the same key are coalesced into a single load. Records are only ever replaced by records with the
+ * same or a higher {@link Version} (within the same generation), so a slow load can never overwrite a newer record that
+ * was put in the cache using {@link #update}. Versions are compared using {@link Version#asIntVersion()}.
+ */
 public class Cache {
+    /**
+     * Approximate memory overhead for each entry, in addition to the size of the key and record contents.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    /**
+     * Generation used for records that are not tied to a generation of the object they belong to.
+     */
+    private static final long NO_GENERATION = Long.MIN_VALUE;
+
+    /**
+     * Defines how long a record may be served from the cache.
+     */
+    public enum Policy {
+        /**
+         * The record may be updated in the store; it expires after the configured mutable record expiration.
+         */
+        MUTABLE,
+        /**
+         * The record is never updated once written; it expires after the configured immutable record expiration (if any).
+         */
+        IMMUTABLE
+    }
 
     @FunctionalInterface
     public interface Loader {
         CompletableFuture<Data> get(final String key);
     }
 
-    private final LoadingCache<String, CompletableFuture<Data>> cache;
+    private final Loader loader;
+    private final long mutableExpiryMillis;
+    private final long immutableExpiryMillis;
+    private final Supplier<Long> currentTimeMillis;
+    private final StoreCacheMetrics metrics;
+    private final ConcurrentMap<String, Entry> entries;
+    private final ConcurrentHashMap<String, CompletableFuture<Data>> pendingLoads;
 
+    /**
+     * Creates a new instance of the Cache class using the size and expiration settings from {@link Config}.
+     *
+     * @param loader The Loader to use to fetch records that are not in the cache.
+     */
     public Cache(final Loader loader) {
-        cache = CacheBuilder.newBuilder()
-                .maximumSize(10000)
-                .expireAfterWrite(10, TimeUnit.MINUTES)
-                .build(new CacheLoader<String, CompletableFuture<Data>>() {
-                    @ParametersAreNonnullByDefault
-                    @Override
-                    public CompletableFuture<Data> load(final String key) {
-                        CompletableFuture<Data> result = loader.get(key);
-                        result.exceptionally(ex -> {
-                            invalidateCache(key);
-                            return null;
-                        });
-                        return result;
-                    }
-                });
+        this(loader, Config.STORE_CACHE_MAX_SIZE_BYTES, Duration.ofMinutes(Config.STORE_CACHE_MUTABLE_EXPIRY_MINUTES),
+                Duration.ofMinutes(Config.STORE_CACHE_IMMUTABLE_EXPIRY_MINUTES));
+    }
+
+    /**
+     * Creates a new instance of the Cache class.
+     *
+     * @param loader          The Loader to use to fetch records that are not in the cache.
+     * @param maxSizeBytes    The maximum total size of the cached records (including keys and overhead).
+     * @param mutableExpiry   The amount of time a {@link Policy#MUTABLE} record may be served from the cache.
+     * @param immutableExpiry The amount of time a {@link Policy#IMMUTABLE} record may be served from the cache. A zero
+     *                        Duration means such records never expire.
+     */
+    public Cache(final Loader loader, final long maxSizeBytes, final Duration mutableExpiry, final Duration immutableExpiry) {
+        this(loader, maxSizeBytes, mutableExpiry, immutableExpiry, System::currentTimeMillis);
     }
 
+    @VisibleForTesting
+    Cache(final Loader loader, final long maxSizeBytes, final Duration mutableExpiry, final Duration immutableExpiry,
+          final Supplier<Long> currentTimeMillis) {
+        Preconditions.checkArgument(maxSizeBytes > 0, "maxSizeBytes must be a positive number.");
+        Preconditions.checkArgument(!mutableExpiry.isNegative() && !mutableExpiry.isZero(), "mutableExpiry must be a positive duration.");
+        Preconditions.checkArgument(!immutableExpiry.isNegative(), "immutableExpiry must be a non-negative duration.");
+        this.loader = Preconditions.checkNotNull(loader, "loader");
+        this.mutableExpiryMillis = mutableExpiry.toMillis();
+        this.immutableExpiryMillis = immutableExpiry.isZero() ? Long.MAX_VALUE : immutableExpiry.toMillis();
+        this.currentTimeMillis = currentTimeMillis;
+        this.metrics = new StoreCacheMetrics();
+        this.pendingLoads = new ConcurrentHashMap<>();
+        this.entries = CacheBuilder.newBuilder()
+                                   .maximumWeight(maxSizeBytes)
+                                   .<String, Entry>weigher((key, entry) -> getWeight(key, entry.getData()))
+                                   .<String, Entry>removalListener(this::handleRemoval)
+                                   .build()
+                                   .asMap();
+    }
+
+    /**
+     * Gets the record with the given key, which is cached as a {@link Policy#MUTABLE} record.
+     *
+     * @param key The key to get.
+     * @return A CompletableFuture that, when completed, will contain the requested record.
+     */
     public CompletableFuture<Data> getCachedData(final String key) {
-        return cache.getUnchecked(key);
+        return getCachedData(key, Policy.MUTABLE);
+    }
+
+    /**
+     * Gets the record with the given key. If the record is not cached (or if it expired), it is fetched using the Loader.
+     *
+     * @param key    The key to get.
+     * @param policy The Policy to cache the record with, if it needs to be loaded.
+     * @return A CompletableFuture that, when completed, will contain the requested record.
+     */
+    public CompletableFuture<Data> getCachedData(final String key, final Policy policy) {
+        return getCachedData(key, policy, NO_GENERATION);
+    }
+
+    /**
+     * Gets the record with the given key, which belongs to the given generation of its object. If the record is not cached
+     * (or if it expired, or if it was cached for a different generation), it is fetched using the Loader.
+     *
+     * @param key        The key to get.
+     * @param policy     The Policy to cache the record with, if it needs to be loaded.
+     * @param generation The generation of the object the record belongs to (for stream records, the stream's creation time).
+     * @return A CompletableFuture that, when completed, will contain the requested record.
+     */
+    public CompletableFuture<Data> getCachedData(final String key, final Policy policy, final long generation) {
+        Entry entry = this.entries.get(key);
+        if (entry != null && entry.getGeneration() == generation && !isExpired(entry)) {
+            this.metrics.cacheHit();
+            return CompletableFuture.completedFuture(entry.getData());
+        }
+
+        this.metrics.cacheMiss();
+        CompletableFuture<Data> result = new CompletableFuture<>();
+        CompletableFuture<Data> existing = this.pendingLoads.putIfAbsent(key, result);
+        if (existing != null) {
+            // Someone else is already loading this record.
+            return existing;
+        }
+
+        this.loader.get(key).whenComplete((data, ex) -> {
+            // Only cache the result if the key was not invalidated while we were loading it.
+            this.pendingLoads.computeIfPresent(key, (k, pending) -> {
+                if (pending != result) {
+                    return pending;
+                }
+
+                if (ex == null) {
+                    put(key, data, policy, generation);
+                }
+
+                return null;
+            });
+
+            if (ex == null) {
+                result.complete(data);
+            } else {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Updates the cached record with the given key, but only if the given record has the same or a higher version than
+     * the currently cached one (if any). This should be used after successfully writing a record to the store, so that
+     * the next lookup need not go to the store.
+     *
+     * @param key    The key to update.
+     * @param data   The new record. Its {@link Data#getVersion()} must be the version of the record in the store.
+     * @param policy The Policy to cache the record with.
+     */
+    public void update(final String key, final Data data, final Policy policy) {
+        update(key, data, policy, NO_GENERATION);
+    }
+
+    /**
+     * Same as {@link #update(String, Data, Policy)}, for a record that belongs to the given generation of its object.
+     *
+     * @param key        The key to update.
+     * @param data       The new record. Its {@link Data#getVersion()} must be the version of the record in the store.
+     * @param policy     The Policy to cache the record with.
+     * @param generation The generation of the object the record belongs to (for stream records, the stream's creation time).
+     */
+    public void update(final String key, final Data data, final Policy policy, final long generation) {
+        // Any load that is currently in progress will return an older version of the record; do not let it be cached.
+        this.pendingLoads.compute(key, (k, pending) -> {
+            put(key, data, policy, generation);
+            return null;
+        });
     }
 
     public Void invalidateCache(final String key) {
-        cache.invalidate(key);
+        this.pendingLoads.compute(key, (k, pending) -> {
+            this.entries.remove(key);
+            return null;
+        });
+        return null;
+    }
+
+    /**
+     * Invalidates all the records whose keys begin with the given prefix. This requires a scan of all the cached keys.
+     *
+     * @param keyPrefix The prefix to match.
+     * @return Nothing.
+     */
+    public Void invalidateAll(final String keyPrefix) {
+        this.pendingLoads.keySet().removeIf(key -> key.startsWith(keyPrefix));
+        this.entries.keySet().removeIf(key -> key.startsWith(keyPrefix));
         return null;
     }
 
     public Void invalidateAll() {
-        cache.invalidateAll();
+        this.pendingLoads.clear();
+        this.entries.clear();
         return null;
     }
+
+    private void put(String key, Data data, Policy policy, long generation) {
+        Entry newEntry = new Entry(data, policy, generation, this.currentTimeMillis.get());
+        // Versions of records that belong to different generations are not comparable (a recreated record starts over).
+        this.entries.merge(key, newEntry, (oldEntry, e) ->
+                oldEntry.getGeneration() == e.getGeneration() && isOlder(e.getData(), oldEntry.getData()) ? oldEntry : e);
+    }
+
+    private boolean isExpired(Entry entry) {
+        long expiryMillis = entry.getPolicy() == Policy.IMMUTABLE ? this.immutableExpiryMillis : this.mutableExpiryMillis;
+        return this.currentTimeMillis.get() - entry.getLoadTimeMillis() >= expiryMillis;
+    }
+
+    private boolean isOlder(Data data, Data other) {
+        return data.getVersion().asIntVersion().getIntValue() < other.getVersion().asIntVersion().getIntValue();
+    }
+
+    private void handleRemoval(RemovalNotification<String, Entry> notification) {
+        if (notification.wasEvicted()) {
+            this.metrics.cacheEviction();
+        }
+    }
+
+    private static int getWeight(String key, Data data) {
+        return ENTRY_OVERHEAD_BYTES + key.length() * Character.BYTES + (data.getData() == null ? 0 : data.getData().length);
+    }
+
+    @lombok.Data
+    private static class Entry {
+        private final Data data;
+        private final Policy policy;
+        private final long generation;
+        private final long loadTimeMillis;
+    }
 }
@@ -38,7 +38,7 @@ import java.util.stream.Collectors;
  * 1. underlying file organization/object structure of stream metadata store.
  * 2. how to evaluate basic read and update queries defined in the Stream interface.
  * <p>
- * It may cache files read from the store for its lifetime.
+ * It caches files read from the store in a {@link Cache}, which may be shared with other streams.
  * This shall reduce store round trips for answering queries, thus making them efficient.
  */
 @Slf4j
@@ -109,6 +109,16 @@ class ZKStream extends PersistentStreamBase {
     @VisibleForTesting
     ZKStream(final String scopeName, final String streamName, ZKStoreHelper storeHelper, Supplier<Integer> currentBatchSupplier,
              int chunkSize, int shardSize) {
+        this(scopeName, streamName, storeHelper, currentBatchSupplier, chunkSize, shardSize, new Cache(storeHelper::getData));
+    }
+
+    ZKStream(final String scopeName, final String streamName, ZKStoreHelper storeHelper, Supplier<Integer> currentBatchSupplier,
+             Cache cache) {
+        this(scopeName, streamName, storeHelper, currentBatchSupplier, HistoryTimeSeries.HISTORY_CHUNK_SIZE, SealedSegmentsMapShard.SHARD_SIZE, cache);
+    }
+
+    private ZKStream(final String scopeName, final String streamName, ZKStoreHelper storeHelper, Supplier<Integer> currentBatchSupplier,
+                     int chunkSize, int shardSize, Cache cache) {
         super(scopeName, streamName, chunkSize, shardSize);
         store = storeHelper;
         scopePath = String.format(SCOPE_PATH, scopeName);
@@ -131,7 +141,7 @@ class ZKStream extends PersistentStreamBase {
         segmentSealedEpochPathFormat = String.format(SEGMENT_SEALED_EPOCH_PATH, scopeName, streamName) + "/%d";
         segmentsSealedSizeMapShardPathFormat = String.format(SEGMENTS_SEALED_SIZE_MAP_SHARD_PATH, scopeName, streamName) + "/%d";
 
-        cache = new Cache(store::getData);
+        this.cache = cache;
         this.currentBatchSupplier = currentBatchSupplier;
     }
 
@@ -151,7 +161,8 @@ class ZKStream extends PersistentStreamBase {
 
     @Override
     public CompletableFuture<Void> deleteStream() {
-        return store.deleteTree(streamPath);
+        return store.deleteTree(streamPath)
+                    .thenAccept(x -> cache.invalidateAll(streamPath + "/"));
     }
 
     @Override
@@ -199,6 +210,8 @@ class ZKStream extends PersistentStreamBase {
 
     @Override
     public CompletableFuture<Long> getCreationTime() {
+        // The creation time changes if the stream is deleted and recreated (possibly by another controller), so it is
+        // cached as a mutable record. It identifies the generation of all the immutable records of this stream.
         return cache.getCachedData(creationPath)
                     .thenApply(data -> BitConverter.readLong(data.getData(), 0));
     }
@@ -243,7 +256,7 @@ class ZKStream extends PersistentStreamBase {
     @Override
     CompletableFuture<Data> getStreamCutRecordData(long recordingTime) {
         String path = String.format(retentionStreamCutRecordPathFormat, recordingTime);
-        return cache.getCachedData(path);
+        return getImmutableData(path);
     }
 
     @Override
@@ -266,14 +279,20 @@ class ZKStream extends PersistentStreamBase {
         if (ignoreCached) {
             cache.invalidateCache(path);
         }
-        return cache.getCachedData(path);
+        // Chunks are only appended to until they are full, after which they never change. PersistentStreamBase never
+        // relies on a cached chunk that is not full, so these can be cached as immutable records.
+        return getImmutableData(path);
     }
 
     @Override
     CompletableFuture<Version> updateHistoryTimeSeriesChunkData(int chunkNumber, Data data) {
         String path = String.format(historyTimeSeriesChunkPathFormat, chunkNumber);
-        return store.setData(path, data)
-                .thenApply(Version.IntVersion::new);
+        return getCreationTime().thenCompose(creationTime -> store.setData(path, data)
+                .thenApply(r -> {
+                    Version version = new Version.IntVersion(r);
+                    cache.update(path, new Data(data.getData(), version), Cache.Policy.IMMUTABLE, creationTime);
+                    return version;
+                }));
     }
 
     @Override
@@ -284,7 +303,7 @@ class ZKStream extends PersistentStreamBase {
     @Override
     CompletableFuture<Version> updateCurrentEpochRecordData(Data data) {
         return store.setData(currentEpochRecordPath, data)
-                    .thenApply(Version.IntVersion::new);
+                    .thenApply(r -> updateCache(currentEpochRecordPath, data, r));
     }
 
     @Override
@@ -304,7 +323,7 @@ class ZKStream extends PersistentStreamBase {
     @Override
     CompletableFuture<Data> getEpochRecordData(int epoch) {
         String path = String.format(epochRecordPathFormat, epoch);
-        return cache.getCachedData(path);
+        return getImmutableData(path);
     }
 
     @Override
@@ -337,7 +356,7 @@ class ZKStream extends PersistentStreamBase {
     @Override
     CompletableFuture<Data> getSegmentSealedRecordData(long segmentId) {
         String path = String.format(segmentSealedEpochPathFormat, segmentId);
-        return cache.getCachedData(path);
+        return getImmutableData(path);
     }
 
     @Override
@@ -492,7 +511,7 @@ class ZKStream extends PersistentStreamBase {
                             String root = String.format(STREAM_COMPLETED_TX_BATCH_PATH, Long.parseLong(child), getScope(), getName());
                             String path = ZKPaths.makePath(root, txId.toString());
 
-                            return cache.getCachedData(path)
+                            return getImmutableData(path)
                                         .exceptionally(e -> {
                                             if (Exceptions.unwrap(e) instanceof StoreException.DataNotFoundException) {
                                                 return null;
@@ -521,10 +540,7 @@ class ZKStream extends PersistentStreamBase {
     @Override
     CompletableFuture<Version> setTruncationData(final Data truncationRecord) {
         return store.setData(truncationPath, truncationRecord)
-                    .thenApply(r -> {
-                        cache.invalidateCache(truncationPath);
-                        return new Version.IntVersion(r);
-                    });
+                    .thenApply(r -> updateCache(truncationPath, truncationRecord, r));
     }
 
     @Override
@@ -539,10 +555,7 @@ class ZKStream extends PersistentStreamBase {
     @Override
     CompletableFuture<Version> setConfigurationData(final Data configuration) {
         return store.setData(configurationPath, configuration)
-                    .thenApply(r -> {
-                        cache.invalidateCache(configurationPath);
-                        return new Version.IntVersion(r);
-                    });
+                    .thenApply(r -> updateCache(configurationPath, configuration, r));
     }
 
     @Override
@@ -557,10 +570,7 @@ class ZKStream extends PersistentStreamBase {
     @Override
     CompletableFuture<Version> setStateData(final Data state) {
         return store.setData(statePath, state)
-                    .thenApply(r -> {
-                        cache.invalidateCache(statePath);
-                        return new Version.IntVersion(r);
-                    });
+                    .thenApply(r -> updateCache(statePath, state, r));
     }
 
     @Override
@@ -605,7 +615,9 @@ class ZKStream extends PersistentStreamBase {
 
     @Override
     public void refresh() {
-        // refresh all mutable records
+        // refresh all mutable records. Refreshing the creation time also makes sure that we stop serving the cached
+        // immutable records if the stream has since been recreated.
+        cache.invalidateCache(creationPath);
         cache.invalidateCache(statePath);
         cache.invalidateCache(configurationPath);
         cache.invalidateCache(truncationPath);
@@ -617,6 +629,24 @@ class ZKStream extends PersistentStreamBase {
     // endregion
 
     // region private helpers
+
+    /**
+     * Gets a record that never changes once written. It is cached for the current generation of the stream (identified
+     * by its creation time), so that the records of a previous stream with the same name are never served.
+     */
+    private CompletableFuture<Data> getImmutableData(String path) {
+        return getCreationTime().thenCompose(creationTime -> cache.getCachedData(path, Cache.Policy.IMMUTABLE, creationTime));
+    }
+
+    /**
+     * Puts the contents of a record that was just written to the store into the cache, with its new version.
+     */
+    private Version updateCache(String path, Data writtenData, int newVersion) {
+        Version version = new Version.IntVersion(newVersion);
+        cache.update(path, new Data(writtenData.getData(), version), Cache.Policy.MUTABLE);
+        return version;
+    }
+
     @VisibleForTesting
     String getActiveTxPath(final int epoch, final String txId) {
         return ZKPaths.makePath(ZKPaths.makePath(activeTxRoot, Integer.toString(epoch)), txId);
@@ -70,6 +70,7 @@ class ZKStreamMetadataStore extends AbstractStreamMetadataStore implements AutoC
     private volatile CompletableFuture<Void> refreshFutureRef;
 
     private final ZKGarbageCollector completedTxnGC;
+    private final Cache cache;
     
     @VisibleForTesting
     ZKStreamMetadataStore(CuratorFramework client, Executor executor) {
@@ -80,6 +81,7 @@ class ZKStreamMetadataStore extends AbstractStreamMetadataStore implements AutoC
     ZKStreamMetadataStore(CuratorFramework client, Executor executor, Duration gcPeriod) {
         super(new ZKHostIndex(client, "/hostTxnIndex", executor));
         storeHelper = new ZKStoreHelper(client, executor);
+        this.cache = new Cache(storeHelper::getData);
         this.lock = new Object();
         this.counter = new AtomicInt96();
         this.limit = new AtomicInt96();
@@ -113,7 +115,7 @@ class ZKStreamMetadataStore extends AbstractStreamMetadataStore implements AutoC
 
     @Override
     ZKStream newStream(final String scope, final String name) {
-        return new ZKStream(scope, name, storeHelper, completedTxnGC::getLatestBatch);
+        return new ZKStream(scope, name, storeHelper, completedTxnGC::getLatestBatch, cache);
     }
 
     @Override
@@ -93,6 +93,11 @@ public final class Config {
     // Completed Transaction TTL
     public static final int COMPLETED_TRANSACTION_TTL_IN_HOURS;
 
+    // Stream metadata store cache configuration
+    public static final long STORE_CACHE_MAX_SIZE_BYTES;
+    public static final int STORE_CACHE_MUTABLE_EXPIRY_MINUTES;
+    public static final int STORE_CACHE_IMMUTABLE_EXPIRY_MINUTES;
+
     // Retention Configuration
     public static final int MINIMUM_RETENTION_FREQUENCY_IN_MINUTES;
     public static final int BUCKET_COUNT;
@@ -146,6 +151,9 @@ public final class Config {
     private static final Property<Integer> PROPERTY_TXN_MIN_LEASE = Property.named("transaction.minLeaseValue", 10000);
     private static final Property<Integer> PROPERTY_TXN_MAX_LEASE = Property.named("transaction.maxLeaseValue", 120000);
     private static final Property<Integer> PROPERTY_TXN_TTL_HOURS = Property.named("transaction.ttlHours", 24);
+    private static final Property<Long> PROPERTY_STORE_CACHE_MAX_SIZE_BYTES = Property.named("store.cache.maxSizeBytes", 128 * 1024 * 1024L);
+    private static final Property<Integer> PROPERTY_STORE_CACHE_MUTABLE_EXPIRY_MINUTES = Property.named("store.cache.mutableExpiryMinutes", 10);
+    private static final Property<Integer> PROPERTY_STORE_CACHE_IMMUTABLE_EXPIRY_MINUTES = Property.named("store.cache.immutableExpiryMinutes", 60);
     private static final Property<String> PROPERTY_SCALE_STREAM_NAME = Property.named("scale.streamName", "_requeststream");
     private static final Property<String> PROPERTY_SCALE_READER_GROUP = Property.named("scale.ReaderGroup", "scaleGroup");
     private static final String COMPONENT_CODE = "controller";
@@ -186,6 +194,9 @@ public final class Config {
         MIN_LEASE_VALUE = p.getInt(PROPERTY_TXN_MIN_LEASE);
         MAX_LEASE_VALUE = p.getInt(PROPERTY_TXN_MAX_LEASE);
         COMPLETED_TRANSACTION_TTL_IN_HOURS = p.getInt(PROPERTY_TXN_TTL_HOURS);
+        STORE_CACHE_MAX_SIZE_BYTES = p.getLong(PROPERTY_STORE_CACHE_MAX_SIZE_BYTES);
+        STORE_CACHE_MUTABLE_EXPIRY_MINUTES = p.getInt(PROPERTY_STORE_CACHE_MUTABLE_EXPIRY_MINUTES);
+        STORE_CACHE_IMMUTABLE_EXPIRY_MINUTES = p.getInt(PROPERTY_STORE_CACHE_IMMUTABLE_EXPIRY_MINUTES);
         MINIMUM_RETENTION_FREQUENCY_IN_MINUTES = p.getInt(PROPERTY_RETENTION_FREQUENCY_MINUTES);
         BUCKET_COUNT = p.getInt(PROPERTY_RETENTION_BUCKET_COUNT);
         RETENTION_THREAD_POOL_SIZE = p.getInt(PROPERTY_RETENTION_THREAD_COUNT);
@@ -31,6 +31,7 @@ import io.pravega.shared.protocol.netty.Append;
 import io.pravega.shared.protocol.netty.ConnectionFailedException;
 import io.pravega.shared.protocol.netty.PravegaNodeUri;
 import io.pravega.shared.protocol.netty.ReplyProcessor;
+import io.pravega.shared.protocol.netty.Request;
 import io.pravega.shared.protocol.netty.WireCommand;
 import io.pravega.shared.protocol.netty.WireCommands;
 import io.pravega.test.common.AssertExtensions;
@@ -76,6 +77,7 @@ public class SegmentHelperTest {
 
     @After
     public void tearDown() throws Exception {
+        helper.close();
     }
 
     @Test
@@ -88,7 +90,7 @@ public class SegmentHelperTest {
         MockConnectionFactory factory = new MockConnectionFactory();
         CompletableFuture<Boolean> retVal = helper.createSegment("", "",
                 0, ScalingPolicy.fixed(2), new MockHostControllerStore(), factory, "", Long.MIN_VALUE);
-        factory.rp.authTokenCheckFailed(new WireCommands.AuthTokenCheckFailed(0, "SomeException"));
+        factory.rp.process(new WireCommands.AuthTokenCheckFailed(factory.requestId, "SomeException"));
         AssertExtensions.assertThrows("",
                 () -> retVal.join(),
                 ex -> ex instanceof WireCommandFailedException
@@ -101,7 +103,7 @@ public class SegmentHelperTest {
         MockConnectionFactory factory = new MockConnectionFactory();
         CompletableFuture<Boolean> retVal = helper.truncateSegment("", "", 0L, 0L,
                 new MockHostControllerStore(), factory, "", System.nanoTime());
-        factory.rp.authTokenCheckFailed(new WireCommands.AuthTokenCheckFailed(0, "SomeException"));
+        factory.rp.process(new WireCommands.AuthTokenCheckFailed(factory.requestId, "SomeException"));
         AssertExtensions.assertThrows("",
                 () -> retVal.join(),
                 ex -> ex instanceof WireCommandFailedException
@@ -115,7 +117,7 @@ public class SegmentHelperTest {
         MockConnectionFactory factory = new MockConnectionFactory();
         CompletableFuture<Boolean> retVal = helper.deleteSegment("", "", 0L, new MockHostControllerStore(),
                 factory, "", System.nanoTime());
-        factory.rp.authTokenCheckFailed(new WireCommands.AuthTokenCheckFailed(0, "SomeException"));
+        factory.rp.process(new WireCommands.AuthTokenCheckFailed(factory.requestId, "SomeException"));
         AssertExtensions.assertThrows("",
                 () -> retVal.join(),
                 ex -> ex instanceof WireCommandFailedException
@@ -128,7 +130,7 @@ public class SegmentHelperTest {
         MockConnectionFactory factory = new MockConnectionFactory();
         CompletableFuture<Boolean> retVal = helper.sealSegment("", "", 0L,
                 new MockHostControllerStore(), factory, "", System.nanoTime());
-        factory.rp.authTokenCheckFailed(new WireCommands.AuthTokenCheckFailed(0, "SomeException"));
+        factory.rp.process(new WireCommands.AuthTokenCheckFailed(factory.requestId, "SomeException"));
         AssertExtensions.assertThrows("",
                 () -> retVal.join(),
                 ex -> ex instanceof WireCommandFailedException
@@ -141,7 +143,7 @@ public class SegmentHelperTest {
         MockConnectionFactory factory = new MockConnectionFactory();
         CompletableFuture<UUID> retVal = helper.createTransaction("", "", 0L, new UUID(0, 0L),
                 new MockHostControllerStore(), factory, "");
-        factory.rp.authTokenCheckFailed(new WireCommands.AuthTokenCheckFailed(0, "SomeException"));
+        factory.rp.process(new WireCommands.AuthTokenCheckFailed(factory.requestId, "SomeException"));
         AssertExtensions.assertThrows("",
                 () -> retVal.join(),
                 ex -> ex instanceof WireCommandFailedException
@@ -154,7 +156,7 @@ public class SegmentHelperTest {
         MockConnectionFactory factory = new MockConnectionFactory();
         CompletableFuture<Controller.TxnStatus> retVal = helper.commitTransaction("", "", 0L, 0L, new UUID(0, 0L),
                 new MockHostControllerStore(), factory, "");
-        factory.rp.authTokenCheckFailed(new WireCommands.AuthTokenCheckFailed(0, "SomeException"));
+        factory.rp.process(new WireCommands.AuthTokenCheckFailed(factory.requestId, "SomeException"));
         AssertExtensions.assertThrows("",
                 () -> retVal.join(),
                 ex -> ex instanceof WireCommandFailedException
@@ -167,7 +169,7 @@ public class SegmentHelperTest {
         MockConnectionFactory factory = new MockConnectionFactory();
         CompletableFuture<Controller.TxnStatus> retVal = helper.abortTransaction("", "", 0L, new UUID(0, 0L),
                 new MockHostControllerStore(), factory, "");
-        factory.rp.authTokenCheckFailed(new WireCommands.AuthTokenCheckFailed(0, "SomeException"));
+        factory.rp.process(new WireCommands.AuthTokenCheckFailed(factory.requestId, "SomeException"));
         AssertExtensions.assertThrows("",
                 () -> retVal.join(),
                 ex -> ex instanceof WireCommandFailedException
@@ -180,7 +182,7 @@ public class SegmentHelperTest {
         MockConnectionFactory factory = new MockConnectionFactory();
         CompletableFuture<Void> retVal = helper.updatePolicy("", "", ScalingPolicy.fixed(1), 0L,
                 new MockHostControllerStore(), factory, "", System.nanoTime());
-        factory.rp.authTokenCheckFailed(new WireCommands.AuthTokenCheckFailed(0, "SomeException"));
+        factory.rp.process(new WireCommands.AuthTokenCheckFailed(factory.requestId, "SomeException"));
         AssertExtensions.assertThrows("",
                 () -> retVal.join(),
                 ex -> ex instanceof WireCommandFailedException
@@ -193,7 +195,7 @@ public class SegmentHelperTest {
         MockConnectionFactory factory = new MockConnectionFactory();
         CompletableFuture<WireCommands.StreamSegmentInfo> retVal = helper.getSegmentInfo("", "", 0L,
                 new MockHostControllerStore(), factory, "");
-        factory.rp.authTokenCheckFailed(new WireCommands.AuthTokenCheckFailed(0, "SomeException"));
+        factory.rp.process(new WireCommands.AuthTokenCheckFailed(factory.requestId, "SomeException"));
         AssertExtensions.assertThrows("",
                 () -> retVal.join(),
                 ex -> ex instanceof WireCommandFailedException
@@ -207,12 +209,12 @@ public class SegmentHelperTest {
 
         // On receiving SegmentAlreadyExists true should be returned.
         CompletableFuture<Boolean> result = helper.createTableSegment("", "", new MockHostControllerStore(), factory, "", Long.MIN_VALUE);
-        factory.rp.segmentAlreadyExists(new WireCommands.SegmentAlreadyExists(0, getQualifiedStreamSegmentName("", "", 0L), ""));
+        factory.rp.process(new WireCommands.SegmentAlreadyExists(factory.requestId, getQualifiedStreamSegmentName("", "", 0L), ""));
         assertTrue(result.join());
 
         // On Receiving SegmentCreated true should be returned.
         result = helper.createTableSegment("", "", new MockHostControllerStore(), factory, "", Long.MIN_VALUE);
-        factory.rp.segmentCreated(new WireCommands.SegmentCreated(0, getQualifiedStreamSegmentName("", "", 0L)));
+        factory.rp.process(new WireCommands.SegmentCreated(factory.requestId, getQualifiedStreamSegmentName("", "", 0L)));
         assertTrue(result.join());
 
         // Validate failure conditions.
@@ -230,19 +232,19 @@ public class SegmentHelperTest {
         // On receiving NoSuchSegment true should be returned.
         CompletableFuture<Boolean> result = helper.deleteTableSegment("", "", true, new MockHostControllerStore(),
                                                                       factory, "", System.nanoTime());
-        factory.rp.noSuchSegment(new WireCommands.NoSuchSegment(0, getQualifiedStreamSegmentName("", "", 0L), ""));
+        factory.rp.process(new WireCommands.NoSuchSegment(factory.requestId, getQualifiedStreamSegmentName("", "", 0L), ""));
         assertTrue(result.join());
 
         // On receiving SegmentDeleted true should be returned.
         result = helper.deleteTableSegment("", "", true, new MockHostControllerStore(),
                                                                       factory, "", System.nanoTime());
-        factory.rp.segmentDeleted(new WireCommands.SegmentDeleted(0, getQualifiedStreamSegmentName("", "", 0L)));
+        factory.rp.process(new WireCommands.SegmentDeleted(factory.requestId, getQualifiedStreamSegmentName("", "", 0L)));
         assertTrue(result.join());
 
         // On receiving TableSegmentNotEmpty WireCommandFailedException is thrown.
         result = helper.deleteTableSegment("", "", true, new MockHostControllerStore(),
                                            factory, "", System.nanoTime());
-        factory.rp.tableSegmentNotEmpty(new WireCommands.TableSegmentNotEmpty(0, getQualifiedStreamSegmentName("", "", 0L), ""));
+        factory.rp.process(new WireCommands.TableSegmentNotEmpty(factory.requestId, getQualifiedStreamSegmentName("", "", 0L), ""));
         AssertExtensions.assertThrows("", result::join,
                                       ex -> ex instanceof WireCommandFailedException &&
                                               (((WireCommandFailedException) ex).getReason() == WireCommandFailedException.Reason.TableSegmentNotEmpty));
@@ -269,19 +271,19 @@ public class SegmentHelperTest {
 
         // On receiving TableEntriesUpdated.
         CompletableFuture<List<KeyVersion>> result = helper.updateTableEntries("", "", entries, new MockHostControllerStore(), factory, "", System.nanoTime());
-        factory.rp.tableEntriesUpdated(new WireCommands.TableEntriesUpdated(0, Arrays.asList(0L, 1L, 11L)));
+        factory.rp.process(new WireCommands.TableEntriesUpdated(factory.requestId, Arrays.asList(0L, 1L, 11L)));
         assertEquals(expectedVersions, result.join());
 
         // On receiving TableKeyDoesNotExist.
         result = helper.updateTableEntries("", "", entries, new MockHostControllerStore(), factory, "", System.nanoTime());
-        factory.rp.tableKeyDoesNotExist(new WireCommands.TableKeyDoesNotExist(0, getQualifiedStreamSegmentName("", "", 0L), ""));
+        factory.rp.process(new WireCommands.TableKeyDoesNotExist(factory.requestId, getQualifiedStreamSegmentName("", "", 0L), ""));
         AssertExtensions.assertThrows("", result::join,
                                       ex -> ex instanceof WireCommandFailedException &&
                                               (((WireCommandFailedException) ex).getReason() == WireCommandFailedException.Reason.TableKeyDoesNotExist));
 
         // On receiving TableKeyBadVersion.
         result = helper.updateTableEntries("", "", entries, new MockHostControllerStore(), factory, "", System.nanoTime());
-        factory.rp.tableKeyBadVersion(new WireCommands.TableKeyBadVersion(0, getQualifiedStreamSegmentName("", "", 0L), ""));
+        factory.rp.process(new WireCommands.TableKeyBadVersion(factory.requestId, getQualifiedStreamSegmentName("", "", 0L), ""));
         AssertExtensions.assertThrows("", result::join,
                                       ex -> ex instanceof WireCommandFailedException &&
                                               (((WireCommandFailedException) ex).getReason() == WireCommandFailedException.Reason.TableKeyBadVersion));
@@ -303,17 +305,17 @@ public class SegmentHelperTest {
         // On receiving TableKeysRemoved.
         CompletableFuture<Void> result = helper.removeTableKeys("", "", keys, new MockHostControllerStore(), factory, "",
                                                                             System.nanoTime());
-        factory.rp.tableKeysRemoved(new WireCommands.TableKeysRemoved(0, getQualifiedStreamSegmentName("", "", 0L) ));
+        factory.rp.process(new WireCommands.TableKeysRemoved(factory.requestId, getQualifiedStreamSegmentName("", "", 0L) ));
         assertTrue(Futures.await(result));
 
         // On receiving TableKeyDoesNotExist.
         result = helper.removeTableKeys("", "", keys, new MockHostControllerStore(), factory, "", System.nanoTime());
-        factory.rp.tableKeyDoesNotExist(new WireCommands.TableKeyDoesNotExist(0, getQualifiedStreamSegmentName("", "", 0L), ""));
+        factory.rp.process(new WireCommands.TableKeyDoesNotExist(factory.requestId, getQualifiedStreamSegmentName("", "", 0L), ""));
         assertTrue(Futures.await(result));
 
         // On receiving TableKeyBadVersion.
         result = helper.removeTableKeys("", "", keys, new MockHostControllerStore(), factory, "", System.nanoTime());
-        factory.rp.tableKeyBadVersion(new WireCommands.TableKeyBadVersion(0, getQualifiedStreamSegmentName("", "", 0L), ""));
+        factory.rp.process(new WireCommands.TableKeyBadVersion(factory.requestId, getQualifiedStreamSegmentName("", "", 0L), ""));
         AssertExtensions.assertThrows("", result::join,
                                       ex -> ex instanceof WireCommandFailedException &&
                                               (((WireCommandFailedException) ex).getReason() == WireCommandFailedException.Reason.TableKeyBadVersion));
@@ -339,7 +341,7 @@ public class SegmentHelperTest {
         // On receiving TableKeysRemoved.
         CompletableFuture<List<TableEntry<byte[], byte[]>>> result = helper.readTable("", "", keys, new MockHostControllerStore(),
                                                                                       factory, "", System.nanoTime());
-        factory.rp.tableRead(new WireCommands.TableRead(0, getQualifiedStreamSegmentName("", "", 0L), getTableEntries(entries)));
+        factory.rp.process(new WireCommands.TableRead(factory.requestId, getQualifiedStreamSegmentName("", "", 0L), getTableEntries(entries)));
         List<TableEntry<byte[], byte[]>> readResult = result.join();
         assertArrayEquals(key0, readResult.get(0).getKey().getKey());
         assertEquals(10L, readResult.get(0).getKey().getVersion().getSegmentVersion());
@@ -350,7 +352,7 @@ public class SegmentHelperTest {
 
         // On receiving TableKeyDoesNotExist.
         result = helper.readTable("", "", keys, new MockHostControllerStore(), factory, "", System.nanoTime());
-        factory.rp.tableKeyDoesNotExist(new WireCommands.TableKeyDoesNotExist(0, getQualifiedStreamSegmentName("", "", 0L), ""));
+        factory.rp.process(new WireCommands.TableKeyDoesNotExist(factory.requestId, getQualifiedStreamSegmentName("", "", 0L), ""));
         AssertExtensions.assertThrows("", result::join,
                                       ex -> ex instanceof WireCommandFailedException &&
                                               (((WireCommandFailedException) ex).getReason() == WireCommandFailedException.Reason.TableKeyDoesNotExist));
@@ -380,7 +382,7 @@ public class SegmentHelperTest {
                                                                                                      factory, "", System.nanoTime());
 
         assertFalse(result.isDone());
-        factory.rp.tableKeysRead(getTableKeysRead(keys1, token1));
+        factory.rp.process(getTableKeysRead(factory.requestId, keys1, token1));
         assertTrue(Futures.await(result));
         // Validate the results.
         List<TableKey<byte[]>> iterationResult = result.join().getItems();
@@ -394,7 +396,7 @@ public class SegmentHelperTest {
         result = helper.readTableKeys("", "", 3, IteratorState.fromBytes(token1), new MockHostControllerStore(), factory, "",
                                       System.nanoTime());
         assertFalse(result.isDone());
-        factory.rp.tableKeysRead(getTableKeysRead(keys2, token2));
+        factory.rp.process(getTableKeysRead(factory.requestId, keys2, token2));
         assertTrue(Futures.await(result));
         // Validate the results.
         iterationResult = result.join().getItems();
@@ -433,7 +435,7 @@ public class SegmentHelperTest {
                                                                                                                   new MockHostControllerStore(),
                                                                                                                   factory, "", System.nanoTime());
         assertFalse(result.isDone());
-        factory.rp.tableEntriesRead(getTableEntriesRead(entries1, token1));
+        factory.rp.process(getTableEntriesRead(factory.requestId, entries1, token1));
         assertTrue(Futures.await(result));
         List<TableEntry<byte[], byte[]>> iterationResult = result.join().getItems();
         assertArrayEquals(key0, iterationResult.get(0).getKey().getKey());
@@ -446,7 +448,7 @@ public class SegmentHelperTest {
         result = helper.readTableEntries("", "", 3, IteratorState.fromBytes(token1), new MockHostControllerStore(), factory, "",
                                          System.nanoTime());
         assertFalse(result.isDone());
-        factory.rp.tableEntriesRead(getTableEntriesRead(entries2, token2));
+        factory.rp.process(getTableEntriesRead(factory.requestId, entries2, token2));
         assertTrue(Futures.await(result));
         iterationResult = result.join().getItems();
         assertArrayEquals(key2, iterationResult.get(0).getKey().getKey());
@@ -475,21 +477,21 @@ public class SegmentHelperTest {
         }).collect(Collectors.toList()));
     }
 
-    private WireCommands.TableKeysRead getTableKeysRead(List<TableKey<byte[]>> keys, ByteBuf continuationToken) {
-        return new WireCommands.TableKeysRead(0L, getQualifiedStreamSegmentName("", "", 0L),
+    private WireCommands.TableKeysRead getTableKeysRead(long requestId, List<TableKey<byte[]>> keys, ByteBuf continuationToken) {
+        return new WireCommands.TableKeysRead(requestId, getQualifiedStreamSegmentName("", "", 0L),
                                               keys.stream().map(e -> new WireCommands.TableKey(wrappedBuffer(e.getKey()), e.getVersion().getSegmentVersion()))
                                                   .collect(Collectors.toList()),
                                               continuationToken);
     }
 
-    private WireCommands.TableEntriesRead getTableEntriesRead(List<TableEntry<byte[], byte[]>> entries, ByteBuf continuationToken) {
-        return new WireCommands.TableEntriesRead(0L, getQualifiedStreamSegmentName("", "", 0L),
+    private WireCommands.TableEntriesRead getTableEntriesRead(long requestId, List<TableEntry<byte[], byte[]>> entries, ByteBuf continuationToken) {
+        return new WireCommands.TableEntriesRead(requestId, getQualifiedStreamSegmentName("", "", 0L),
                                                  getTableEntries(entries), continuationToken);
     }
 
     private void validateAuthTokenCheckFailed(MockConnectionFactory factory, Supplier<CompletableFuture<?>> futureSupplier) {
         CompletableFuture<?> future = futureSupplier.get();
-        factory.rp.authTokenCheckFailed(new WireCommands.AuthTokenCheckFailed(0, "SomeException"));
+        factory.rp.process(new WireCommands.AuthTokenCheckFailed(factory.requestId, "SomeException"));
         AssertExtensions.assertThrows("", future::join,
                                       t -> {
                                           Throwable ex = unwrap(t);
@@ -499,7 +501,7 @@ public class SegmentHelperTest {
 
     private void validateNoSuchSegment(MockConnectionFactory factory, Supplier<CompletableFuture<?>> futureSupplier) {
         CompletableFuture<?> future = futureSupplier.get();
-        factory.rp.noSuchSegment(new WireCommands.NoSuchSegment(0, "segment", "SomeException"));
+        factory.rp.process(new WireCommands.NoSuchSegment(factory.requestId, "segment", "SomeException"));
         AssertExtensions.assertThrows("", future::join,
                                       t -> {
                                           Throwable ex = unwrap(t);
@@ -510,7 +512,7 @@ public class SegmentHelperTest {
 
     private void validateWrongHost(MockConnectionFactory factory, Supplier<CompletableFuture<?>> futureSupplier) {
         CompletableFuture<?> future = futureSupplier.get();
-        factory.rp.wrongHost(new WireCommands.WrongHost(0, "segment", "correctHost", "SomeException"));
+        factory.rp.process(new WireCommands.WrongHost(factory.requestId, "segment", "correctHost", "SomeException"));
         AssertExtensions.assertThrows("", future::join,
                                       t -> {
                                           Throwable ex = unwrap(t);
@@ -562,11 +564,12 @@ public class SegmentHelperTest {
     private class MockConnectionFactory implements ConnectionFactory {
         @Getter
         private ReplyProcessor rp;
+        private volatile long requestId;
 
         @Override
         public CompletableFuture<ClientConnection> establishConnection(PravegaNodeUri endpoint, ReplyProcessor rp) {
             this.rp = rp;
-            ClientConnection connection = new MockConnection(rp);
+            ClientConnection connection = new MockConnection(this, rp);
             return CompletableFuture.completedFuture(connection);
         }
 
@@ -582,10 +585,12 @@ public class SegmentHelperTest {
     }
 
     private class MockConnection implements ClientConnection {
+        private final MockConnectionFactory factory;
         @Getter
         private final ReplyProcessor rp;
 
-        public MockConnection(ReplyProcessor rp) {
+        public MockConnection(MockConnectionFactory factory, ReplyProcessor rp) {
+            this.factory = factory;
             this.rp = rp;
         }
 
@@ -601,7 +606,7 @@ public class SegmentHelperTest {
 
         @Override
         public void sendAsync(WireCommand cmd, CompletedCallback callback) {
-
+            factory.requestId = ((Request) cmd).getRequestId();
         }
 
         @Override
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.controller.server;
+
+import io.pravega.client.netty.impl.ClientConnection;
+import io.pravega.client.netty.impl.ConnectionFactory;
+import io.pravega.shared.protocol.netty.Append;
+import io.pravega.shared.protocol.netty.FailingReplyProcessor;
+import io.pravega.shared.protocol.netty.PravegaNodeUri;
+import io.pravega.shared.protocol.netty.ReplyProcessor;
+import io.pravega.shared.protocol.netty.Request;
+import io.pravega.shared.protocol.netty.WireCommand;
+import io.pravega.shared.protocol.netty.WireCommands;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import lombok.Cleanup;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the SegmentStoreConnectionManager class.
+ */
+public class SegmentStoreConnectionManagerTest {
+    private static final PravegaNodeUri URI = new PravegaNodeUri("localhost", 1000);
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10);
+
+    /**
+     * Verifies that concurrent requests with distinct ids are multiplexed over the pooled connections and that replies
+     * are routed to the correct ReplyProcessor.
+     */
+    @Test
+    public void testMultiplexing() {
+        final int maxConnections = 2;
+        final int requestCount = 10;
+        @Cleanup
+        SegmentStoreConnectionManager manager = new SegmentStoreConnectionManager(maxConnections);
+        MockConnectionFactory factory = new MockConnectionFactory();
+        List<TestReplyProcessor> processors = new ArrayList<>();
+        for (int i = 0; i < requestCount; i++) {
+            TestReplyProcessor p = new TestReplyProcessor();
+            processors.add(p);
+            manager.sendRequest(URI, factory, new WireCommands.CreateSegment(i, "s" + i, (byte) 0, 0, ""), p).getSendFuture().join();
+        }
+
+        Assert.assertEquals("Unexpected number of connections established.", maxConnections, factory.connections.size());
+        int sentCount = factory.connections.stream().mapToInt(c -> c.sent.size()).sum();
+        Assert.assertEquals("Unexpected number of requests sent.", requestCount, sentCount);
+
+        // Reply to each request on the connection it was sent on, in reverse order.
+        for (MockConnection c : factory.connections) {
+            for (int i = c.sent.size() - 1; i >= 0; i--) {
+                long requestId = c.sent.get(i);
+                c.rp.process(new WireCommands.SegmentCreated(requestId, "s" + requestId));
+            }
+        }
+
+        for (int i = 0; i < requestCount; i++) {
+            Assert.assertEquals("Unexpected reply routed to processor " + i, "s" + i, processors.get(i).createdSegment);
+        }
+
+        // A reply for a request that has already completed must be discarded.
+        factory.connections.get(0).rp.process(new WireCommands.SegmentCreated(0, "s0"));
+    }
+
+    /**
+     * Verifies that requests sharing the same id are never placed on the same connection, even if the pool is full.
+     */
+    @Test
+    public void testRequestIdCollision() {
+        @Cleanup
+        SegmentStoreConnectionManager manager = new SegmentStoreConnectionManager(1);
+        MockConnectionFactory factory = new MockConnectionFactory();
+        TestReplyProcessor p1 = new TestReplyProcessor();
+        TestReplyProcessor p2 = new TestReplyProcessor();
+        manager.sendRequest(URI, factory, new WireCommands.CreateSegment(1, "s1", (byte) 0, 0, ""), p1);
+        SegmentStoreConnectionManager.PendingRequest pending2 = manager.sendRequest(URI, factory,
+                new WireCommands.CreateSegment(1, "s2", (byte) 0, 0, ""), p2);
+        Assert.assertEquals("Expected a dedicated connection for the colliding request.", 2, factory.connections.size());
+
+        factory.connections.get(1).rp.process(new WireCommands.SegmentCreated(1, "s2"));
+        factory.connections.get(0).rp.process(new WireCommands.SegmentCreated(1, "s1"));
+        Assert.assertEquals("s1", p1.createdSegment);
+        Assert.assertEquals("s2", p2.createdSegment);
+
+        // The dedicated connection is closed once it has no more pending requests; the pooled one is kept.
+        pending2.close();
+        Assert.assertTrue("Expected dedicated connection to be closed.", factory.connections.get(1).closed);
+        Assert.assertFalse("Not expecting pooled connection to be closed.", factory.connections.get(0).closed);
+    }
+
+    /**
+     * Verifies that a dropped connection fails all of its pending requests and is removed from the pool.
+     */
+    @Test
+    public void testConnectionDropped() {
+        @Cleanup
+        SegmentStoreConnectionManager manager = new SegmentStoreConnectionManager(1);
+        MockConnectionFactory factory = new MockConnectionFactory();
+        TestReplyProcessor p1 = new TestReplyProcessor();
+        TestReplyProcessor p2 = new TestReplyProcessor();
+        manager.sendRequest(URI, factory, new WireCommands.CreateSegment(1, "s1", (byte) 0, 0, ""), p1);
+        manager.sendRequest(URI, factory, new WireCommands.CreateSegment(2, "s2", (byte) 0, 0, ""), p2);
+        Assert.assertEquals(1, factory.connections.size());
+
+        factory.connections.get(0).rp.connectionDropped();
+        Assert.assertTrue(p1.dropped);
+        Assert.assertTrue(p2.dropped);
+        Assert.assertTrue(factory.connections.get(0).closed);
+
+        // A new request must establish a new connection.
+        TestReplyProcessor p3 = new TestReplyProcessor();
+        manager.sendRequest(URI, factory, new WireCommands.CreateSegment(3, "s3", (byte) 0, 0, ""), p3);
+        Assert.assertEquals(2, factory.connections.size());
+        factory.connections.get(1).rp.process(new WireCommands.SegmentCreated(3, "s3"));
+        Assert.assertEquals("s3", p3.createdSegment);
+    }
+
+    private static class TestReplyProcessor extends FailingReplyProcessor {
+        private volatile String createdSegment;
+        private volatile boolean dropped;
+
+        @Override
+        public void segmentCreated(WireCommands.SegmentCreated segmentCreated) {
+            Assert.assertNull("Reply delivered more than once.", this.createdSegment);
+            this.createdSegment = segmentCreated.getSegment();
+        }
+
+        @Override
+        public void connectionDropped() {
+            this.dropped = true;
+        }
+
+        @Override
+        public void processingFailure(Exception error) {
+            throw new AssertionError("Unexpected processing failure.", error);
+        }
+
+        @Override
+        public void authTokenCheckFailed(WireCommands.AuthTokenCheckFailed authTokenCheckFailed) {
+            throw new AssertionError("Unexpected auth token check failure.");
+        }
+    }
+
+    private static class MockConnectionFactory implements ConnectionFactory {
+        private final List<MockConnection> connections = new ArrayList<>();
+
+        @Override
+        public CompletableFuture<ClientConnection> establishConnection(PravegaNodeUri endpoint, ReplyProcessor rp) {
+            MockConnection connection = new MockConnection(rp);
+            this.connections.add(connection);
+            return CompletableFuture.completedFuture(connection);
+        }
+
+        @Override
+        public ScheduledExecutorService getInternalExecutor() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class MockConnection implements ClientConnection {
+        private final ReplyProcessor rp;
+        private final List<Long> sent = new ArrayList<>();
+        private volatile boolean closed;
+
+        MockConnection(ReplyProcessor rp) {
+            this.rp = rp;
+        }
+
+        @Override
+        public void send(WireCommand cmd) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(Append append) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void sendAsync(WireCommand cmd, CompletedCallback callback) {
+            this.sent.add(((Request) cmd).getRequestId());
+            callback.complete(null);
+        }
+
+        @Override
+        public void sendAsync(List<Append> appends, CompletedCallback callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+    }
+}
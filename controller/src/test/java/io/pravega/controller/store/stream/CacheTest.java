@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.controller.store.stream;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CacheTest {
+    private static final Duration MUTABLE_EXPIRY = Duration.ofMinutes(10);
+    private static final Duration IMMUTABLE_EXPIRY = Duration.ofMinutes(100);
+
+    @Test
+    public void testExpiration() {
+        TestLoader loader = new TestLoader();
+        AtomicLong time = new AtomicLong();
+        Cache cache = new Cache(loader, 1024 * 1024, MUTABLE_EXPIRY, IMMUTABLE_EXPIRY, time::get);
+        loader.set("mutable", 1);
+        loader.set("immutable", 1);
+
+        cache.getCachedData("mutable", Cache.Policy.MUTABLE).join();
+        cache.getCachedData("immutable", Cache.Policy.IMMUTABLE).join();
+        assertEquals(2, loader.getLoadCount());
+
+        time.set(MUTABLE_EXPIRY.toMillis() - 1);
+        cache.getCachedData("mutable", Cache.Policy.MUTABLE).join();
+        cache.getCachedData("immutable", Cache.Policy.IMMUTABLE).join();
+        assertEquals(2, loader.getLoadCount());
+
+        time.set(MUTABLE_EXPIRY.toMillis());
+        cache.getCachedData("mutable", Cache.Policy.MUTABLE).join();
+        cache.getCachedData("immutable", Cache.Policy.IMMUTABLE).join();
+        assertEquals("Expected the mutable record to be reloaded.", 3, loader.getLoadCount());
+
+        time.set(IMMUTABLE_EXPIRY.toMillis());
+        cache.getCachedData("immutable", Cache.Policy.IMMUTABLE).join();
+        assertEquals("Expected the immutable record to be reloaded.", 4, loader.getLoadCount());
+
+        // Immutable records never expire if no expiration is configured.
+        cache = new Cache(loader, 1024 * 1024, MUTABLE_EXPIRY, Duration.ZERO, time::get);
+        cache.getCachedData("immutable", Cache.Policy.IMMUTABLE).join();
+        time.set(Long.MAX_VALUE / 2);
+        cache.getCachedData("immutable", Cache.Policy.IMMUTABLE).join();
+        assertEquals(5, loader.getLoadCount());
+    }
+
+    @Test
+    public void testSizeBound() {
+        TestLoader loader = new TestLoader();
+        AtomicLong time = new AtomicLong();
+        Cache cache = new Cache(loader, 100 * 1024, MUTABLE_EXPIRY, Duration.ZERO, time::get);
+        for (int i = 0; i < 1000; i++) {
+            loader.set("key" + i, 1);
+            cache.getCachedData("key" + i, Cache.Policy.IMMUTABLE).join();
+        }
+
+        // Each record is 1KB, so only a fraction of the keys can fit in the cache.
+        loader.resetLoadCount();
+        for (int i = 0; i < 1000; i++) {
+            cache.getCachedData("key" + i, Cache.Policy.IMMUTABLE).join();
+        }
+
+        assertTrue("Expected some records to have been evicted.", loader.getLoadCount() > 900);
+    }
+
+    @Test
+    public void testUpdate() {
+        TestLoader loader = new TestLoader();
+        Cache cache = new Cache(loader, 1024 * 1024, MUTABLE_EXPIRY, Duration.ZERO, () -> 0L);
+        loader.set("key", 1);
+        assertEquals(1, getVersion(cache.getCachedData("key").join()));
+
+        // A newer version replaces the cached one without a reload.
+        cache.update("key", newData(2), Cache.Policy.MUTABLE);
+        assertEquals(2, getVersion(cache.getCachedData("key").join()));
+        assertEquals(1, loader.getLoadCount());
+
+        // An older version does not.
+        cache.update("key", newData(1), Cache.Policy.MUTABLE);
+        assertEquals(2, getVersion(cache.getCachedData("key").join()));
+
+        // An update while a load is in progress wins over the loaded record.
+        cache.invalidateCache("key");
+        CompletableFuture<Data> pending = new CompletableFuture<>();
+        loader.setPending("key", pending);
+        CompletableFuture<Data> get1 = cache.getCachedData("key");
+        CompletableFuture<Data> get2 = cache.getCachedData("key");
+        assertSame("Expected concurrent lookups to be coalesced.", get1, get2);
+        cache.update("key", newData(5), Cache.Policy.MUTABLE);
+        pending.complete(newData(3));
+        assertEquals(3, getVersion(get1.join()));
+        assertEquals(5, getVersion(cache.getCachedData("key").join()));
+        assertEquals(2, loader.getLoadCount());
+    }
+
+    @Test
+    public void testGeneration() {
+        TestLoader loader = new TestLoader();
+        Cache cache = new Cache(loader, 1024 * 1024, MUTABLE_EXPIRY, Duration.ZERO, () -> 0L);
+        loader.set("key", 3);
+        assertEquals(3, getVersion(cache.getCachedData("key", Cache.Policy.IMMUTABLE, 1L).join()));
+        assertEquals(3, getVersion(cache.getCachedData("key", Cache.Policy.IMMUTABLE, 1L).join()));
+        assertEquals(1, loader.getLoadCount());
+
+        // A record cached for another generation is not served, even if it has a higher version.
+        loader.set("key", 0);
+        assertEquals(0, getVersion(cache.getCachedData("key", Cache.Policy.IMMUTABLE, 2L).join()));
+        assertEquals(0, getVersion(cache.getCachedData("key", Cache.Policy.IMMUTABLE, 2L).join()));
+        assertEquals(2, loader.getLoadCount());
+
+        // Updates for a new generation replace records of the previous one regardless of their versions.
+        cache.update("key", newData(1), Cache.Policy.IMMUTABLE, 3L);
+        assertEquals(1, getVersion(cache.getCachedData("key", Cache.Policy.IMMUTABLE, 3L).join()));
+        assertEquals(2, loader.getLoadCount());
+        cache.getCachedData("key", Cache.Policy.IMMUTABLE, 2L).join();
+        assertEquals(3, loader.getLoadCount());
+    }
+
+    @Test
+    public void testInvalidate() {
+        TestLoader loader = new TestLoader();
+        Cache cache = new Cache(loader, 1024 * 1024, MUTABLE_EXPIRY, Duration.ZERO, () -> 0L);
+        loader.set("/a/1", 1);
+        loader.set("/a/2", 1);
+        loader.set("/b/1", 1);
+        cache.getCachedData("/a/1").join();
+        cache.getCachedData("/a/2").join();
+        cache.getCachedData("/b/1").join();
+
+        // A load that completes after the key was invalidated must not be cached.
+        CompletableFuture<Data> pending = new CompletableFuture<>();
+        loader.setPending("/c/1", pending);
+        CompletableFuture<Data> get = cache.getCachedData("/c/1");
+        cache.invalidateCache("/c/1");
+        pending.complete(newData(1));
+        assertFalse(get.isCompletedExceptionally());
+        loader.set("/c/1", 2);
+        assertEquals(2, getVersion(cache.getCachedData("/c/1").join()));
+        assertEquals(5, loader.getLoadCount());
+
+        cache.invalidateAll("/a/");
+        loader.resetLoadCount();
+        cache.getCachedData("/a/1").join();
+        cache.getCachedData("/a/2").join();
+        cache.getCachedData("/b/1").join();
+        assertEquals("Expected only the records with the given prefix to be reloaded.", 2, loader.getLoadCount());
+    }
+
+    @Test
+    public void testFailedLoad() {
+        TestLoader loader = new TestLoader();
+        Cache cache = new Cache(loader, 1024 * 1024, MUTABLE_EXPIRY, Duration.ZERO, () -> 0L);
+        assertTrue(cache.getCachedData("key").isCompletedExceptionally());
+        loader.set("key", 1);
+        assertEquals("Expected failed loads not to be cached.", 1, getVersion(cache.getCachedData("key").join()));
+    }
+
+    private static Data newData(int version) {
+        return new Data(new byte[1024], new Version.IntVersion(version));
+    }
+
+    private static int getVersion(Data data) {
+        return data.getVersion().asIntVersion().getIntValue();
+    }
+
+    private static class TestLoader implements Cache.Loader {
+        private final Map<String, CompletableFuture<Data>> records = new ConcurrentHashMap<>();
+        private final Map<String, CompletableFuture<Data>> pending = new HashMap<>();
+        private final AtomicInteger loadCount = new AtomicInteger();
+
+        void set(String key, int version) {
+            this.records.put(key, CompletableFuture.completedFuture(newData(version)));
+        }
+
+        void setPending(String key, CompletableFuture<Data> result) {
+            this.pending.put(key, result);
+        }
+
+        int getLoadCount() {
+            return this.loadCount.get();
+        }
+
+        void resetLoadCount() {
+            this.loadCount.set(0);
+        }
+
+        @Override
+        public CompletableFuture<Data> get(String key) {
+            this.loadCount.incrementAndGet();
+            CompletableFuture<Data> result = this.pending.remove(key);
+            if (result == null) {
+                result = this.records.get(key);
+            }
+
+            if (result == null) {
+                result = new CompletableFuture<>();
+                result.completeExceptionally(StoreException.create(StoreException.Type.DATA_NOT_FOUND, key));
+            }
+
+            return result;
+        }
+    }
+}
@@ -283,6 +283,28 @@ public class ZKStreamMetadataStoreTest extends StreamMetadataStoreTest {
                 (Throwable t) -> t instanceof StoreException.IllegalStateException);
     }
 
+    @Test
+    public void testStreamRecreatedByAnotherStore() throws Exception {
+        // Populate this store's cache with the (immutable) records of the stream.
+        store.createScope(scope).get();
+        store.createStream(scope, stream1, configuration1, 1L, null, executor).get();
+        store.setState(scope, stream1, State.ACTIVE, null, executor).get();
+        assertEquals(1L, (long) store.getCreationTime(scope, stream1, null, executor).get());
+        assertEquals(policy1.getMinNumSegments(), store.getEpoch(scope, stream1, 0, null, executor).get().getSegments().size());
+
+        // Delete and recreate the stream, with a different configuration, using a store that does not share the cache.
+        try (ZKStreamMetadataStore otherStore = new ZKStreamMetadataStore(cli, executor, Duration.ofSeconds(1))) {
+            otherStore.deleteStream(scope, stream1, null, executor).get();
+            otherStore.createStream(scope, stream1, configuration2, 2L, null, executor).get();
+            otherStore.setState(scope, stream1, State.ACTIVE, null, executor).get();
+        }
+
+        // None of the records of the previous stream may be served from the cache.
+        assertEquals(2L, (long) store.getCreationTime(scope, stream1, null, executor).get());
+        assertEquals(policy2.getMinNumSegments(), store.getEpoch(scope, stream1, 0, null, executor).get().getSegments().size());
+        assertEquals(policy2.getMinNumSegments(), store.getActiveSegments(scope, stream1, null, executor).get().size());
+    }
+
     @Test(timeout = 5000)
     public void testError() throws Exception {
         String host = "host";
@@ -9,7 +9,9 @@
  */
 package io.pravega.segmentstore.contracts;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * Contents for a ReadResultEntry.
@@ -17,6 +19,7 @@ import java.io.InputStream;
 public class ReadResultEntryContents {
     private final int length;
     private final InputStream data;
+    private final ByteBuffer buffer;
 
     /**
      * Creates a new instance of the ReadResultEntryContents class.
@@ -27,6 +30,21 @@ public class ReadResultEntryContents {
     public ReadResultEntryContents(InputStream data, int length) {
         this.data = data;
         this.length = length;
+        this.buffer = null;
+    }
+
+    /**
+     * Creates a new instance of the ReadResultEntryContents class for data that is available as an array. The array
+     * is not copied, so it must not be modified after this.
+     *
+     * @param array  The array containing the data.
+     * @param offset The offset within the array where the data begins.
+     * @param length The length of the data.
+     */
+    public ReadResultEntryContents(byte[] array, int offset, int length) {
+        this.data = new ByteArrayInputStream(array, offset, length);
+        this.length = length;
+        this.buffer = ByteBuffer.wrap(array, offset, length).slice();
     }
 
     /**
@@ -49,6 +67,17 @@ public class ReadResultEntryContents {
         return this.data;
     }
 
+    /**
+     * Gets a ByteBuffer that wraps the retrieved data, without copying it, if it is available as an array. The
+     * returned ByteBuffer is independent of getData() and of other invocations of this method (they do not share their
+     * positions), but they all share the same underlying array, which must not be modified.
+     *
+     * @return A ByteBuffer with the data, or null if the data is only available via getData().
+     */
+    public ByteBuffer getBuffer() {
+        return this.buffer == null ? null : this.buffer.duplicate();
+    }
+
     @Override
     public String toString() {
         return String.format("Length = %d", getLength());
@@ -9,6 +9,8 @@
  */
 package io.pravega.segmentstore.contracts;
 
+import io.pravega.common.util.BufferView;
+import io.pravega.common.util.ByteArraySegment;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
@@ -43,7 +45,31 @@ public interface StreamSegmentStore {
      *                                  check if the StreamSegment does not exist - that exception will be set in the
      *                                  returned CompletableFuture).
      */
-    CompletableFuture<Void> append(String streamSegmentName, byte[] data, Collection<AttributeUpdate> attributeUpdates, Duration timeout);
+    default CompletableFuture<Void> append(String streamSegmentName, byte[] data, Collection<AttributeUpdate> attributeUpdates, Duration timeout) {
+        return append(streamSegmentName, new ByteArraySegment(data), attributeUpdates, timeout);
+    }
+
+    /**
+     * Appends a range of bytes at the end of a StreamSegment and atomically updates the given attributes. The byte range
+     * will be appended as a contiguous block, however there is no guarantee of ordering between different calls to this
+     * method.
+     *
+     * The given BufferView will be retained (see BufferView.retain()) for as long as it is needed internally, so the caller
+     * may safely release its own reference to it once the returned CompletableFuture completes.
+     *
+     * @param streamSegmentName The name of the StreamSegment to append to.
+     * @param data              A BufferView representing the data to add.
+     * @param attributeUpdates  A Collection of Attribute-Values to set or update. May be null (which indicates no updates).
+     *                          See Notes about AttributeUpdates in the interface Javadoc.
+     * @param timeout           Timeout for the operation
+     * @return A CompletableFuture that, will completed normally, if the add was added. If the
+     * operation failed, the future will be failed with the causing exception.
+     * @throws NullPointerException     If any of the arguments are null, except attributeUpdates.
+     * @throws IllegalArgumentException If the StreamSegment Name is invalid (NOTE: this doesn't
+     *                                  check if the StreamSegment does not exist - that exception will be set in the
+     *                                  returned CompletableFuture).
+     */
+    CompletableFuture<Void> append(String streamSegmentName, BufferView data, Collection<AttributeUpdate> attributeUpdates, Duration timeout);
 
     /**
      * Appends a range of bytes at the end of a StreamSegment an atomically updates the given attributes, but only if the
@@ -63,7 +89,32 @@ public interface StreamSegmentStore {
      * @throws IllegalArgumentException If the StreamSegment Name is invalid (NOTE: this doesn't check if the StreamSegment
      *                                  does not exist - that exception will be set in the returned CompletableFuture).
      */
-    CompletableFuture<Void> append(String streamSegmentName, long offset, byte[] data, Collection<AttributeUpdate> attributeUpdates, Duration timeout);
+    default CompletableFuture<Void> append(String streamSegmentName, long offset, byte[] data, Collection<AttributeUpdate> attributeUpdates, Duration timeout) {
+        return append(streamSegmentName, offset, new ByteArraySegment(data), attributeUpdates, timeout);
+    }
+
+    /**
+     * Appends a range of bytes at the end of a StreamSegment an atomically updates the given attributes, but only if the
+     * current length of the StreamSegment equals a certain value. The byte range will be appended as a contiguous block.
+     * This method guarantees ordering (among subsequent calls).
+     *
+     * The given BufferView will be retained (see BufferView.retain()) for as long as it is needed internally, so the caller
+     * may safely release its own reference to it once the returned CompletableFuture completes.
+     *
+     * @param streamSegmentName The name of the StreamSegment to append to.
+     * @param offset            The offset at which to append. If the current length of the StreamSegment does not equal
+     *                          this value, the operation will fail with a BadOffsetException.
+     * @param data              A BufferView representing the data to add.
+     * @param attributeUpdates  A Collection of Attribute-Values to set or update. May be null (which indicates no updates).
+     *                          See Notes about AttributeUpdates in the interface Javadoc.
+     * @param timeout           Timeout for the operation
+     * @return A CompletableFuture that, when completed normally, will indicate the append completed successfully.
+     * If the operation failed, the future will be failed with the causing exception.
+     * @throws NullPointerException     If any of the arguments are null, except attributeUpdates.
+     * @throws IllegalArgumentException If the StreamSegment Name is invalid (NOTE: this doesn't check if the StreamSegment
+     *                                  does not exist - that exception will be set in the returned CompletableFuture).
+     */
+    CompletableFuture<Void> append(String streamSegmentName, long offset, BufferView data, Collection<AttributeUpdate> attributeUpdates, Duration timeout);
 
     /**
      * Performs an attribute update operation on the given Segment.
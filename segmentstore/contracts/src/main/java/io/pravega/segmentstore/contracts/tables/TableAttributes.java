@@ -40,6 +40,13 @@ public class TableAttributes extends Attributes {
      */
     public static final UUID TOTAL_ENTRY_COUNT = new UUID(CORE_ATTRIBUTE_ID_PREFIX, TABLE_ATTRIBUTES_START_OFFSET + 3);
 
+    /**
+     * Defines an attribute that is used to store the offset of a (Table) Segment before which all Table Entries have been
+     * processed by compaction (any live Table Entries before it have been copied after it), so the Segment may be
+     * truncated at this offset.
+     */
+    public static final UUID COMPACTION_OFFSET = new UUID(CORE_ATTRIBUTE_ID_PREFIX, TABLE_ATTRIBUTES_START_OFFSET + 4);
+
     /**
      * Defines a Map that contains all Table Attributes along with their default values.
      */
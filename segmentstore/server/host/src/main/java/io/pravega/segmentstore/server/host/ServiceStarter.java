@@ -24,6 +24,10 @@ import io.pravega.segmentstore.server.store.ServiceBuilderConfig;
 import io.pravega.segmentstore.server.store.ServiceConfig;
 import io.pravega.segmentstore.storage.impl.bookkeeper.BookKeeperConfig;
 import io.pravega.segmentstore.storage.impl.bookkeeper.BookKeeperLogFactory;
+import io.pravega.segmentstore.storage.impl.directmemory.DirectMemoryCacheConfig;
+import io.pravega.segmentstore.storage.impl.directmemory.DirectMemoryCacheFactory;
+import io.pravega.segmentstore.storage.impl.diskcache.DiskCacheConfig;
+import io.pravega.segmentstore.storage.impl.diskcache.DiskCacheFactory;
 import io.pravega.segmentstore.storage.impl.rocksdb.RocksDBCacheFactory;
 import io.pravega.segmentstore.storage.impl.rocksdb.RocksDBConfig;
 import io.pravega.segmentstore.storage.mocks.InMemoryDurableDataLogFactory;
@@ -70,7 +74,7 @@ public final class ServiceStarter {
     private ServiceBuilder createServiceBuilder() {
         ServiceBuilder builder = ServiceBuilder.newInMemoryBuilder(this.builderConfig);
         attachDataLogFactory(builder);
-        attachRocksDB(builder);
+        attachCache(builder);
         attachStorage(builder);
         attachZKSegmentManager(builder);
         return builder;
@@ -162,8 +166,21 @@ public final class ServiceStarter {
         });
     }
 
-    private void attachRocksDB(ServiceBuilder builder) {
-        builder.withCacheFactory(setup -> new RocksDBCacheFactory(setup.getConfig(RocksDBConfig::builder)));
+    private void attachCache(ServiceBuilder builder) {
+        builder.withCacheFactory(setup -> {
+            switch (this.serviceConfig.getCacheImplementation()) {
+                case ROCKSDB:
+                    return new RocksDBCacheFactory(setup.getConfig(RocksDBConfig::builder));
+                case DIRECTMEMORY:
+                    return new DirectMemoryCacheFactory(setup.getConfig(DirectMemoryCacheConfig::builder));
+                default:
+                    throw new IllegalStateException("Unsupported cache implementation: " + this.serviceConfig.getCacheImplementation());
+            }
+        });
+
+        if (this.serviceConfig.isDiskCacheEnabled()) {
+            builder.withDiskCacheFactory(setup -> new DiskCacheFactory(setup.getConfig(DiskCacheConfig::builder)));
+        }
     }
 
     private void attachStorage(ServiceBuilder builder) {
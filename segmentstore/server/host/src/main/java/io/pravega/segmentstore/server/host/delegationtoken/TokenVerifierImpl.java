@@ -9,32 +9,58 @@
  */
 package io.pravega.segmentstore.server.host.delegationtoken;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.pravega.auth.AuthHandler;
 import io.pravega.segmentstore.server.host.stat.AutoScalerConfig;
+import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Verifies delegation tokens (JWTs) signed with the configured signing key.
+ *
+ * Tokens that have been successfully verified are cached (up to their expiration time), along with their claims, so
+ * that clients sending the same token with every request do not pay for signature verification and parsing every time.
+ */
 @Slf4j
 public class TokenVerifierImpl implements DelegationTokenVerifier {
+    private static final int MAX_CACHED_TOKENS = 10000;
+    private static final long CACHE_EXPIRATION_MINUTES = 10;
+
     private final AutoScalerConfig config;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Supplier<Long> currentTimeMillis;
 
     public TokenVerifierImpl(AutoScalerConfig config) {
+        this(config, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    TokenVerifierImpl(AutoScalerConfig config, Supplier<Long> currentTimeMillis) {
         this.config = config;
+        this.currentTimeMillis = currentTimeMillis;
+        this.verifiedTokens = CacheBuilder.newBuilder()
+                                          .maximumSize(MAX_CACHED_TOKENS)
+                                          .expireAfterAccess(CACHE_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+                                          .build();
     }
 
     @Override
     public boolean verifyToken(String resource, String token, AuthHandler.Permissions expectedLevel) {
         if (config.isAuthEnabled()) {
             try {
-                Jws<Claims> claims = Jwts.parser()
-                                         .setSigningKey(config.getTokenSigningKey().getBytes())
-                                         .parseClaimsJws(token);
-                Optional<Map.Entry<String, Object>> matchingClaim = claims.getBody().entrySet().stream().filter(entry ->
+                Map<String, Object> claims = getClaims(token);
+                Optional<Map.Entry<String, Object>> matchingClaim = claims.entrySet().stream().filter(entry ->
                         validateEntry(entry, resource)
                         && expectedLevel.compareTo(AuthHandler.Permissions.valueOf(entry.getValue().toString()))
                         <= 0).findFirst();
@@ -55,9 +81,50 @@ public class TokenVerifierImpl implements DelegationTokenVerifier {
         }
     }
 
+    @VisibleForTesting
+    long getCachedTokenCount() {
+        return this.verifiedTokens.size();
+    }
+
+    /**
+     * Gets the claims in the given token. If the token has been verified before (and has not expired since), the
+     * claims are served from the cache, otherwise the token is verified and parsed (and added to the cache).
+     */
+    private Map<String, Object> getClaims(String token) {
+        if (token != null) {
+            VerifiedToken cached = this.verifiedTokens.getIfPresent(token);
+            if (cached != null) {
+                if (!cached.isExpired(this.currentTimeMillis.get())) {
+                    return cached.claims;
+                }
+
+                // Let the parser below reject it, so that the same error is reported as for any other expired token.
+                this.verifiedTokens.invalidate(token);
+            }
+        }
+
+        Jws<Claims> jws = Jwts.parser()
+                              .setSigningKey(config.getTokenSigningKey().getBytes())
+                              .setClock(() -> new Date(this.currentTimeMillis.get()))
+                              .parseClaimsJws(token);
+        Claims claims = jws.getBody();
+        this.verifiedTokens.put(token, new VerifiedToken(claims, claims.getExpiration()));
+        return claims;
+    }
+
     private boolean validateEntry(Map.Entry<String, Object> entry, String resource) {
         return (entry.getKey().endsWith("/") && resource.startsWith(entry.getKey()))
                     ||  resource.startsWith(entry.getKey() + "/")
                 || entry.getKey().equals("*");
     }
+
+    @RequiredArgsConstructor
+    private static class VerifiedToken {
+        private final Map<String, Object> claims;
+        private final Date expiration;
+
+        boolean isExpired(long currentTimeMillis) {
+            return this.expiration != null && this.expiration.getTime() <= currentTimeMillis;
+        }
+    }
 }
@@ -48,7 +48,7 @@ import io.pravega.shared.protocol.netty.WireCommands.SegmentIsSealed;
 import io.pravega.shared.protocol.netty.WireCommands.SetupAppend;
 import io.pravega.shared.protocol.netty.WireCommands.WrongHost;
 import java.time.Duration;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -72,6 +72,10 @@ public class AppendProcessor extends DelegatingRequestProcessor {
     static final Duration TIMEOUT = Duration.ofMinutes(1);
     private static final int HIGH_WATER_MARK = 128 * 1024;
     private static final int LOW_WATER_MARK = 64 * 1024;
+    /**
+     * The maximum number of bytes that may be combined into a single store append.
+     */
+    private static final int MAX_BATCH_LENGTH = 1024 * 1024;
     private static final String EMPTY_STACK_TRACE = "";
     private final StreamSegmentStore store;
     private final ServerConnection connection;
@@ -86,8 +90,13 @@ public class AppendProcessor extends DelegatingRequestProcessor {
     private final LinkedListMultimap<UUID, Append> waitingAppends = LinkedListMultimap.create(2);
     @GuardedBy("lock")
     private final HashMap<Pair<String, UUID>, Long> latestEventNumbers = new HashMap<>();
+    /**
+     * For each Writer with waiting Appends, the time since its oldest waiting Append was received.
+     */
+    @GuardedBy("lock")
+    private final HashMap<UUID, Timer> waitingSince = new HashMap<>();
     @GuardedBy("lock")
-    private Append outstandingAppend = null;
+    private List<Append> outstandingAppends = null;
 
     //endregion
 
@@ -182,133 +191,220 @@ public class AppendProcessor extends DelegatingRequestProcessor {
     /**
      * If there isn't already an append outstanding against the store, write a new one.
      * Appends are opportunistically batched here. i.e. If many are waiting they are combined into a single append and
-     * that is written.
+     * that is written. Appends from different writers to the same segment may also be combined into a single store
+     * append (see getNextAppends()), in which case each writer still receives its own acknowledgement.
      */
     private void performNextWrite() {
-        Append append = getNextAppend();
-        if (append == null) {
+        List<Duration> queueTimes = new ArrayList<>();
+        List<Append> appends = getNextAppends(queueTimes);
+        if (appends == null) {
             return;
         }
-        long traceId = LoggerHelpers.traceEnter(log, "storeAppend", append);
+        queueTimes.forEach(this.statsRecorder::recordAppendQueueTime);
+        long traceId = LoggerHelpers.traceEnter(log, "storeAppend", appends);
         Timer timer = new Timer();
-        storeAppend(append)
+        ByteBuf data = appends.size() == 1
+                ? appends.get(0).getData()
+                : Unpooled.wrappedBuffer(appends.stream().map(Append::getData).toArray(ByteBuf[]::new));
+        storeAppend(appends, data)
                 .whenComplete((v, e) -> {
-                    handleAppendResult(append, e, timer);
+                    handleAppendResult(appends, e, timer);
                     LoggerHelpers.traceLeave(log, "storeAppend", traceId, v, e);
                 })
-                .whenComplete((v, e) -> append.getData().release());
+                .whenComplete((v, e) -> data.release());
     }
 
-    private Append getNextAppend() {
+    /**
+     * Picks the next set of Appends to write to the store and sets them as outstanding. The result is either:
+     * - A single conditional Append, or
+     * - One or more (combined) Appends, one per writer, all targeting the same segment. The total length of these is at
+     * most MAX_BATCH_LENGTH (unless the very first Append exceeds it, in which case it is written by itself). Each writer's
+     * Appends are combined in order and only up to (but excluding) its first conditional Append or Append to a different
+     * segment, which preserves the ordering of each writer's events.
+     *
+     * @param queueTimes A List to which the amount of time each included writer's oldest Append spent waiting will be added.
+     * @return A List of Appends to write, or null if there is already an outstanding write or nothing is waiting.
+     */
+    private List<Append> getNextAppends(List<Duration> queueTimes) {
         synchronized (lock) {
-            if (outstandingAppend != null || waitingAppends.isEmpty()) {
+            if (outstandingAppends != null || waitingAppends.isEmpty()) {
                 return null;
             }
             UUID writer = waitingAppends.keys().iterator().next();
             List<Append> appends = waitingAppends.get(writer);
             if (appends.get(0).isConditional()) {
-                outstandingAppend = appends.remove(0);
+                outstandingAppends = Collections.singletonList(appends.remove(0));
+                recordDequeued(writer, queueTimes);
             } else {
-                ByteBuf[] toAppend = new ByteBuf[appends.size()];
-                Append last = appends.get(0);
-                int eventCount = 0;
-
-                int i = -1;
-                for (Iterator<Append> iterator = appends.iterator(); iterator.hasNext(); ) {
-                    Append a = iterator.next();
-                    if (a.isConditional()) {
-                        break;
+                String segment = appends.get(0).getSegment();
+                List<Append> batch = new ArrayList<>();
+                int batchLength = 0;
+                for (UUID w : new ArrayList<>(waitingAppends.keySet())) {
+                    Append combined = combineWaitingAppends(w, segment, batchLength, batch.isEmpty());
+                    if (combined != null) {
+                        recordDequeued(w, queueTimes);
+                        batch.add(combined);
+                        batchLength += combined.getDataLength();
+                        if (batchLength >= MAX_BATCH_LENGTH) {
+                            break;
+                        }
                     }
-                    i++;
-                    toAppend[i] = a.getData();
-                    last = a;
-                    eventCount += a.getEventCount();
-                    iterator.remove();
                 }
-                ByteBuf data = Unpooled.wrappedBuffer(toAppend);
+                outstandingAppends = batch;
+            }
+            return outstandingAppends;
+        }
+    }
 
-                String segment = last.getSegment();
-                long eventNumber = last.getEventNumber();
-                outstandingAppend = new Append(segment, writer, eventNumber, eventCount, data, null);
+    /**
+     * Removes the leading sequence of non-conditional Appends to the given segment from the given writer's waiting
+     * Appends and combines them into a single Append.
+     *
+     * @param writer       The Writer Id.
+     * @param segment      The segment to combine Appends for.
+     * @param batchLength  The length of the batch that this will be added to.
+     * @param firstInBatch Whether this is the first Append in the batch. If true, at least one Append will be returned
+     *                     even if it exceeds MAX_BATCH_LENGTH.
+     * @return The combined Append, or null if no Append could be combined.
+     */
+    @GuardedBy("lock")
+    private Append combineWaitingAppends(UUID writer, String segment, int batchLength, boolean firstInBatch) {
+        List<ByteBuf> toAppend = new ArrayList<>();
+        Append last = null;
+        int eventCount = 0;
+        for (Iterator<Append> iterator = waitingAppends.get(writer).iterator(); iterator.hasNext(); ) {
+            Append a = iterator.next();
+            if (a.isConditional() || !a.getSegment().equals(segment)) {
+                break;
             }
-            return outstandingAppend;
+            boolean mustTake = firstInBatch && last == null;
+            if (!mustTake && batchLength + a.getDataLength() > MAX_BATCH_LENGTH) {
+                break;
+            }
+            toAppend.add(a.getData());
+            batchLength += a.getDataLength();
+            last = a;
+            eventCount += a.getEventCount();
+            iterator.remove();
+        }
+
+        if (last == null) {
+            return null;
+        }
+
+        ByteBuf data = Unpooled.wrappedBuffer(toAppend.toArray(new ByteBuf[toAppend.size()]));
+        return new Append(segment, writer, last.getEventNumber(), eventCount, data, null);
+    }
+
+    /**
+     * Records the time the given writer's oldest Append spent waiting, after some of its Appends have been dequeued. If
+     * the writer has Appends still waiting, they are timed from now on (which under-counts their wait time, but avoids
+     * having to keep track of every single Append).
+     */
+    @GuardedBy("lock")
+    private void recordDequeued(UUID writer, List<Duration> queueTimes) {
+        Timer timer = waitingSince.remove(writer);
+        if (timer != null) {
+            queueTimes.add(timer.getElapsed());
+        }
+        if (waitingAppends.containsKey(writer)) {
+            waitingSince.put(writer, new Timer());
         }
     }
 
-    private CompletableFuture<Void> storeAppend(Append append) {
-        long lastEventNumber;
+    private CompletableFuture<Void> storeAppend(List<Append> appends, ByteBuf data) {
+        Append first = appends.get(0);
+        List<AttributeUpdate> attributes = new ArrayList<>(appends.size() + 1);
+        long eventCount = 0;
         synchronized (lock) {
-            lastEventNumber = latestEventNumbers.get(Pair.of(append.getSegment(), append.getWriterId()));
+            for (Append append : appends) {
+                long lastEventNumber = latestEventNumbers.get(Pair.of(append.getSegment(), append.getWriterId()));
+                attributes.add(new AttributeUpdate(append.getWriterId(), AttributeUpdateType.ReplaceIfEquals, append.getEventNumber(), lastEventNumber));
+                eventCount += append.getEventCount();
+            }
         }
 
-        List<AttributeUpdate> attributes = Arrays.asList(
-                new AttributeUpdate(append.getWriterId(), AttributeUpdateType.ReplaceIfEquals, append.getEventNumber(), lastEventNumber),
-                new AttributeUpdate(EVENT_COUNT, AttributeUpdateType.Accumulate, append.getEventCount()));
-        ByteBuf buf = append.getData().asReadOnly();
-        byte[] bytes = new byte[buf.readableBytes()];
-        buf.readBytes(bytes);
-        if (append.isConditional()) {
-            return store.append(append.getSegment(), append.getExpectedLength(), bytes, attributes, TIMEOUT);
+        attributes.add(new AttributeUpdate(EVENT_COUNT, AttributeUpdateType.Accumulate, eventCount));
+
+        // Pass the data along without copying it. The store will retain it for as long as it needs it, so we can still
+        // release our own reference once the append completes.
+        ByteBufWrapper buffer = new ByteBufWrapper(data);
+        if (first.isConditional()) {
+            return store.append(first.getSegment(), first.getExpectedLength(), buffer, attributes, TIMEOUT);
         } else {
-            return store.append(append.getSegment(), bytes, attributes, TIMEOUT);
+            return store.append(first.getSegment(), buffer, attributes, TIMEOUT);
         }
     }
 
-    private void handleAppendResult(final Append append, Throwable exception, Timer elapsedTimer) {
+    private void handleAppendResult(final List<Append> appends, Throwable exception, Timer elapsedTimer) {
         boolean success = exception == null;
         try {
             boolean conditionalFailed = !success && (Exceptions.unwrap(exception) instanceof BadOffsetException);
-            long previousEventNumber;
+            long[] previousEventNumbers = new long[appends.size()];
             synchronized (lock) {
-                previousEventNumber = latestEventNumbers.get(Pair.of(append.getSegment(), append.getWriterId()));
-                Preconditions.checkState(outstandingAppend == append,
+                for (int i = 0; i < appends.size(); i++) {
+                    Append append = appends.get(i);
+                    previousEventNumbers[i] = latestEventNumbers.get(Pair.of(append.getSegment(), append.getWriterId()));
+                }
+                Preconditions.checkState(outstandingAppends == appends,
                         "Synchronization error in: %s while processing append: %s.",
-                        AppendProcessor.this.getClass().getName(), append);
+                        AppendProcessor.this.getClass().getName(), appends);
             }
 
-            if (success) {
-                final DataAppended dataAppendedAck = new DataAppended(append.getWriterId(), append.getEventNumber(),
-                        previousEventNumber);
-                log.trace("Sending DataAppended : {}", dataAppendedAck);
-                connection.send(dataAppendedAck);
-            } else {
-                if (conditionalFailed) {
-                    log.debug("Conditional append failed due to incorrect offset: {}, {}", append, exception.getMessage());
-                    connection.send(new ConditionalCheckFailed(append.getWriterId(), append.getEventNumber()));
+            for (int i = 0; i < appends.size(); i++) {
+                Append append = appends.get(i);
+                if (success) {
+                    final DataAppended dataAppendedAck = new DataAppended(append.getWriterId(), append.getEventNumber(),
+                            previousEventNumbers[i]);
+                    log.trace("Sending DataAppended : {}", dataAppendedAck);
+                    connection.send(dataAppendedAck);
                 } else {
-                    handleException(append.getWriterId(), append.getEventNumber(), append.getSegment(), "appending data", exception);
+                    if (conditionalFailed) {
+                        log.debug("Conditional append failed due to incorrect offset: {}, {}", append, exception.getMessage());
+                        connection.send(new ConditionalCheckFailed(append.getWriterId(), append.getEventNumber()));
+                    } else {
+                        // If multiple writers' appends were combined, all of them failed together.
+                        handleException(append.getWriterId(), append.getEventNumber(), append.getSegment(), "appending data", exception);
+                    }
                 }
             }
 
             /* Reply (DataAppended in case of success, else an error Reply based on exception) has been sent. Next,
-             *   - clear outstandingAppend to handle the next Append message.
+             *   - clear outstandingAppends to handle the next Append message.
              *   - ensure latestEventNumbers and waitingAppends are updated.
              */
             synchronized (lock) {
-                Preconditions.checkState(outstandingAppend == append,
+                Preconditions.checkState(outstandingAppends == appends,
                         "Synchronization error in: %s while processing append: %s.",
-                        AppendProcessor.this.getClass().getName(), append);
-                outstandingAppend = null;
-                if (exception == null) {
-                    latestEventNumbers.put(Pair.of(append.getSegment(), append.getWriterId()), append.getEventNumber());
-                } else {
-                    if (!conditionalFailed) {
-                        waitingAppends.removeAll(append.getWriterId());
-                        latestEventNumbers.remove(Pair.of(append.getSegment(), append.getWriterId()));
+                        AppendProcessor.this.getClass().getName(), appends);
+                outstandingAppends = null;
+                for (Append append : appends) {
+                    if (exception == null) {
+                        latestEventNumbers.put(Pair.of(append.getSegment(), append.getWriterId()), append.getEventNumber());
+                    } else {
+                        if (!conditionalFailed) {
+                            waitingAppends.removeAll(append.getWriterId());
+                            waitingSince.remove(append.getWriterId());
+                            latestEventNumbers.remove(Pair.of(append.getSegment(), append.getWriterId()));
+                        }
                     }
                 }
             }
-      
+
             pauseOrResumeReading();
             performNextWrite();
         } catch (Throwable e) {
             success = false;
-            handleException(append.getWriterId(), append.getEventNumber(), append.getSegment(), "handling append result", e);
+            for (Append append : appends) {
+                handleException(append.getWriterId(), append.getEventNumber(), append.getSegment(), "handling append result", e);
+            }
         }
 
         if (success) {
             // Record any necessary metrics or statistics, but after we have sent the ack back and initiated the next append.
-            this.statsRecorder.recordAppend(append.getSegment(), append.getDataLength(), append.getEventCount(), elapsedTimer.getElapsed());
+            long dataLength = appends.stream().mapToLong(Append::getDataLength).sum();
+            int eventCount = appends.stream().mapToInt(Append::getEventCount).sum();
+            this.statsRecorder.recordAppend(appends.get(0).getSegment(), dataLength, eventCount, elapsedTimer.getElapsed());
         }
     }
 
@@ -390,6 +486,7 @@ public class AppendProcessor extends DelegatingRequestProcessor {
             Preconditions.checkState(lastEventNumber != null, "Data from unexpected connection: %s.", id);
             Preconditions.checkState(append.getEventNumber() >= lastEventNumber, "Event was already appended.");
             waitingAppends.put(id, append);
+            waitingSince.computeIfAbsent(id, k -> new Timer());
         }
         pauseOrResumeReading();
         performNextWrite();
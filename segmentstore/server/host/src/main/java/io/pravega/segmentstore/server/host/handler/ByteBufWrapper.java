@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.host.handler;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.pravega.common.util.BufferView;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * BufferView implementation that wraps a Netty ByteBuf, without copying its contents. Invocations of retain() and
+ * release() are forwarded to the underlying ByteBuf.
+ *
+ * This wrapper does not alter the reader or writer indices of the underlying ByteBuf. The range it exposes is fixed at
+ * construction time (to the readable bytes of the ByteBuf at that point).
+ */
+class ByteBufWrapper implements BufferView {
+    //region Members
+
+    private final ByteBuf buf;
+    private final int length;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the ByteBufWrapper class.
+     *
+     * @param buf The ByteBuf to wrap. A read-only duplicate of this buffer will be used.
+     */
+    ByteBufWrapper(ByteBuf buf) {
+        Preconditions.checkNotNull(buf, "buf");
+        this.buf = buf.asReadOnly();
+        this.length = this.buf.readableBytes();
+    }
+
+    //endregion
+
+    //region BufferView implementation
+
+    @Override
+    public int getLength() {
+        return this.length;
+    }
+
+    @Override
+    public InputStream getReader() {
+        return new ByteBufInputStream(this.buf.duplicate(), false);
+    }
+
+    @Override
+    public byte[] getCopy() {
+        byte[] result = new byte[this.length];
+        this.buf.getBytes(this.buf.readerIndex(), result);
+        return result;
+    }
+
+    @Override
+    public void copyTo(OutputStream target) throws IOException {
+        this.buf.getBytes(this.buf.readerIndex(), target, this.length);
+    }
+
+    @Override
+    public void retain() {
+        this.buf.retain();
+    }
+
+    @Override
+    public void release() {
+        this.buf.release();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Length = %d", this.length);
+    }
+
+    //endregion
+}
@@ -17,6 +17,7 @@ import io.pravega.auth.AuthenticationException;
 import io.pravega.common.Exceptions;
 import io.pravega.common.LoggerHelpers;
 import io.pravega.common.Timer;
+import io.pravega.common.concurrent.Futures;
 import io.pravega.common.io.StreamHelpers;
 import io.pravega.common.tracing.TagLogger;
 import io.pravega.common.util.ArrayView;
@@ -56,7 +57,9 @@ import io.pravega.shared.protocol.netty.WireCommands.CreateTableSegment;
 import io.pravega.shared.protocol.netty.WireCommands.DeleteSegment;
 import io.pravega.shared.protocol.netty.WireCommands.DeleteTableSegment;
 import io.pravega.shared.protocol.netty.WireCommands.GetSegmentAttribute;
+import io.pravega.shared.protocol.netty.WireCommands.GetSegmentsAttribute;
 import io.pravega.shared.protocol.netty.WireCommands.GetStreamSegmentInfo;
+import io.pravega.shared.protocol.netty.WireCommands.GetStreamSegmentsInfo;
 import io.pravega.shared.protocol.netty.WireCommands.MergeSegments;
 import io.pravega.shared.protocol.netty.WireCommands.MergeTableSegments;
 import io.pravega.shared.protocol.netty.WireCommands.NoSuchSegment;
@@ -74,7 +77,10 @@ import io.pravega.shared.protocol.netty.WireCommands.SegmentPolicyUpdated;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentSealed;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentTruncated;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentsAttribute;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentsRead;
 import io.pravega.shared.protocol.netty.WireCommands.StreamSegmentInfo;
+import io.pravega.shared.protocol.netty.WireCommands.StreamSegmentsInfo;
 import io.pravega.shared.protocol.netty.WireCommands.TableSegmentNotEmpty;
 import io.pravega.shared.protocol.netty.WireCommands.TruncateSegment;
 import io.pravega.shared.protocol.netty.WireCommands.UpdateSegmentAttribute;
@@ -92,6 +98,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -196,12 +204,61 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
         segmentStore.read(segment, readSegment.getOffset(), readSize, TIMEOUT)
                 .thenAccept(readResult -> {
                     LoggerHelpers.traceLeave(log, operation, trace, readResult);
-                    handleReadResult(readSegment, readResult);
+                    handleReadResult(readSegment, readResult, connection::send);
                     this.statsRecorder.readComplete(timer.getElapsed());
                 })
                 .exceptionally(ex -> handleException(readSegment.getOffset(), segment, operation, wrapCancellationException(ex)));
     }
 
+    @Override
+    public void readSegments(WireCommands.ReadSegments readSegments) {
+        final String operation = "readSegments";
+        long trace = LoggerHelpers.traceEnter(log, operation, readSegments);
+
+        // Replies that are available right away are combined (up to MAX_READ_SIZE bytes); everything else (reads that
+        // need to wait for data, errors, or replies that would make the combined one too large) is sent individually,
+        // exactly as if the reads had been sent separately.
+        final List<SegmentRead> combinedReplies = new ArrayList<>();
+        final AtomicInteger combinedSize = new AtomicInteger();
+        final Consumer<SegmentRead> replyCollector = reply -> {
+            synchronized (combinedReplies) {
+                if (combinedSize.get() + reply.getData().remaining() <= MAX_READ_SIZE) {
+                    combinedReplies.add(reply);
+                    combinedSize.addAndGet(reply.getData().remaining());
+                    return;
+                }
+            }
+
+            connection.send(reply);
+        };
+
+        List<CompletableFuture<Void>> reads = new ArrayList<>(readSegments.getReads().size());
+        for (ReadSegment readSegment : readSegments.getReads()) {
+            final String segment = readSegment.getSegment();
+            if (!verifyToken(segment, readSegment.getOffset(), readSegment.getDelegationToken(), operation)) {
+                continue;
+            }
+
+            Timer timer = new Timer();
+            final int readSize = min(MAX_READ_SIZE, max(TYPE_PLUS_LENGTH_SIZE, readSegment.getSuggestedLength()));
+            reads.add(segmentStore.read(segment, readSegment.getOffset(), readSize, TIMEOUT)
+                    .thenAccept(readResult -> {
+                        handleReadResult(readSegment, readResult, replyCollector);
+                        this.statsRecorder.readComplete(timer.getElapsed());
+                    })
+                    .exceptionally(ex -> handleException(readSegment.getOffset(), segment, operation, wrapCancellationException(ex))));
+        }
+
+        Futures.allOf(reads).thenRun(() -> {
+            synchronized (combinedReplies) {
+                LoggerHelpers.traceLeave(log, operation, trace, combinedReplies.size());
+                if (!combinedReplies.isEmpty()) {
+                    connection.send(new SegmentsRead(readSegments.getRequestId(), new ArrayList<>(combinedReplies)));
+                }
+            }
+        });
+    }
+
     private boolean verifyToken(String segment, long requestId, String delegationToken, String operation) {
         if (!tokenVerifier.verifyToken(segment, delegationToken, READ)) {
             log.warn(requestId, "Delegation token verification failed.");
@@ -217,8 +274,11 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
      * Otherwise the call will request the data and setup a callback to return the data when it is available.
      * If no data is available but it was detected that the Segment had been truncated beyond the current offset,
      * an appropriate message is sent back over the connection.
+     *
+     * Replies containing data that was readily available are handed to the given Consumer; all other replies are sent
+     * directly over the connection.
      */
-    private void handleReadResult(ReadSegment request, ReadResult result) {
+    private void handleReadResult(ReadSegment request, ReadResult result, Consumer<SegmentRead> immediateReplyConsumer) {
         String segment = request.getSegment();
         ArrayList<ReadResultEntryContents> cachedEntries = new ArrayList<>();
         ReadResultEntry nonCachedEntry = collectCachedEntries(request.getOffset(), result, cachedEntries);
@@ -230,10 +290,10 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
 
         if (!cachedEntries.isEmpty() || endOfSegment) {
             // We managed to collect some data. Send it.
-            ByteBuffer data = copyData(cachedEntries);
+            ByteBuffer data = getData(cachedEntries);
             SegmentRead reply = new SegmentRead(segment, request.getOffset(), atTail, endOfSegment, data);
-            connection.send(reply);
-            this.statsRecorder.read(segment, reply.getData().array().length);
+            immediateReplyConsumer.accept(reply);
+            this.statsRecorder.read(segment, reply.getData().remaining());
         } else if (truncated) {
             // We didn't collect any data, instead we determined that the current read offset was truncated.
             // Determine the current Start Offset and send that back.
@@ -246,10 +306,10 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
             nonCachedEntry.requestContent(TIMEOUT);
             nonCachedEntry.getContent()
                     .thenAccept(contents -> {
-                        ByteBuffer data = copyData(Collections.singletonList(contents));
+                        ByteBuffer data = getData(Collections.singletonList(contents));
                         SegmentRead reply = new SegmentRead(segment, nonCachedEntry.getStreamSegmentOffset(), false, endOfSegment, data);
                         connection.send(reply);
-                        this.statsRecorder.read(segment, reply.getData().array().length);
+                        this.statsRecorder.read(segment, reply.getData().remaining());
                     })
                     .exceptionally(e -> {
                         if (Exceptions.unwrap(e) instanceof StreamSegmentTruncatedException) {
@@ -304,19 +364,39 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
     }
 
     /**
-     * Copy all of the contents provided into a byteBuffer and return it.
+     * Gets a ByteBuffer with all of the contents provided. If there is a single content whose data is available as an
+     * array (which is the case for most Cache reads), it is wrapped (without copying) and returned. Otherwise all of
+     * the contents are copied into a new ByteBuffer.
      */
     @SneakyThrows(IOException.class)
-    private ByteBuffer copyData(List<ReadResultEntryContents> contents) {
-        int totalSize = contents.stream().mapToInt(ReadResultEntryContents::getLength).sum();
+    private ByteBuffer getData(List<ReadResultEntryContents> contents) {
+        if (contents.size() == 1) {
+            ByteBuffer buffer = contents.get(0).getBuffer();
+            if (buffer != null) {
+                return buffer;
+            }
+        }
 
+        int totalSize = contents.stream().mapToInt(ReadResultEntryContents::getLength).sum();
         ByteBuffer data = ByteBuffer.allocate(totalSize);
         int bytesCopied = 0;
         for (ReadResultEntryContents content : contents) {
-            int copied = StreamHelpers.readAll(content.getData(), data.array(), bytesCopied, totalSize - bytesCopied);
+            ByteBuffer buffer = content.getBuffer();
+            int copied;
+            if (buffer != null) {
+                // Copy directly from the backing array; this avoids going through the InputStream.
+                copied = buffer.remaining();
+                data.put(buffer);
+            } else {
+                copied = StreamHelpers.readAll(content.getData(), data.array(), bytesCopied, totalSize - bytesCopied);
+                data.position(data.position() + copied);
+            }
+
             Preconditions.checkState(copied == content.getLength(), "Read fewer bytes than available.");
             bytesCopied += copied;
         }
+
+        data.flip();
         return data;
     }
 
@@ -409,6 +489,95 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
                 .exceptionally(e -> handleException(getStreamSegmentInfo.getRequestId(), segmentName, operation, e));
     }
 
+    @Override
+    public void getStreamSegmentsInfo(GetStreamSegmentsInfo getStreamSegmentsInfo) {
+        final long requestId = getStreamSegmentsInfo.getRequestId();
+        final List<String> segmentNames = getStreamSegmentsInfo.getSegmentNames();
+        final String operation = "getStreamSegmentsInfo";
+        for (String segmentName : segmentNames) {
+            if (!verifyToken(segmentName, requestId, getStreamSegmentsInfo.getDelegationToken(), operation)) {
+                return;
+            }
+        }
+
+        // Segments that do not exist are reported inline (with exists=false) instead of failing the whole request with a
+        // NoSuchSegment reply (as getStreamSegmentInfo does); clients are expected to treat those entries as missing
+        // segments. Any other failure fails the whole request, since it is most likely caused by the containers having
+        // moved to another host.
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        List<CompletableFuture<StreamSegmentInfo>> results = segmentNames
+                .stream()
+                .map(segmentName -> segmentStore
+                        .getStreamSegmentInfo(segmentName, TIMEOUT)
+                        .thenApply(properties -> toStreamSegmentInfo(requestId, segmentName, properties))
+                        .exceptionally(e -> {
+                            if (Exceptions.unwrap(e) instanceof StreamSegmentNotExistsException) {
+                                return toStreamSegmentInfo(requestId, segmentName, null);
+                            } else if (!failed.getAndSet(true)) {
+                                handleException(requestId, segmentName, operation, e);
+                            }
+                            return null;
+                        }))
+                .collect(toList());
+
+        Futures.allOfWithResults(results)
+               .thenAccept(infos -> {
+                   if (!failed.get()) {
+                       log.trace("Read info for {} segments.", infos.size());
+                       connection.send(new StreamSegmentsInfo(requestId, infos));
+                   }
+               });
+    }
+
+    private StreamSegmentInfo toStreamSegmentInfo(long requestId, String segmentName, SegmentProperties properties) {
+        if (properties == null) {
+            return new StreamSegmentInfo(requestId, segmentName, false, true, true, 0, 0, 0);
+        } else {
+            return new StreamSegmentInfo(requestId, properties.getName(), true, properties.isSealed(), properties.isDeleted(),
+                    properties.getLastModified().getTime(), properties.getLength(), properties.getStartOffset());
+        }
+    }
+
+    @Override
+    public void getSegmentsAttribute(GetSegmentsAttribute getSegmentsAttribute) {
+        final long requestId = getSegmentsAttribute.getRequestId();
+        final List<String> segmentNames = getSegmentsAttribute.getSegmentNames();
+        final UUID attributeId = getSegmentsAttribute.getAttributeId();
+        final String operation = "getSegmentsAttribute";
+        for (String segmentName : segmentNames) {
+            if (!verifyToken(segmentName, requestId, getSegmentsAttribute.getDelegationToken(), operation)) {
+                return;
+            }
+        }
+
+        // Any failure (including a missing segment) fails the whole request, same as for getSegmentAttribute.
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        List<CompletableFuture<Long>> results = segmentNames
+                .stream()
+                .map(segmentName -> segmentStore
+                        .getStreamSegmentInfo(segmentName, TIMEOUT)
+                        .thenApply(properties -> {
+                            if (properties == null) {
+                                throw new CompletionException(new StreamSegmentNotExistsException(segmentName));
+                            }
+                            return properties.getAttributes().getOrDefault(attributeId, WireCommands.NULL_ATTRIBUTE_VALUE);
+                        })
+                        .exceptionally(e -> {
+                            if (!failed.getAndSet(true)) {
+                                handleException(requestId, segmentName, operation, e);
+                            }
+                            return null;
+                        }))
+                .collect(toList());
+
+        Futures.allOfWithResults(results)
+               .thenAccept(values -> {
+                   if (!failed.get()) {
+                       connection.send(new SegmentsAttribute(requestId, values));
+                   }
+               });
+    }
+
     @Override
     public void createSegment(CreateSegment createStreamSegment) {
         Timer timer = new Timer();
@@ -56,6 +56,14 @@ public interface SegmentStatsRecorder extends AutoCloseable {
      */
     void recordAppend(String streamSegmentName, long dataLength, int numOfEvents, Duration elapsed);
 
+    /**
+     * Method to record the amount of time an append spent queued up in the AppendProcessor before being sent to the
+     * Segment Store.
+     *
+     * @param elapsed The amount of time elapsed between the append being received and being sent to the Segment Store.
+     */
+    void recordAppendQueueTime(Duration elapsed);
+
     /**
      * Method to notify merge of transaction.
      *
@@ -111,6 +119,10 @@ public interface SegmentStatsRecorder extends AutoCloseable {
             public void recordAppend(String streamSegmentName, long dataLength, int numOfEvents, Duration elapsed) {
             }
 
+            @Override
+            public void recordAppendQueueTime(Duration elapsed) {
+            }
+
             @Override
             public void merge(String streamSegmentName, long dataLength, int numOfEvents, long txnCreationTime) {
             }
@@ -33,6 +33,7 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
+import static io.pravega.shared.MetricsNames.SEGMENT_APPEND_QUEUE_LATENCY;
 import static io.pravega.shared.MetricsNames.SEGMENT_CREATE_LATENCY;
 import static io.pravega.shared.MetricsNames.SEGMENT_READ_BYTES;
 import static io.pravega.shared.MetricsNames.SEGMENT_READ_LATENCY;
@@ -65,6 +66,8 @@ class SegmentStatsRecorderImpl implements SegmentStatsRecorder {
     @Getter(AccessLevel.PROTECTED)
     private final OpStatsLogger writeStreamSegment = STATS_LOGGER.createStats(SEGMENT_WRITE_LATENCY);
     @Getter(AccessLevel.PROTECTED)
+    private final OpStatsLogger appendQueueTime = STATS_LOGGER.createStats(SEGMENT_APPEND_QUEUE_LATENCY);
+    @Getter(AccessLevel.PROTECTED)
     private final DynamicLogger dynamicLogger = MetricsProvider.getDynamicLogger();
 
     private final Set<String> pendingCacheLoads;
@@ -103,6 +106,7 @@ class SegmentStatsRecorderImpl implements SegmentStatsRecorder {
         this.createStreamSegment.close();
         this.readStreamSegment.close();
         this.writeStreamSegment.close();
+        this.appendQueueTime.close();
     }
 
     private SegmentAggregates getSegmentAggregate(String streamSegmentName) {
@@ -177,6 +181,11 @@ class SegmentStatsRecorderImpl implements SegmentStatsRecorder {
         }
     }
 
+    @Override
+    public void recordAppendQueueTime(Duration elapsed) {
+        getAppendQueueTime().reportSuccessEvent(elapsed);
+    }
+
     /**
      * Updates segment specific aggregates.
      * Then if two minutes have elapsed between last report
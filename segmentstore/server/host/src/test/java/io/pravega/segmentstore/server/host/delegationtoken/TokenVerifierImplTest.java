@@ -15,6 +15,8 @@ import io.pravega.segmentstore.server.host.stat.AutoScalerConfig;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -22,6 +24,7 @@ import org.junit.Test;
 import static io.pravega.auth.AuthHandler.Permissions.READ;
 import static io.pravega.auth.AuthHandler.Permissions.READ_UPDATE;
 import static io.pravega.test.common.AssertExtensions.assertThrows;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -91,6 +94,47 @@ public class TokenVerifierImplTest {
         assertFalse("Level check should fail", finalTokenVerifier.verifyToken("xyz", token, READ_UPDATE));
     }
 
+    @Test
+    public void testVerifiedTokenCache() {
+        AutoScalerConfig config = AutoScalerConfig.builder()
+                                                  .with(AutoScalerConfig.AUTH_ENABLED, true)
+                                                  .with(AutoScalerConfig.TOKEN_SIGNING_KEY, "secret")
+                                                  .build();
+        AtomicLong time = new AtomicLong(System.currentTimeMillis());
+        TokenVerifierImpl tokenVerifier = new TokenVerifierImpl(config, time::get);
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("xyz", String.valueOf(READ));
+        String token = Jwts.builder()
+                           .setSubject("segmentstoreresource")
+                           .setAudience("segmentstore")
+                           .setClaims(claims)
+                           .signWith(SignatureAlgorithm.HS512, "secret".getBytes())
+                           .setExpiration(new Date(time.get() + TimeUnit.HOURS.toMillis(1)))
+                           .compact();
+
+        // Verified tokens are cached, and their claims are still checked against every request.
+        assertTrue("Level check should pass", tokenVerifier.verifyToken("xyz/abc", token, READ));
+        assertEquals(1, tokenVerifier.getCachedTokenCount());
+        assertTrue("Level check should pass", tokenVerifier.verifyToken("xyz/abc", token, READ));
+        assertFalse("Level check should fail", tokenVerifier.verifyToken("xyz/abc", token, READ_UPDATE));
+        assertFalse("Resource check should fail", tokenVerifier.verifyToken("abc/xyz", token, READ));
+        assertEquals(1, tokenVerifier.getCachedTokenCount());
+
+        // Tokens that fail verification are not cached.
+        String badToken = Jwts.builder()
+                              .setClaims(claims)
+                              .signWith(SignatureAlgorithm.HS512, "notsecret".getBytes())
+                              .compact();
+        assertFalse("Signature check should fail", tokenVerifier.verifyToken("xyz/abc", badToken, READ));
+        assertEquals(1, tokenVerifier.getCachedTokenCount());
+
+        // Cached tokens must still expire.
+        time.addAndGet(TimeUnit.HOURS.toMillis(2));
+        assertFalse("Expired token should fail", tokenVerifier.verifyToken("xyz/abc", token, READ));
+        assertEquals(0, tokenVerifier.getCachedTokenCount());
+    }
+
     @After
     public void tearDown() throws Exception {
     }
@@ -12,6 +12,7 @@ package io.pravega.segmentstore.server.host.handler;
 import io.netty.buffer.Unpooled;
 import io.pravega.common.concurrent.ExecutorServiceHelpers;
 import io.pravega.common.concurrent.Futures;
+import io.pravega.common.util.BufferView;
 import io.pravega.common.util.ReusableLatch;
 import io.pravega.segmentstore.contracts.AttributeUpdate;
 import io.pravega.segmentstore.contracts.AttributeUpdateType;
@@ -26,6 +27,10 @@ import io.pravega.shared.protocol.netty.WireCommands.ConditionalCheckFailed;
 import io.pravega.shared.protocol.netty.WireCommands.DataAppended;
 import io.pravega.shared.protocol.netty.WireCommands.OperationUnsupported;
 import io.pravega.shared.protocol.netty.WireCommands.SetupAppend;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -33,6 +38,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import lombok.Cleanup;
+import lombok.RequiredArgsConstructor;
 import lombok.val;
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -67,14 +73,14 @@ public class AppendProcessorTest {
 
         setupGetAttributes(streamSegmentName, clientId, store);
         CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
-        when(store.append(streamSegmentName, data, updateEventNumber(clientId, data.length), AppendProcessor.TIMEOUT))
+        when(store.append(streamSegmentName, buf(data), updateEventNumber(clientId, data.length), AppendProcessor.TIMEOUT))
             .thenReturn(result);
 
         processor.setupAppend(new SetupAppend(1, clientId, streamSegmentName, ""));
         processor.append(new Append(streamSegmentName, clientId, data.length, 1, Unpooled.wrappedBuffer(data), null));
         verify(store).getAttributes(anyString(), eq(Collections.singleton(clientId)), eq(true), eq(AppendProcessor.TIMEOUT));
         verify(store).append(streamSegmentName,
-                             data,
+                             buf(data),
                              updateEventNumber(clientId, data.length),
                              AppendProcessor.TIMEOUT);
         verify(connection).send(new AppendSetup(1, streamSegmentName, clientId, 0));
@@ -98,14 +104,14 @@ public class AppendProcessorTest {
 
         setupGetAttributes(streamSegmentName, clientId, store);
         CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
-        when(store.append(streamSegmentName, data, updateEventNumber(clientId, data.length), AppendProcessor.TIMEOUT))
+        when(store.append(streamSegmentName, buf(data), updateEventNumber(clientId, data.length), AppendProcessor.TIMEOUT))
                 .thenReturn(result);
 
         processor.setupAppend(new SetupAppend(1, clientId, streamSegmentName, ""));
         processor.append(new Append(streamSegmentName, clientId, data.length, 1, Unpooled.wrappedBuffer(data), null));
         verify(store).getAttributes(anyString(), eq(Collections.singleton(clientId)), eq(true), eq(AppendProcessor.TIMEOUT));
         verify(store).append(streamSegmentName,
-                data,
+                buf(data),
                 updateEventNumber(clientId, data.length),
                 AppendProcessor.TIMEOUT);
         verify(connection).send(new AppendSetup(1, streamSegmentName, clientId, 0));
@@ -133,26 +139,26 @@ public class AppendProcessorTest {
         verifier.verify(store).getAttributes(anyString(), eq(Collections.singleton(clientId)), eq(true), eq(AppendProcessor.TIMEOUT));
 
         CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
-        when(store.append(streamSegmentName1, data, updateEventNumber(clientId, 10), AppendProcessor.TIMEOUT))
+        when(store.append(streamSegmentName1, buf(data), updateEventNumber(clientId, 10), AppendProcessor.TIMEOUT))
             .thenReturn(result);
         processor.append(new Append(streamSegmentName1, clientId, 10, 1, Unpooled.wrappedBuffer(data), null));
-        verifier.verify(store).append(streamSegmentName1, data, updateEventNumber(clientId, 10), AppendProcessor.TIMEOUT);
+        verifier.verify(store).append(streamSegmentName1, buf(data), updateEventNumber(clientId, 10), AppendProcessor.TIMEOUT);
 
         setupGetAttributes(streamSegmentName2, clientId, store);
         processor.setupAppend(new SetupAppend(1, clientId, streamSegmentName2, ""));
         verifier.verify(store).getAttributes(anyString(), eq(Collections.singleton(clientId)), eq(true), eq(AppendProcessor.TIMEOUT));
 
         CompletableFuture<Void> result2 = CompletableFuture.completedFuture(null);
-        when(store.append(streamSegmentName2, data, updateEventNumber(clientId, 2000), AppendProcessor.TIMEOUT))
+        when(store.append(streamSegmentName2, buf(data), updateEventNumber(clientId, 2000), AppendProcessor.TIMEOUT))
             .thenReturn(result2);
         processor.append(new Append(streamSegmentName2, clientId, 2000, 1, Unpooled.wrappedBuffer(data), null));
-        verifier.verify(store).append(streamSegmentName2, data, updateEventNumber(clientId, 2000), AppendProcessor.TIMEOUT);
+        verifier.verify(store).append(streamSegmentName2, buf(data), updateEventNumber(clientId, 2000), AppendProcessor.TIMEOUT);
 
         CompletableFuture<Void> result3 = CompletableFuture.completedFuture(null);
-        when(store.append(streamSegmentName1, data, updateEventNumber(clientId, 20, 10, 1), AppendProcessor.TIMEOUT))
+        when(store.append(streamSegmentName1, buf(data), updateEventNumber(clientId, 20, 10, 1), AppendProcessor.TIMEOUT))
             .thenReturn(result3);
         processor.append(new Append(streamSegmentName1, clientId, 20, 1, Unpooled.wrappedBuffer(data), null));
-        verifier.verify(store).append(streamSegmentName1, data, updateEventNumber(clientId, 20, 10, 1), AppendProcessor.TIMEOUT);
+        verifier.verify(store).append(streamSegmentName1, buf(data), updateEventNumber(clientId, 20, 10, 1), AppendProcessor.TIMEOUT);
 
         verifyNoMoreInteractions(store);
     }
@@ -169,19 +175,19 @@ public class AppendProcessorTest {
 
         setupGetAttributes(streamSegmentName, clientId, store);
         CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
-        when(store.append(streamSegmentName, data, updateEventNumber(clientId, 1),
+        when(store.append(streamSegmentName, buf(data), updateEventNumber(clientId, 1),
                           AppendProcessor.TIMEOUT)).thenReturn(result);
         processor.setupAppend(new SetupAppend(1, clientId, streamSegmentName, ""));
         processor.append(new Append(streamSegmentName, clientId, 1, 1, Unpooled.wrappedBuffer(data), null));
 
         result = CompletableFuture.completedFuture(null);
-        when(store.append(streamSegmentName, data.length, data, updateEventNumber(clientId, 2, 1, 1),
+        when(store.append(streamSegmentName, data.length, buf(data), updateEventNumber(clientId, 2, 1, 1),
                           AppendProcessor.TIMEOUT)).thenReturn(result);
 
         processor.append(new Append(streamSegmentName, clientId, 2, 1, Unpooled.wrappedBuffer(data), (long) data.length));
         verify(store).getAttributes(anyString(), eq(Collections.singleton(clientId)), eq(true), eq(AppendProcessor.TIMEOUT));
-        verify(store).append(streamSegmentName, data, updateEventNumber(clientId, 1), AppendProcessor.TIMEOUT);
-        verify(store).append(streamSegmentName, data.length, data, updateEventNumber(clientId, 2, 1, 1),
+        verify(store).append(streamSegmentName, buf(data), updateEventNumber(clientId, 1), AppendProcessor.TIMEOUT);
+        verify(store).append(streamSegmentName, data.length, buf(data), updateEventNumber(clientId, 2, 1, 1),
                              AppendProcessor.TIMEOUT);
         verify(connection).send(new AppendSetup(1, streamSegmentName, clientId, 0));
         verify(connection, atLeast(0)).resumeReading();
@@ -204,19 +210,19 @@ public class AppendProcessorTest {
 
         setupGetAttributes(streamSegmentName, clientId, store);
         CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
-        when(store.append(streamSegmentName, data, updateEventNumber(clientId, 1),
+        when(store.append(streamSegmentName, buf(data), updateEventNumber(clientId, 1),
                           AppendProcessor.TIMEOUT)).thenReturn(result);
         processor.setupAppend(new SetupAppend(1, clientId, streamSegmentName, ""));
         processor.append(new Append(streamSegmentName, clientId, 1, 1, Unpooled.wrappedBuffer(data), null));
 
         result = Futures.failedFuture(new BadOffsetException(streamSegmentName, data.length, 0));
-        when(store.append(streamSegmentName, 0, data, updateEventNumber(clientId, 2, 1, 1),
+        when(store.append(streamSegmentName, 0, buf(data), updateEventNumber(clientId, 2, 1, 1),
                           AppendProcessor.TIMEOUT)).thenReturn(result);
 
         processor.append(new Append(streamSegmentName, clientId, 2, 1, Unpooled.wrappedBuffer(data), 0L));
         verify(store).getAttributes(anyString(), eq(Collections.singleton(clientId)), eq(true), eq(AppendProcessor.TIMEOUT));
-        verify(store).append(streamSegmentName, data, updateEventNumber(clientId, 1), AppendProcessor.TIMEOUT);
-        verify(store).append(streamSegmentName, 0L, data, updateEventNumber(clientId, 2, 1, 1), AppendProcessor.TIMEOUT);
+        verify(store).append(streamSegmentName, buf(data), updateEventNumber(clientId, 1), AppendProcessor.TIMEOUT);
+        verify(store).append(streamSegmentName, 0L, buf(data), updateEventNumber(clientId, 2, 1, 1), AppendProcessor.TIMEOUT);
         verify(connection).send(new AppendSetup(1, streamSegmentName, clientId, 0));
         verify(connection, atLeast(0)).resumeReading();
         verify(connection).send(new DataAppended(clientId, 1, 0));
@@ -281,12 +287,12 @@ public class AppendProcessorTest {
 
         setupGetAttributes(segment1, clientId1, store);
         CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
-        when(store.append(segment1, data, updateEventNumber(clientId1, data.length), AppendProcessor.TIMEOUT))
+        when(store.append(segment1, buf(data), updateEventNumber(clientId1, data.length), AppendProcessor.TIMEOUT))
             .thenReturn(result);
 
         setupGetAttributes(segment2, clientId2, store);
         result = CompletableFuture.completedFuture(null);
-        when(store.append(segment2, data, updateEventNumber(clientId2, data.length), AppendProcessor.TIMEOUT))
+        when(store.append(segment2, buf(data), updateEventNumber(clientId2, data.length), AppendProcessor.TIMEOUT))
             .thenReturn(result);
 
         processor.setupAppend(new SetupAppend(1, clientId1, segment1, ""));
@@ -296,12 +302,12 @@ public class AppendProcessorTest {
 
         verify(store).getAttributes(eq(segment1), eq(Collections.singleton(clientId1)), eq(true), eq(AppendProcessor.TIMEOUT));
         verify(store).append(segment1,
-                             data,
+                             buf(data),
                              updateEventNumber(clientId1, data.length),
                              AppendProcessor.TIMEOUT);
         verify(store).getAttributes(eq(segment2), eq(Collections.singleton(clientId2)), eq(true), eq(AppendProcessor.TIMEOUT));
         verify(store).append(segment2,
-                             data,
+                             buf(data),
                              updateEventNumber(clientId2, data.length),
                              AppendProcessor.TIMEOUT);
         verify(connection, atLeast(0)).resumeReading();
@@ -313,6 +319,63 @@ public class AppendProcessorTest {
         verifyNoMoreInteractions(store);
     }
 
+    /**
+     * Verifies that Appends from multiple writers to the same segment that are waiting while a previous store append is
+     * in progress are combined into a single store append, and that each writer gets its own acknowledgement.
+     */
+    @Test
+    public void testCombineWritersToSameSegment() {
+        String segment = "testCombineWriters";
+        String otherSegment = "testCombineWritersOther";
+        UUID clientId1 = UUID.randomUUID();
+        UUID clientId2 = UUID.randomUUID();
+        byte[] data1 = new byte[] { 1, 2, 3, 4 };
+        byte[] data2 = new byte[] { 5, 6, 7, 8 };
+        StreamSegmentStore store = mock(StreamSegmentStore.class);
+        ServerConnection connection = mock(ServerConnection.class);
+        AppendProcessor processor = new AppendProcessor(store, connection, new FailingRequestProcessor(), null);
+
+        setupGetAttributes(segment, clientId1, store);
+        setupGetAttributes(segment, clientId2, store);
+        setupGetAttributes(otherSegment, clientId1, store);
+        processor.setupAppend(new SetupAppend(1, clientId1, segment, ""));
+        processor.setupAppend(new SetupAppend(2, clientId2, segment, ""));
+        processor.setupAppend(new SetupAppend(3, clientId1, otherSegment, ""));
+
+        // The first append will remain outstanding until we complete it.
+        CompletableFuture<Void> firstResult = new CompletableFuture<>();
+        when(store.append(segment, buf(data1), updateEventNumber(clientId1, 1), AppendProcessor.TIMEOUT))
+                .thenReturn(firstResult);
+        processor.append(new Append(segment, clientId1, 1, 1, Unpooled.wrappedBuffer(data1), null));
+        verify(store).append(segment, buf(data1), updateEventNumber(clientId1, 1), AppendProcessor.TIMEOUT);
+
+        // Queue up appends from both writers to the same segment, followed by one from the first writer to another segment.
+        processor.append(new Append(segment, clientId1, 2, 1, Unpooled.wrappedBuffer(data1), null));
+        processor.append(new Append(segment, clientId2, 1, 1, Unpooled.wrappedBuffer(data2), null));
+        processor.append(new Append(segment, clientId1, 3, 1, Unpooled.wrappedBuffer(data1), null));
+        processor.append(new Append(otherSegment, clientId1, 4, 1, Unpooled.wrappedBuffer(data2), null));
+
+        // When the first append completes, the next three appends should be written as a single store append.
+        byte[] combinedData = new byte[] { 1, 2, 3, 4, 1, 2, 3, 4, 5, 6, 7, 8 };
+        val combinedAttributes = Arrays.asList(
+                new AttributeUpdate(clientId1, AttributeUpdateType.ReplaceIfEquals, 3, 1),
+                new AttributeUpdate(clientId2, AttributeUpdateType.ReplaceIfEquals, 1, 0),
+                new AttributeUpdate(EVENT_COUNT, AttributeUpdateType.Accumulate, 3));
+        when(store.append(segment, buf(combinedData), combinedAttributes, AppendProcessor.TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(store.append(otherSegment, buf(data2), updateEventNumber(clientId1, 4), AppendProcessor.TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        firstResult.complete(null);
+
+        verify(store).append(segment, buf(combinedData), combinedAttributes, AppendProcessor.TIMEOUT);
+        verify(store).append(otherSegment, buf(data2), updateEventNumber(clientId1, 4), AppendProcessor.TIMEOUT);
+        verify(connection).send(new DataAppended(clientId1, 1, 0));
+        verify(connection).send(new DataAppended(clientId1, 3, 1));
+        verify(connection).send(new DataAppended(clientId2, 1, 0));
+        verify(connection).send(new DataAppended(clientId1, 4, 0));
+        verify(connection, never()).close();
+    }
+
     @Test
     public void testAppendFails() throws Exception {
         String streamSegmentName = "testAppendSegment";
@@ -326,7 +389,7 @@ public class AppendProcessorTest {
         setupGetAttributes(streamSegmentName, clientId, store);
         CompletableFuture<Void> result = new CompletableFuture<>();
         result.completeExceptionally(new RuntimeException("Fake exception for testing"));
-        when(store.append(streamSegmentName, data, updateEventNumber(clientId, data.length), AppendProcessor.TIMEOUT))
+        when(store.append(streamSegmentName, buf(data), updateEventNumber(clientId, data.length), AppendProcessor.TIMEOUT))
             .thenReturn(result);
 
         processor.setupAppend(new SetupAppend(1, clientId, streamSegmentName, ""));
@@ -340,7 +403,7 @@ public class AppendProcessorTest {
         verify(connection).send(new AppendSetup(1, streamSegmentName, clientId, 0));
         verify(connection, atLeast(0)).resumeReading();
         verify(connection).close();
-        verify(store, atMost(1)).append(any(), any(), any(), any());
+        verify(store, atMost(1)).append(any(), any(BufferView.class), any(), any());
         verifyNoMoreInteractions(connection);
 
         verify(mockedRecorder, never()).recordAppend(eq(streamSegmentName), eq(8L), eq(1), any());
@@ -362,18 +425,18 @@ public class AppendProcessorTest {
 
         CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
         int eventCount = 100;
-        when(store.append(streamSegmentName, data,
+        when(store.append(streamSegmentName, buf(data),
                           updateEventNumber(clientId, 100, Attributes.NULL_ATTRIBUTE_VALUE, eventCount),
                           AppendProcessor.TIMEOUT)).thenReturn(result);
         processor.append(new Append(streamSegmentName, clientId, 100, eventCount, Unpooled.wrappedBuffer(data), null));
-        verify(store).append(streamSegmentName, data,
+        verify(store).append(streamSegmentName, buf(data),
                              updateEventNumber(clientId, 100, Attributes.NULL_ATTRIBUTE_VALUE, eventCount),
                              AppendProcessor.TIMEOUT);
 
-        when(store.append(streamSegmentName, data, updateEventNumber(clientId, 200, 100, eventCount),
+        when(store.append(streamSegmentName, buf(data), updateEventNumber(clientId, 200, 100, eventCount),
                           AppendProcessor.TIMEOUT)).thenReturn(result);
         processor.append(new Append(streamSegmentName, clientId, 200, eventCount, Unpooled.wrappedBuffer(data), null));
-        verify(store).append(streamSegmentName, data, updateEventNumber(clientId, 200, 100, eventCount),
+        verify(store).append(streamSegmentName, buf(data), updateEventNumber(clientId, 200, 100, eventCount),
                              AppendProcessor.TIMEOUT);
 
         verifyNoMoreInteractions(store);
@@ -420,7 +483,7 @@ public class AppendProcessorTest {
 
         CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
         int eventCount = 100;
-        when(store.append(streamSegmentName, data,
+        when(store.append(streamSegmentName, buf(data),
                 updateEventNumber(clientId, 100, Attributes.NULL_ATTRIBUTE_VALUE, eventCount),
                 AppendProcessor.TIMEOUT)).thenReturn(result);
 
@@ -428,7 +491,7 @@ public class AppendProcessorTest {
         nettyExecutor.submit(() -> processor.append(new Append(streamSegmentName, clientId, 100, eventCount, Unpooled
                 .wrappedBuffer(data), null)));
         firstStoreAppendInvoked.await();
-        verify(store).append(streamSegmentName, data, updateEventNumber(clientId, 100, Attributes
+        verify(store).append(streamSegmentName, buf(data), updateEventNumber(clientId, 100, Attributes
                 .NULL_ATTRIBUTE_VALUE, eventCount), AppendProcessor.TIMEOUT);
 
         /* Trigger the next append. This should be completed immediately and should not cause a store.append to be
@@ -441,13 +504,13 @@ public class AppendProcessorTest {
         verifyNoMoreInteractions(store);
 
         //Setup mock for check behaviour after the delayed/hung dataAppended completes.
-        when(store.append(streamSegmentName, data, updateEventNumber(clientId, 200, 100, eventCount),
+        when(store.append(streamSegmentName, buf(data), updateEventNumber(clientId, 200, 100, eventCount),
                 AppendProcessor.TIMEOUT)).thenReturn(result);
         completeFirstDataAppendedAck.release(); //Now ensure the dataAppended sent
         secondStoreAppendInvoked.await(); // wait until the next store append is invoked.
 
         //Verify that the next store append invoked.
-        verify(store).append(streamSegmentName, data, updateEventNumber(clientId, 200, 100, eventCount),
+        verify(store).append(streamSegmentName, buf(data), updateEventNumber(clientId, 200, 100, eventCount),
                 AppendProcessor.TIMEOUT);
         //Verify two DataAppended acks are sent out.
         verify(connection, times(2)).send(any(DataAppended.class));
@@ -471,16 +534,16 @@ public class AppendProcessorTest {
 
         int eventCount = 10;
         CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
-        when(store.append(streamSegmentName, data, updateEventNumber(clientId, 200, 100, eventCount),
+        when(store.append(streamSegmentName, buf(data), updateEventNumber(clientId, 200, 100, eventCount),
                           AppendProcessor.TIMEOUT)).thenReturn(result);
         processor.append(new Append(streamSegmentName, clientId, 200, eventCount, Unpooled.wrappedBuffer(data), null));
-        verify(store).append(streamSegmentName, data, updateEventNumber(clientId, 200, 100, eventCount),
+        verify(store).append(streamSegmentName, buf(data), updateEventNumber(clientId, 200, 100, eventCount),
                              AppendProcessor.TIMEOUT);
 
-        when(store.append(streamSegmentName, data, updateEventNumber(clientId, 300, 200, eventCount),
+        when(store.append(streamSegmentName, buf(data), updateEventNumber(clientId, 300, 200, eventCount),
                           AppendProcessor.TIMEOUT)).thenReturn(result);
         processor.append(new Append(streamSegmentName, clientId, 300, eventCount, Unpooled.wrappedBuffer(data), null));
-        verify(store).append(streamSegmentName, data, updateEventNumber(clientId, 300, 200, eventCount),
+        verify(store).append(streamSegmentName, buf(data), updateEventNumber(clientId, 300, 200, eventCount),
                              AppendProcessor.TIMEOUT);
 
         verifyNoMoreInteractions(store);
@@ -498,14 +561,14 @@ public class AppendProcessorTest {
 
         setupGetAttributes(streamSegmentName, clientId, store);
         CompletableFuture<Void> result = Futures.failedFuture(new UnsupportedOperationException());
-        when(store.append(streamSegmentName, data, updateEventNumber(clientId, data.length), AppendProcessor.TIMEOUT))
+        when(store.append(streamSegmentName, buf(data), updateEventNumber(clientId, data.length), AppendProcessor.TIMEOUT))
                 .thenReturn(result);
 
         processor.setupAppend(new SetupAppend(1, clientId, streamSegmentName, ""));
         processor.append(new Append(streamSegmentName, clientId, data.length, 1, Unpooled.wrappedBuffer(data), null));
         verify(store).getAttributes(anyString(), eq(Collections.singleton(clientId)), eq(true), eq(AppendProcessor.TIMEOUT));
         verify(store).append(streamSegmentName,
-                data,
+                buf(data),
                 updateEventNumber(clientId, data.length),
                 AppendProcessor.TIMEOUT);
 
@@ -526,6 +589,10 @@ public class AppendProcessorTest {
                              new AttributeUpdate(EVENT_COUNT, AttributeUpdateType.Accumulate, eventCount));
     }
 
+    private BufferView buf(byte[] data) {
+        return new ContentEqualsBuffer(data);
+    }
+
     private void setupGetAttributes(String streamSegmentName, UUID clientId, StreamSegmentStore store) {
         setupGetAttributes(streamSegmentName, clientId, 0, store);
     }
@@ -534,4 +601,48 @@ public class AppendProcessorTest {
         when(store.getAttributes(streamSegmentName, Collections.singleton(clientId), true, AppendProcessor.TIMEOUT))
                 .thenReturn(CompletableFuture.completedFuture(Collections.singletonMap(clientId, eventNumber)));
     }
+
+    /**
+     * BufferView that is equal to any other BufferView with the same contents. Used for matching arguments passed to
+     * the mocked StreamSegmentStore.
+     */
+    @RequiredArgsConstructor
+    private static class ContentEqualsBuffer implements BufferView {
+        private final byte[] data;
+
+        @Override
+        public int getLength() {
+            return this.data.length;
+        }
+
+        @Override
+        public InputStream getReader() {
+            return new ByteArrayInputStream(this.data);
+        }
+
+        @Override
+        public byte[] getCopy() {
+            return this.data.clone();
+        }
+
+        @Override
+        public void copyTo(OutputStream target) throws IOException {
+            target.write(this.data);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof BufferView && Arrays.equals(this.data, ((BufferView) obj).getCopy());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(this.data);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(this.data);
+        }
+    }
 }
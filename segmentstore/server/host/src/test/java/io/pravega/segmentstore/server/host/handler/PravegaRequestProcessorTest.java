@@ -48,6 +48,7 @@ import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -183,6 +184,97 @@ public class PravegaRequestProcessorTest {
         verifyNoMoreInteractions(store);
     }
 
+    @Test(timeout = 20000)
+    public void testReadSegments() {
+        // Set up PravegaRequestProcessor instance to execute read segments request against
+        String segment1 = "testReadSegments1";
+        String segment2 = "testReadSegments2";
+        byte[] data = new byte[]{1, 2, 3, 4, 6, 7, 8, 9};
+        int readLength = 1000;
+
+        StreamSegmentStore store = mock(StreamSegmentStore.class);
+        ServerConnection connection = mock(ServerConnection.class);
+        PravegaRequestProcessor processor = new PravegaRequestProcessor(store, mock(TableStore.class), connection);
+
+        // The first read can be served right away, the second one needs to wait for data.
+        TestReadResultEntry entry1 = new TestReadResultEntry(ReadResultEntryType.Cache, 0, readLength);
+        entry1.complete(new ReadResultEntryContents(new ByteArrayInputStream(data), data.length));
+        TestReadResultEntry entry2 = new TestReadResultEntry(ReadResultEntryType.Cache, 0, readLength);
+        entry2.complete(new ReadResultEntryContents(new ByteArrayInputStream(data), data.length));
+        TestReadResultEntry entry3 = new TestReadResultEntry(ReadResultEntryType.Future, data.length, readLength);
+
+        List<ReadResultEntry> results1 = new ArrayList<>();
+        results1.add(entry1);
+        List<ReadResultEntry> results2 = new ArrayList<>();
+        results2.add(entry2);
+        List<ReadResultEntry> results3 = new ArrayList<>();
+        results3.add(entry3);
+        when(store.read(segment1, 0, readLength, PravegaRequestProcessor.TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(new TestReadResult(0, readLength, results1)));
+        when(store.read(segment2, 0, readLength, PravegaRequestProcessor.TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(new TestReadResult(0, readLength, results2)));
+        when(store.read(segment2, data.length, readLength, PravegaRequestProcessor.TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(new TestReadResult(data.length, readLength, results3)));
+
+        // Execute and Verify that the replies available right away are combined into a single one.
+        processor.readSegments(new WireCommands.ReadSegments(1, Arrays.asList(
+                new WireCommands.ReadSegment(segment1, 0, readLength, ""),
+                new WireCommands.ReadSegment(segment2, 0, readLength, ""),
+                new WireCommands.ReadSegment(segment2, data.length, readLength, ""))));
+        verify(store).read(segment1, 0, readLength, PravegaRequestProcessor.TIMEOUT);
+        verify(store).read(segment2, 0, readLength, PravegaRequestProcessor.TIMEOUT);
+        verify(store).read(segment2, data.length, readLength, PravegaRequestProcessor.TIMEOUT);
+        verify(connection).send(new WireCommands.SegmentsRead(1, Arrays.asList(
+                new WireCommands.SegmentRead(segment1, 0, false, false, ByteBuffer.wrap(data)),
+                new WireCommands.SegmentRead(segment2, 0, false, false, ByteBuffer.wrap(data)))));
+        verifyNoMoreInteractions(connection);
+
+        // The deferred read is replied to individually.
+        entry3.complete(new ReadResultEntryContents(new ByteArrayInputStream(data), data.length));
+        verify(connection).send(new WireCommands.SegmentRead(segment2, data.length, false, false, ByteBuffer.wrap(data)));
+        verifyNoMoreInteractions(connection);
+        verifyNoMoreInteractions(store);
+    }
+
+    @Test(timeout = 20000)
+    public void testReadSegmentFromArrays() {
+        // Set up PravegaRequestProcessor instance to execute read segment requests against
+        String streamSegmentName = "testReadSegmentFromArrays";
+        byte[] array = new byte[]{0, 1, 2, 3, 4, 6, 7, 8, 9, 0};
+        byte[] data = Arrays.copyOfRange(array, 1, array.length - 1);
+        int readLength = 1000;
+
+        StreamSegmentStore store = mock(StreamSegmentStore.class);
+        ServerConnection connection = mock(ServerConnection.class);
+        PravegaRequestProcessor processor = new PravegaRequestProcessor(store, mock(TableStore.class), connection);
+
+        // A single array-backed entry should be sent as it is, without being copied.
+        TestReadResultEntry entry1 = new TestReadResultEntry(ReadResultEntryType.Cache, 0, readLength);
+        entry1.complete(new ReadResultEntryContents(array, 1, data.length));
+        when(store.read(streamSegmentName, 0, readLength, PravegaRequestProcessor.TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(new TestReadResult(0, readLength, new ArrayList<>(Arrays.asList(
+                        entry1, new TestReadResultEntry(ReadResultEntryType.Future, data.length, readLength))))));
+        processor.readSegment(new WireCommands.ReadSegment(streamSegmentName, 0, readLength, ""));
+        val captor = ArgumentCaptor.forClass(WireCommands.SegmentRead.class);
+        verify(connection).send(captor.capture());
+        assertEquals(ByteBuffer.wrap(data), captor.getValue().getData());
+        assertTrue("Expected the data to be wrapped, not copied.", captor.getValue().getData().array() == array);
+
+        // Multiple entries (array-backed or not) should be combined.
+        TestReadResultEntry entry2 = new TestReadResultEntry(ReadResultEntryType.Cache, 0, readLength);
+        entry2.complete(new ReadResultEntryContents(array, 1, data.length));
+        TestReadResultEntry entry3 = new TestReadResultEntry(ReadResultEntryType.Cache, data.length, readLength);
+        entry3.complete(new ReadResultEntryContents(new ByteArrayInputStream(data), data.length));
+        when(store.read(streamSegmentName, 0, readLength, PravegaRequestProcessor.TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(new TestReadResult(0, readLength, new ArrayList<>(Arrays.asList(
+                        entry2, entry3, new TestReadResultEntry(ReadResultEntryType.Future, 2 * data.length, readLength))))));
+        processor.readSegment(new WireCommands.ReadSegment(streamSegmentName, 0, readLength, ""));
+        byte[] expected = new byte[2 * data.length];
+        System.arraycopy(data, 0, expected, 0, data.length);
+        System.arraycopy(data, 0, expected, data.length, data.length);
+        verify(connection).send(new WireCommands.SegmentRead(streamSegmentName, 0, true, false, ByteBuffer.wrap(expected)));
+    }
+
     @Test(timeout = 20000)
     public void testReadSegmentEmptySealed() {
         // Set up PravegaRequestProcessor instance to execute read segment request against
@@ -492,6 +584,53 @@ public class PravegaRequestProcessorTest {
         order.verify(connection).send(new WireCommands.SegmentAttribute(9, WireCommands.NULL_ATTRIBUTE_VALUE));
     }
 
+    @Test(timeout = 20000)
+    public void testStreamSegmentsInfo() throws Exception {
+        String segment1 = "testStreamSegmentsInfo1";
+        String segment2 = "testStreamSegmentsInfo2";
+        String missingSegment = "testStreamSegmentsInfoMissing";
+        @Cleanup
+        ServiceBuilder serviceBuilder = newInlineExecutionInMemoryBuilder(getBuilderConfig());
+        serviceBuilder.initialize();
+        StreamSegmentStore store = serviceBuilder.createStreamSegmentService();
+        ServerConnection connection = mock(ServerConnection.class);
+        InOrder order = inOrder(connection);
+        PravegaRequestProcessor processor = new PravegaRequestProcessor(store,  mock(TableStore.class), connection);
+
+        processor.createSegment(new WireCommands.CreateSegment(1, segment1, WireCommands.CreateSegment.NO_SCALE, 0, ""));
+        order.verify(connection).send(new WireCommands.SegmentCreated(1, segment1));
+        processor.createSegment(new WireCommands.CreateSegment(2, segment2, WireCommands.CreateSegment.NO_SCALE, 0, ""));
+        order.verify(connection).send(new WireCommands.SegmentCreated(2, segment2));
+        assertTrue(append(segment1, 1, store));
+
+        // Missing segments are reported as not existing, in the same position they were requested.
+        processor.getStreamSegmentsInfo(new WireCommands.GetStreamSegmentsInfo(3, Arrays.asList(segment1, missingSegment, segment2), ""));
+        ArgumentCaptor<WireCommands.StreamSegmentsInfo> infoCaptor = ArgumentCaptor.forClass(WireCommands.StreamSegmentsInfo.class);
+        order.verify(connection).send(infoCaptor.capture());
+        val infos = infoCaptor.getValue().getSegments();
+        assertEquals(3, infos.size());
+        assertEquals(segment1, infos.get(0).getSegmentName());
+        assertTrue(infos.get(0).exists());
+        assertEquals(1, infos.get(0).getWriteOffset());
+        assertEquals(missingSegment, infos.get(1).getSegmentName());
+        assertFalse(infos.get(1).exists());
+        assertEquals(segment2, infos.get(2).getSegmentName());
+        assertTrue(infos.get(2).exists());
+        assertEquals(0, infos.get(2).getWriteOffset());
+
+        // Attributes.
+        UUID attribute = UUID.randomUUID();
+        processor.updateSegmentAttribute(new WireCommands.UpdateSegmentAttribute(4, segment1, attribute, 10, WireCommands.NULL_ATTRIBUTE_VALUE, ""));
+        order.verify(connection).send(new WireCommands.SegmentAttributeUpdated(4, true));
+        processor.getSegmentsAttribute(new WireCommands.GetSegmentsAttribute(5, Arrays.asList(segment1, segment2), attribute, ""));
+        order.verify(connection).send(new WireCommands.SegmentsAttribute(5, Arrays.asList(10L, WireCommands.NULL_ATTRIBUTE_VALUE)));
+
+        // A missing segment fails the whole attribute request.
+        processor.getSegmentsAttribute(new WireCommands.GetSegmentsAttribute(6, Arrays.asList(segment1, missingSegment), attribute, ""));
+        order.verify(connection).send(Mockito.any(WireCommands.NoSuchSegment.class));
+        order.verifyNoMoreInteractions();
+    }
+
     @Test(timeout = 20000)
     public void testCreateSealTruncateDelete() throws Exception {
         // Set up PravegaRequestProcessor instance to execute requests against.
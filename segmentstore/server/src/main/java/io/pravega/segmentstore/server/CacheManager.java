@@ -16,17 +16,28 @@ import io.pravega.common.ObjectClosedException;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.concurrent.Services;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 
 /**
  * Manages the lifecycle of Cache Entries. Decides which entries are to be kept in memory and which are eligible for
@@ -39,19 +50,35 @@ import lombok.extern.slf4j.Slf4j;
  * (in the clients) that is generated or updated gets assigned the current generation. As the CacheManager determines that
  * there are too many Cache Entries or that the maximum size has been exceeded, it will increment the oldest generation.
  * The CacheManager Clients can use this information to evict those Cache Entries that have a generation below the oldest generation number.
+ *
+ * Each Client belongs to a Segment Container (see {@link Client#getCacheContainerId()}) and a {@link CachePriority} class,
+ * and each (Container, Priority) pair has its own oldest generation. When the maximum size is exceeded:
+ * - Each Container that has data in the cache has an equal share of the maximum size as its budget. Only Containers that
+ * exceed their budget are evicted from (unless none of them can be evicted from any further, in which case all are).
+ * - Within a Container, the oldest generation is incremented (one generation at a time) for the lowest class that still
+ * has evictable entries; higher classes are only trimmed once every lower class has been evicted down to the current
+ * generation.
+ * This prevents a burst of data reads in one Container from flushing out the cache for other Containers, or Table Segment
+ * Key Caches or Attribute Index pages in the same Container. The maximum time an entry can live in the cache applies
+ * equally to all Containers and classes.
  */
 @Slf4j
 @ThreadSafe
 public class CacheManager extends AbstractScheduledService implements AutoCloseable, CacheUtilizationProvider {
     //region Members
 
+    /**
+     * Container Id for Clients that do not belong to any Segment Container.
+     */
+    public static final int NO_CONTAINER_ID = -1;
     private static final String TRACE_OBJECT_ID = "CacheManager";
     @GuardedBy("clients")
     private final Collection<Client> clients;
     private final ScheduledExecutorService executorService;
     private final AtomicInteger currentGeneration;
-    private final AtomicInteger oldestGeneration;
+    private final Map<Integer, Map<CachePriority, AtomicInteger>> oldestGenerations; // Key = Container Id.
     private final AtomicLong cacheSize;
+    private final AtomicReference<LongSupplier> allocatedBytesSupplier;
     private final CachePolicy policy;
     private final AtomicBoolean closed;
     private final SegmentStoreMetrics.CacheManager metrics;
@@ -72,9 +99,10 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
 
         this.policy = policy;
         this.clients = new HashSet<>();
-        this.oldestGeneration = new AtomicInteger();
+        this.oldestGenerations = new ConcurrentHashMap<>();
         this.currentGeneration = new AtomicInteger();
         this.cacheSize = new AtomicLong();
+        this.allocatedBytesSupplier = new AtomicReference<>();
         this.executorService = executorService;
         this.closed = new AtomicBoolean();
         this.metrics = new SegmentStoreMetrics.CacheManager();
@@ -159,11 +187,12 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         synchronized (this.clients) {
             if (!this.clients.contains(client)) {
                 this.clients.add(client);
-                client.updateGenerations(this.currentGeneration.get(), this.oldestGeneration.get());
+                client.updateGenerations(this.currentGeneration.get(), getOldestGeneration(client.getCacheContainerId(), client.getCachePriority()));
             }
         }
 
-        log.info("{} Registered {}.", TRACE_OBJECT_ID, client);
+        log.info("{} Registered {} (Container = {}, Priority = {}).", TRACE_OBJECT_ID, client, client.getCacheContainerId(),
+                client.getCachePriority());
     }
 
     /**
@@ -185,13 +214,27 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         log.info("{} Unregistered {}.", TRACE_OBJECT_ID, client);
     }
 
+    /**
+     * Sets a source for the actual number of bytes allocated by the underlying Cache implementation. If set, and if it
+     * reports a value larger than the sum of the sizes reported by all registered Clients, then this value will be used
+     * to make eviction decisions instead. This allows Cache implementations with allocation overhead (i.e., block-based
+     * allocation) to be accounted for accurately.
+     *
+     * @param allocatedBytesSupplier A LongSupplier that returns the number of allocated bytes, or a negative value if
+     *                               not available.
+     */
+    public void setAllocatedBytesSupplier(LongSupplier allocatedBytesSupplier) {
+        this.allocatedBytesSupplier.set(Preconditions.checkNotNull(allocatedBytesSupplier, "allocatedBytesSupplier"));
+    }
+
     //endregion
 
     //region Helpers
 
     protected void applyCachePolicy() {
         // Run through all the active clients and gather status.
-        CacheStatus currentStatus = collectStatus();
+        Map<Integer, Map<CachePriority, CacheStatus>> statusByContainer = collectStatus();
+        CacheStatus currentStatus = CacheStatus.combine(getAll(statusByContainer));
         if (currentStatus == null || currentStatus.getSize() == 0) {
             // This indicates we have no clients or those clients have no data.
             this.cacheSize.set(0);
@@ -201,8 +244,8 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         // Increment current generation (if needed).
         boolean currentChanged = adjustCurrentGeneration(currentStatus);
 
-        // Increment oldest generation (if needed and if possible).
-        boolean oldestChanged = adjustOldestGeneration(currentStatus);
+        // Increment oldest generations (if needed and if possible).
+        boolean oldestChanged = adjustOldestGenerations(currentStatus, statusByContainer);
 
         if (!currentChanged && !oldestChanged) {
             // Nothing changed, nothing to do.
@@ -213,22 +256,39 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         // adjust the oldest anymore or we are unable to trigger any changes to the clients.
         long sizeReduction;
         do {
-            sizeReduction = updateClients();
+            Map<Integer, Map<CachePriority, Long>> reductionByContainer = updateClients();
+            sizeReduction = 0;
+            for (val c : reductionByContainer.entrySet()) {
+                Map<CachePriority, CacheStatus> statusByPriority = statusByContainer.get(c.getKey());
+                for (val e : c.getValue().entrySet()) {
+                    sizeReduction += e.getValue();
+                    if (statusByPriority != null) {
+                        statusByPriority.computeIfPresent(e.getKey(), (p, s) -> s.withUpdatedSize(-Math.min(s.getSize(), e.getValue())));
+                    }
+                }
+            }
+
             if (sizeReduction > 0) {
-                currentStatus = currentStatus.withUpdatedSize(-sizeReduction);
+                currentStatus = currentStatus.withUpdatedSize(-Math.min(currentStatus.getSize(), sizeReduction));
                 logCurrentStatus(currentStatus);
-                oldestChanged = adjustOldestGeneration(currentStatus);
+                oldestChanged = adjustOldestGenerations(currentStatus, statusByContainer);
             }
         } while (sizeReduction > 0 && oldestChanged);
-        this.cacheSize.set(currentStatus.getSize());
-        this.metrics.report(currentStatus.getSize(), currentStatus.getNewestGeneration() - currentStatus.getOldestGeneration());
+        long size = getEffectiveSize(currentStatus);
+        this.cacheSize.set(size);
+        this.metrics.report(size, currentStatus.getNewestGeneration() - currentStatus.getOldestGeneration());
+        for (CachePriority p : CachePriority.values()) {
+            this.metrics.reportPrioritySize(p, statusByContainer.values().stream()
+                                                                .map(statusByPriority -> statusByPriority.get(p))
+                                                                .filter(Objects::nonNull)
+                                                                .mapToLong(CacheStatus::getSize)
+                                                                .sum());
+        }
     }
 
-    private CacheStatus collectStatus() {
+    private Map<Integer, Map<CachePriority, CacheStatus>> collectStatus() {
         int cg = this.currentGeneration.get();
-        int minGeneration = cg;
-        int maxGeneration = 0;
-        long totalSize = 0;
+        Map<Integer, Map<CachePriority, CacheStatus>> result = new HashMap<>();
         Collection<Client> clients = getCurrentClients();
         for (Client c : clients) {
             CacheStatus clientStatus;
@@ -246,31 +306,32 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
                 continue;
             }
 
-            totalSize += clientStatus.getSize();
+            int containerId = c.getCacheContainerId();
+            CachePriority priority = c.getCachePriority();
             if (clientStatus.oldestGeneration > cg || clientStatus.newestGeneration > cg) {
                 log.warn("{} Client {} returned status that is out of bounds {}. CurrentGeneration = {}, OldestGeneration = {}.",
-                        TRACE_OBJECT_ID, c, clientStatus, this.currentGeneration, this.oldestGeneration);
+                        TRACE_OBJECT_ID, c, clientStatus, this.currentGeneration, getOldestGeneration(containerId, priority));
             }
 
-            minGeneration = Math.min(minGeneration, clientStatus.oldestGeneration);
-            maxGeneration = Math.max(maxGeneration, clientStatus.newestGeneration);
+            result.computeIfAbsent(containerId, id -> new EnumMap<>(CachePriority.class))
+                  .merge(priority, clientStatus, (s1, s2) -> CacheStatus.combine(Arrays.asList(s1, s2)));
         }
 
-        if (minGeneration > maxGeneration) {
-            // Either no clients or clients are empty.
-            return null;
-        }
-
-        return new CacheStatus(totalSize, minGeneration, maxGeneration);
+        return result;
     }
 
-    private long updateClients() {
-        long sizeReduction = 0;
+    private Map<Integer, Map<CachePriority, Long>> updateClients() {
+        Map<Integer, Map<CachePriority, Long>> sizeReduction = new HashMap<>();
         int cg = this.currentGeneration.get();
-        int og = this.oldestGeneration.get();
         for (Client c : getCurrentClients()) {
             try {
-                sizeReduction += Math.max(0, c.updateGenerations(cg, og));
+                int containerId = c.getCacheContainerId();
+                CachePriority priority = c.getCachePriority();
+                long r = c.updateGenerations(cg, getOldestGeneration(containerId, priority));
+                if (r > 0) {
+                    sizeReduction.computeIfAbsent(containerId, id -> new EnumMap<>(CachePriority.class))
+                                 .merge(priority, r, Long::sum);
+                }
             } catch (ObjectClosedException ex) {
                 // This object was closed but it was not unregistered. Do it now.
                 log.warn("{} Detected closed client {}.", TRACE_OBJECT_ID, c);
@@ -298,34 +359,102 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         return shouldIncrement;
     }
 
-    private boolean adjustOldestGeneration(CacheStatus currentStatus) {
-        // Figure out if we exceed the policy criteria.
-        int newOldestGeneration = this.oldestGeneration.get();
-        if (exceedsPolicy(currentStatus)) {
-            // Start by setting the new value to the smallest reported value, and increment by one.
-            newOldestGeneration = Math.max(newOldestGeneration, currentStatus.oldestGeneration) + 1;
-
-            // Then factor in the oldest permissible generation.
-            newOldestGeneration = Math.max(newOldestGeneration, getOldestPermissibleGeneration());
+    private boolean adjustOldestGenerations(CacheStatus currentStatus, Map<Integer, Map<CachePriority, CacheStatus>> statusByContainer) {
+        // If we exceed the maximum size, we only evict from those Containers that exceed their budget (an equal share of
+        // the maximum size). If none of those can be evicted from anymore, then we evict from all the others as well.
+        boolean exceedsSize = getEffectiveSize(currentStatus) > this.policy.getMaxSize();
+        Collection<Integer> overBudget = exceedsSize ? getContainersOverBudget(statusByContainer) : Collections.emptySet();
+        boolean isAdjusted = false;
+        boolean isSizeAdjusted = false;
+        for (val e : statusByContainer.entrySet()) {
+            boolean isOverBudget = overBudget.contains(e.getKey());
+            boolean adjusted = adjustOldestGenerations(e.getKey(), e.getValue(), isOverBudget);
+            isAdjusted |= adjusted;
+            isSizeAdjusted |= adjusted && isOverBudget;
+        }
 
-            // Then make sure we don't exceed the current generation.
-            newOldestGeneration = Math.min(newOldestGeneration, this.currentGeneration.get());
+        if (exceedsSize && !isSizeAdjusted) {
+            for (val e : statusByContainer.entrySet()) {
+                if (!overBudget.contains(e.getKey())) {
+                    isAdjusted |= adjustOldestGenerations(e.getKey(), e.getValue(), true);
+                }
+            }
         }
 
-        boolean isAdjusted = newOldestGeneration > this.oldestGeneration.get();
-        if (isAdjusted) {
-            this.oldestGeneration.set(newOldestGeneration);
+        return isAdjusted;
+    }
+
+    private boolean adjustOldestGenerations(int containerId, Map<CachePriority, CacheStatus> statusByPriority, boolean exceedsSize) {
+        // We need to increment the OldestGeneration of a Priority class only if any of the following conditions occurred:
+        // 1. This Container needs to reduce its size, and this is the lowest class that can still have something evicted.
+        // 2. The oldest generation reported by the clients in this class is older than the oldest permissible generation.
+        boolean isAdjusted = false;
+        for (CachePriority p : CachePriority.values()) {
+            CacheStatus status = statusByPriority.get(p);
+            if (status == null || status.getSize() == 0) {
+                // Nothing to evict in this class.
+                continue;
+            }
+
+            AtomicInteger oldestGeneration = getOldestGenerations(containerId).get(p);
+            int newOldestGeneration = getNextOldestGeneration(oldestGeneration.get(), status);
+            boolean canReduceSize = newOldestGeneration > oldestGeneration.get();
+            if (canReduceSize && (exceedsSize || status.getOldestGeneration() < getOldestPermissibleGeneration())) {
+                oldestGeneration.set(newOldestGeneration);
+                isAdjusted = true;
+
+                // We have done what we could to reduce the size; leave the higher priority classes alone for now.
+                exceedsSize = false;
+            }
         }
 
         return isAdjusted;
     }
 
-    private boolean exceedsPolicy(CacheStatus currentStatus) {
-        // We need to increment the OldestGeneration only if any of the following conditions occurred:
-        // 1. We currently exceed the maximum size as defined by the cache policy.
-        // 2. The oldest generation reported by the clients is older than the oldest permissible generation.
-        return currentStatus.getSize() > this.policy.getMaxSize()
-                || currentStatus.getOldestGeneration() < getOldestPermissibleGeneration();
+    private Collection<Integer> getContainersOverBudget(Map<Integer, Map<CachePriority, CacheStatus>> statusByContainer) {
+        long budget = this.policy.getMaxSize() / statusByContainer.size();
+        return statusByContainer.entrySet().stream()
+                                .filter(e -> CacheStatus.combine(e.getValue().values()).getSize() > budget)
+                                .map(Map.Entry::getKey)
+                                .collect(Collectors.toSet());
+    }
+
+    private int getNextOldestGeneration(int oldestGeneration, CacheStatus status) {
+        // Start by setting the new value to the smallest reported value, and increment by one.
+        int newOldestGeneration = Math.max(oldestGeneration, status.getOldestGeneration()) + 1;
+
+        // Then factor in the oldest permissible generation.
+        newOldestGeneration = Math.max(newOldestGeneration, getOldestPermissibleGeneration());
+
+        // Then make sure we don't exceed the current generation.
+        return Math.min(newOldestGeneration, this.currentGeneration.get());
+    }
+
+    private int getOldestGeneration(int containerId, CachePriority priority) {
+        return getOldestGenerations(containerId).get(priority).get();
+    }
+
+    private Map<CachePriority, AtomicInteger> getOldestGenerations(int containerId) {
+        return this.oldestGenerations.computeIfAbsent(containerId, id -> {
+            Map<CachePriority, AtomicInteger> result = new EnumMap<>(CachePriority.class);
+            for (CachePriority p : CachePriority.values()) {
+                result.put(p, new AtomicInteger());
+            }
+            return result;
+        });
+    }
+
+    private Collection<CacheStatus> getAll(Map<Integer, Map<CachePriority, CacheStatus>> statusByContainer) {
+        return statusByContainer.values().stream()
+                                .flatMap(statusByPriority -> statusByPriority.values().stream())
+                                .collect(Collectors.toList());
+    }
+
+    private long getEffectiveSize(CacheStatus currentStatus) {
+        LongSupplier allocatedBytes = this.allocatedBytesSupplier.get();
+        return allocatedBytes == null
+                ? currentStatus.getSize()
+                : Math.max(currentStatus.getSize(), allocatedBytes.getAsLong());
     }
 
     private int getOldestPermissibleGeneration() {
@@ -344,10 +473,10 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
             size = this.clients.size();
         }
 
-        log.info("{} Current Generation = {}, Oldest Generation = {}, Clients = {},  CacheSize = {} MB",
+        log.info("{} Current Generation = {}, Oldest Generations = {}, Clients = {},  CacheSize = {} MB",
                 TRACE_OBJECT_ID,
                 this.currentGeneration,
-                this.oldestGeneration,
+                this.oldestGenerations,
                 size,
                 status.getSize() / 1048576);
     }
@@ -360,6 +489,25 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
      * Defines a Client that subscribes to the CacheManager.
      */
     public interface Client {
+        /**
+         * Gets the Priority class this Client belongs to. This value must not change during the lifetime of the Client.
+         *
+         * @return The Priority.
+         */
+        default CachePriority getCachePriority() {
+            return CachePriority.Normal;
+        }
+
+        /**
+         * Gets the Id of the Segment Container this Client belongs to. All the Clients in the same Container share the
+         * same cache budget. This value must not change during the lifetime of the Client.
+         *
+         * @return The Container Id, or {@link #NO_CONTAINER_ID} if this Client does not belong to any Container.
+         */
+        default int getCacheContainerId() {
+            return NO_CONTAINER_ID;
+        }
+
         /**
          * Gets the current Cache Status.
          * @return The current Cache status.
@@ -417,6 +565,29 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
             this.newestGeneration = newestGeneration;
         }
 
+        /**
+         * Creates a new CacheStatus that aggregates the given ones.
+         *
+         * @param statuses The CacheStatus instances to aggregate.
+         * @return A new CacheStatus, or null if the given collection is empty.
+         */
+        private static CacheStatus combine(Collection<CacheStatus> statuses) {
+            if (statuses.isEmpty()) {
+                return null;
+            }
+
+            int minGeneration = Integer.MAX_VALUE;
+            int maxGeneration = 0;
+            long totalSize = 0;
+            for (CacheStatus s : statuses) {
+                totalSize += s.size;
+                minGeneration = Math.min(minGeneration, s.oldestGeneration);
+                maxGeneration = Math.max(maxGeneration, s.newestGeneration);
+            }
+
+            return new CacheStatus(totalSize, minGeneration, maxGeneration);
+        }
+
         private CacheStatus withUpdatedSize(long sizeDelta) {
             long newSize = this.size + sizeDelta;
             assert newSize >= 0 : "given sizeDelta would result in a negative size";
@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server;
+
+/**
+ * Defines the Priority classes for CacheManager Clients, in the order in which they are evicted from when the cache
+ * exceeds its maximum size.
+ */
+public enum CachePriority {
+    /**
+     * Caches that can easily be rebuilt from Storage, such as data read from Segments.
+     */
+    Normal,
+    /**
+     * Caches that hold index information (i.e., Table Segment Keys or Attribute Index pages), whose loss would impact
+     * the latency of many subsequent operations.
+     */
+    High
+}
@@ -19,6 +19,7 @@ import io.pravega.shared.metrics.OpStatsLogger;
 import io.pravega.shared.metrics.StatsLogger;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -50,6 +51,12 @@ public final class SegmentStoreMetrics {
             this.generationSpread.reportSuccessValue(generationSpread);
         }
 
+        public void reportPrioritySize(CachePriority priority, long bytes) {
+            DYNAMIC_LOGGER.reportGaugeValue(priority == CachePriority.High
+                    ? MetricsNames.CACHE_HIGH_PRIORITY_SIZE_BYTES
+                    : MetricsNames.CACHE_NORMAL_PRIORITY_SIZE_BYTES, bytes);
+        }
+
         @Override
         public void close()  {
             this.generationSpread.close();
@@ -150,6 +157,11 @@ public final class SegmentStoreMetrics {
         private final OpStatsLogger processOperationsBatchSize;
         private final String operationLogSize;
 
+        /**
+         * Amount of time a (successful) operation spends in each CompletableOperation.Stage.
+         */
+        private final EnumMap<CompletableOperation.Stage, OpStatsLogger> operationStageLatency;
+
         public OperationProcessor(int containerId) {
             this.operationQueueSize = STATS_LOGGER.createStats(MetricsNames.nameFromContainer(MetricsNames.OPERATION_QUEUE_SIZE, containerId));
             this.operationsInFlight = STATS_LOGGER.createStats(MetricsNames.nameFromContainer(MetricsNames.OPERATION_PROCESSOR_IN_FLIGHT, containerId));
@@ -162,6 +174,17 @@ public final class SegmentStoreMetrics {
             this.processOperationsLatency = STATS_LOGGER.createStats(MetricsNames.nameFromContainer(MetricsNames.PROCESS_OPERATIONS_LATENCY, containerId));
             this.processOperationsBatchSize = STATS_LOGGER.createStats(MetricsNames.nameFromContainer(MetricsNames.PROCESS_OPERATIONS_BATCH_SIZE, containerId));
             this.operationLogSize = "segmentstore." + MetricsNames.nameFromContainer(MetricsNames.OPERATION_LOG_SIZE, containerId);
+            this.operationStageLatency = new EnumMap<>(CompletableOperation.Stage.class);
+            this.operationStageLatency.put(CompletableOperation.Stage.Queue,
+                    STATS_LOGGER.createStats(MetricsNames.nameFromContainer(MetricsNames.OPERATION_STAGE_QUEUE_LATENCY, containerId)));
+            this.operationStageLatency.put(CompletableOperation.Stage.Process,
+                    STATS_LOGGER.createStats(MetricsNames.nameFromContainer(MetricsNames.OPERATION_STAGE_PROCESS_LATENCY, containerId)));
+            this.operationStageLatency.put(CompletableOperation.Stage.DataFrame,
+                    STATS_LOGGER.createStats(MetricsNames.nameFromContainer(MetricsNames.OPERATION_STAGE_DATA_FRAME_LATENCY, containerId)));
+            this.operationStageLatency.put(CompletableOperation.Stage.DurableLog,
+                    STATS_LOGGER.createStats(MetricsNames.nameFromContainer(MetricsNames.OPERATION_STAGE_DURABLE_LOG_LATENCY, containerId)));
+            this.operationStageLatency.put(CompletableOperation.Stage.Commit,
+                    STATS_LOGGER.createStats(MetricsNames.nameFromContainer(MetricsNames.OPERATION_STAGE_COMMIT_LATENCY, containerId)));
         }
 
         @Override
@@ -176,6 +199,7 @@ public final class SegmentStoreMetrics {
             this.metadataCommitTxnCount.close();
             this.processOperationsLatency.close();
             this.processOperationsBatchSize.close();
+            this.operationStageLatency.values().forEach(OpStatsLogger::close);
         }
 
         public void currentState(int queueSize, int inFlightCount) {
@@ -220,6 +244,12 @@ public final class SegmentStoreMetrics {
                 long millis = o.getTimer().getElapsedMillis();
                 this.operationLatency.reportSuccessValue(millis);
                 GLOBAL_OPERATION_LATENCY.reportSuccessValue(millis);
+                this.operationStageLatency.forEach((stage, logger) -> {
+                    long stageNanos = o.getStageDurationNanos(stage);
+                    if (stageNanos >= 0) {
+                        logger.reportSuccessEvent(Duration.ofNanos(stageNanos));
+                    }
+                });
             });
         }
 
@@ -331,4 +361,32 @@ public final class SegmentStoreMetrics {
     }
 
     //endregion
+
+    //region TableCompaction
+
+    /**
+     * Table Segment compaction metrics.
+     */
+    public final static class TableCompaction {
+        private final String compactionCount;
+        private final String copiedEntries;
+        private final String truncatedBytes;
+
+        public TableCompaction(int containerId) {
+            this.compactionCount = MetricsNames.nameFromContainer(MetricsNames.TABLE_SEGMENT_COMPACTION_COUNT, containerId);
+            this.copiedEntries = MetricsNames.nameFromContainer(MetricsNames.TABLE_SEGMENT_COMPACTION_COPIED_ENTRIES, containerId);
+            this.truncatedBytes = MetricsNames.nameFromContainer(MetricsNames.TABLE_SEGMENT_COMPACTION_TRUNCATED_BYTES, containerId);
+        }
+
+        public void compacted(int copiedEntryCount) {
+            DYNAMIC_LOGGER.recordMeterEvents(this.compactionCount, 1);
+            DYNAMIC_LOGGER.recordMeterEvents(this.copiedEntries, copiedEntryCount);
+        }
+
+        public void truncated(long byteCount) {
+            DYNAMIC_LOGGER.recordMeterEvents(this.truncatedBytes, byteCount);
+        }
+    }
+
+    //endregion
 }
@@ -32,6 +32,7 @@ import io.pravega.segmentstore.contracts.StreamSegmentTruncatedException;
 import io.pravega.segmentstore.server.AttributeIndex;
 import io.pravega.segmentstore.server.AttributeIterator;
 import io.pravega.segmentstore.server.CacheManager;
+import io.pravega.segmentstore.server.CachePriority;
 import io.pravega.segmentstore.server.DataCorruptionException;
 import io.pravega.segmentstore.server.SegmentMetadata;
 import io.pravega.segmentstore.storage.Cache;
@@ -233,6 +234,16 @@ public class SegmentAttributeBTreeIndex implements AttributeIndex, CacheManager.
 
     //region CacheManager.Client implementation
 
+    @Override
+    public CachePriority getCachePriority() {
+        return CachePriority.High;
+    }
+
+    @Override
+    public int getCacheContainerId() {
+        return this.segmentMetadata.getContainerId();
+    }
+
     @Override
     public CacheManager.CacheStatus getCacheStatus() {
         int minGen = 0;
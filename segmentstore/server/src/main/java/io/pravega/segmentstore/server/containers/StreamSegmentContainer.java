@@ -19,6 +19,7 @@ import io.pravega.common.ObjectClosedException;
 import io.pravega.common.TimeoutTimer;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.concurrent.Services;
+import io.pravega.common.util.BufferView;
 import io.pravega.common.util.Retry;
 import io.pravega.common.util.Retry.RetryAndThrowConditionally;
 import io.pravega.segmentstore.contracts.AttributeUpdate;
@@ -340,30 +341,30 @@ class StreamSegmentContainer extends AbstractService implements SegmentContainer
     //region StreamSegmentStore Implementation
 
     @Override
-    public CompletableFuture<Void> append(String streamSegmentName, byte[] data, Collection<AttributeUpdate> attributeUpdates, Duration timeout) {
+    public CompletableFuture<Void> append(String streamSegmentName, BufferView data, Collection<AttributeUpdate> attributeUpdates, Duration timeout) {
         ensureRunning();
 
         TimeoutTimer timer = new TimeoutTimer(timeout);
-        logRequest("append", streamSegmentName, data.length);
+        logRequest("append", streamSegmentName, data.getLength());
         this.metrics.append();
         return this.metadataStore.getOrAssignSegmentId(streamSegmentName, timer.getRemaining(),
                 streamSegmentId -> {
                     StreamSegmentAppendOperation operation = new StreamSegmentAppendOperation(streamSegmentId, data, attributeUpdates);
-                    return processAttributeUpdaterOperation(operation, timer);
+                    return processAppendOperation(operation, timer);
                 });
     }
 
     @Override
-    public CompletableFuture<Void> append(String streamSegmentName, long offset, byte[] data, Collection<AttributeUpdate> attributeUpdates, Duration timeout) {
+    public CompletableFuture<Void> append(String streamSegmentName, long offset, BufferView data, Collection<AttributeUpdate> attributeUpdates, Duration timeout) {
         ensureRunning();
 
         TimeoutTimer timer = new TimeoutTimer(timeout);
-        logRequest("appendWithOffset", streamSegmentName, data.length);
+        logRequest("appendWithOffset", streamSegmentName, data.getLength());
         this.metrics.appendWithOffset();
         return this.metadataStore.getOrAssignSegmentId(streamSegmentName, timer.getRemaining(),
                 streamSegmentId -> {
                     StreamSegmentAppendOperation operation = new StreamSegmentAppendOperation(streamSegmentId, offset, data, attributeUpdates);
-                    return processAttributeUpdaterOperation(operation, timer);
+                    return processAppendOperation(operation, timer);
                 });
     }
 
@@ -621,6 +622,30 @@ class StreamSegmentContainer extends AbstractService implements SegmentContainer
         }
     }
 
+    /**
+     * Processes the given StreamSegmentAppendOperation. If the operation fails, its data buffer is released (upon success,
+     * this is done by the MemoryStateUpdater once the data has been added to the ReadIndex).
+     *
+     * @param operation The StreamSegmentAppendOperation to process.
+     * @param timer     Timer for the operation.
+     * @return A CompletableFuture that, when completed, will indicate that the operation has been processed.
+     */
+    private CompletableFuture<Void> processAppendOperation(StreamSegmentAppendOperation operation, TimeoutTimer timer) {
+        CompletableFuture<Void> result;
+        try {
+            result = processAttributeUpdaterOperation(operation, timer);
+        } catch (Throwable ex) {
+            operation.close();
+            throw ex;
+        }
+
+        return result.whenComplete((r, ex) -> {
+            if (ex != null) {
+                operation.close();
+            }
+        });
+    }
+
     /**
      * Processes the given AttributeUpdateOperation with exactly one retry in case it was rejected because of an attribute
      * update failure due to the attribute value missing from the in-memory cache.
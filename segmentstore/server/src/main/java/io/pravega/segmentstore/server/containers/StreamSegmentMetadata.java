@@ -73,6 +73,8 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
     private boolean active;
     @GuardedBy("this")
     private boolean pinned;
+    @GuardedBy("this")
+    private long version;
 
     //endregion
 
@@ -208,6 +210,7 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
 
         log.trace("{}: StorageLength changed from {} to {}.", this.traceObjectId, this.storageLength, value);
         this.storageLength = value;
+        this.version++;
     }
 
     @Override
@@ -222,6 +225,7 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
         Exceptions.checkArgument(value <= this.length, "value", "New StartOffset cannot be larger than Length.");
         log.debug("{}: StartOffset changed from {} to {}.", this.traceObjectId, this.startOffset, value);
         this.startOffset = value;
+        this.version++;
     }
 
     @Override
@@ -231,12 +235,14 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
 
         log.trace("{}: Length changed from {} to {}.", this.traceObjectId, this.length, value);
         this.length = value;
+        this.version++;
     }
 
     @Override
     public synchronized void markSealed() {
         log.debug("{}: Sealed = true.", this.traceObjectId);
         this.sealed = true;
+        this.version++;
     }
 
     @Override
@@ -244,18 +250,21 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
         Preconditions.checkState(this.sealed, "Cannot mark SealedInStorage if not Sealed in Metadata.");
         log.debug("{}: SealedInStorage = true.", this.traceObjectId);
         this.sealedInStorage = true;
+        this.version++;
     }
 
     @Override
     public synchronized void markMerged() {
         log.debug("{}: Merged = true.", this.traceObjectId);
         this.merged = true;
+        this.version++;
     }
 
     @Override
     public synchronized void markDeleted() {
         log.debug("{}: Deleted = true.", this.traceObjectId);
         this.deleted = true;
+        this.version++;
     }
 
     @Override
@@ -263,6 +272,7 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
         Preconditions.checkState(this.deleted, "Cannot mark DeletedInStorage if not Deleted in Metadata.");
         log.debug("{}: DeletedInStorage = true.", this.traceObjectId);
         this.deletedInStorage = true;
+        this.version++;
     }
 
     @Override
@@ -274,6 +284,7 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
     @Override
     public synchronized void setLastModified(ImmutableDate date) {
         this.lastModified = date;
+        this.version++;
         log.trace("{}: LastModified = {}.", this.lastModified);
     }
 
@@ -286,6 +297,7 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
                 this.extendedAttributes.put(id, new ExtendedAttributeValue(value));
             }
         });
+        this.version++;
     }
 
     @Override
@@ -352,6 +364,16 @@ public class StreamSegmentMetadata implements UpdateableSegmentMetadata {
         return this.pinned;
     }
 
+    /**
+     * Gets a value that is incremented every time this SegmentMetadata is modified (excluding LastUsed, Pinned and the
+     * Active flag). Two calls returning the same value indicate that nothing has changed in between.
+     *
+     * @return The version.
+     */
+    public synchronized long getVersion() {
+        return this.version;
+    }
+
     /**
      * Marks this SegmentMetadata as inactive.
      */
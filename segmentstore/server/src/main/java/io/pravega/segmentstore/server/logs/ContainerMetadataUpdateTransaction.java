@@ -30,6 +30,7 @@ import io.pravega.segmentstore.server.containers.StreamSegmentMetadata;
 import io.pravega.segmentstore.server.logs.operations.DeleteSegmentOperation;
 import io.pravega.segmentstore.server.logs.operations.MergeSegmentOperation;
 import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperation;
+import io.pravega.segmentstore.server.logs.operations.MetadataDeltaCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.logs.operations.StorageMetadataCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperation;
@@ -42,9 +43,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import javax.annotation.concurrent.NotThreadSafe;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -57,12 +61,17 @@ import lombok.val;
 class ContainerMetadataUpdateTransaction implements ContainerMetadata {
     // region Members
 
-    private static final MetadataCheckpointSerializer METADATA_CHECKPOINT_SERIALIZER = new MetadataCheckpointSerializer();
+    private static final MetadataCheckpointSerializer METADATA_CHECKPOINT_SERIALIZER = new MetadataCheckpointSerializer(false);
+    private static final MetadataCheckpointSerializer METADATA_DELTA_CHECKPOINT_SERIALIZER = new MetadataCheckpointSerializer(true);
     private static final StorageCheckpointSerializer STORAGE_CHECKPOINT_SERIALIZER = new StorageCheckpointSerializer();
     /**
      * Pointer to the real (live) ContainerMetadata. Used when needing access to live information (such as Storage Info).
      */
     private final ContainerMetadata realMetadata;
+    /**
+     * Serialized Segment entries from previous Metadata Checkpoints, shared with all other transactions on this container.
+     */
+    private final MetadataCheckpointCache checkpointCache;
     private final HashMap<Long, SegmentMetadataUpdateTransaction> segmentUpdates;
     private final HashMap<Long, UpdateableSegmentMetadata> newSegments;
     private final HashMap<String, Long> newSegmentNames;
@@ -98,8 +107,21 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
      * @param transactionId Id of the ContainerMetadataUpdateTransaction.
      */
     ContainerMetadataUpdateTransaction(ContainerMetadata baseMetadata, ContainerMetadata realMetadata, long transactionId) {
+        this(baseMetadata, realMetadata, transactionId, new MetadataCheckpointCache());
+    }
+
+    /**
+     * Creates a new instance of the ContainerMetadataUpdateTransaction class.
+     *
+     * @param baseMetadata    The base Container Metadata.
+     * @param transactionId   Id of the ContainerMetadataUpdateTransaction.
+     * @param checkpointCache A MetadataCheckpointCache to use when serializing MetadataCheckpointOperations.
+     */
+    ContainerMetadataUpdateTransaction(ContainerMetadata baseMetadata, ContainerMetadata realMetadata, long transactionId,
+                                       MetadataCheckpointCache checkpointCache) {
         this.baseMetadata = Preconditions.checkNotNull(baseMetadata, "baseMetadata");
         this.realMetadata = Preconditions.checkNotNull(realMetadata, "realMetadata");
+        this.checkpointCache = Preconditions.checkNotNull(checkpointCache, "checkpointCache");
         this.transactionId = transactionId;
         this.containerId = this.baseMetadata.getContainerId();
         this.recoveryMode = this.baseMetadata.isRecoveryMode();
@@ -332,6 +354,9 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
         } else if (operation instanceof StorageMetadataCheckpointOperation) {
             // StorageMetadataCheckpointOperation do not require preProcess and accept; they can be handled in a single stage.
             processMetadataOperation((StorageMetadataCheckpointOperation) operation);
+        } else if (operation instanceof MetadataDeltaCheckpointOperation) {
+            // MetadataDeltaCheckpointOperations do not require preProcess and accept; they can be handled in a single stage.
+            processMetadataOperation((MetadataDeltaCheckpointOperation) operation);
         } else if (operation instanceof StreamSegmentMapOperation) {
             preProcessMetadataOperation((StreamSegmentMapOperation) operation);
         }
@@ -410,6 +435,8 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
                 // In non-Recovery Mode, a MetadataCheckpointOperation means we need to serialize the current state of
                 // the Metadata, both the base Container Metadata and the current Transaction.
                 operation.setContents(METADATA_CHECKPOINT_SERIALIZER.serialize(this));
+                log.debug("{}: Serialized MetadataCheckpointOperation ({} bytes, {} Segment(s) reused from previous checkpoint).",
+                        this.traceObjectId, operation.getContents().getLength(), this.checkpointCache.getLastReusedCount());
             }
         } catch (IOException ex) {
             throw new MetadataUpdateException(this.containerId, "Unable to process MetadataCheckpointOperation " + operation, ex);
@@ -428,6 +455,24 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
         }
     }
 
+    private void processMetadataOperation(MetadataDeltaCheckpointOperation operation) throws MetadataUpdateException {
+        try {
+            if (this.recoveryMode) {
+                // In Recovery Mode, a MetadataDeltaCheckpointOperation contains the up-to-date state of those Segments
+                // that changed since the previous checkpoint. Unlike full checkpoints, these are applied on top of whatever
+                // we have accumulated so far (the RecoveryProcessor only begins processing at a full checkpoint).
+                log.debug("{}: Recovering MetadataDeltaCheckpointOperation with SequenceNumber {}.", this.traceObjectId, operation.getSequenceNumber());
+                METADATA_DELTA_CHECKPOINT_SERIALIZER.deserialize(operation.getContents(), this);
+            } else {
+                operation.setContents(METADATA_DELTA_CHECKPOINT_SERIALIZER.serialize(this));
+                log.debug("{}: Serialized MetadataDeltaCheckpointOperation ({} bytes, {} unchanged Segment(s) skipped).",
+                        this.traceObjectId, operation.getContents().getLength(), this.checkpointCache.getLastReusedCount());
+            }
+        } catch (IOException ex) {
+            throw new MetadataUpdateException(this.containerId, "Unable to process MetadataDeltaCheckpointOperation " + operation, ex);
+        }
+    }
+
     private void acceptMetadataOperation(StreamSegmentMapOperation operation) throws MetadataUpdateException {
         if (operation.getStreamSegmentId() == ContainerMetadata.NO_STREAM_SEGMENT_ID) {
             throw new MetadataUpdateException(this.containerId,
@@ -629,7 +674,14 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
 
     //region MetadataCheckpointSerializer
 
+    /**
+     * Serializer for MetadataCheckpointOperations and MetadataDeltaCheckpointOperations. Both use the same format; the
+     * latter only contain those Segments that changed since the previous checkpoint.
+     */
+    @RequiredArgsConstructor
     private static class MetadataCheckpointSerializer extends VersionedSerializer.Direct<ContainerMetadataUpdateTransaction> {
+        private final boolean delta;
+
         @Override
         protected byte getWriteVersion() {
             return 0;
@@ -659,7 +711,10 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
 
             // 5. Changed Segment Metadata.
             toSerialize.addAll(t.segmentUpdates.values());
-            output.writeCollection(toSerialize, this::writeSegmentMetadata00);
+
+            // Most Segments have likely not changed since the last checkpoint; reuse their serialized entries if so (or
+            // skip them altogether for delta checkpoints).
+            t.checkpointCache.writeSegments(toSerialize, output, this::writeSegmentMetadata00, this.delta);
         }
 
         private void read00(RevisionDataInput input, ContainerMetadataUpdateTransaction t) throws IOException {
@@ -725,7 +780,15 @@ class ContainerMetadataUpdateTransaction implements ContainerMetadata {
             metadata.setLastModified(lastModified);
             metadata.setStartOffset(input.readLong());
 
-            val attributes = input.readMap(RevisionDataInput::readUUID, RevisionDataInput::readLong);
+            Map<UUID, Long> attributes = input.readMap(RevisionDataInput::readUUID, RevisionDataInput::readLong);
+            if (this.delta) {
+                // Delta checkpoints are applied on top of existing state; updateAttributes() would discard any pending
+                // attribute updates in this transaction that are not included here (i.e., Extended Attributes).
+                val existing = new HashMap<UUID, Long>(metadata.getAttributes());
+                existing.putAll(attributes);
+                attributes = existing;
+            }
+
             metadata.updateAttributes(attributes);
             return metadata;
         }
@@ -14,11 +14,13 @@ import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.io.BoundedInputStream;
 import io.pravega.common.io.SerializationException;
+import io.pravega.common.io.StreamHelpers;
 import io.pravega.common.util.ArrayView;
 import io.pravega.common.util.BitConverter;
 import io.pravega.common.util.ByteArraySegment;
 import io.pravega.common.util.CloseableIterator;
 import io.pravega.segmentstore.storage.LogAddress;
+import java.io.ByteArrayInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -37,11 +39,23 @@ public class DataFrame {
     //region Members
 
     static final int MIN_ENTRY_LENGTH_NEEDED = EntryHeader.HEADER_SIZE + 1;
+    /**
+     * The minimum length of a DataFrame's contents for it to be considered for compression.
+     */
+    @VisibleForTesting
+    static final int MIN_COMPRESSION_LENGTH = 1024;
     private static final byte CURRENT_VERSION = 0;
+    private static final byte COMPRESSED_VERSION = 1;
     private final ByteArraySegment data;
+    private final DataFrameCompression compression;
     private WriteFrameHeader header;
     private ByteArraySegment contents;
 
+    /**
+     * If this frame has been compressed, this contains its entire serialization (header and compressed contents).
+     */
+    private ByteArraySegment compressedData;
+
     /**
      * The Frame Address within its serialization chain.
      * This value is not serialized with the data frame, rather it is assigned by the DataFrameBuilder or DataFrameReader
@@ -61,13 +75,25 @@ public class DataFrame {
     //region Constructor
 
     /**
-     * Creates a new instance of a DataFrame.
+     * Creates a new instance of a DataFrame which will not be compressed.
      *
      * @param source The ByteArraySegment to wrap.
      */
     DataFrame(ByteArraySegment source) {
+        this(source, DataFrameCompression.NONE);
+    }
+
+    /**
+     * Creates a new instance of a DataFrame.
+     *
+     * @param source      The ByteArraySegment to wrap.
+     * @param compression The DataFrameCompression to apply to the frame's contents when sealing it. The contents will
+     *                    only be compressed if doing so results in a shorter serialization.
+     */
+    DataFrame(ByteArraySegment source, DataFrameCompression compression) {
         Preconditions.checkArgument(!source.isReadOnly(), "Cannot create a WriteFrame for a readonly source.");
         this.data = source;
+        this.compression = Preconditions.checkNotNull(compression, "compression");
         this.writeEntryStartIndex = -1;
         this.sealed = source.isReadOnly();
         this.writePosition = this.sealed ? -1 : 0;
@@ -106,6 +132,10 @@ public class DataFrame {
      * @return The length (bytes) of the frame, including the header, contents and other control structures needed to serialize the frame.
      */
     public int getLength() {
+        if (this.compressedData != null) {
+            return this.compressedData.getLength();
+        }
+
         return this.header.getSerializationLength() + this.header.getContentLength();
     }
 
@@ -113,7 +143,9 @@ public class DataFrame {
      * Returns an ArrayView representing the serialized form of this frame.
      */
     ArrayView getData() {
-        if (this.data.isReadOnly()) {
+        if (this.compressedData != null) {
+            return this.compressedData;
+        } else if (this.data.isReadOnly()) {
             return this.data;
         } else {
             // We have just created this frame. Only return the segment of the buffer that contains data.
@@ -121,6 +153,14 @@ public class DataFrame {
         }
     }
 
+    /**
+     * Gets a value indicating whether the DataFrame's contents has been compressed.
+     */
+    @VisibleForTesting
+    boolean isCompressed() {
+        return this.compressedData != null;
+    }
+
     /**
      * Gets a value indicating whether the DataFrame is empty (if it has no entries).
      */
@@ -248,6 +288,9 @@ public class DataFrame {
      * Seals the frame for writing. After this method returns, no more modifications are allowed on this DataFrame.
      * This method has no effect if the Frame is read-only if it is already sealed.
      *
+     * If this DataFrame has a compression codec configured, the contents will be compressed as part of this call, and
+     * getData() will return the compressed serialization, but only if doing so results in a shorter serialization.
+     *
      * @throws IllegalStateException If an open entry exists (entries must be closed prior to sealing).
      */
     void seal() {
@@ -256,10 +299,41 @@ public class DataFrame {
 
             this.header.setContentLength(writePosition);
             this.header.commit();
+            if (this.compression != DataFrameCompression.NONE && this.writePosition >= MIN_COMPRESSION_LENGTH) {
+                compress();
+            }
+
             this.sealed = true;
         }
     }
 
+    /**
+     * Compresses the contents of this DataFrame into a new buffer. The compressed serialization is laid out as follows:
+     * - FrameHeader (with Version set to COMPRESSED_VERSION and the codec Id encoded in the flags).
+     * - Length of the uncompressed contents (int).
+     * - Compressed contents.
+     * If the result would not be shorter than the uncompressed serialization, nothing is changed.
+     */
+    private void compress() {
+        int uncompressedLength = this.writePosition;
+        int prefixLength = FrameHeader.SERIALIZATION_LENGTH + Integer.BYTES;
+        int maxCompressedLength = uncompressedLength - Integer.BYTES - 1;
+        byte[] target = new byte[prefixLength + maxCompressedLength];
+        int compressedLength = this.compression.compress(this.contents.subSegment(0, uncompressedLength), target, prefixLength, maxCompressedLength);
+        if (compressedLength < 0) {
+            // Not compressible enough; leave it as is.
+            return;
+        }
+
+        ByteArraySegment result = new ByteArraySegment(target, 0, prefixLength + compressedLength);
+        WriteFrameHeader compressedHeader = new WriteFrameHeader(COMPRESSED_VERSION, result.subSegment(0, FrameHeader.SERIALIZATION_LENGTH));
+        compressedHeader.setCompression(this.compression);
+        compressedHeader.setContentLength(Integer.BYTES + compressedLength);
+        compressedHeader.commit();
+        BitConverter.writeInt(result, FrameHeader.SERIALIZATION_LENGTH, uncompressedLength);
+        this.compressedData = result;
+    }
+
     /**
      * Calculates the number of bytes available in the frame for writing.
      */
@@ -278,7 +352,8 @@ public class DataFrame {
 
     /**
      * Interprets the given InputStream as a DataFrame and returns a DataFrameEntryIterator for the entries serialized
-     * in it.
+     * in it. If the DataFrame is compressed, its contents will be decompressed as part of this call, and the offsets
+     * reported by the returned iterator's entries will refer to the uncompressed contents.
      *
      * @param source  The InputStream to read from.
      * @param length  The size of the inputStream.
@@ -294,10 +369,38 @@ public class DataFrame {
                     ReadFrameHeader.SERIALIZATION_LENGTH + header.getContentLength(), length));
         }
 
-        BoundedInputStream contents = new BoundedInputStream(source, header.getContentLength());
+        BoundedInputStream contents;
+        if (header.getCompression() == DataFrameCompression.NONE) {
+            contents = new BoundedInputStream(source, header.getContentLength());
+        } else {
+            contents = decompress(source, header);
+        }
+
         return new DataFrameEntryIterator(contents, address, ReadFrameHeader.SERIALIZATION_LENGTH);
     }
 
+    private static BoundedInputStream decompress(InputStream source, ReadFrameHeader header) throws IOException {
+        int compressedLength = header.getContentLength() - Integer.BYTES;
+        if (compressedLength < 0) {
+            throw new SerializationException(String.format("Compressed DataFrame has insufficient content length (%d).", header.getContentLength()));
+        }
+
+        int uncompressedLength = BitConverter.readInt(source);
+        if (uncompressedLength < 0) {
+            throw new SerializationException(String.format("Compressed DataFrame has invalid uncompressed length (%d).", uncompressedLength));
+        }
+
+        byte[] compressed = new byte[compressedLength];
+        int readBytes = StreamHelpers.readAll(source, compressed, 0, compressedLength);
+        if (readBytes != compressedLength) {
+            throw new SerializationException(String.format("Compressed DataFrame is truncated. Expected %d bytes, read %d.", compressedLength, readBytes));
+        }
+
+        byte[] uncompressed = new byte[uncompressedLength];
+        header.getCompression().decompress(compressed, 0, compressedLength, uncompressed);
+        return new BoundedInputStream(new ByteArrayInputStream(uncompressed), uncompressedLength);
+    }
+
     //endregion
 
     //region EntryHeader
@@ -378,6 +481,7 @@ public class DataFrame {
      */
     private static abstract class FrameHeader {
         static final int SERIALIZATION_LENGTH = Byte.BYTES + Integer.BYTES + Byte.BYTES;
+        static final byte COMPRESSION_MASK = 0x0F;
         /**
          * The serialization Version for the frame.
          */
@@ -392,18 +496,29 @@ public class DataFrame {
         @Setter
         private int contentLength;
 
+        /**
+         * The compression codec applied to the Frame's contents. Only serialized for frames with COMPRESSED_VERSION or
+         * later.
+         */
+        @Getter
+        @Setter
+        private DataFrameCompression compression = DataFrameCompression.NONE;
+
         byte encodeFlags() {
-            // Placeholder method. Nothing to do yet.
-            return 0;
+            return (byte) (this.compression.getId() & COMPRESSION_MASK);
         }
 
-        void decodeFlags(byte flags, byte version) {
-            // Placeholder method. Nothing to do yet.
+        void decodeFlags(byte flags, byte version) throws SerializationException {
+            if (version > COMPRESSED_VERSION) {
+                throw new SerializationException(String.format("Unsupported DataFrame version %d.", version));
+            } else if (version >= COMPRESSED_VERSION) {
+                setCompression(DataFrameCompression.fromId((byte) (flags & COMPRESSION_MASK)));
+            }
         }
 
         @Override
         public String toString() {
-            return String.format("Version = %d, ContentLength = %d", getVersion(), getContentLength());
+            return String.format("Version = %d, ContentLength = %d, Compression = %s", getVersion(), getContentLength(), getCompression());
         }
     }
 
@@ -68,7 +68,8 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
         this.args = Preconditions.checkNotNull(args, "args");
         Preconditions.checkNotNull(args.commitSuccess, "args.commitSuccess");
         Preconditions.checkNotNull(args.commitFailure, "args.commitFailure");
-        this.outputStream = new DataFrameOutputStream(targetLog.getMaxAppendLength(), this::handleDataFrameComplete);
+        Preconditions.checkNotNull(args.compression, "args.compression");
+        this.outputStream = new DataFrameOutputStream(targetLog.getMaxAppendLength(), args.compression, this::handleDataFrameComplete);
         this.lastSerializedSequenceNumber = -1;
         this.lastStartedSequenceNumber = -1;
         this.failureCause = new AtomicReference<>();
@@ -320,7 +321,19 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
          */
         final BiConsumer<Throwable, CommitArgs> commitFailure;
         final Executor executor;
+
+        /**
+         * The DataFrameCompression to apply to each DataFrame before committing it.
+         */
+        final DataFrameCompression compression;
         final Duration writeTimeout = Duration.ofSeconds(30); // TODO: actual timeout.
+
+        /**
+         * Creates a new instance of the Args class which does not compress DataFrames.
+         */
+        Args(Consumer<CommitArgs> beforeCommit, Consumer<CommitArgs> commitSuccess, BiConsumer<Throwable, CommitArgs> commitFailure, Executor executor) {
+            this(beforeCommit, commitSuccess, commitFailure, executor, DataFrameCompression.NONE);
+        }
     }
 
     //endregion
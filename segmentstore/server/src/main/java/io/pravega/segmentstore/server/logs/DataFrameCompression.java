@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import io.pravega.common.io.SerializationException;
+import io.pravega.common.util.ArrayView;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Compression codecs that can be applied to the contents of a DataFrame. The Id of each codec is serialized with every
+ * compressed DataFrame, so existing values must never be changed or reused.
+ */
+@RequiredArgsConstructor
+public enum DataFrameCompression {
+    /**
+     * DataFrames are written uncompressed.
+     */
+    NONE((byte) 0) {
+        @Override
+        int compress(ArrayView source, byte[] target, int targetOffset, int maxLength) {
+            return -1;
+        }
+
+        @Override
+        void decompress(byte[] source, int sourceOffset, int sourceLength, byte[] target) throws SerializationException {
+            if (sourceLength != target.length) {
+                throw new SerializationException(String.format("Uncompressed DataFrame length mismatch. Expected %d, actual %d.",
+                        target.length, sourceLength));
+            }
+
+            System.arraycopy(source, sourceOffset, target, 0, sourceLength);
+        }
+    },
+
+    /**
+     * DataFrame contents are compressed using Deflate, tuned for speed rather than compression ratio.
+     */
+    DEFLATE((byte) 1) {
+        @Override
+        int compress(ArrayView source, byte[] target, int targetOffset, int maxLength) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+            try {
+                deflater.setInput(source.array(), source.arrayOffset(), source.getLength());
+                deflater.finish();
+                int length = 0;
+                while (!deflater.finished() && length < maxLength) {
+                    length += deflater.deflate(target, targetOffset + length, maxLength - length);
+                }
+
+                // If we filled up the target buffer without finishing, then compression is not beneficial.
+                return deflater.finished() ? length : -1;
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        void decompress(byte[] source, int sourceOffset, int sourceLength, byte[] target) throws SerializationException {
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(source, sourceOffset, sourceLength);
+                int length = 0;
+                while (!inflater.finished() && length < target.length) {
+                    int count = inflater.inflate(target, length, target.length - length);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+
+                    length += count;
+                }
+
+                if (!inflater.finished() || length != target.length) {
+                    throw new SerializationException(String.format("Unable to decompress DataFrame. Expected %d bytes, decompressed %d.",
+                            target.length, length));
+                }
+            } catch (DataFormatException ex) {
+                throw new SerializationException("Unable to decompress DataFrame.", ex);
+            } finally {
+                inflater.end();
+            }
+        }
+    };
+
+    /**
+     * The Id of the codec, as serialized in the DataFrame header.
+     */
+    @Getter
+    private final byte id;
+
+    /**
+     * Compresses the given data into the given target array.
+     *
+     * @param source       An ArrayView containing the data to compress.
+     * @param target       The array to compress into.
+     * @param targetOffset The offset within target to begin writing at.
+     * @param maxLength    The maximum number of bytes to write into target.
+     * @return The number of bytes written, or -1 if the compressed data would not fit in maxLength bytes (in which case
+     * the contents of target is undefined).
+     */
+    abstract int compress(ArrayView source, byte[] target, int targetOffset, int maxLength);
+
+    /**
+     * Decompresses the given data into the given target array, which must have the exact size of the uncompressed data.
+     *
+     * @param source       The array containing the compressed data.
+     * @param sourceOffset The offset within source where the compressed data begins.
+     * @param sourceLength The length of the compressed data.
+     * @param target       The array to decompress into.
+     * @throws SerializationException If the data could not be decompressed or if it does not decompress into exactly
+     *                                target.length bytes.
+     */
+    abstract void decompress(byte[] source, int sourceOffset, int sourceLength, byte[] target) throws SerializationException;
+
+    /**
+     * Gets the DataFrameCompression with the given Id.
+     *
+     * @param id The Id to look up.
+     * @return The DataFrameCompression.
+     * @throws SerializationException If no DataFrameCompression has the given Id.
+     */
+    static DataFrameCompression fromId(byte id) throws SerializationException {
+        for (DataFrameCompression c : values()) {
+            if (c.id == id) {
+                return c;
+            }
+        }
+
+        throw new SerializationException(String.format("Unsupported DataFrame compression codec %d.", id));
+    }
+}
@@ -297,7 +297,12 @@ public class DataFrameInputStream extends InputStream {
 
         DataFrame.DataFrameEntryIterator frameContents;
         try {
-            frameContents = DataFrame.read(nextItem.getPayload(), nextItem.getLength(), nextItem.getAddress());
+            if (nextItem instanceof DecodedReadItem) {
+                // This has already been interpreted as a DataFrame (i.e., by a DataFramePrefetcher).
+                frameContents = ((DecodedReadItem) nextItem).getFrameContents();
+            } else {
+                frameContents = DataFrame.read(nextItem.getPayload(), nextItem.getLength(), nextItem.getAddress());
+            }
         } catch (SerializationException ex) {
             throw new SerializationException(String.format("Unable to deserialize DataFrame. LastReadFrameSequence =  %d.",
                     this.lastReadFrameSequence), ex);
@@ -316,6 +321,23 @@ public class DataFrameInputStream extends InputStream {
 
     //endregion
 
+    //region DecodedReadItem
+
+    /**
+     * A DurableDataLog.ReadItem whose payload has already been interpreted as a DataFrame.
+     */
+    interface DecodedReadItem extends DurableDataLog.ReadItem {
+        /**
+         * Gets the DataFrameEntryIterator resulting from interpreting this item's payload as a DataFrame.
+         *
+         * @return The DataFrameEntryIterator.
+         * @throws IOException If the payload could not be interpreted as a DataFrame.
+         */
+        DataFrame.DataFrameEntryIterator getFrameContents() throws IOException;
+    }
+
+    //endregion
+
     //region Exceptions
 
     /**
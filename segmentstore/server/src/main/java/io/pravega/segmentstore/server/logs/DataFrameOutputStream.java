@@ -37,13 +37,14 @@ class DataFrameOutputStream extends OutputStream {
     @Getter
     private boolean closed;
     private final BufferFactory bufferFactory;
+    private final DataFrameCompression compression;
 
     //endregion
 
     //region Constructor
 
     /**
-     * Creates a new instance of the DataFrameOutputStream class.
+     * Creates a new instance of the DataFrameOutputStream class which does not compress Data Frames.
      *
      * @param maxDataFrameSize          The maximum size, in bytes, of a Data Frame.
      * @param dataFrameCompleteCallback A callback that will be invoked when a Data Frame is full.
@@ -51,10 +52,24 @@ class DataFrameOutputStream extends OutputStream {
      * @throws NullPointerException     If any of the arguments are null.
      */
     DataFrameOutputStream(int maxDataFrameSize, Consumer<DataFrame> dataFrameCompleteCallback) {
+        this(maxDataFrameSize, DataFrameCompression.NONE, dataFrameCompleteCallback);
+    }
+
+    /**
+     * Creates a new instance of the DataFrameOutputStream class.
+     *
+     * @param maxDataFrameSize          The maximum size, in bytes, of a Data Frame.
+     * @param compression               The DataFrameCompression to apply to each Data Frame.
+     * @param dataFrameCompleteCallback A callback that will be invoked when a Data Frame is full.
+     * @throws IllegalArgumentException If maxDataFrameSize is not a positive integer.
+     * @throws NullPointerException     If any of the arguments are null.
+     */
+    DataFrameOutputStream(int maxDataFrameSize, DataFrameCompression compression, Consumer<DataFrame> dataFrameCompleteCallback) {
         Exceptions.checkArgument(maxDataFrameSize > DataFrame.MIN_ENTRY_LENGTH_NEEDED, "maxDataFrameSize",
                 "Must be a at least %s.", DataFrame.MIN_ENTRY_LENGTH_NEEDED);
 
         this.bufferFactory = new BufferFactory(maxDataFrameSize);
+        this.compression = Preconditions.checkNotNull(compression, "compression");
         this.dataFrameCompleteCallback = Preconditions.checkNotNull(dataFrameCompleteCallback, "dataFrameCompleteCallback");
     }
 
@@ -218,7 +233,7 @@ class DataFrameOutputStream extends OutputStream {
     private void createNewFrame() {
         Preconditions.checkState(this.currentFrame == null || this.currentFrame.isSealed(), "Cannot create a new frame if we currently have a non-sealed frame.");
 
-        this.currentFrame = new DataFrame(this.bufferFactory.next());
+        this.currentFrame = new DataFrame(this.bufferFactory.next(), this.compression);
         this.hasDataInCurrentFrame = false;
     }
 
@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.concurrent.Futures;
+import io.pravega.common.util.CloseableIterator;
+import io.pravega.segmentstore.storage.DataLogNotAvailableException;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import io.pravega.segmentstore.storage.LogAddress;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads DurableDataLog.ReadItems ahead of their consumer and interprets them as DataFrames in parallel. This allows
+ * the (potentially slow) reads from the DurableDataLog and the decoding (and decompression) of DataFrames to proceed
+ * while the consumer is processing previously read DataFrames.
+ *
+ * Items are read in order, on a single thread of the given fetch Executor, and decoded on the given decode Executor. At
+ * most a configured number of items are kept in memory (read ahead) at any given time. Items are returned to the
+ * consumer in the same order in which they were read from the DurableDataLog, as DataFrameInputStream.DecodedReadItems.
+ */
+@Slf4j
+@ThreadSafe
+class DataFramePrefetcher implements CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> {
+    //region Members
+
+    private static final long QUEUE_POLL_TIMEOUT_MILLIS = 100;
+    private final CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> source;
+    private final BlockingQueue<CompletableFuture<DurableDataLog.ReadItem>> items;
+    private final Executor decodeExecutor;
+    private final CompletableFuture<Void> fetchFuture;
+    private final AtomicBoolean closed;
+    private final AtomicBoolean endReached;
+    private final String traceObjectId;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DataFramePrefetcher class and begins reading from the given source.
+     *
+     * @param source         An Iterator that produces DurableDataLog.ReadItems. This will be closed when this instance
+     *                       is closed. This Iterator is only ever accessed from a single thread at any given time.
+     * @param readAheadCount The maximum number of items to read ahead.
+     * @param fetchExecutor  An Executor to read from the source on. This will be blocked while reading, so it should not
+     *                       be a shared Executor.
+     * @param decodeExecutor An Executor to decode DataFrames on.
+     * @param traceObjectId  Used for logging.
+     */
+    DataFramePrefetcher(CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> source, int readAheadCount,
+                        Executor fetchExecutor, Executor decodeExecutor, String traceObjectId) {
+        Preconditions.checkArgument(readAheadCount > 0, "readAheadCount must be a positive integer.");
+        this.source = Preconditions.checkNotNull(source, "source");
+        this.decodeExecutor = Preconditions.checkNotNull(decodeExecutor, "decodeExecutor");
+        this.traceObjectId = Exceptions.checkNotNullOrEmpty(traceObjectId, "traceObjectId");
+        this.items = new LinkedBlockingQueue<>(readAheadCount);
+        this.closed = new AtomicBoolean();
+        this.endReached = new AtomicBoolean();
+        this.fetchFuture = CompletableFuture.runAsync(this::fetchAll, Preconditions.checkNotNull(fetchExecutor, "fetchExecutor"));
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (!this.closed.getAndSet(true)) {
+            // Unblock the fetch loop (if waiting for room in the queue) and close the source once it is done with it.
+            this.items.clear();
+            this.fetchFuture.whenComplete((r, ex) -> this.source.close());
+        }
+    }
+
+    //endregion
+
+    //region CloseableIterator Implementation
+
+    @Override
+    public DurableDataLog.ReadItem getNext() throws DurableDataLogException {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        if (this.endReached.get()) {
+            return null;
+        }
+
+        CompletableFuture<DurableDataLog.ReadItem> next;
+        try {
+            do {
+                next = this.items.poll(QUEUE_POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (next == null && this.fetchFuture.isDone() && this.items.isEmpty()) {
+                    // The fetch loop has terminated abnormally without telling us why.
+                    throw new DataLogNotAvailableException(String.format("%s: Prefetching ended unexpectedly.", this.traceObjectId),
+                            Futures.getException(this.fetchFuture));
+                }
+            } while (next == null);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DataLogNotAvailableException(String.format("%s: Interrupted while waiting for data.", this.traceObjectId), ex);
+        }
+
+        DurableDataLog.ReadItem result = Futures.getThrowingException(next);
+        if (result == null) {
+            this.endReached.set(true);
+        }
+
+        return result;
+    }
+
+    //endregion
+
+    //region Fetching
+
+    private void fetchAll() {
+        boolean done = false;
+        while (!done && !this.closed.get()) {
+            CompletableFuture<DurableDataLog.ReadItem> next;
+            try {
+                DurableDataLog.ReadItem item = this.source.getNext();
+                if (item == null) {
+                    next = CompletableFuture.completedFuture(null);
+                    done = true;
+                } else {
+                    next = CompletableFuture.supplyAsync(() -> decode(item), this.decodeExecutor);
+                }
+            } catch (Exception ex) {
+                if (!this.closed.get()) {
+                    log.warn("{}: Unable to read from DurableDataLog.", this.traceObjectId, ex);
+                }
+
+                next = Futures.failedFuture(ex);
+                done = true;
+            }
+
+            done |= !enqueue(next);
+        }
+
+        log.debug("{}: Prefetching complete.", this.traceObjectId);
+    }
+
+    private boolean enqueue(CompletableFuture<DurableDataLog.ReadItem> item) {
+        try {
+            while (!this.closed.get()) {
+                if (this.items.offer(item, QUEUE_POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        return false;
+    }
+
+    private DurableDataLog.ReadItem decode(DurableDataLog.ReadItem item) {
+        try {
+            return new DecodedItem(item, DataFrame.read(item.getPayload(), item.getLength(), item.getAddress()), null);
+        } catch (IOException ex) {
+            // Let the consumer decide how to handle this, in the order in which it would have encountered it.
+            return new DecodedItem(item, null, ex);
+        }
+    }
+
+    //endregion
+
+    //region DecodedItem
+
+    /**
+     * A ReadItem whose payload has been interpreted as a DataFrame.
+     */
+    @RequiredArgsConstructor
+    private static class DecodedItem implements DataFrameInputStream.DecodedReadItem {
+        private final DurableDataLog.ReadItem item;
+        private final DataFrame.DataFrameEntryIterator frameContents;
+        private final IOException decodeException;
+
+        @Override
+        public DataFrame.DataFrameEntryIterator getFrameContents() throws IOException {
+            if (this.decodeException != null) {
+                throw this.decodeException;
+            }
+
+            return this.frameContents;
+        }
+
+        @Override
+        public InputStream getPayload() {
+            throw new UnsupportedOperationException("The payload of this item has already been consumed.");
+        }
+
+        @Override
+        public int getLength() {
+            return this.item.getLength();
+        }
+
+        @Override
+        public LogAddress getAddress() {
+            return this.item.getAddress();
+        }
+
+        @Override
+        public String toString() {
+            return this.item.toString();
+        }
+    }
+
+    //endregion
+}
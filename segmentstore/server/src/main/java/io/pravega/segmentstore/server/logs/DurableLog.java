@@ -29,6 +29,7 @@ import io.pravega.segmentstore.server.OperationLog;
 import io.pravega.segmentstore.server.ReadIndex;
 import io.pravega.segmentstore.server.UpdateableContainerMetadata;
 import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperation;
+import io.pravega.segmentstore.server.logs.operations.MetadataDeltaCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.logs.operations.StorageMetadataCheckpointOperation;
 import io.pravega.segmentstore.storage.DataLogDisabledException;
@@ -46,6 +47,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import javax.annotation.concurrent.GuardedBy;
@@ -63,6 +65,7 @@ public class DurableLog extends AbstractService implements OperationLog {
 
     private static final Duration RECOVERY_TIMEOUT = Duration.ofSeconds(30);
     private final String traceObjectId;
+    private final DurableLogConfig config;
     private final SequencedItemList<Operation> inMemoryOperationLog;
     private final DurableDataLog durableDataLog;
     private final MemoryStateUpdater memoryStateUpdater;
@@ -73,6 +76,7 @@ public class DurableLog extends AbstractService implements OperationLog {
     private final ScheduledExecutorService executor;
     private final AtomicReference<Throwable> stopException = new AtomicReference<>();
     private final AtomicBoolean closed;
+    private final AtomicInteger deltaCheckpointCount;
     private final CompletableFuture<Void> delayedStart;
     private final Retry.RetryAndThrowConditionally delayedStartRetry;
 
@@ -91,7 +95,7 @@ public class DurableLog extends AbstractService implements OperationLog {
      * @throws NullPointerException If any of the arguments are null.
      */
     public DurableLog(DurableLogConfig config, UpdateableContainerMetadata metadata, DurableDataLogFactory dataFrameLogFactory, ReadIndex readIndex, ScheduledExecutorService executor) {
-        Preconditions.checkNotNull(config, "config");
+        this.config = Preconditions.checkNotNull(config, "config");
         this.metadata = Preconditions.checkNotNull(metadata, "metadata");
         Preconditions.checkNotNull(dataFrameLogFactory, "dataFrameLogFactory");
         Preconditions.checkNotNull(readIndex, "readIndex");
@@ -103,11 +107,13 @@ public class DurableLog extends AbstractService implements OperationLog {
         this.traceObjectId = String.format("DurableLog[%s]", metadata.getContainerId());
         this.inMemoryOperationLog = createInMemoryLog();
         this.memoryStateUpdater = new MemoryStateUpdater(this.inMemoryOperationLog, readIndex, this::triggerTailReads);
-        MetadataCheckpointPolicy checkpointPolicy = new MetadataCheckpointPolicy(config, this::queueMetadataCheckpoint, this.executor);
-        this.operationProcessor = new OperationProcessor(this.metadata, this.memoryStateUpdater, this.durableDataLog, checkpointPolicy, executor);
+        MetadataCheckpointPolicy checkpointPolicy = new MetadataCheckpointPolicy(config, this::queuePeriodicMetadataCheckpoint, this.executor);
+        this.operationProcessor = new OperationProcessor(this.metadata, this.memoryStateUpdater, this.durableDataLog, checkpointPolicy,
+                config.getDataFrameCompression(), executor);
         Services.onStop(this.operationProcessor, this::queueStoppedHandler, this::queueFailedHandler, this.executor);
         this.tailReads = new HashSet<>();
         this.closed = new AtomicBoolean();
+        this.deltaCheckpointCount = new AtomicInteger();
         this.delayedStart = new CompletableFuture<>();
         this.delayedStartRetry = Retry.withExpBackoff(config.getStartRetryDelay().toMillis(), 1, Integer.MAX_VALUE)
                                       .retryWhen(ex -> Exceptions.unwrap(ex) instanceof DataLogDisabledException);
@@ -212,7 +218,7 @@ public class DurableLog extends AbstractService implements OperationLog {
             this.durableDataLog.initialize(RECOVERY_TIMEOUT);
 
             // Initiate the recovery.
-            RecoveryProcessor p = new RecoveryProcessor(this.metadata, this.durableDataLog, this.memoryStateUpdater);
+            RecoveryProcessor p = new RecoveryProcessor(this.metadata, this.durableDataLog, this.memoryStateUpdater, this.config);
             int recoveredItemCount = p.performRecovery();
             this.operationProcessor.getMetrics().operationsCompleted(recoveredItemCount, timer.getElapsed());
 
@@ -408,6 +414,22 @@ public class DurableLog extends AbstractService implements OperationLog {
         }
     }
 
+    /**
+     * Queues a MetadataCheckpointOperation once every DurableLogConfig.getCheckpointFullSnapshotInterval() invocations,
+     * and a MetadataDeltaCheckpointOperation the rest of the time.
+     */
+    private CompletableFuture<Void> queuePeriodicMetadataCheckpoint() {
+        if (this.deltaCheckpointCount.incrementAndGet() < this.config.getCheckpointFullSnapshotInterval()) {
+            log.debug("{}: MetadataDeltaCheckpointOperation queued.", this.traceObjectId);
+            return this.operationProcessor
+                    .process(new MetadataDeltaCheckpointOperation())
+                    .thenAccept(seqNo -> log.debug("{}: MetadataDeltaCheckpointOperation durably stored.", this.traceObjectId));
+        } else {
+            this.deltaCheckpointCount.set(0);
+            return queueMetadataCheckpoint();
+        }
+    }
+
     private CompletableFuture<Void> queueMetadataCheckpoint() {
         log.info("{}: MetadataCheckpointOperation queued.", this.traceObjectId);
         return this.operationProcessor
@@ -25,7 +25,11 @@ public class DurableLogConfig {
     public static final Property<Integer> CHECKPOINT_MIN_COMMIT_COUNT = Property.named("checkpointMinCommitCount", 300);
     public static final Property<Integer> CHECKPOINT_COMMIT_COUNT = Property.named("checkpointCommitCountThreshold", 300);
     public static final Property<Long> CHECKPOINT_TOTAL_COMMIT_LENGTH = Property.named("checkpointTotalCommitLengthThreshold", 256 * 1024 * 1024L);
+    public static final Property<Integer> CHECKPOINT_FULL_SNAPSHOT_INTERVAL = Property.named("checkpointFullSnapshotInterval", 4);
     public static final Property<Integer> START_RETRY_DELAY_MILLIS = Property.named("startRetryDelayMillis", 60 * 1000);
+    public static final Property<DataFrameCompression> DATA_FRAME_COMPRESSION = Property.named("dataFrameCompression", DataFrameCompression.NONE);
+    public static final Property<Integer> RECOVERY_READ_AHEAD_COUNT = Property.named("recoveryReadAheadFrameCount", 64);
+    public static final Property<Integer> RECOVERY_DECODE_THREAD_COUNT = Property.named("recoveryDecodeThreadCount", 2);
     private static final String COMPONENT_CODE = "durablelog";
 
     //endregion
@@ -50,12 +54,40 @@ public class DurableLogConfig {
     @Getter
     private final long checkpointTotalCommitLengthThreshold;
 
+    /**
+     * One in how many Checkpoints should be a full snapshot of the Metadata (the others only contain those Segments that
+     * changed since the previous Checkpoint). Only full snapshots can be used as truncation points.
+     */
+    @Getter
+    private final int checkpointFullSnapshotInterval;
+
     /**
      * The amount of time to wait between consecutive start attempts in case of retryable startup failure (i.e., offline).
      */
     @Getter
     private Duration startRetryDelay;
 
+    /**
+     * The compression codec to apply to DataFrames written to the DurableDataLog. Regardless of this value, compressed
+     * DataFrames are always readable (upon recovery).
+     */
+    @Getter
+    private final DataFrameCompression dataFrameCompression;
+
+    /**
+     * The maximum number of DataFrames to read ahead (and decode in parallel) from the DurableDataLog during recovery.
+     * If 0, recovery reads and processes the DurableDataLog sequentially, on a single thread.
+     */
+    @Getter
+    private final int recoveryReadAheadCount;
+
+    /**
+     * The number of threads to use for decoding (and decompressing) DataFrames during recovery. Only used if
+     * recoveryReadAheadCount is positive.
+     */
+    @Getter
+    private final int recoveryDecodeThreadCount;
+
     //endregion
 
     //region Constructor
@@ -75,11 +107,26 @@ public class DurableLogConfig {
         }
 
         this.checkpointTotalCommitLengthThreshold = properties.getLong(CHECKPOINT_TOTAL_COMMIT_LENGTH);
+        this.checkpointFullSnapshotInterval = properties.getInt(CHECKPOINT_FULL_SNAPSHOT_INTERVAL);
+        if (this.checkpointFullSnapshotInterval <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", CHECKPOINT_FULL_SNAPSHOT_INTERVAL));
+        }
+
         int startRetryDelayMillis = properties.getInt(START_RETRY_DELAY_MILLIS);
         if (startRetryDelayMillis <= 0) {
             throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", START_RETRY_DELAY_MILLIS));
         }
         this.startRetryDelay = Duration.ofMillis(startRetryDelayMillis);
+        this.dataFrameCompression = properties.getEnum(DATA_FRAME_COMPRESSION, DataFrameCompression.class);
+        this.recoveryReadAheadCount = properties.getInt(RECOVERY_READ_AHEAD_COUNT);
+        if (this.recoveryReadAheadCount < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", RECOVERY_READ_AHEAD_COUNT));
+        }
+
+        this.recoveryDecodeThreadCount = properties.getInt(RECOVERY_DECODE_THREAD_COUNT);
+        if (this.recoveryDecodeThreadCount <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", RECOVERY_DECODE_THREAD_COUNT));
+        }
     }
 
     /**
@@ -28,6 +28,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.concurrent.ThreadSafe;
+import lombok.Cleanup;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -168,6 +169,8 @@ class MemoryStateUpdater implements CacheUtilizationProvider {
                 // Record a StreamSegmentAppendOperation. Just in case, we also support this type of operation, but we need to
                 // log a warning indicating so. This means we do not optimize memory properly, and we end up storing data
                 // in two different places.
+                // Once the data is in the ReadIndex, the operation no longer needs to hold on to its buffer.
+                @Cleanup
                 StreamSegmentAppendOperation appendOperation = (StreamSegmentAppendOperation) operation;
                 this.readIndex.append(appendOperation.getStreamSegmentId(),
                         appendOperation.getStreamSegmentOffset(),
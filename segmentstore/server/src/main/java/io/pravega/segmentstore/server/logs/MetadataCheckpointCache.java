@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import io.pravega.common.io.EnhancedByteArrayOutputStream;
+import io.pravega.common.io.serialization.RevisionDataOutput;
+import io.pravega.segmentstore.server.SegmentMetadata;
+import io.pravega.segmentstore.server.containers.StreamSegmentMetadata;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.concurrent.NotThreadSafe;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Keeps the serialized form of every Segment's entry as of the most recent MetadataCheckpointOperation or
+ * MetadataDeltaCheckpointOperation, which is used to tell which Segments have changed since then:
+ * <ul>
+ * <li> MetadataCheckpointOperations (full snapshots) only need to serialize those Segments that have changed (the entries
+ * for all the other Segments are copied over as they are).
+ * <li> MetadataDeltaCheckpointOperations only include those Segments that have changed.
+ * </ul>
+ * Only entries for StreamSegmentMetadata instances are cached, since their version can be used to tell whether they have
+ * changed. Pending changes (SegmentMetadataUpdateTransactions) are always serialized.
+ */
+@NotThreadSafe
+class MetadataCheckpointCache {
+    //region Members
+
+    private Map<Long, Entry> entries = new HashMap<>();
+    /**
+     * The number of unchanged Segment entries that were reused (or skipped, for deltas) during the last call to writeSegments().
+     */
+    @Getter
+    private int lastReusedCount;
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Serializes the given Segments to the given RevisionDataOutput, in the same format as
+     * {@link RevisionDataOutput#writeCollection}.
+     *
+     * If changedOnly is false, Segment entries that have not changed since the last invocation of this method are copied
+     * from the cache instead of being serialized again, and upon completion, the cache will only contain entries for the
+     * given Segments. If changedOnly is true, such entries are excluded altogether, and the cache is updated with the
+     * entries that were serialized.
+     *
+     * @param segments          The Segments to serialize.
+     * @param output            The RevisionDataOutput to write to.
+     * @param segmentSerializer A serializer for a single Segment entry.
+     * @param changedOnly       If true, only serialize those Segments that have changed since the last invocation.
+     * @throws IOException If an IOException occurred.
+     */
+    void writeSegments(Collection<SegmentMetadata> segments, RevisionDataOutput output,
+                       RevisionDataOutput.ElementSerializer<SegmentMetadata> segmentSerializer, boolean changedOnly) throws IOException {
+        if (!(output.getBaseStream() instanceof EnhancedByteArrayOutputStream)) {
+            // We can't extract the serialized entries from this stream. Serialize everything.
+            clear();
+            output.writeCollection(segments, segmentSerializer);
+            return;
+        }
+
+        // Get the versions before serializing. If a Segment is modified concurrently, its entry will be discarded next
+        // time, which is the desired outcome.
+        val baseStream = (EnhancedByteArrayOutputStream) output.getBaseStream();
+        Map<Long, Entry> newEntries = changedOnly ? this.entries : new HashMap<>();
+        val toWrite = new ArrayList<Entry>();
+        int reusedCount = 0;
+        for (SegmentMetadata sm : segments) {
+            long version = sm instanceof StreamSegmentMetadata ? ((StreamSegmentMetadata) sm).getVersion() : -1;
+            Entry e = this.entries.get(sm.getId());
+            if (e != null && e.isUnchanged(sm, version)) {
+                reusedCount++;
+                if (changedOnly) {
+                    continue;
+                }
+            } else {
+                e = new Entry(sm, version);
+            }
+
+            toWrite.add(e);
+        }
+
+        output.writeCompactInt(toWrite.size());
+        for (Entry e : toWrite) {
+            if (e.data != null) {
+                // Unchanged entry (full snapshots only).
+                output.write(e.data);
+            } else {
+                int startOffset = baseStream.size();
+                segmentSerializer.accept(output, e.metadata);
+                if (e.version >= 0) {
+                    e.data = baseStream.getData().subSegment(startOffset, baseStream.size() - startOffset).getCopy();
+                }
+            }
+
+            if (e.data != null) {
+                newEntries.put(e.metadata.getId(), e);
+            } else {
+                newEntries.remove(e.metadata.getId());
+            }
+        }
+
+        this.entries = newEntries;
+        this.lastReusedCount = reusedCount;
+    }
+
+    /**
+     * Clears the cache. The next call to writeSegments() will serialize every Segment.
+     */
+    void clear() {
+        this.entries.clear();
+        this.lastReusedCount = 0;
+    }
+
+    //endregion
+
+    //region Entry
+
+    @RequiredArgsConstructor
+    private static class Entry {
+        private final SegmentMetadata metadata;
+        /**
+         * The version of the StreamSegmentMetadata, or -1 if it is not a StreamSegmentMetadata (these are never cached).
+         */
+        private final long version;
+        private byte[] data;
+
+        boolean isUnchanged(SegmentMetadata sm, long version) {
+            return this.metadata == sm && this.version == version && this.data != null;
+        }
+    }
+
+    //endregion
+}
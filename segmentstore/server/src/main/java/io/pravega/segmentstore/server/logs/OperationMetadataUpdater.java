@@ -40,6 +40,7 @@ class OperationMetadataUpdater implements ContainerMetadata {
     private final String traceObjectId;
     private final UpdateableContainerMetadata metadata;
     private final ArrayDeque<ContainerMetadataUpdateTransaction> transactions;
+    private final MetadataCheckpointCache checkpointCache;
     private long nextTransactionId;
 
     //endregion
@@ -57,6 +58,7 @@ class OperationMetadataUpdater implements ContainerMetadata {
         this.traceObjectId = String.format("OperationMetadataUpdater[%d]", metadata.getContainerId());
         this.nextTransactionId = 0;
         this.transactions = new ArrayDeque<>();
+        this.checkpointCache = new MetadataCheckpointCache();
     }
 
     //endregion
@@ -176,6 +178,12 @@ class OperationMetadataUpdater implements ContainerMetadata {
             rolledBack.add(txn.getTransactionId());
         }
 
+        if (!rolledBack.isEmpty()) {
+            // Any checkpoints in the rolled back transactions will never make it to the log, yet their Segments have been
+            // recorded as checkpointed. Start over, so that the next delta checkpoint does not omit them.
+            this.checkpointCache.clear();
+        }
+
         // At this point, the transaction list is either empty or its last one is sealed; any further changes would
         // require creating a new transaction.
         LoggerHelpers.traceLeave(log, this.traceObjectId, "rollback", traceId, rolledBack);
@@ -274,7 +282,8 @@ class OperationMetadataUpdater implements ContainerMetadata {
                 previous = this.transactions.peekLast();
             }
 
-            ContainerMetadataUpdateTransaction txn = new ContainerMetadataUpdateTransaction(previous, this.metadata, this.nextTransactionId);
+            ContainerMetadataUpdateTransaction txn = new ContainerMetadataUpdateTransaction(previous, this.metadata, this.nextTransactionId,
+                    this.checkpointCache);
             this.nextTransactionId++;
             this.transactions.addLast(txn);
         }
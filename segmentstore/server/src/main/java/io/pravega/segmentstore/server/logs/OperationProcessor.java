@@ -56,6 +56,8 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
     private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
     private static final int MAX_READ_AT_ONCE = 1000;
     private static final int MAX_COMMIT_QUEUE_SIZE = 50;
+    private static final int MAX_BATCH_SIZE_PER_LOCK = 100;
+    private static final int TRACE_SAMPLE_RATE = 1000;
 
     private final UpdateableContainerMetadata metadata;
     private final MemoryStateUpdater stateUpdater;
@@ -82,10 +84,12 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
      * @param stateUpdater     A MemoryStateUpdater that is used to update in-memory structures upon successful Operation committal.
      * @param durableDataLog   The DataFrameLog to write DataFrames to.
      * @param checkpointPolicy The Checkpoint Policy for Metadata.
+     * @param compression      The DataFrameCompression to apply to DataFrames written to durableDataLog.
      * @param executor         An Executor to use for async operations.
      * @throws NullPointerException If any of the arguments are null.
      */
-    OperationProcessor(UpdateableContainerMetadata metadata, MemoryStateUpdater stateUpdater, DurableDataLog durableDataLog, MetadataCheckpointPolicy checkpointPolicy, ScheduledExecutorService executor) {
+    OperationProcessor(UpdateableContainerMetadata metadata, MemoryStateUpdater stateUpdater, DurableDataLog durableDataLog,
+                       MetadataCheckpointPolicy checkpointPolicy, DataFrameCompression compression, ScheduledExecutorService executor) {
         super(String.format("OperationProcessor[%d]", metadata.getContainerId()), executor);
         Preconditions.checkNotNull(durableDataLog, "durableDataLog");
         this.metadata = metadata;
@@ -94,7 +98,7 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
         this.operationQueue = new BlockingDrainingQueue<>();
         this.commitQueue = new BlockingDrainingQueue<>();
         this.state = new QueueProcessingState(checkpointPolicy);
-        val args = new DataFrameBuilder.Args(this.state::frameSealed, this.state::commit, this.state::fail, this.executor);
+        val args = new DataFrameBuilder.Args(this.state::frameSealed, this.state::commit, this.state::fail, this.executor, compression);
         this.dataFrameBuilder = new DataFrameBuilder<>(durableDataLog, OperationSerializer.DEFAULT, args);
         this.metrics = new SegmentStoreMetrics.OperationProcessor(this.metadata.getContainerId());
         this.throttlerCalculator = ThrottlerCalculator.builder()
@@ -276,22 +280,7 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
             try {
                 // Process the current set of operations.
                 while (!operations.isEmpty()) {
-                    CompletableOperation o = operations.poll();
-                    this.metrics.operationQueueWaitTime(o.getTimer().getElapsedMillis());
-                    try {
-                        processOperation(o);
-                        this.state.addPending(o);
-                        count++;
-                    } catch (Throwable ex) {
-                        ex = Exceptions.unwrap(ex);
-                        this.state.failOperation(o, ex);
-                        if (isFatalException(ex)) {
-                            // If we encountered an unrecoverable error then we cannot proceed - rethrow the Exception
-                            // and let it be handled by the enclosing try-catch. Otherwise, we only need to fail this
-                            // operation as its failure is isolated to itself (most likely it's invalid).
-                            throw ex;
-                        }
-                    }
+                    count += processOperationBatch(operations);
                 }
 
                 // Check if there are more operations to process. If so, it's more efficient to process them now (no thread
@@ -334,6 +323,59 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
         }
     }
 
+    /**
+     * Processes the next operations from the given queue, holding the stateLock only once for all of them. At most
+     * MAX_BATCH_SIZE_PER_LOCK operations are processed, so that DurableDataLog acknowledgements (which need the same lock)
+     * are not delayed for too long.
+     *
+     * Any operation that fails processing is failed individually (after releasing the lock), as its failure is isolated
+     * to itself (most likely it's invalid). The exception is a fatal failure, which stops the batch and is rethrown.
+     *
+     * @param operations The operations to process. Processed operations are removed from this queue.
+     * @return The number of operations that were successfully processed.
+     */
+    @SneakyThrows
+    private int processOperationBatch(Queue<CompletableOperation> operations) {
+        val failedOperations = new ArrayList<CompletableOperation>();
+        val failureCauses = new ArrayList<Throwable>();
+        Throwable fatalException = null;
+        int count = 0;
+        synchronized (this.stateLock) {
+            for (int i = 0; i < MAX_BATCH_SIZE_PER_LOCK && !operations.isEmpty(); i++) {
+                CompletableOperation o = operations.poll();
+                o.stageCompleted(CompletableOperation.Stage.Queue);
+                this.metrics.operationQueueWaitTime(o.getTimer().getElapsedMillis());
+                try {
+                    processOperation(o);
+                    o.stageCompleted(CompletableOperation.Stage.Process);
+                    this.state.addPending(o);
+                    count++;
+                } catch (Throwable ex) {
+                    ex = Exceptions.unwrap(ex);
+                    failedOperations.add(o);
+                    failureCauses.add(ex);
+                    if (isFatalException(ex)) {
+                        // If we encountered an unrecoverable error then we cannot proceed - rethrow the Exception
+                        // and let it be handled by the caller.
+                        fatalException = ex;
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Complete failed operations outside of the lock; their callbacks may take arbitrary amounts of time.
+        for (int i = 0; i < failedOperations.size(); i++) {
+            this.state.failOperation(failedOperations.get(i), failureCauses.get(i));
+        }
+
+        if (fatalException != null) {
+            throw fatalException;
+        }
+
+        return count;
+    }
+
     /**
      * Processes a single operation.
      * Steps:
@@ -348,20 +390,19 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
      * @throws Exception If an exception occurred while processing this operation. Depending on the type of the exception,
      * this could be due to the operation itself being invalid, or because we are unable to process any more operations.
      */
+    @GuardedBy("stateLock")
     private void processOperation(CompletableOperation operation) throws Exception {
         Preconditions.checkState(!operation.isDone(), "The Operation has already been processed.");
 
+        // Update Metadata and Operations with any missing data (offsets, lengths, etc) - the Metadata Updater
+        // has all the knowledge for that task.
         Operation entry = operation.getOperation();
-        synchronized (this.stateLock) {
-            // Update Metadata and Operations with any missing data (offsets, lengths, etc) - the Metadata Updater
-            // has all the knowledge for that task.
-            this.metadataUpdater.preProcessOperation(entry);
-
-            // Entry is ready to be serialized; assign a sequence number.
-            entry.setSequenceNumber(this.metadataUpdater.nextOperationSequenceNumber());
-            this.dataFrameBuilder.append(entry);
-            this.metadataUpdater.acceptOperation(entry);
-        }
+        this.metadataUpdater.preProcessOperation(entry);
+
+        // Entry is ready to be serialized; assign a sequence number.
+        entry.setSequenceNumber(this.metadataUpdater.nextOperationSequenceNumber());
+        this.dataFrameBuilder.append(entry);
+        this.metadataUpdater.acceptOperation(entry);
 
         log.trace("{}: DataFrameBuilder.Append {}.", this.traceObjectId, entry);
     }
@@ -492,6 +533,7 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
         void frameSealed(DataFrameBuilder.CommitArgs commitArgs) {
             synchronized (stateLock) {
                 commitArgs.setMetadataTransactionId(OperationProcessor.this.metadataUpdater.sealTransaction());
+                this.nextFrameOperations.forEach(o -> o.stageCompleted(CompletableOperation.Stage.DataFrame));
                 commitArgs.setOperations(Collections.unmodifiableList(this.nextFrameOperations));
                 this.nextFrameOperations = new ArrayList<>();
                 this.metadataTransactions.addLast(commitArgs);
@@ -537,6 +579,7 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
                     // Collect operations to commit.
                     Timer memoryCommitTimer = new Timer();
                     toAck = collectCompletionCandidates(commitArgs);
+                    toAck.stream().flatMap(Collection::stream).forEach(o -> o.stageCompleted(CompletableOperation.Stage.DurableLog));
 
                     // Commit metadata updates.
                     int updateTxnCommitCount = OperationProcessor.this.metadataUpdater.commit(commitArgs.getMetadataTransactionId());
@@ -551,6 +594,7 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
                 if (toAck != null) {
                     toAck.stream().flatMap(Collection::stream).forEach(CompletableOperation::complete);
                     metrics.operationsCompleted(toAck, timer.getElapsed());
+                    traceSampled(toAck);
                 }
                 this.checkpointPolicy.recordCommit(commitArgs.getDataFrameLength());
             }
@@ -605,6 +649,29 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
             operation.fail(failureCause);
         }
 
+        /**
+         * Logs the latency breakdown (per CompletableOperation.Stage) of a sample of the given completed operations.
+         * This is only done if trace logging is enabled, and only for one in every TRACE_SAMPLE_RATE operations.
+         *
+         * @param completed The completed operations.
+         */
+        private void traceSampled(List<List<CompletableOperation>> completed) {
+            if (!log.isTraceEnabled()) {
+                return;
+            }
+
+            completed.stream()
+                     .flatMap(Collection::stream)
+                     .filter(o -> o.getOperation().getSequenceNumber() % TRACE_SAMPLE_RATE == 0)
+                     .forEach(o -> log.trace("{}: Completed {} in {}us (Queue={}us, Process={}us, DataFrame={}us, DurableLog={}us, Commit={}us).",
+                             traceObjectId, o.getOperation(), o.getTimer().getElapsedNanos() / 1000,
+                             o.getStageDurationNanos(CompletableOperation.Stage.Queue) / 1000,
+                             o.getStageDurationNanos(CompletableOperation.Stage.Process) / 1000,
+                             o.getStageDurationNanos(CompletableOperation.Stage.DataFrame) / 1000,
+                             o.getStageDurationNanos(CompletableOperation.Stage.DurableLog) / 1000,
+                             o.getStageDurationNanos(CompletableOperation.Stage.Commit) / 1000));
+        }
+
         /**
          * Collects all Operations that have been successfully committed to DurableDataLog and removes the associated
          * Metadata Update Transactions for those commits. The operations themselves are not completed (since we are
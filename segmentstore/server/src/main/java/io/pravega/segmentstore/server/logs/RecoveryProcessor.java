@@ -12,6 +12,8 @@ package io.pravega.segmentstore.server.logs;
 import com.google.common.base.Preconditions;
 import io.pravega.common.LoggerHelpers;
 import io.pravega.common.Timer;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.util.CloseableIterator;
 import io.pravega.segmentstore.contracts.ContainerException;
 import io.pravega.segmentstore.contracts.StreamSegmentException;
 import io.pravega.segmentstore.server.DataCorruptionException;
@@ -20,11 +22,17 @@ import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperatio
 import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.logs.operations.OperationSerializer;
 import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
 import io.pravega.segmentstore.storage.LogAddress;
+import java.util.concurrent.ScheduledExecutorService;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Helper class (for the DurableLog) that is used to execute the recovery process.
+ *
+ * If configured with a positive read-ahead count, recovery is pipelined: DataFrames are read from the DurableDataLog
+ * ahead of time (on a dedicated thread) and decoded on a small, dedicated thread pool (see DataFramePrefetcher), while
+ * the recovered Operations are applied to the metadata and the in-memory structures (in order) on the calling thread.
  */
 @Slf4j
 class RecoveryProcessor {
@@ -33,6 +41,8 @@ class RecoveryProcessor {
     private final UpdateableContainerMetadata metadata;
     private final DurableDataLog durableDataLog;
     private final MemoryStateUpdater stateUpdater;
+    private final int readAheadCount;
+    private final int decodeThreadCount;
     private final String traceObjectId;
 
     //endregion
@@ -47,9 +57,30 @@ class RecoveryProcessor {
      * @param stateUpdater     A MemoryStateUpdater that can be used to apply the recovered operations.
      */
     RecoveryProcessor(UpdateableContainerMetadata metadata, DurableDataLog durableDataLog, MemoryStateUpdater stateUpdater) {
+        this(metadata, durableDataLog, stateUpdater, 0, 1);
+    }
+
+    /**
+     * Creates a new instance of the RecoveryProcessor class which pipelines the recovery process as configured.
+     *
+     * @param metadata         The UpdateableContainerMetadata to use for recovery.
+     * @param durableDataLog   The (uninitialized) DurableDataLog to read data from for recovery.
+     * @param stateUpdater     A MemoryStateUpdater that can be used to apply the recovered operations.
+     * @param config           A DurableLogConfig to get the read-ahead settings from.
+     */
+    RecoveryProcessor(UpdateableContainerMetadata metadata, DurableDataLog durableDataLog, MemoryStateUpdater stateUpdater, DurableLogConfig config) {
+        this(metadata, durableDataLog, stateUpdater, config.getRecoveryReadAheadCount(), config.getRecoveryDecodeThreadCount());
+    }
+
+    private RecoveryProcessor(UpdateableContainerMetadata metadata, DurableDataLog durableDataLog, MemoryStateUpdater stateUpdater,
+                              int readAheadCount, int decodeThreadCount) {
         this.metadata = Preconditions.checkNotNull(metadata, "metadata");
         this.durableDataLog = Preconditions.checkNotNull(durableDataLog, "durableDataLog");
         this.stateUpdater = Preconditions.checkNotNull(stateUpdater, "stateUpdater");
+        Preconditions.checkArgument(readAheadCount >= 0, "readAheadCount must be a non-negative number.");
+        Preconditions.checkArgument(decodeThreadCount > 0, "decodeThreadCount must be a positive number.");
+        this.readAheadCount = readAheadCount;
+        this.decodeThreadCount = decodeThreadCount;
         this.traceObjectId = String.format("RecoveryProcessor[%s]", this.metadata.getContainerId());
     }
 
@@ -110,7 +141,9 @@ class RecoveryProcessor {
      * until the first MetadataCheckpointOperation is encountered. All Operations prior to this one are skipped over.
      * Recovery starts with the first MetadataCheckpointOperation and runs until the end of the DurableDataLog is reached.
      * Subsequent MetadataCheckpointOperations are ignored (as they contain redundant information - which has already
-     * been built up using the Operations up to them).
+     * been built up using the Operations up to them), while MetadataDeltaCheckpointOperations are applied in order
+     * (MetadataDeltaCheckpointOperations prior to the first MetadataCheckpointOperation are skipped over, like any other
+     * Operation).
      *
      * @param metadataUpdater The OperationMetadataUpdater to use for updates.
      * @return The number of Operations recovered.
@@ -123,7 +156,17 @@ class RecoveryProcessor {
 
         // Read all entries from the DataFrameLog and append them to the InMemoryOperationLog.
         // Also update metadata along the way.
-        try (DataFrameReader<Operation> reader = new DataFrameReader<>(this.durableDataLog, OperationSerializer.DEFAULT, this.metadata.getContainerId())) {
+        ScheduledExecutorService prefetchExecutor = null;
+        CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> logReader = this.durableDataLog.getReader();
+        if (this.readAheadCount > 0) {
+            // One thread for reading from the DurableDataLog, and the rest for decoding DataFrames. This is a dedicated
+            // pool since the reading thread will block, and we do not want to starve (or deadlock) the shared executor.
+            prefetchExecutor = ExecutorServiceHelpers.newScheduledThreadPool(this.decodeThreadCount + 1,
+                    "recovery-" + this.metadata.getContainerId());
+            logReader = new DataFramePrefetcher(logReader, this.readAheadCount, prefetchExecutor, prefetchExecutor, this.traceObjectId);
+        }
+
+        try (DataFrameReader<Operation> reader = new DataFrameReader<>(logReader, OperationSerializer.DEFAULT, this.metadata.getContainerId())) {
             DataFrameRecord<Operation> dataFrameRecord;
 
             // We can only recover starting from a MetadataCheckpointOperation; find the first one.
@@ -158,6 +201,12 @@ class RecoveryProcessor {
                 // Fetch the next operation.
                 dataFrameRecord = reader.getNext();
             }
+        } finally {
+            if (prefetchExecutor != null) {
+                // Do not wait for the tasks to complete; the DataFrameReader has closed the DataFramePrefetcher, which
+                // will stop reading (and release the DurableDataLog reader) as soon as its current read is done.
+                prefetchExecutor.shutdown();
+            }
         }
 
         // Commit whatever changes we have in the metadata updater to the Container Metadata.
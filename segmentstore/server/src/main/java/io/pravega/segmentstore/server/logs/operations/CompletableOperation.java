@@ -30,6 +30,7 @@ public class CompletableOperation {
     private final Consumer<Void> successHandler;
     @Getter
     private final Timer timer;
+    private final long[] stageEndNanos;
     private boolean done;
 
     //endregion
@@ -63,6 +64,7 @@ public class CompletableOperation {
         this.failureHandler = failureHandler;
         this.successHandler = successHandler;
         this.timer = new Timer();
+        this.stageEndNanos = new long[Stage.values().length];
     }
 
     //endregion
@@ -77,6 +79,36 @@ public class CompletableOperation {
         return this.operation;
     }
 
+    /**
+     * Records the fact that this operation has completed the given Stage.
+     *
+     * @param stage The Stage that was completed.
+     */
+    public void stageCompleted(Stage stage) {
+        this.stageEndNanos[stage.ordinal()] = Math.max(1, this.timer.getElapsedNanos());
+    }
+
+    /**
+     * Gets the amount of time this operation spent in the given Stage. This is measured from the end of the last
+     * completed Stage prior to it (or from the creation of this CompletableOperation, if there is no such Stage).
+     *
+     * @param stage The Stage to query.
+     * @return The duration of the Stage, in nanoseconds, or -1 if the Stage has not been completed.
+     */
+    public long getStageDurationNanos(Stage stage) {
+        long end = this.stageEndNanos[stage.ordinal()];
+        if (end == 0) {
+            return -1;
+        }
+
+        long start = 0;
+        for (int i = stage.ordinal() - 1; i >= 0 && start == 0; i--) {
+            start = this.stageEndNanos[i];
+        }
+
+        return Math.max(0, end - start);
+    }
+
     /**
      * Completes the operation (no exception).
      */
@@ -84,6 +116,7 @@ public class CompletableOperation {
         long seqNo = this.operation.getSequenceNumber();
         Preconditions.checkState(seqNo >= 0, "About to complete a CompletableOperation that has no sequence number.");
 
+        stageCompleted(Stage.Commit);
         this.done = true;
         if (this.successHandler != null) {
             Callbacks.invokeSafely(this.successHandler, null, cex -> log.error("Success Callback invocation failure.", cex));
@@ -112,4 +145,34 @@ public class CompletableOperation {
     }
 
     //endregion
+
+    //region Stage
+
+    /**
+     * Defines the stages an Operation goes through in the OperationProcessor, in order.
+     */
+    public enum Stage {
+        /**
+         * Waiting in the OperationProcessor's queue.
+         */
+        Queue,
+        /**
+         * Pre-processing (validation, metadata updates, sequence number assignment) and serialization into a DataFrame.
+         */
+        Process,
+        /**
+         * Waiting for the DataFrame that contains the operation to be sealed.
+         */
+        DataFrame,
+        /**
+         * Writing the DataFrame to the DurableDataLog (including any queueing within it), until acknowledged.
+         */
+        DurableLog,
+        /**
+         * Committing to the in-memory structures, until completed.
+         */
+        Commit
+    }
+
+    //endregion
 }
@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs.operations;
+
+/**
+ * Log Operation that contains a checkpoint of only those Segments in the Metadata that have changed since the previous
+ * MetadataCheckpointOperation or MetadataDeltaCheckpointOperation. Unlike MetadataCheckpointOperations, these are not
+ * valid truncation points, since they can only be applied on top of the full checkpoint that precedes them.
+ */
+public class MetadataDeltaCheckpointOperation extends CheckpointOperationBase {
+    static class Serializer extends SerializerBase<MetadataDeltaCheckpointOperation> {
+        @Override
+        protected OperationBuilder<MetadataDeltaCheckpointOperation> newBuilder() {
+            return new OperationBuilder<>(new MetadataDeltaCheckpointOperation());
+        }
+    }
+}
@@ -12,22 +12,30 @@ package io.pravega.segmentstore.server.logs.operations;
 import com.google.common.base.Preconditions;
 import io.pravega.common.io.serialization.RevisionDataInput;
 import io.pravega.common.io.serialization.RevisionDataOutput;
+import io.pravega.common.util.BufferView;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.contracts.AttributeUpdate;
 import io.pravega.segmentstore.contracts.AttributeUpdateType;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Log Operation that represents a StreamSegment Append. This operation, as opposed from CachedStreamSegmentAppendOperation,
  * can be serialized to a DurableDataLog. This operation (although possible), should not be directly added to the In-Memory Transaction Log.
+ *
+ * The data buffer is retained (see BufferView.retain()) upon construction and released when close() is invoked. This
+ * allows callers to pass in buffers that they do not own (i.e., reference-counted network buffers), without having to
+ * make a copy of them.
  */
-public class StreamSegmentAppendOperation extends StorageOperation implements AttributeUpdaterOperation {
+public class StreamSegmentAppendOperation extends StorageOperation implements AttributeUpdaterOperation, AutoCloseable {
     //region Members
 
     private static final long NO_OFFSET = -1;
     private long streamSegmentOffset;
-    private byte[] data;
+    private BufferView data;
     private Collection<AttributeUpdate> attributeUpdates;
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     //endregion
 
@@ -53,10 +61,34 @@ public class StreamSegmentAppendOperation extends StorageOperation implements At
      * @param attributeUpdates (Optional) The attributeUpdates to update with this append.
      */
     public StreamSegmentAppendOperation(long streamSegmentId, long offset, byte[] data, Collection<AttributeUpdate> attributeUpdates) {
+        this(streamSegmentId, offset, new ByteArraySegment(Preconditions.checkNotNull(data, "data")), attributeUpdates);
+    }
+
+    /**
+     * Creates a new instance of the StreamSegmentAppendOperation class.
+     *
+     * @param streamSegmentId  The Id of the StreamSegment to append to.
+     * @param data             A BufferView representing the payload to append. This will be retained until close() is invoked.
+     * @param attributeUpdates (Optional) The attributeUpdates to update with this append.
+     */
+    public StreamSegmentAppendOperation(long streamSegmentId, BufferView data, Collection<AttributeUpdate> attributeUpdates) {
+        this(streamSegmentId, NO_OFFSET, data, attributeUpdates);
+    }
+
+    /**
+     * Creates a new instance of the StreamSegmentAppendOperation class.
+     *
+     * @param streamSegmentId  The Id of the StreamSegment to append to.
+     * @param offset           The offset to append at.
+     * @param data             A BufferView representing the payload to append. This will be retained until close() is invoked.
+     * @param attributeUpdates (Optional) The attributeUpdates to update with this append.
+     */
+    public StreamSegmentAppendOperation(long streamSegmentId, long offset, BufferView data, Collection<AttributeUpdate> attributeUpdates) {
         super(streamSegmentId);
         Preconditions.checkNotNull(data, "data");
 
         this.data = data;
+        this.data.retain();
         this.streamSegmentOffset = offset;
         this.attributeUpdates = attributeUpdates;
     }
@@ -86,7 +118,7 @@ public class StreamSegmentAppendOperation extends StorageOperation implements At
      *
      * @return The data buffer.
      */
-    public byte[] getData() {
+    public BufferView getData() {
         return this.data;
     }
 
@@ -111,7 +143,7 @@ public class StreamSegmentAppendOperation extends StorageOperation implements At
 
     @Override
     public long getLength() {
-        return this.data.length;
+        return this.data.getLength();
     }
 
     @Override
@@ -120,12 +152,27 @@ public class StreamSegmentAppendOperation extends StorageOperation implements At
                 "%s, Offset = %s, Length = %d, Attributes = %d",
                 super.toString(),
                 toString(this.streamSegmentOffset, -1),
-                this.data.length,
+                this.data.getLength(),
                 this.attributeUpdates == null ? 0 : this.attributeUpdates.size());
     }
 
     //endregion
 
+    //region AutoCloseable Implementation
+
+    /**
+     * Releases the data buffer held by this operation. This should be invoked once the data is no longer needed (i.e.,
+     * after it has been added to the ReadIndex or if the operation failed). Subsequent invocations have no effect.
+     */
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            this.data.release();
+        }
+    }
+
+    //endregion
+
     static class Serializer extends OperationSerializer<StreamSegmentAppendOperation> {
         private static final int STATIC_LENGTH = 3 * Long.BYTES;
         private static final int ATTRIBUTE_UPDATE_LENGTH = RevisionDataOutput.UUID_BYTES + Byte.BYTES + 2 * Long.BYTES;
@@ -153,11 +200,11 @@ public class StreamSegmentAppendOperation extends StorageOperation implements At
 
         private void write00(StreamSegmentAppendOperation o, RevisionDataOutput target) throws IOException {
             int attributesLength = o.attributeUpdates == null ? target.getCompactIntLength(0) : target.getCollectionLength(o.attributeUpdates.size(), ATTRIBUTE_UPDATE_LENGTH);
-            target.length(STATIC_LENGTH + target.getCompactIntLength(o.data.length) + o.data.length + attributesLength);
+            target.length(STATIC_LENGTH + target.getCompactIntLength(o.data.getLength()) + o.data.getLength() + attributesLength);
             target.writeLong(o.getSequenceNumber());
             target.writeLong(o.getStreamSegmentId());
             target.writeLong(o.streamSegmentOffset);
-            target.writeArray(o.data);
+            target.writeBuffer(o.data);
             target.writeCollection(o.attributeUpdates, this::writeAttributeUpdate00);
         }
 
@@ -165,7 +212,7 @@ public class StreamSegmentAppendOperation extends StorageOperation implements At
             b.instance.setSequenceNumber(source.readLong());
             b.instance.setStreamSegmentId(source.readLong());
             b.instance.streamSegmentOffset = source.readLong();
-            b.instance.data = source.readArray();
+            b.instance.data = new ByteArraySegment(source.readArray());
             b.instance.attributeUpdates = source.readCollection(this::readAttributeUpdate00);
         }
 
@@ -13,7 +13,6 @@ import io.pravega.common.Exceptions;
 import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.ReadResultEntryType;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 
 /**
@@ -33,7 +32,7 @@ class CacheReadResultEntry extends ReadResultEntryBase {
     CacheReadResultEntry(long streamSegmentOffset, byte[] data, int dataOffset, int dataLength) {
         super(ReadResultEntryType.Cache, streamSegmentOffset + dataOffset, dataLength);
         Exceptions.checkArrayRange(dataOffset, dataLength, data.length, "dataOffset", "dataLength");
-        complete(new ReadResultEntryContents(new ByteArrayInputStream(data, dataOffset, dataLength), dataLength));
+        complete(new ReadResultEntryContents(data, dataOffset, dataLength));
     }
 
     /**
@@ -12,6 +12,7 @@ package io.pravega.segmentstore.server.reading;
 import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.ObjectClosedException;
+import io.pravega.common.util.BufferView;
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
 import io.pravega.segmentstore.server.CacheManager;
@@ -57,6 +58,7 @@ public class ContainerReadIndex implements ReadIndex {
     private final HashMap<Long, StreamSegmentReadIndex> readIndices;
     private final Object lock = new Object();
     private final Cache cache;
+    private final Cache diskCache;
     private final ReadOnlyStorage storage;
     private final ScheduledExecutorService executor;
     private final ReadIndexConfig config;
@@ -82,6 +84,23 @@ public class ContainerReadIndex implements ReadIndex {
      * @param executor     An Executor to run async callbacks on.
      */
     public ContainerReadIndex(ReadIndexConfig config, ContainerMetadata metadata, CacheFactory cacheFactory, ReadOnlyStorage storage, CacheManager cacheManager, ScheduledExecutorService executor) {
+        this(config, metadata, cacheFactory, null, storage, cacheManager, executor);
+    }
+
+    /**
+     * Creates a new instance of the ContainerReadIndex class.
+     *
+     * @param config           Configuration for the ReadIndex.
+     * @param metadata         The ContainerMetadata to attach to.
+     * @param cacheFactory     A CacheFactory that can be used to create Caches for storing data into.
+     * @param diskCacheFactory (Optional) A CacheFactory that can be used to create Caches for storing data evicted from
+     *                         the main Cache. If null, evicted data is discarded.
+     * @param storage          Storage to read data not in the ReadIndex from.
+     * @param cacheManager     The CacheManager to use for cache lifecycle management.
+     * @param executor         An Executor to run async callbacks on.
+     */
+    public ContainerReadIndex(ReadIndexConfig config, ContainerMetadata metadata, CacheFactory cacheFactory, CacheFactory diskCacheFactory,
+                              ReadOnlyStorage storage, CacheManager cacheManager, ScheduledExecutorService executor) {
         Preconditions.checkNotNull(config, "config");
         Preconditions.checkNotNull(metadata, "metadata");
         Preconditions.checkNotNull(cacheFactory, "cacheFactory");
@@ -94,6 +113,7 @@ public class ContainerReadIndex implements ReadIndex {
         this.readIndices = new HashMap<>();
         this.config = config;
         this.cache = cacheFactory.getCache(String.format("Container_%d", metadata.getContainerId()));
+        this.diskCache = diskCacheFactory == null ? null : diskCacheFactory.getCache(String.format("Container_%d", metadata.getContainerId()));
         this.metadata = metadata;
         this.storage = storage;
         this.cacheManager = cacheManager;
@@ -111,6 +131,10 @@ public class ContainerReadIndex implements ReadIndex {
         if (!this.closed.getAndSet(true)) {
             closeAllIndices(false); // Do not individually clear the cache; we are wiping it anyway when closing it.
             this.cache.close();
+            if (this.diskCache != null) {
+                this.diskCache.close();
+            }
+
             log.info("{}: Closed.", this.traceObjectId);
         }
     }
@@ -120,9 +144,9 @@ public class ContainerReadIndex implements ReadIndex {
     //region ReadIndex Implementation
 
     @Override
-    public void append(long streamSegmentId, long offset, byte[] data) throws StreamSegmentNotExistsException {
+    public void append(long streamSegmentId, long offset, BufferView data) throws StreamSegmentNotExistsException {
         Exceptions.checkNotClosed(this.closed.get(), this);
-        log.debug("{}: append (StreamSegmentId = {}, Offset = {}, DataLength = {}).", this.traceObjectId, streamSegmentId, offset, data.length);
+        log.debug("{}: append (StreamSegmentId = {}, Offset = {}, DataLength = {}).", this.traceObjectId, streamSegmentId, offset, data.getLength());
 
         // Append the data to the StreamSegment Index. It performs further validation with respect to offsets, etc.
         StreamSegmentReadIndex index = getOrCreateIndex(streamSegmentId);
@@ -367,7 +391,8 @@ public class ContainerReadIndex implements ReadIndex {
                     throw new StreamSegmentNotExistsException(segmentMetadata.getName());
                 }
 
-                index = new StreamSegmentReadIndex(this.config, segmentMetadata, this.cache, this.storage, this.executor, isRecoveryMode());
+                index = new StreamSegmentReadIndex(this.config, segmentMetadata, this.cache, this.diskCache, this.storage, this.cacheManager,
+                        this.executor, isRecoveryMode());
                 this.cacheManager.register(index);
                 this.readIndices.put(streamSegmentId, index);
             }
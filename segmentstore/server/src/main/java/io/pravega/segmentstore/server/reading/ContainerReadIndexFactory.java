@@ -26,6 +26,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class ContainerReadIndexFactory implements ReadIndexFactory {
     private final ScheduledExecutorService executorService;
     private final CacheFactory cacheFactory;
+    private final CacheFactory diskCacheFactory;
     private final ReadIndexConfig config;
     private final CacheManager cacheManager;
     private final AtomicBoolean closed;
@@ -39,8 +40,24 @@ public class ContainerReadIndexFactory implements ReadIndexFactory {
      * @param executorService The Executor to use to invoke async callbacks.
      */
     public ContainerReadIndexFactory(ReadIndexConfig config, CacheFactory cacheFactory, CacheManager cacheManager, ScheduledExecutorService executorService) {
+        this(config, cacheFactory, null, cacheManager, executorService);
+    }
+
+    /**
+     * Creates a new instance of the ContainerReadIndexFactory class.
+     *
+     * @param config           Configuration for the ReadIndex.
+     * @param cacheFactory     The CacheFactory to use to create Caches for the ReadIndex.
+     * @param diskCacheFactory (Optional) The CacheFactory to use to create Caches for entries evicted from the main Cache.
+     *                         If null, such entries will be discarded.
+     * @param cacheManager     The CacheManager to use to manage Cache entries.
+     * @param executorService  The Executor to use to invoke async callbacks.
+     */
+    public ContainerReadIndexFactory(ReadIndexConfig config, CacheFactory cacheFactory, CacheFactory diskCacheFactory,
+                                     CacheManager cacheManager, ScheduledExecutorService executorService) {
         this.config = Preconditions.checkNotNull(config, "config");
         this.cacheFactory = Preconditions.checkNotNull(cacheFactory, "cacheFactory");
+        this.diskCacheFactory = diskCacheFactory;
         this.executorService = Preconditions.checkNotNull(executorService, "executorService");
         this.cacheManager = Preconditions.checkNotNull(cacheManager, "cacheManager");
         this.closed = new AtomicBoolean();
@@ -49,7 +66,8 @@ public class ContainerReadIndexFactory implements ReadIndexFactory {
     @Override
     public ReadIndex createReadIndex(ContainerMetadata containerMetadata, ReadOnlyStorage storage) {
         Exceptions.checkNotClosed(this.closed.get(), this);
-        return new ContainerReadIndex(this.config, containerMetadata, this.cacheFactory, storage, this.cacheManager, this.executorService);
+        return new ContainerReadIndex(this.config, containerMetadata, this.cacheFactory, this.diskCacheFactory, storage,
+                this.cacheManager, this.executorService);
     }
 
     @Override
@@ -0,0 +1,336 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.reading;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.pravega.common.util.SortedIndex;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * SortedIndex for ReadIndexEntries that stores its entries in packed primitive arrays instead of as tree nodes.
+ * <p>
+ * Each entry takes up one slot in a set of parallel arrays, ordered by offset: one long for the offset and one long for
+ * the length and generation. {@link CacheIndexEntry} instances (which make up the vast majority of the entries in a
+ * ReadIndex) are not retained; instead, a lightweight CacheIndexEntry is created whenever one is returned by a lookup.
+ * Updating the generation of such an entry updates it in the index as well. All other entries
+ * ({@link MergedIndexEntry}, {@link RedirectIndexEntry}) are retained as-is in an additional array, which is only
+ * allocated when the first such entry is inserted.
+ * <p>
+ * The occupied slots need not begin at the start of the arrays, so adding an entry with a higher offset than all the
+ * others (appends) and removing the entry with the lowest offset (evictions) are both amortized constant-time operations.
+ * All other insertions and removals require shifting the slots after them, and all lookups are binary searches.
+ * <p>
+ * Note: This class is not thread-safe and requires external synchronization when in a multi-threaded environment.
+ */
+@NotThreadSafe
+class PackedReadIndexEntries implements SortedIndex<ReadIndexEntry> {
+    //region Members
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long LOW_INT_MASK = 0xFFFF_FFFFL;
+    private long[] offsets;
+    private long[] lengthsAndGenerations;
+    private ReadIndexEntry[] retainedEntries;
+    private int retainedCount;
+    private int head;
+    private int size;
+    private int modCount;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the PackedReadIndexEntries class.
+     */
+    PackedReadIndexEntries() {
+        this.offsets = new long[INITIAL_CAPACITY];
+        this.lengthsAndGenerations = new long[INITIAL_CAPACITY];
+    }
+
+    //endregion
+
+    //region SortedIndex Implementation
+
+    @Override
+    public void clear() {
+        this.offsets = new long[INITIAL_CAPACITY];
+        this.lengthsAndGenerations = new long[INITIAL_CAPACITY];
+        this.retainedEntries = null;
+        this.retainedCount = 0;
+        this.head = 0;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public ReadIndexEntry put(ReadIndexEntry item) {
+        Preconditions.checkNotNull(item, "item");
+        int position = find(item.key());
+        if (position >= 0) {
+            // Replace the existing entry.
+            ReadIndexEntry oldEntry = getEntry(position);
+            set(position, item);
+            this.modCount++;
+            return oldEntry;
+        }
+
+        position = -position - 1;
+        if (position == this.head && this.head > 0) {
+            // There is room before the first entry.
+            this.head--;
+            position = this.head;
+        } else {
+            if (this.head + this.size == this.offsets.length) {
+                ensureTailCapacity();
+                position = -find(item.key()) - 1;
+            }
+
+            int end = this.head + this.size;
+            if (position < end) {
+                shift(position, position + 1, end - position);
+            }
+        }
+
+        this.size++;
+        set(position, item);
+        this.modCount++;
+        return null;
+    }
+
+    @Override
+    public ReadIndexEntry remove(long key) {
+        int position = find(key);
+        if (position < 0) {
+            return null;
+        }
+
+        ReadIndexEntry result = getEntry(position);
+        if (isRetained(position)) {
+            this.retainedEntries[position] = null;
+            this.retainedCount--;
+        }
+
+        if (position == this.head) {
+            // Removing the first entry does not require shifting any other entries.
+            this.head++;
+        } else {
+            int end = this.head + this.size;
+            shift(position + 1, position, end - position - 1);
+            if (this.retainedEntries != null) {
+                this.retainedEntries[end - 1] = null;
+            }
+        }
+
+        this.size--;
+        if (this.size == 0) {
+            this.head = 0;
+        }
+
+        if (this.retainedCount == 0) {
+            this.retainedEntries = null;
+        }
+
+        if (this.offsets.length > INITIAL_CAPACITY && this.size < this.offsets.length / 4) {
+            resize(Math.max(INITIAL_CAPACITY, this.offsets.length / 2));
+        }
+
+        this.modCount++;
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public ReadIndexEntry get(long key) {
+        int position = find(key);
+        return position >= 0 ? getEntry(position) : null;
+    }
+
+    @Override
+    public ReadIndexEntry getCeiling(long key) {
+        int position = find(key);
+        if (position < 0) {
+            // Not an exact match; the insertion point is the position of the next higher entry.
+            position = -position - 1;
+        }
+
+        return position < this.head + this.size ? getEntry(position) : null;
+    }
+
+    @Override
+    public ReadIndexEntry getFloor(long key) {
+        int position = find(key);
+        if (position < 0) {
+            // Not an exact match; the entry before the insertion point is the next lower entry.
+            position = -position - 2;
+        }
+
+        return position >= this.head ? getEntry(position) : null;
+    }
+
+    @Override
+    public ReadIndexEntry getFirst() {
+        return this.size == 0 ? null : getEntry(this.head);
+    }
+
+    @Override
+    public ReadIndexEntry getLast() {
+        return this.size == 0 ? null : getEntry(this.head + this.size - 1);
+    }
+
+    @Override
+    public void forEach(Consumer<ReadIndexEntry> consumer) {
+        Preconditions.checkNotNull(consumer, "consumer");
+        final int originalModCount = this.modCount;
+        for (int i = 0; i < this.size; i++) {
+            if (originalModCount != this.modCount) {
+                throw new ConcurrentModificationException("PackedReadIndexEntries has been modified; forEach cannot continue.");
+            }
+
+            consumer.accept(getEntry(this.head + i));
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    /**
+     * Gets the number of slots allocated in the arrays.
+     */
+    @VisibleForTesting
+    int getCapacity() {
+        return this.offsets.length;
+    }
+
+    private int find(long key) {
+        return Arrays.binarySearch(this.offsets, this.head, this.head + this.size, key);
+    }
+
+    private boolean isRetained(int position) {
+        return this.retainedEntries != null && this.retainedEntries[position] != null;
+    }
+
+    private ReadIndexEntry getEntry(int position) {
+        if (isRetained(position)) {
+            return this.retainedEntries[position];
+        }
+
+        long lengthAndGeneration = this.lengthsAndGenerations[position];
+        return new PackedEntry(this.offsets[position], (int) (lengthAndGeneration >>> 32), (int) (lengthAndGeneration & LOW_INT_MASK));
+    }
+
+    private void set(int position, ReadIndexEntry entry) {
+        this.offsets[position] = entry.key();
+        if (entry.getClass() == CacheIndexEntry.class || entry.getClass() == PackedEntry.class) {
+            this.lengthsAndGenerations[position] = pack((int) entry.getLength(), entry.getGeneration());
+            if (isRetained(position)) {
+                this.retainedEntries[position] = null;
+                this.retainedCount--;
+            }
+        } else {
+            if (this.retainedEntries == null) {
+                this.retainedEntries = new ReadIndexEntry[this.offsets.length];
+            }
+
+            if (this.retainedEntries[position] == null) {
+                this.retainedCount++;
+            }
+
+            this.lengthsAndGenerations[position] = 0;
+            this.retainedEntries[position] = entry;
+        }
+    }
+
+    private void setGeneration(long key, int length, int generation) {
+        int position = find(key);
+        if (position >= 0 && !isRetained(position) && (int) (this.lengthsAndGenerations[position] >>> 32) == length) {
+            this.lengthsAndGenerations[position] = pack(length, generation);
+        }
+    }
+
+    private void shift(int from, int to, int count) {
+        System.arraycopy(this.offsets, from, this.offsets, to, count);
+        System.arraycopy(this.lengthsAndGenerations, from, this.lengthsAndGenerations, to, count);
+        if (this.retainedEntries != null) {
+            System.arraycopy(this.retainedEntries, from, this.retainedEntries, to, count);
+            if (to > from) {
+                // The slot we shifted from will be overwritten; make sure it does not keep a stale retained entry.
+                this.retainedEntries[from] = null;
+            }
+        }
+    }
+
+    /**
+     * Makes room for at least one more slot at the end of the arrays, either by moving the existing entries to the
+     * beginning of the arrays (if enough slots have been freed up there) or by growing the arrays.
+     */
+    private void ensureTailCapacity() {
+        int capacity = this.offsets.length;
+        if (this.head < capacity / 2) {
+            capacity *= 2;
+        }
+
+        resize(capacity);
+    }
+
+    private void resize(int capacity) {
+        assert capacity >= this.size : "capacity less than size";
+        this.offsets = copy(this.offsets, new long[capacity]);
+        this.lengthsAndGenerations = copy(this.lengthsAndGenerations, new long[capacity]);
+        if (this.retainedEntries != null) {
+            ReadIndexEntry[] newRetained = new ReadIndexEntry[capacity];
+            System.arraycopy(this.retainedEntries, this.head, newRetained, 0, this.size);
+            this.retainedEntries = newRetained;
+        }
+
+        this.head = 0;
+    }
+
+    private long[] copy(long[] source, long[] target) {
+        System.arraycopy(source, this.head, target, 0, this.size);
+        return target;
+    }
+
+    private static long pack(int length, int generation) {
+        return ((long) length << 32) | (generation & LOW_INT_MASK);
+    }
+
+    //endregion
+
+    //region PackedEntry
+
+    /**
+     * A CacheIndexEntry that is created from the contents of the packed arrays. Updates to its generation are applied
+     * to the index too, as long as it still contains an entry with the same offset and length.
+     */
+    private class PackedEntry extends CacheIndexEntry {
+        PackedEntry(long streamSegmentOffset, int length, int generation) {
+            super(streamSegmentOffset, length);
+            super.setGeneration(generation);
+        }
+
+        @Override
+        synchronized void setGeneration(int generation) {
+            super.setGeneration(generation);
+            PackedReadIndexEntries.this.setGeneration(key(), (int) getLength(), generation);
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.reading;
+
+import com.google.common.base.Preconditions;
+import javax.annotation.concurrent.NotThreadSafe;
+import lombok.Data;
+
+/**
+ * Detects sequential access patterns in the reads of a single StreamSegment and determines which ranges of the Segment
+ * should be read ahead (prefetched) from Storage.
+ *
+ * A read is considered sequential if it begins where the previous read ended, or anywhere within the range that has
+ * already been read ahead. Once a sequential pattern is detected, data is read ahead in blocks (of a configured size),
+ * and the read-ahead window is topped up as the reader consumes it. The size of the window adapts to the reader:
+ * * Every time a sequential reader misses the cache (it has caught up with the read-ahead), the window doubles in size,
+ * up to a configured maximum.
+ * * A non-sequential read resets the window.
+ * * As the cache utilization increases beyond a threshold, the window is scaled down; no data is read ahead if the
+ * cache is full.
+ */
+@NotThreadSafe
+class ReadAheadTracker {
+    //region Members
+
+    /**
+     * Cache utilization beyond which the read-ahead window is scaled down.
+     */
+    private static final double CACHE_PRESSURE_THRESHOLD = 0.5;
+    private final int blockSize;
+    private final int maxBlockCount;
+    private long readerOffset;
+    private long readAheadOffset;
+    private int blockCount;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the ReadAheadTracker class.
+     *
+     * @param blockSize     The size of a read-ahead block. All read-ahead ranges will end at a multiple of this value.
+     * @param maxBlockCount The maximum number of blocks to read ahead.
+     */
+    ReadAheadTracker(int blockSize, int maxBlockCount) {
+        Preconditions.checkArgument(blockSize > 0, "blockSize must be a positive integer.");
+        Preconditions.checkArgument(maxBlockCount > 0, "maxBlockCount must be a positive integer.");
+        this.blockSize = blockSize;
+        this.maxBlockCount = maxBlockCount;
+        this.readerOffset = -1;
+        this.readAheadOffset = -1;
+        this.blockCount = 0;
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Records the fact that a read was served from Storage (it was not in the cache).
+     *
+     * @param offset The offset of the read.
+     * @param length The length of the read.
+     */
+    void recordStorageRead(long offset, int length) {
+        if (isSequential(offset)) {
+            // The reader has caught up with us. Read further ahead.
+            this.blockCount = Math.min(this.maxBlockCount, Math.max(1, this.blockCount * 2));
+        } else {
+            // Random access (or first read). Do not read ahead until we know this is sequential.
+            this.blockCount = 0;
+            this.readAheadOffset = offset + length;
+        }
+
+        this.readerOffset = offset + length;
+        this.readAheadOffset = Math.max(this.readAheadOffset, this.readerOffset);
+    }
+
+    /**
+     * Records the fact that a read was served from the cache.
+     *
+     * @param offset The offset of the read.
+     * @param length The length of the read.
+     */
+    void recordCacheRead(long offset, int length) {
+        if (this.blockCount > 0 && offset >= this.readerOffset && offset < this.readAheadOffset) {
+            // The reader is consuming data that we have read ahead.
+            this.readerOffset = Math.min(offset + length, this.readAheadOffset);
+        }
+    }
+
+    /**
+     * Determines the next range to read ahead, if any, and records it as being read ahead. A range is returned only if
+     * the read-ahead window is less than half full.
+     *
+     * @param maxOffset        The offset beyond which no data can be read ahead (i.e., the length of the Segment in Storage).
+     * @param cacheUtilization The current cache utilization.
+     * @return The Range to read ahead, or null if nothing should be read ahead at this time.
+     */
+    Range getNextReadAhead(long maxOffset, double cacheUtilization) {
+        int targetBlockCount = getTargetBlockCount(cacheUtilization);
+        if (targetBlockCount <= 0 || this.readAheadOffset >= maxOffset) {
+            return null;
+        }
+
+        long targetLength = (long) targetBlockCount * this.blockSize;
+        if (this.readAheadOffset - this.readerOffset > targetLength / 2) {
+            // We still have plenty of data read ahead.
+            return null;
+        }
+
+        // Align the end of the range to a block boundary.
+        long endOffset = this.readerOffset + targetLength;
+        endOffset = Math.min(maxOffset, endOffset - endOffset % this.blockSize);
+        if (endOffset <= this.readAheadOffset) {
+            return null;
+        }
+
+        Range result = new Range(this.readAheadOffset, endOffset - this.readAheadOffset);
+        this.readAheadOffset = endOffset;
+        return result;
+    }
+
+    /**
+     * Gets the current number of blocks in the read-ahead window (not accounting for cache pressure).
+     *
+     * @return The block count.
+     */
+    int getBlockCount() {
+        return this.blockCount;
+    }
+
+    private boolean isSequential(long offset) {
+        return this.readerOffset >= 0 && offset >= this.readerOffset && offset <= this.readAheadOffset;
+    }
+
+    private int getTargetBlockCount(double cacheUtilization) {
+        if (cacheUtilization >= 1) {
+            // Cache is full; reading ahead would just evict something else (or, worse, what we just read ahead).
+            return 0;
+        } else if (cacheUtilization <= CACHE_PRESSURE_THRESHOLD) {
+            return this.blockCount;
+        } else {
+            // Scale down linearly as the cache fills up, but keep at least one block while there's still room.
+            double ratio = (1 - cacheUtilization) / (1 - CACHE_PRESSURE_THRESHOLD);
+            return Math.min(this.blockCount, (int) Math.ceil(this.blockCount * ratio));
+        }
+    }
+
+    //endregion
+
+    //region Range
+
+    /**
+     * A range of a Segment to read ahead.
+     */
+    @Data
+    static class Range {
+        /**
+         * The offset of the first byte in the range.
+         */
+        private final long offset;
+
+        /**
+         * The number of bytes in the range.
+         */
+        private final long length;
+    }
+
+    //endregion
+}
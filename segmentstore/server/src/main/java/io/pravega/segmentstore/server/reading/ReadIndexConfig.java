@@ -24,10 +24,30 @@ public class ReadIndexConfig {
     public static final Property<Integer> STORAGE_READ_ALIGNMENT = Property.named("storageReadAlignment", 1024 * 1024);
     public static final Property<Integer> MEMORY_READ_MIN_LENGTH = Property.named("memoryReadMinLength", 4 * 1024);
     public static final Property<Integer> STORAGE_READ_DEFAULT_TIMEOUT = Property.named("storageReadDefaultTimeoutMillis", 30 * 1000);
+    public static final Property<IndexType> INDEX_TYPE = Property.named("indexType", IndexType.AVL_TREE);
+    public static final Property<Integer> STORAGE_READ_AHEAD_MAX_BLOCKS = Property.named("storageReadAheadMaxBlocks", 4);
     private static final String COMPONENT_CODE = "readindex";
 
     //endregion
 
+    //region Index Types
+
+    public enum IndexType {
+        /**
+         * Each Segment's index entries are stored as nodes in an AVL Tree. Every entry is a separate object on the heap.
+         */
+        AVL_TREE,
+
+        /**
+         * Each Segment's index entries are stored in packed primitive arrays (see {@link PackedReadIndexEntries}). This
+         * uses considerably less heap memory and creates fewer long-lived objects, at the expense of creating a short-lived
+         * object for every lookup.
+         */
+        PACKED
+    }
+
+    //endregion
+
     //region Members
 
     /**
@@ -57,6 +77,21 @@ public class ReadIndexConfig {
     @Getter
     private final Duration storageReadDefaultTimeout;
 
+    /**
+     * The type of index to use for each Segment's index entries.
+     */
+    @Getter
+    private final IndexType indexType;
+
+    /**
+     * The maximum number of blocks (of size equal to storageReadAlignment) to read ahead from Storage for a sequential
+     * reader. The actual number adapts to how fast the reader is consuming the data and to the cache utilization.
+     * <p>
+     * Setting this to 0 will effectively disable this feature.
+     */
+    @Getter
+    private final int storageReadAheadMaxBlocks;
+
     //endregion
 
     //region Constructor
@@ -70,6 +105,11 @@ public class ReadIndexConfig {
         this.storageReadAlignment = properties.getInt(STORAGE_READ_ALIGNMENT);
         this.memoryReadMinLength = properties.getInt(MEMORY_READ_MIN_LENGTH);
         this.storageReadDefaultTimeout = Duration.ofMillis(properties.getInt(STORAGE_READ_DEFAULT_TIMEOUT));
+        this.indexType = properties.getEnum(INDEX_TYPE, IndexType.class);
+        this.storageReadAheadMaxBlocks = properties.getInt(STORAGE_READ_AHEAD_MAX_BLOCKS);
+        if (this.storageReadAheadMaxBlocks < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", STORAGE_READ_AHEAD_MAX_BLOCKS));
+        }
     }
 
     /**
@@ -96,9 +96,23 @@ public class StorageReadManager implements AutoCloseable {
 
     /**
      * Queues the given request. The Request will be checked against existing pending Requests. If necessary, this request
-     * will be adjusted to take advantage of an existing request (i.e., if it overlaps with an existing request, no actual
-     * Storage read will happen for this one, yet the result of the previous one will be used instead). The callbacks passed
-     * to the request will be invoked with either the result of the read or with the exception that caused the read to fail.
+     * will be adjusted to take advantage of an existing request:
+     * <ul>
+     * <li> If it begins inside an existing request, it is truncated to end where that request ends (or less, if it is
+     * fully contained within it), and no actual Storage read will happen for it; the result of the existing one will be
+     * used instead.
+     * <li> If it begins before an existing request but overlaps with it, it is truncated to end where that request begins,
+     * so that only the bytes not already being fetched are read from Storage. The caller will pick up the remainder from
+     * the existing request (or the Cache) when it issues its next read.
+     * </ul>
+     * This way, no byte range is read from Storage more than once at any given time, regardless of how many callers are
+     * interested in it. The callbacks passed to the request will be invoked with either the result of the read or with
+     * the exception that caused the read to fail.
+     *
+     * Requests that are merely adjacent to a pending request (begin exactly where it ends) are not coalesced with it: the
+     * Storage read for every pending request is issued as soon as it is queued (into a buffer sized for it), so there is
+     * no opportunity to extend it. Doing so would require holding requests back for a while before issuing them, which
+     * would add latency to every Storage read; sequential readers already benefit from read-ahead instead.
      *
      * @param request The request to queue.
      */
@@ -108,13 +122,17 @@ public class StorageReadManager implements AutoCloseable {
             Exceptions.checkNotClosed(this.closed, this);
             Request existingRequest = findOverlappingRequest(request);
             if (existingRequest != null) {
-                // We found an overlapping request. Adjust the current request length.
-                int newLength = (int) (existingRequest.getOffset() + existingRequest.getLength() - request.getOffset());
-                if (newLength > 0 && newLength < request.getLength()) {
-                    request.adjustLength(newLength);
-                    existingRequest.addDependent(request);
-                    return;
-                }
+                // We found an overlapping request. Adjust the current request length and chain it to the existing one.
+                int newLength = (int) Math.min(existingRequest.getEndOffset() - request.getOffset(), request.getLength());
+                request.adjustLength(newLength);
+                existingRequest.addDependent(request);
+                return;
+            }
+
+            Request nextRequest = findNextOverlappingRequest(request);
+            if (nextRequest != null) {
+                // Only read what is not already being read.
+                request.adjustLength((int) (nextRequest.getOffset() - request.getOffset()));
             }
 
             this.pendingRequests.put(request.getOffset(), request);
@@ -191,6 +209,22 @@ public class StorageReadManager implements AutoCloseable {
         return null;
     }
 
+    /**
+     * Finds the first pending Request that begins after the given request's Offset, but before its End Offset.
+     *
+     * @param request The request.
+     * @return The overlapping request, or null if no such request exists.
+     */
+    @GuardedBy("lock")
+    private Request findNextOverlappingRequest(Request request) {
+        Map.Entry<Long, Request> nextEntry = this.pendingRequests.higherEntry(request.getOffset());
+        if (nextEntry != null && nextEntry.getKey() < request.getEndOffset()) {
+            return nextEntry.getValue();
+        }
+
+        return null;
+    }
+
     private CompletableFuture<SegmentHandle> getHandle() {
         synchronized (this.lock) {
             if (this.handle == null) {
@@ -368,8 +402,10 @@ public class StorageReadManager implements AutoCloseable {
             try {
                 // Get the source Request's result, slice it and return the sub-segment that this request maps to.
                 Result sourceResult = source.resultFuture.join();
+                // The source may have returned less data than it requested (i.e., if it reached the end of the Segment).
                 int offset = (int) (this.getOffset() - source.getOffset());
-                this.resultFuture.complete(new Result(sourceResult.getData().subSegment(offset, getLength()), true));
+                int length = Math.min(getLength(), sourceResult.getData().getLength() - offset);
+                this.resultFuture.complete(new Result(sourceResult.getData().subSegment(offset, length), true));
             } catch (Throwable ex) {
                 if (Exceptions.mustRethrow(ex)) {
                     throw ex;
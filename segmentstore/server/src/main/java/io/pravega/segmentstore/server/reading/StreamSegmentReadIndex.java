@@ -13,8 +13,10 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
 import io.pravega.common.Exceptions;
 import io.pravega.common.LoggerHelpers;
+import io.pravega.common.ObjectClosedException;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.util.AvlTreeIndex;
+import io.pravega.common.util.BufferView;
 import io.pravega.common.util.ByteArraySegment;
 import io.pravega.common.util.SortedIndex;
 import io.pravega.segmentstore.contracts.ReadResult;
@@ -23,6 +25,7 @@ import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.ReadResultEntryType;
 import io.pravega.segmentstore.contracts.StreamSegmentSealedException;
 import io.pravega.segmentstore.server.CacheManager;
+import io.pravega.segmentstore.server.CacheUtilizationProvider;
 import io.pravega.segmentstore.server.SegmentMetadata;
 import io.pravega.segmentstore.storage.Cache;
 import io.pravega.segmentstore.storage.ReadOnlyStorage;
@@ -35,6 +38,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
@@ -42,6 +47,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
@@ -54,6 +60,12 @@ import lombok.val;
  * <li> Future appends. If a read operation requests data from an offset in the future, the read operation will block until
  * data becomes available or until it gets canceled.
  * </ol>
+ * If enabled (see {@link ReadIndexConfig#getStorageReadAheadMaxBlocks()}), sequential readers of data that is only in
+ * Storage are detected, and data beyond their current position is read ahead (asynchronously) into the cache.
+ * <p>
+ * If a Disk Cache is provided, entries that are evicted from the Cache due to their age are moved into it instead of
+ * being discarded. Reads that would otherwise have to go to Storage check the Disk Cache first and, upon a hit, move the
+ * entry back into the Cache.
  */
 @Slf4j
 @ThreadSafe
@@ -66,12 +78,18 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     private final ReadIndexConfig config;
     @GuardedBy("lock")
     private final Cache cache;
+    private final Cache diskCache;
+    @GuardedBy("lock")
+    private final TreeMap<Long, SpilledEntry> spilledEntries; // Key = Segment Offset.
     private final FutureReadResultEntryCollection futureReads;
     @GuardedBy("lock")
     private final HashMap<Long, PendingMerge> pendingMergers; //Key = Source Segment Id, Value = Pending Merge Info.
     private final StorageReadManager storageReadManager;
     private final ReadIndexSummary summary;
     private final ScheduledExecutorService executor;
+    private final CacheUtilizationProvider cacheUtilizationProvider;
+    @GuardedBy("lock")
+    private final ReadAheadTracker readAheadTracker;
     private SegmentMetadata metadata;
     @GuardedBy("lock")
     private long lastAppendedOffset;
@@ -87,32 +105,60 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     /**
      * Creates a new instance of the StreamSegmentReadIndex class.
      *
-     * @param config       Read Index Configuration.
-     * @param metadata     The StreamSegmentMetadata to use.
-     * @param cache        The Cache to use to store, read and manage data entries.
-     * @param storage      A ReadOnlyStorage to fetch data if not in Cache.
-     * @param executor     An executor to run async operations.
-     * @param recoveryMode Whether we are in recovery mode at the time of creation (this can change later on).
+     * @param config                   Read Index Configuration.
+     * @param metadata                 The StreamSegmentMetadata to use.
+     * @param cache                    The Cache to use to store, read and manage data entries.
+     * @param storage                  A ReadOnlyStorage to fetch data if not in Cache.
+     * @param cacheUtilizationProvider A CacheUtilizationProvider used to determine how much data to read ahead.
+     * @param executor                 An executor to run async operations.
+     * @param recoveryMode             Whether we are in recovery mode at the time of creation (this can change later on).
      * @throws NullPointerException If any of the arguments are null.
      */
-    StreamSegmentReadIndex(ReadIndexConfig config, SegmentMetadata metadata, Cache cache, ReadOnlyStorage storage, ScheduledExecutorService executor, boolean recoveryMode) {
+    StreamSegmentReadIndex(ReadIndexConfig config, SegmentMetadata metadata, Cache cache, ReadOnlyStorage storage,
+                           CacheUtilizationProvider cacheUtilizationProvider, ScheduledExecutorService executor, boolean recoveryMode) {
+        this(config, metadata, cache, null, storage, cacheUtilizationProvider, executor, recoveryMode);
+    }
+
+    /**
+     * Creates a new instance of the StreamSegmentReadIndex class.
+     *
+     * @param config                   Read Index Configuration.
+     * @param metadata                 The StreamSegmentMetadata to use.
+     * @param cache                    The Cache to use to store, read and manage data entries.
+     * @param diskCache                (Optional) The Cache to move entries evicted from the main Cache into. If null,
+     *                                 evicted entries are discarded.
+     * @param storage                  A ReadOnlyStorage to fetch data if not in Cache.
+     * @param cacheUtilizationProvider A CacheUtilizationProvider used to determine how much data to read ahead.
+     * @param executor                 An executor to run async operations.
+     * @param recoveryMode             Whether we are in recovery mode at the time of creation (this can change later on).
+     * @throws NullPointerException If any of the arguments (except diskCache) are null.
+     */
+    StreamSegmentReadIndex(ReadIndexConfig config, SegmentMetadata metadata, Cache cache, Cache diskCache, ReadOnlyStorage storage,
+                           CacheUtilizationProvider cacheUtilizationProvider, ScheduledExecutorService executor, boolean recoveryMode) {
         Preconditions.checkNotNull(config, "config");
         Preconditions.checkNotNull(metadata, "metadata");
         Preconditions.checkNotNull(cache, "cache");
         Preconditions.checkNotNull(storage, "storage");
+        Preconditions.checkNotNull(cacheUtilizationProvider, "cacheUtilizationProvider");
         Preconditions.checkNotNull(executor, "executor");
 
         this.traceObjectId = String.format("ReadIndex[%d-%d]", metadata.getContainerId(), metadata.getId());
         this.config = config;
         this.metadata = metadata;
         this.cache = cache;
+        this.diskCache = diskCache;
+        this.spilledEntries = new TreeMap<>();
         this.recoveryMode = recoveryMode;
-        this.indexEntries = new AvlTreeIndex<>();
+        this.indexEntries = createIndex(config.getIndexType());
         this.futureReads = new FutureReadResultEntryCollection();
         this.pendingMergers = new HashMap<>();
         this.lastAppendedOffset = -1;
         this.storageReadManager = new StorageReadManager(metadata, storage, executor);
         this.executor = executor;
+        this.cacheUtilizationProvider = cacheUtilizationProvider;
+        this.readAheadTracker = config.getStorageReadAheadMaxBlocks() > 0
+                ? new ReadAheadTracker(config.getStorageReadAlignment(), config.getStorageReadAheadMaxBlocks())
+                : null;
         this.summary = new ReadIndexSummary();
     }
 
@@ -188,6 +234,8 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
             count = this.indexEntries.size();
             this.indexEntries.clear();
+            this.spilledEntries.values().forEach(e -> this.diskCache.remove(e.getKey()));
+            this.spilledEntries.clear();
         }
 
         log.info("{}: Cleared all cache entries ({}).", this.traceObjectId, count);
@@ -197,6 +245,11 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
     //region CacheManager.Client Implementation
 
+    @Override
+    public int getCacheContainerId() {
+        return this.metadata.getContainerId();
+    }
+
     @Override
     public CacheManager.CacheStatus getCacheStatus() {
         Exceptions.checkNotClosed(this.closed, this);
@@ -213,6 +266,8 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         // Identify & collect those entries that can be removed, then remove them from the index.
         AtomicLong sizeRemoved = new AtomicLong();
         ArrayList<ReadIndexEntry> toRemove = new ArrayList<>();
+        ArrayList<SpillCandidate> toSpill = new ArrayList<>();
+        ArrayList<SpilledEntry> spilledToRemove = new ArrayList<>();
         synchronized (this.lock) {
             this.indexEntries.forEach(entry -> {
                 // We can only evict if both these conditions are met:
@@ -229,13 +284,37 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                 }
             });
 
-            // Remove from the index and from the cache.
+            // Remove from the index and from the cache. Entries that were evicted only due to their age (and not
+            // truncated) are picked up for the Disk Cache, if we have one.
+            long startOffset = this.metadata.getStartOffset();
             toRemove.forEach(e -> {
                 this.indexEntries.remove(e.key());
-                this.cache.remove(getCacheKey(e));
+                CacheKey key = getCacheKey(e);
+                if (this.diskCache != null && e.getLastStreamSegmentOffset() >= startOffset) {
+                    byte[] data = this.cache.get(key);
+                    if (data != null) {
+                        toSpill.add(new SpillCandidate(new SpilledEntry(e.getStreamSegmentOffset(), (int) e.getLength(), key), data));
+                    }
+                }
+
+                this.cache.remove(key);
             });
+
+            // Spilled entries that have been truncated out are of no more use.
+            val truncated = this.spilledEntries.headMap(startOffset).entrySet().iterator();
+            while (truncated.hasNext()) {
+                SpilledEntry e = truncated.next().getValue();
+                if (e.getLastOffset() < startOffset) {
+                    spilledToRemove.add(e);
+                    truncated.remove();
+                }
+            }
         }
 
+        // Write to the Disk Cache outside of the lock, as this involves disk I/O.
+        spilledToRemove.forEach(e -> this.diskCache.remove(e.getKey()));
+        spillToDiskCache(toSpill);
+
         // Update the summary (no need for holding the lock here; we are not modifying the index).
         toRemove.forEach(e -> {
             long entryLength = e.getLength();
@@ -246,6 +325,30 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         return sizeRemoved.get();
     }
 
+    private void spillToDiskCache(List<SpillCandidate> toSpill) {
+        if (toSpill.isEmpty()) {
+            return;
+        }
+
+        ArrayList<SpilledEntry> spilled = new ArrayList<>(toSpill.size());
+        for (SpillCandidate c : toSpill) {
+            try {
+                this.diskCache.insert(c.getEntry().getKey(), c.getData());
+                spilled.add(c.getEntry());
+            } catch (Exception ex) {
+                // The Disk Cache is best-effort; if we cannot write to it, the data is still in Storage.
+                log.warn("{}: Unable to write entry (Offset = {}, Length = {}) to the Disk Cache.", this.traceObjectId,
+                        c.getEntry().getOffset(), c.getEntry().getLength(), ex);
+            }
+        }
+
+        synchronized (this.lock) {
+            spilled.forEach(e -> this.spilledEntries.put(e.getOffset(), e));
+        }
+
+        log.debug("{}: Moved {} entries to the Disk Cache.", this.traceObjectId, spilled.size());
+    }
+
     //endregion
 
     //region Properties
@@ -289,6 +392,17 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         }
     }
 
+    private static SortedIndex<ReadIndexEntry> createIndex(ReadIndexConfig.IndexType indexType) {
+        switch (indexType) {
+            case PACKED:
+                return new PackedReadIndexEntries();
+            case AVL_TREE:
+                return new AvlTreeIndex<>();
+            default:
+                throw new IllegalArgumentException("Unsupported index type: " + indexType);
+        }
+    }
+
     //endregion
 
     //region Recovery
@@ -326,16 +440,16 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      * Appends the given range of bytes at the given offset.
      *
      * @param offset The offset within the StreamSegment to append at.
-     * @param data   The range of bytes to append.
+     * @param data   A BufferView representing the range of bytes to append.
      * @throws NullPointerException     If data is null.
      * @throws IllegalArgumentException If the operation would cause writing beyond the StreamSegment's Length.
      * @throws IllegalArgumentException If the offset is invalid (does not match the previous append offset).
      */
-    void append(long offset, byte[] data) {
+    void append(long offset, BufferView data) {
         Exceptions.checkNotClosed(this.closed, this);
         Preconditions.checkState(!isMerged(), "StreamSegment has been merged into a different one. Cannot append more ReadIndex entries.");
 
-        if (data.length == 0) {
+        if (data.getLength() == 0) {
             // Nothing to do. Adding empty read entries will only make our system slower and harder to debug.
             return;
         }
@@ -344,13 +458,16 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         // Adding at the end means that we always need to "catch-up" with Length. Check to see if adding
         // this entry will make us catch up to it or not.
         long length = this.metadata.getLength();
-        long endOffset = offset + data.length;
+        long endOffset = offset + data.getLength();
         Exceptions.checkArgument(endOffset <= length, "offset", "The given range of bytes (%d-%d) is beyond the StreamSegment Length (%d).", offset, endOffset, length);
 
         // Then append an entry for it in the ReadIndex. It's ok to insert into the cache outside of the lock here,
         // since there is no chance of competing with another write request for the same offset at the same time.
-        this.cache.insert(new CacheKey(this.metadata.getId(), offset), data);
-        appendEntry(new CacheIndexEntry(offset, data.length));
+        // Array-backed buffers can be inserted as-is; anything else (i.e., network buffers) needs to be copied since the
+        // caller will release it once we return.
+        ByteArraySegment cacheData = data instanceof ByteArraySegment ? (ByteArraySegment) data : new ByteArraySegment(data.getCopy());
+        this.cache.insert(new CacheKey(this.metadata.getId(), offset), cacheData);
+        appendEntry(new CacheIndexEntry(offset, cacheData.getLength()));
     }
 
     /**
@@ -450,12 +567,14 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
         // Get all the entries from the source index and append them here.
         List<MergedIndexEntry> sourceEntries = sourceIndex.getAllEntries(redirectEntry.getStreamSegmentOffset());
+        List<SpilledEntry> sourceSpilledEntries = sourceIndex.getAllSpilledEntries(redirectEntry.getStreamSegmentOffset());
 
         synchronized (this.lock) {
             // Remove redirect entry (again, no need to update the Cache Stats, as this is a RedirectIndexEntry).
             this.indexEntries.remove(pendingMerge.getMergeOffset());
             this.pendingMergers.remove(sourceMetadata.getId());
             sourceEntries.forEach(this::addToIndex);
+            sourceSpilledEntries.forEach(e -> this.spilledEntries.put(e.getOffset(), e));
         }
 
         List<FutureReadResultEntry> pendingReads = pendingMerge.seal();
@@ -507,8 +626,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
     @GuardedBy("lock")
     private ReadIndexEntry addToIndex(ReadIndexEntry entry) {
-        // Insert the new entry and figure out if an old entry was overwritten.
-        ReadIndexEntry oldEntry = this.indexEntries.put(entry);
+        // Set the entry's generation before inserting it, since some indices only store a copy of it.
         if (entry.isDataEntry()) {
             if (entry instanceof MergedIndexEntry) {
                 // This entry has already existed in the cache for a while; do not change its generation.
@@ -520,6 +638,8 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             }
         }
 
+        // Insert the new entry and figure out if an old entry was overwritten.
+        ReadIndexEntry oldEntry = this.indexEntries.put(entry);
         if (oldEntry != null && oldEntry.isDataEntry()) {
             // Need to eject the old entry's data from the Cache Stats.
             this.summary.remove(oldEntry.getLength(), oldEntry.getGeneration());
@@ -817,6 +937,8 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             nextEntry = getSingleMemoryReadResultEntry(resultStartOffset + readLength, maxLength - readLength);
         } while (nextEntry != null);
 
+        recordCacheRead(resultStartOffset, readLength);
+
         // Coalesce the results into a single InputStream and return the result.
         return new CacheReadResultEntry(resultStartOffset, new SequenceInputStream(Iterators.asEnumeration(contents.iterator())), readLength);
     }
@@ -928,6 +1050,11 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                 actualReadLength = maxLength;
             }
 
+            ReadResultEntryBase diskCacheRead = createDiskCacheRead(streamSegmentOffset, (int) actualReadLength);
+            if (diskCacheRead != null) {
+                return diskCacheRead;
+            }
+
             return createStorageRead(streamSegmentOffset, (int) actualReadLength);
         } else {
             // Note that Future Reads are not necessarily tail reads. They mean that we cannot return a result given
@@ -967,6 +1094,79 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         return new CacheReadResultEntry(entry.getStreamSegmentOffset(), data, entryOffset, length);
     }
 
+    /**
+     * Attempts to create a ReadResultEntry for data that has been moved to the Disk Cache. The entry remains in the set
+     * of spilled entries (and is thus subject to truncation and cleanup) until its contents are requested; only then is
+     * it claimed and fetched (outside of the lock). Upon fetching, the data is moved back into the Cache and re-added to
+     * the index (as a new entry, with the current generation).
+     *
+     * @param streamSegmentOffset The Offset in the StreamSegment where to the ReadResultEntry starts at.
+     * @param maxLength           The maximum length of the Read, from the Offset of this ReadResultEntry.
+     * @return A ReadResultEntry, or null if the data is not in the Disk Cache.
+     */
+    @GuardedBy("lock")
+    private ReadResultEntryBase createDiskCacheRead(long streamSegmentOffset, int maxLength) {
+        Map.Entry<Long, SpilledEntry> floor = this.spilledEntries.floorEntry(streamSegmentOffset);
+        if (floor == null || floor.getValue().getLastOffset() < streamSegmentOffset) {
+            return null;
+        }
+
+        SpilledEntry spilled = floor.getValue();
+        int length = (int) Math.min(maxLength, spilled.getLastOffset() - streamSegmentOffset + 1);
+        return new StorageReadResultEntry(streamSegmentOffset, length,
+                (offset, readLength, successCallback, failureCallback, timeout) ->
+                        this.executor.execute(() -> fetchFromDiskCache(spilled, offset, readLength, successCallback, failureCallback, timeout)));
+    }
+
+    private void fetchFromDiskCache(SpilledEntry spilled, long offset, int length, Consumer<ReadResultEntryContents> successCallback,
+                                    Consumer<Throwable> failureCallback, Duration timeout) {
+        // Claim the entry. It may have been truncated out, cleaned up or claimed by another read since this ReadResultEntry
+        // was created, in which case it is no longer ours to fetch. Whether this is a hit or not, the entry will no longer
+        // be in the Disk Cache after it is fetched.
+        boolean claimed;
+        synchronized (this.lock) {
+            claimed = this.spilledEntries.remove(spilled.getOffset(), spilled);
+        }
+
+        byte[] data = null;
+        if (claimed) {
+            try {
+                data = this.diskCache.get(spilled.getKey());
+                this.diskCache.remove(spilled.getKey());
+            } catch (Exception ex) {
+                // The Disk Cache is best-effort; the data is still in Storage.
+                log.warn("{}: Unable to read entry (Offset = {}, Length = {}) from the Disk Cache.", this.traceObjectId,
+                        spilled.getOffset(), spilled.getLength(), ex);
+            }
+        }
+
+        if (data == null) {
+            // The Disk Cache may drop entries at any time. Fall back to Storage.
+            try {
+                queueStorageRead(offset, length, successCallback, failureCallback, timeout);
+            } catch (Throwable ex) {
+                failureCallback.accept(ex);
+            }
+
+            return;
+        }
+
+        // The entry is now owned by this Segment, regardless of whether it originally came from a merged one. Promote it
+        // before completing the read, so that anyone reading it afterwards will find it in the Cache.
+        if (!this.closed) {
+            try {
+                insertIfNoOverlap(spilled.getOffset(), new ByteArraySegment(data));
+                log.debug("{}: Moved entry (Offset = {}, Length = {}) from the Disk Cache.", this.traceObjectId, spilled.getOffset(), data.length);
+            } catch (Exception ex) {
+                log.warn("{}: Unable to move entry (Offset = {}, Length = {}) from the Disk Cache.", this.traceObjectId,
+                        spilled.getOffset(), data.length, ex);
+            }
+        }
+
+        int entryOffset = (int) (offset - spilled.getOffset());
+        successCallback.accept(new ReadResultEntryContents(data, entryOffset, Math.min(length, data.length - entryOffset)));
+    }
+
     /**
      * Creates a ReadResultEntry that is a placeholder for data that is not in memory, but exists in Storage.
      *
@@ -978,12 +1178,28 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     }
 
     private void queueStorageRead(long offset, int length, Consumer<ReadResultEntryContents> successCallback, Consumer<Throwable> failureCallback, Duration timeout) {
+        // The StorageReadResultEntry may have been created a while ago; since then, another reader may have brought this
+        // data into the Cache. If so, there is no need to read it again.
+        ReadResultEntryContents cachedContents = null;
+        synchronized (this.lock) {
+            ReadIndexEntry indexEntry = this.indexEntries.getFloor(offset);
+            if (indexEntry != null && indexEntry.isDataEntry() && indexEntry.getLastStreamSegmentOffset() >= offset) {
+                cachedContents = createMemoryRead(indexEntry, offset, length, true).getContent().join();
+            }
+        }
+
+        if (cachedContents != null) {
+            successCallback.accept(cachedContents);
+            recordCacheRead(offset, cachedContents.getLength());
+            return;
+        }
+
         // Create a callback that inserts into the ReadIndex (and cache) and invokes the success callback.
         Consumer<StorageReadManager.Result> doneCallback = result -> {
             ByteArraySegment data = result.getData();
 
             // Make sure we invoke our callback first, before any chance of exceptions from insert() may block it.
-            successCallback.accept(new ReadResultEntryContents(data.getReader(), data.getLength()));
+            successCallback.accept(new ReadResultEntryContents(data.array(), data.arrayOffset(), data.getLength()));
             if (!result.isDerived()) {
                 // Only insert primary results into the cache. Derived results are always sub-portions of primaries
                 // and there is no need to insert them too, as they are already contained within.
@@ -994,6 +1210,97 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         // Queue the request for async processing.
         length = getReadAlignedLength(offset, length);
         this.storageReadManager.execute(new StorageReadManager.Request(offset, length, doneCallback, failureCallback, timeout));
+        if (this.readAheadTracker != null) {
+            synchronized (this.lock) {
+                this.readAheadTracker.recordStorageRead(offset, length);
+            }
+
+            triggerReadAhead();
+        }
+    }
+
+    /**
+     * Records the fact that data was served from the cache (for read-ahead purposes) and reads ahead, if needed.
+     *
+     * @param offset The offset of the read.
+     * @param length The length of the read.
+     */
+    private void recordCacheRead(long offset, int length) {
+        if (this.readAheadTracker != null) {
+            synchronized (this.lock) {
+                this.readAheadTracker.recordCacheRead(offset, length);
+            }
+
+            triggerReadAhead();
+        }
+    }
+
+    /**
+     * Issues Storage reads for the next range (if any) determined by the ReadAheadTracker. Ranges are split into read-aligned
+     * requests, skipping over any data that is already in the index. The results of these reads are inserted into the
+     * cache, but not returned to anyone.
+     */
+    private void triggerReadAhead() {
+        double cacheUtilization = this.cacheUtilizationProvider.getCacheUtilization();
+        ArrayList<StorageReadManager.Request> requests = new ArrayList<>();
+        synchronized (this.lock) {
+            ReadAheadTracker.Range range = this.readAheadTracker.getNextReadAhead(this.metadata.getStorageLength(), cacheUtilization);
+            if (range == null) {
+                return;
+            }
+
+            long offset = range.getOffset();
+            long endOffset = offset + range.getLength();
+            while (offset < endOffset) {
+                ReadIndexEntry existingEntry = this.indexEntries.getFloor(offset);
+                if (existingEntry != null && existingEntry.getLastStreamSegmentOffset() >= offset) {
+                    // This offset is already in the index; skip over it.
+                    offset = existingEntry.getLastStreamSegmentOffset() + 1;
+                    continue;
+                }
+
+                int length = getReadAlignedLength(offset, (int) Math.min(Integer.MAX_VALUE, endOffset - offset));
+                length = getLengthUntilNextEntry(offset, length);
+                long requestOffset = offset;
+                requests.add(new StorageReadManager.Request(requestOffset, length,
+                        result -> insertReadAhead(requestOffset, result),
+                        ex -> log.debug("{}: Read-ahead failed (Offset = {}).", this.traceObjectId, requestOffset, ex),
+                        this.config.getStorageReadDefaultTimeout()));
+                offset += length;
+            }
+        }
+
+        try {
+            for (StorageReadManager.Request r : requests) {
+                log.debug("{}: Read-ahead (Offset = {}, Length = {}).", this.traceObjectId, r.getOffset(), r.getLength());
+                this.storageReadManager.execute(r);
+            }
+        } catch (ObjectClosedException ex) {
+            // We are closing; reading ahead is best-effort, so there's no point in failing anything.
+            log.debug("{}: Read-ahead aborted due to the index being closed.", this.traceObjectId);
+        }
+    }
+
+    private void insertReadAhead(long offset, StorageReadManager.Result result) {
+        if (result.isDerived() || result.getData().getLength() == 0 || this.closed) {
+            // Derived results are sub-portions of other reads, which will be inserted by those reads' callbacks.
+            return;
+        }
+
+        insertIfNoOverlap(offset, result.getData());
+    }
+
+    private void insertIfNoOverlap(long offset, ByteArraySegment data) {
+        synchronized (this.lock) {
+            // Someone else may have inserted an overlapping entry while we were reading; do not override it.
+            ReadIndexEntry previousEntry = this.indexEntries.getFloor(offset);
+            ReadIndexEntry nextEntry = this.indexEntries.getCeiling(offset);
+            boolean overlaps = (previousEntry != null && previousEntry.getLastStreamSegmentOffset() >= offset)
+                    || (nextEntry != null && nextEntry.getStreamSegmentOffset() < offset + data.getLength());
+            if (!overlaps) {
+                insert(offset, data);
+            }
+        }
     }
 
     /**
@@ -1065,6 +1372,51 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         }
     }
 
+    /**
+     * Gets a copy of all the SpilledEntries in this Index. All returned entries have their offsets adjusted by the
+     * given amount.
+     *
+     * @param offsetAdjustment The amount to adjust the offset by.
+     */
+    private List<SpilledEntry> getAllSpilledEntries(long offsetAdjustment) {
+        synchronized (this.lock) {
+            List<SpilledEntry> result = new ArrayList<>(this.spilledEntries.size());
+            this.spilledEntries.values().forEach(e -> result.add(new SpilledEntry(e.getOffset() + offsetAdjustment, e.getLength(), e.getKey())));
+            return result;
+        }
+    }
+
+    //endregion
+
+    //region SpilledEntry
+
+    /**
+     * An entry that has been moved to the Disk Cache.
+     */
+    @Data
+    private static class SpilledEntry {
+        /**
+         * The offset within the Segment where the entry begins.
+         */
+        private final long offset;
+        private final int length;
+        /**
+         * The key of the entry in the Disk Cache. This may refer to a different Segment, if the entry was merged into
+         * this one.
+         */
+        private final CacheKey key;
+
+        long getLastOffset() {
+            return this.offset + this.length - 1;
+        }
+    }
+
+    @Data
+    private static class SpillCandidate {
+        private final SpilledEntry entry;
+        private final byte[] data;
+    }
+
     //endregion
 
     //region ReadAvailability
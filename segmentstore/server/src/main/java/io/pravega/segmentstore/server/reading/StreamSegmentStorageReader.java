@@ -17,7 +17,6 @@ import io.pravega.segmentstore.contracts.SegmentProperties;
 import io.pravega.segmentstore.contracts.StreamSegmentInformation;
 import io.pravega.segmentstore.storage.ReadOnlyStorage;
 import io.pravega.segmentstore.storage.SegmentHandle;
-import java.io.ByteArrayInputStream;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
@@ -137,7 +136,7 @@ public final class StreamSegmentStorageReader {
         }
 
         private ReadResultEntryContents toReadResultEntry(byte[] readBuffer, int size) {
-            return new ReadResultEntryContents(new ByteArrayInputStream(readBuffer, 0, size), size);
+            return new ReadResultEntryContents(readBuffer, 0, size);
         }
 
         private CompletableFuture<SegmentHandle> getHandle() {
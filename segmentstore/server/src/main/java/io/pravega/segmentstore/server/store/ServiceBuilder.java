@@ -38,6 +38,7 @@ import io.pravega.segmentstore.server.reading.ContainerReadIndexFactory;
 import io.pravega.segmentstore.server.reading.ReadIndexConfig;
 import io.pravega.segmentstore.server.tables.ContainerTableExtension;
 import io.pravega.segmentstore.server.tables.ContainerTableExtensionImpl;
+import io.pravega.segmentstore.server.tables.TableExtensionConfig;
 import io.pravega.segmentstore.server.tables.TableService;
 import io.pravega.segmentstore.server.writer.StorageWriterFactory;
 import io.pravega.segmentstore.server.writer.WriterConfig;
@@ -85,6 +86,7 @@ public class ServiceBuilder implements AutoCloseable {
     private final AtomicReference<SegmentContainerRegistry> containerRegistry;
     private final AtomicReference<SegmentContainerManager> containerManager;
     private final AtomicReference<CacheFactory> cacheFactory;
+    private final AtomicReference<CacheFactory> diskCacheFactory;
     private final AtomicReference<WriterFactory> writerFactory;
     private final AtomicReference<StreamSegmentStore> streamSegmentService;
     private final AtomicReference<TableStore> tableStoreService;
@@ -92,6 +94,7 @@ public class ServiceBuilder implements AutoCloseable {
     private Function<ComponentSetup, StorageFactory> storageFactoryCreator;
     private Function<ComponentSetup, SegmentContainerManager> segmentContainerManagerCreator;
     private Function<ComponentSetup, CacheFactory> cacheFactoryCreator;
+    private Function<ComponentSetup, CacheFactory> diskCacheFactoryCreator;
     private Function<ComponentSetup, StreamSegmentStore> streamSegmentStoreCreator;
 
     //endregion
@@ -115,6 +118,7 @@ public class ServiceBuilder implements AutoCloseable {
         this.containerRegistry = new AtomicReference<>();
         this.containerManager = new AtomicReference<>();
         this.cacheFactory = new AtomicReference<>();
+        this.diskCacheFactory = new AtomicReference<>();
         this.writerFactory = new AtomicReference<>();
         this.streamSegmentService = new AtomicReference<>();
         this.tableStoreService = new AtomicReference<>();
@@ -150,6 +154,7 @@ public class ServiceBuilder implements AutoCloseable {
         closeComponent(this.containerRegistry);
         closeComponent(this.dataLogFactory);
         closeComponent(this.readIndexFactory);
+        closeComponent(this.diskCacheFactory);
         closeComponent(this.cacheFactory);
         this.cacheManager.close();
         this.threadPoolMetrics.close();
@@ -212,6 +217,20 @@ public class ServiceBuilder implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Attaches the given CacheFactory creator to this ServiceBuilder, to be used for the local-disk Read Index Cache tier.
+     * This is optional; if not set, entries evicted from the main Cache are discarded. The given Function will not be
+     * invoked right away; it will be called when needed.
+     *
+     * @param diskCacheFactoryCreator The Function to attach.
+     * @return This ServiceBuilder.
+     */
+    public ServiceBuilder withDiskCacheFactory(Function<ComponentSetup, CacheFactory> diskCacheFactoryCreator) {
+        Preconditions.checkNotNull(diskCacheFactoryCreator, "diskCacheFactoryCreator");
+        this.diskCacheFactoryCreator = diskCacheFactoryCreator;
+        return this;
+    }
+
     /**
      * Attaches the given StreamSegmentStore creator to this ServiceBuilder. The given Function will not be invoked
      * right away; it will be called when needed.
@@ -277,13 +296,16 @@ public class ServiceBuilder implements AutoCloseable {
     }
 
     protected ReadIndexFactory createReadIndexFactory() {
-        CacheFactory cacheFactory = getSingleton(this.cacheFactory, this.cacheFactoryCreator);
+        CacheFactory cacheFactory = getCacheFactory();
+        CacheFactory diskCacheFactory = this.diskCacheFactoryCreator == null
+                ? null
+                : getSingleton(this.diskCacheFactory, this.diskCacheFactoryCreator);
         ReadIndexConfig readIndexConfig = this.serviceBuilderConfig.getConfig(ReadIndexConfig::builder);
-        return new ContainerReadIndexFactory(readIndexConfig, cacheFactory, this.cacheManager, this.coreExecutor);
+        return new ContainerReadIndexFactory(readIndexConfig, cacheFactory, diskCacheFactory, this.cacheManager, this.coreExecutor);
     }
 
     protected AttributeIndexFactory createAttributeIndexFactory() {
-        CacheFactory cacheFactory = getSingleton(this.cacheFactory, this.cacheFactoryCreator);
+        CacheFactory cacheFactory = getCacheFactory();
         AttributeIndexConfig config = this.serviceBuilderConfig.getConfig(AttributeIndexConfig::builder);
         return new ContainerAttributeIndexFactoryImpl(config, cacheFactory, this.cacheManager, this.coreExecutor);
     }
@@ -305,8 +327,19 @@ public class ServiceBuilder implements AutoCloseable {
 
     private Map<Class<? extends SegmentContainerExtension>, SegmentContainerExtension> createContainerExtensions(
             SegmentContainer container, ScheduledExecutorService executor) {
-        CacheFactory cacheFactory = getSingleton(this.cacheFactory, this.cacheFactoryCreator);
-        return Collections.singletonMap(ContainerTableExtension.class, new ContainerTableExtensionImpl(container, cacheFactory, this.cacheManager, executor));
+        CacheFactory cacheFactory = getCacheFactory();
+        TableExtensionConfig tableConfig = this.serviceBuilderConfig.getConfig(TableExtensionConfig::builder);
+        return Collections.singletonMap(ContainerTableExtension.class,
+                new ContainerTableExtensionImpl(tableConfig, container, cacheFactory, this.cacheManager, executor));
+    }
+
+    private CacheFactory getCacheFactory() {
+        if (this.cacheFactory.get() == null) {
+            CacheFactory cacheFactory = getSingleton(this.cacheFactory, this.cacheFactoryCreator);
+            this.cacheManager.setAllocatedBytesSupplier(cacheFactory::getAllocatedBytes);
+        }
+
+        return this.cacheFactory.get();
     }
 
     private SegmentContainerRegistry createSegmentContainerRegistry() {
@@ -44,6 +44,8 @@ public class ServiceConfig {
     public static final Property<String> CLUSTER_NAME = Property.named("clusterName", "pravega-cluster");
     public static final Property<DataLogType> DATALOG_IMPLEMENTATION = Property.named("dataLogImplementation", DataLogType.INMEMORY);
     public static final Property<StorageType> STORAGE_IMPLEMENTATION = Property.named("storageImplementation", StorageType.HDFS);
+    public static final Property<CacheType> CACHE_IMPLEMENTATION = Property.named("cacheImplementation", CacheType.ROCKSDB);
+    public static final Property<Boolean> DISK_CACHE_ENABLED = Property.named("diskCacheEnabled", false);
     public static final Property<Boolean> READONLY_SEGMENT_STORE = Property.named("readOnlySegmentStore", false);
     public static final Property<Boolean> ENABLE_TLS = Property.named("enableTls", false);
     public static final Property<String> CERT_FILE = Property.named("certFile", "");
@@ -94,6 +96,18 @@ public class ServiceConfig {
         INMEMORY
     }
 
+    public enum CacheType {
+        /**
+         * Cache is implemented by a local RocksDB instance, which spills over to local disk.
+         */
+        ROCKSDB,
+
+        /**
+         * Cache is implemented by preallocated direct (off-heap) memory slabs.
+         */
+        DIRECTMEMORY
+    }
+
     //endregion
 
     //region Members
@@ -207,6 +221,19 @@ public class ServiceConfig {
     @Getter
     private final StorageType storageImplementation;
 
+    /**
+     * The Type of Cache Implementation to use.
+     */
+    @Getter
+    private final CacheType cacheImplementation;
+
+    /**
+     * Whether to use a local-disk Cache tier (see DiskCacheConfig) for Read Index entries that are evicted from the main
+     * Cache. If false, such entries are discarded and have to be re-read from Storage if needed again.
+     */
+    @Getter
+    private final boolean diskCacheEnabled;
+
     /**
      * Whether this SegmentStore instance is Read-Only (i.e., it can only process reads from Storage and nothing else).
      * Note that if this is set to 'true', then many other settings will not apply. The most important other one to set
@@ -296,6 +323,8 @@ public class ServiceConfig {
         this.clusterName = properties.get(CLUSTER_NAME);
         this.dataLogTypeImplementation = properties.getEnum(DATALOG_IMPLEMENTATION, DataLogType.class);
         this.storageImplementation = properties.getEnum(STORAGE_IMPLEMENTATION, StorageType.class);
+        this.cacheImplementation = properties.getEnum(CACHE_IMPLEMENTATION, CacheType.class);
+        this.diskCacheEnabled = properties.getBoolean(DISK_CACHE_ENABLED);
         this.readOnlySegmentStore = properties.getBoolean(READONLY_SEGMENT_STORE);
         this.secureZK = properties.getBoolean(SECURE_ZK);
         this.zkTrustStore = properties.get(ZK_TRUSTSTORE_LOCATION);
@@ -75,7 +75,8 @@ abstract class AsyncTableEntryReader<ResultT> implements AsyncReadResultHandler
      * @param soughtKey  (Optional) An {@link ArrayView} representing the Key to match. If provided, a {@link TableEntry}
      *                   will only be returned if its {@link TableEntry#getKey()} matches this value.
      * @param keyVersion The version of the {@link TableEntry} that is located at this position. This will be used for
-     *                   constructing the result and has no bearing on the reading/matching logic.
+     *                   constructing the result (unless the {@link TableEntry} has an explicitly serialized version)
+     *                   and has no bearing on the reading/matching logic.
      * @param serializer The {@link EntrySerializer} to use for deserializing the {@link TableEntry} instance.
      * @param timer      Timer for the whole operation.
      * @return A new instance of the {@link AsyncTableEntryReader} class. The {@link #getResult()} will be completed with
@@ -89,7 +90,8 @@ abstract class AsyncTableEntryReader<ResultT> implements AsyncReadResultHandler
      * Creates a new {@link AsyncTableEntryReader} that can be used to read a key.
      *
      * @param keyVersion The version of the {@link TableKey} that is located at this position. This will be used for
-     *                   constructing the result and has no bearing on the reading/matching logic.
+     *                   constructing the result (unless the {@link TableKey} has an explicitly serialized version)
+     *                   and has no bearing on the reading/matching logic.
      * @param serializer The {@link EntrySerializer} to use for deserializing the Keys.
      * @param timer      Timer for the whole operation.
      * @return A new instance of the {@link AsyncTableEntryReader} class. The {@link #getResult()} will be completed with
@@ -112,6 +114,14 @@ abstract class AsyncTableEntryReader<ResultT> implements AsyncReadResultHandler
      */
     protected abstract boolean processReadData(ByteArraySegment readData);
 
+    /**
+     * Gets the version of the Table Entry being read: either its explicitly serialized version (if it has been copied
+     * by compaction) or the given version (its Segment offset).
+     */
+    protected long getVersion(long keyVersion) {
+        return this.header.hasExplicitVersion() ? this.header.getEntryVersion() : keyVersion;
+    }
+
     /**
      * Completes the result with the given value.
      */
@@ -146,8 +156,11 @@ abstract class AsyncTableEntryReader<ResultT> implements AsyncReadResultHandler
             // TODO: https://github.com/pravega/pravega/issues/2924
             this.readData.write(StreamHelpers.readAll(contents.getData(), contents.getLength()));
             if (this.header == null && this.readData.size() >= EntrySerializer.HEADER_LENGTH) {
-                // We now have enough to read the header.
-                this.header = this.serializer.readHeader(this.readData.getData());
+                ByteArraySegment data = this.readData.getData();
+                if (data.getLength() >= this.serializer.getHeaderLength(data.get(0))) {
+                    // We now have enough to read the header.
+                    this.header = this.serializer.readHeader(data);
+                }
             }
 
             if (this.header != null) {
@@ -199,13 +212,13 @@ abstract class AsyncTableEntryReader<ResultT> implements AsyncReadResultHandler
             val header = getHeader();
             assert header != null : "acceptResult called with no header loaded.";
 
-            if (readData.getLength() >= EntrySerializer.HEADER_LENGTH + header.getKeyLength()) {
+            if (readData.getLength() >= header.getKeyOffset() + header.getKeyLength()) {
                 // We read enough information.
                 ArrayView keyData = readData.subSegment(header.getKeyOffset(), header.getKeyLength());
                 if (header.isDeletion()) {
                     complete(TableKey.notExists(keyData));
                 } else {
-                    complete(TableKey.versioned(keyData, this.keyVersion));
+                    complete(TableKey.versioned(keyData, getVersion(this.keyVersion)));
                 }
 
                 return true; // We are done.
@@ -247,7 +260,7 @@ abstract class AsyncTableEntryReader<ResultT> implements AsyncReadResultHandler
                 return false;
             }
 
-            if (readData.getLength() < EntrySerializer.HEADER_LENGTH + header.getKeyLength()) {
+            if (readData.getLength() < header.getKeyOffset() + header.getKeyLength()) {
                 // The key hasn't been fully read. Need more info.
                 return false;
             }
@@ -285,7 +298,7 @@ abstract class AsyncTableEntryReader<ResultT> implements AsyncReadResultHandler
                 valueData = readData.subSegment(header.getValueOffset(), header.getValueLength());
             }
 
-            complete(TableEntry.versioned(getKeyData(this.soughtKey, readData, header), valueData, this.keyVersion));
+            complete(TableEntry.versioned(getKeyData(this.soughtKey, readData, header), valueData, getVersion(this.keyVersion)));
             return true; // Now we are truly done.
         }
 
@@ -65,6 +65,35 @@ class BucketUpdate {
         }
     }
 
+    /**
+     * Removes all key updates that represent Table Entries copied by compaction ({@link KeyUpdate#isCopy()}) whose Keys
+     * have been updated or removed since they were copied. Such copies must not be indexed, otherwise they would revert
+     * their Keys to an older value. This must be invoked after all existing keys have been recorded (via
+     * {@link #withExistingKey}).
+     *
+     * @return The number of key updates removed.
+     */
+    int removeObsoleteCopies() {
+        int sizeBefore = this.updatedKeys.size();
+        this.updatedKeys.values().removeIf(update -> {
+            if (!update.isCopy()) {
+                return false;
+            }
+
+            KeyInfo existingKey = this.existingKeys.get(update.getKey());
+            return existingKey == null || existingKey.getVersion() != update.getVersion();
+        });
+
+        int removedCount = sizeBefore - this.updatedKeys.size();
+        if (removedCount > 0) {
+            this.maxUpdateOffset = this.updatedKeys.values().stream()
+                                                   .filter(update -> !update.isDeleted())
+                                                   .mapToLong(KeyUpdate::getOffset).max().orElse(-1);
+        }
+
+        return removedCount;
+    }
+
     /**
      * Gets a collection of {@link KeyInfo} instances recorded in this Bucket Update.
      */
@@ -134,9 +163,33 @@ class BucketUpdate {
          */
         private final long offset;
 
+        /**
+         * The version of the key. This is the same as {@link #getOffset()}, unless the key has been copied by compaction,
+         * in which case it retains the version it had before being copied.
+         */
+        private final long version;
+
+        /**
+         * Creates a new instance of the KeyInfo class for a key whose version is the offset it exists at.
+         *
+         * @param key    A {@link HashedArray} representing the Key.
+         * @param offset The offset at which the key exists in the Segment.
+         */
+        KeyInfo(HashedArray key, long offset) {
+            this(key, offset, offset);
+        }
+
+        /**
+         * Gets a value indicating whether this key has been copied by compaction. Copied keys retain their original
+         * version, which is always smaller than the offset they have been copied to.
+         */
+        boolean isCopy() {
+            return this.version != this.offset;
+        }
+
         @Override
         public String toString() {
-            return String.format("Offset=%s, Key={%s}", this.offset, key);
+            return String.format("Offset=%s, Version=%s, Key={%s}", this.offset, this.version, key);
         }
     }
 
@@ -158,7 +211,20 @@ class BucketUpdate {
          * @param deleted True if the Key has been deleted via this update, false otherwise.
          */
         KeyUpdate(HashedArray key, long offset, boolean deleted) {
-            super(key, offset);
+            this(key, offset, offset, deleted);
+        }
+
+        /**
+         * Creates a new instance of the KeyUpdate class.
+         *
+         * @param key     A {@link HashedArray} representing the Key that is updated.
+         * @param offset  The offset in the Segment where the update is serialized.
+         * @param version The version of the Key after this update. This should be different from offset only for
+         *                updates that were generated by compaction.
+         * @param deleted True if the Key has been deleted via this update, false otherwise.
+         */
+        KeyUpdate(HashedArray key, long offset, long version, boolean deleted) {
+            super(key, offset, version);
             this.deleted = deleted;
         }
 
@@ -11,6 +11,7 @@ package io.pravega.segmentstore.server.tables;
 
 import io.pravega.common.Exceptions;
 import io.pravega.segmentstore.server.CacheManager;
+import io.pravega.segmentstore.server.CachePriority;
 import io.pravega.segmentstore.storage.Cache;
 import io.pravega.segmentstore.storage.CacheFactory;
 import java.util.ArrayList;
@@ -32,6 +33,7 @@ import lombok.val;
 class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
     //region Members
 
+    private final int containerId;
     private final Cache cache;
     @GuardedBy("segmentCaches")
     private final Map<Long, SegmentKeyCache> segmentCaches;
@@ -50,6 +52,7 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
      * @param cacheFactory A {@link CacheFactory} that can be used to create {@link Cache} instances.
      */
     ContainerKeyCache(int containerId, @NonNull CacheFactory cacheFactory) {
+        this.containerId = containerId;
         this.cache = cacheFactory.getCache(String.format("Container_%d_TableKeys", containerId));
         this.segmentCaches = new HashMap<>();
         this.closed = new AtomicBoolean();
@@ -73,6 +76,16 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
 
     //region CacheManager.Client Implementation
 
+    @Override
+    public CachePriority getCachePriority() {
+        return CachePriority.High;
+    }
+
+    @Override
+    public int getCacheContainerId() {
+        return this.containerId;
+    }
+
     @Override
     public CacheManager.CacheStatus getCacheStatus() {
         int minGen = 0;
@@ -211,6 +224,17 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
         }
     }
 
+    /**
+     * Evicts all the Cache Entries for the given Segment that only refer to already indexed offsets. Unindexed (tail-end)
+     * information is not affected. This should be invoked before the Segment is truncated, since such Cache Entries may
+     * point to offsets that will no longer be readable afterwards.
+     *
+     * @param segmentId The Id of the Segment to evict Cache Entries for.
+     */
+    void evictIndexed(long segmentId) {
+        forSegmentCache(segmentId, c -> evict(c.evictAll()), 0L);
+    }
+
     /**
      * Updates the Last Indexed Offset for a given Segment, but only if there currently isn't any information about that.
      * See {@link #updateSegmentIndexOffset(long, long)} for more details.
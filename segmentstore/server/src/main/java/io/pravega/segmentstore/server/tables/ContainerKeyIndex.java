@@ -170,6 +170,7 @@ class ContainerKeyIndex implements AutoCloseable {
         // helps dedupe it.
         val result = new HashMap<UUID, Long>();
         val toLookup = new ArrayList<UUID>();
+        long startOffset = segment.getInfo().getStartOffset();
         for (UUID hash : hashes) {
             if (result.containsKey(hash)) {
                 // This KeyHash has already been processed.
@@ -177,9 +178,10 @@ class ContainerKeyIndex implements AutoCloseable {
             }
 
             val existingValue = this.cache.get(segment.getSegmentId(), hash);
-            if (existingValue == null) {
-                // Key Hash does not exist in the cache (it may or may not exist at all). Add a placeholder and keep
-                // track of it so we can look it up.
+            if (existingValue == null || existingValue.getSegmentOffset() < startOffset) {
+                // Key Hash does not exist in the cache (it may or may not exist at all) or it points to an offset that
+                // has since been truncated out (following a compaction). Add a placeholder and keep track of it so we
+                // can look it up.
                 result.put(hash, TableKey.NOT_EXISTS);
                 toLookup.add(hash);
             } else if (!existingValue.isRemoval()) {
@@ -434,6 +436,17 @@ class ContainerKeyIndex implements AutoCloseable {
         this.recoveryTracker.updateSegmentIndexOffset(segmentId, indexOffset);
     }
 
+    /**
+     * Notifies this ContainerKeyIndex instance that the given Segment is about to be truncated as a result of a compaction.
+     * Any cached Table Bucket offsets that have already been indexed will be discarded, since they may point to entries
+     * that will no longer be readable.
+     *
+     * @param segmentId The Id of the Segment that is about to be truncated.
+     */
+    void notifyCompacted(long segmentId) {
+        this.cache.evictIndexed(segmentId);
+    }
+
     /**
      * Gets the KeyHashes and their corresponding offsets for not-yet-indexed Table Buckets. These are updates
      * that have been accepted and written to the Segment but not yet indexed (persisted via the {@link IndexWriter}).
@@ -20,6 +20,7 @@ import io.pravega.common.util.AsyncIterator;
 import io.pravega.common.util.IllegalDataFormatException;
 import io.pravega.segmentstore.contracts.AttributeUpdate;
 import io.pravega.segmentstore.contracts.AttributeUpdateType;
+import io.pravega.segmentstore.contracts.StreamSegmentTruncatedException;
 import io.pravega.segmentstore.contracts.tables.IteratorItem;
 import io.pravega.segmentstore.contracts.tables.TableAttributes;
 import io.pravega.segmentstore.contracts.tables.TableEntry;
@@ -57,6 +58,7 @@ public class ContainerTableExtensionImpl implements ContainerTableExtension {
     //region Members
 
     private static final int MAX_BATCH_SIZE = 32 * EntrySerializer.MAX_SERIALIZATION_LENGTH;
+    private final TableExtensionConfig config;
     private final SegmentContainer segmentContainer;
     private final ScheduledExecutorService executor;
     private final KeyHasher hasher;
@@ -69,7 +71,7 @@ public class ContainerTableExtensionImpl implements ContainerTableExtension {
     //region Constructor
 
     /**
-     * Creates a new instance of the ContainerTableExtensionImpl class.
+     * Creates a new instance of the ContainerTableExtensionImpl class with a default {@link TableExtensionConfig}.
      *
      * @param segmentContainer The {@link SegmentContainer} to associate with.
      * @param cacheFactory     The {@link CacheFactory} to use in order to create Key Index Caches.
@@ -78,12 +80,27 @@ public class ContainerTableExtensionImpl implements ContainerTableExtension {
      */
     public ContainerTableExtensionImpl(SegmentContainer segmentContainer, CacheFactory cacheFactory,
                                        CacheManager cacheManager, ScheduledExecutorService executor) {
-        this(segmentContainer, cacheFactory, cacheManager, KeyHasher.sha256(), executor);
+        this(TableExtensionConfig.builder().build(), segmentContainer, cacheFactory, cacheManager, executor);
+    }
+
+    /**
+     * Creates a new instance of the ContainerTableExtensionImpl class.
+     *
+     * @param config           The {@link TableExtensionConfig} to use.
+     * @param segmentContainer The {@link SegmentContainer} to associate with.
+     * @param cacheFactory     The {@link CacheFactory} to use in order to create Key Index Caches.
+     * @param cacheManager     The {@link CacheManager} to use to manage the cache.
+     * @param executor         An Executor to use for async tasks.
+     */
+    public ContainerTableExtensionImpl(TableExtensionConfig config, SegmentContainer segmentContainer, CacheFactory cacheFactory,
+                                       CacheManager cacheManager, ScheduledExecutorService executor) {
+        this(config, segmentContainer, cacheFactory, cacheManager, KeyHasher.sha256(), executor);
     }
 
     /**
      * Creates a new instance of the ContainerTableExtensionImpl class with custom {@link KeyHasher}.
      *
+     * @param config           The {@link TableExtensionConfig} to use.
      * @param segmentContainer The {@link SegmentContainer} to associate with.
      * @param cacheFactory     The {@link CacheFactory} to use in order to create Key Index Caches.
      * @param cacheManager     The {@link CacheManager} to use to manage the cache.
@@ -91,8 +108,10 @@ public class ContainerTableExtensionImpl implements ContainerTableExtension {
      * @param executor         An Executor to use for async tasks.
      */
     @VisibleForTesting
-    ContainerTableExtensionImpl(@NonNull SegmentContainer segmentContainer, @NonNull CacheFactory cacheFactory,
-                                @NonNull CacheManager cacheManager, @NonNull KeyHasher hasher, @NonNull ScheduledExecutorService executor) {
+    ContainerTableExtensionImpl(@NonNull TableExtensionConfig config, @NonNull SegmentContainer segmentContainer,
+                                @NonNull CacheFactory cacheFactory, @NonNull CacheManager cacheManager,
+                                @NonNull KeyHasher hasher, @NonNull ScheduledExecutorService executor) {
+        this.config = config;
         this.segmentContainer = segmentContainer;
         this.executor = executor;
         this.hasher = hasher;
@@ -206,15 +225,24 @@ public class ContainerTableExtensionImpl implements ContainerTableExtension {
             return CompletableFuture.completedFuture(Collections.emptyList());
         } else {
             TimeoutTimer timer = new TimeoutTimer(timeout);
-            val resultBuilder = new GetResultBuilder(keys, this.hasher);
             return this.segmentContainer
                     .forSegment(segmentName, timer.getRemaining())
-                    .thenComposeAsync(segment -> this.keyIndex.getBucketOffsets(segment, resultBuilder.getHashes(), timer)
-                                    .thenComposeAsync(offsets -> get(segment, resultBuilder, offsets, timer), this.executor),
+                    .thenComposeAsync(segment -> Futures.exceptionallyComposeExpecting(
+                            get(segment, keys, timer),
+                            ex -> ex instanceof StreamSegmentTruncatedException,
+                            // The Segment has been compacted and truncated while we were reading from it, so our view
+                            // of its Table Buckets was stale. Try again, this time using the latest information.
+                            () -> get(segment, keys, timer)),
                             this.executor);
         }
     }
 
+    private CompletableFuture<List<TableEntry>> get(DirectSegmentAccess segment, List<ArrayView> keys, TimeoutTimer timer) {
+        val resultBuilder = new GetResultBuilder(keys, this.hasher);
+        return this.keyIndex.getBucketOffsets(segment, resultBuilder.getHashes(), timer)
+                            .thenComposeAsync(offsets -> get(segment, resultBuilder, offsets, timer), this.executor);
+    }
+
     private CompletableFuture<List<TableEntry>> get(DirectSegmentAccess segment, GetResultBuilder builder,
                                                     Map<UUID, Long> bucketOffsets, TimeoutTimer timer) {
         val bucketReader = TableBucketReader.entry(segment, this.keyIndex::getBackpointerOffset, this.executor);
@@ -338,6 +366,16 @@ public class ContainerTableExtensionImpl implements ContainerTableExtension {
             ContainerTableExtensionImpl.this.keyIndex.notifyIndexOffsetChanged(this.metadata.getId(), lastIndexedOffset);
         }
 
+        @Override
+        public TableExtensionConfig getConfig() {
+            return ContainerTableExtensionImpl.this.config;
+        }
+
+        @Override
+        public void notifyCompacted() {
+            ContainerTableExtensionImpl.this.keyIndex.notifyCompacted(this.metadata.getId());
+        }
+
         @Override
         public void close() {
             // Tell the KeyIndex that it's ok to clear any tail-end cache.
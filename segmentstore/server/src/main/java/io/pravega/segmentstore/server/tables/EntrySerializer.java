@@ -28,7 +28,8 @@ import lombok.val;
  * Serializes {@link TableEntry} instances.
  * The format is:
  * - Header: Entry Serialization Version (1 byte), the Key Length (4 bytes) and the Value Length (4 bytes). Value length
- * is negative if this serialization represents a deletion.
+ * is negative if this serialization represents a deletion. Serialization Version 1 also contains the Entry Version (8 bytes),
+ * which is used for Table Entries that have been copied by compaction (to preserve their original version).
  * - Key: one or more bytes representing the Key.
  * - Value: zero (if empty or a deletion) or more bytes representing the Value.
  *
@@ -37,9 +38,11 @@ import lombok.val;
  */
 class EntrySerializer {
     static final int HEADER_LENGTH = 1 + Integer.BYTES * 2; // Version, Key Length, Value Length.
+    static final int MAX_HEADER_LENGTH = HEADER_LENGTH + Long.BYTES; // Version, Key Length, Value Length, Entry Version.
     static final int MAX_KEY_LENGTH = 8 * 1024; // 8KB
     static final int MAX_SERIALIZATION_LENGTH = 1024 * 1024; // 1MB
     private static final byte CURRENT_SERIALIZATION_VERSION = 0;
+    private static final byte EXPLICIT_VERSION_SERIALIZATION_VERSION = 1;
     private static final int NO_VALUE = -1;
 
     //region Updates
@@ -67,27 +70,63 @@ class EntrySerializer {
         }
     }
 
+    /**
+     * Calculates the number of bytes required to serialize the given {@link TableEntry} update, including its version.
+     *
+     * @param entry The {@link TableEntry} to serialize.
+     * @return The number of bytes required to serialize.
+     */
+    int getUpdateWithExplicitVersionLength(@NonNull TableEntry entry) {
+        return getUpdateLength(entry) + Long.BYTES;
+    }
+
+    /**
+     * Serializes the given {@link TableEntry} collection into the given byte array, including the {@link TableKey#getVersion()}
+     * of each {@link TableEntry}. When read back, these {@link TableEntry} instances will have this version, instead of
+     * the Segment offset they are serialized at.
+     *
+     * This should only be used for copying existing {@link TableEntry} instances within the same Segment (compaction).
+     *
+     * @param entries A Collection of {@link TableEntry} to serialize. All must have a version.
+     * @param target  The byte array to serialize into.
+     */
+    void serializeUpdateWithExplicitVersion(@NonNull Collection<TableEntry> entries, byte[] target) {
+        int offset = 0;
+        for (TableEntry e : entries) {
+            Preconditions.checkArgument(e.getKey().getVersion() >= 0, "TableEntry must have a version.");
+            offset = serializeUpdate(e, true, target, offset);
+        }
+    }
+
+    private int serializeUpdate(@NonNull TableEntry entry, byte[] target, int targetOffset) {
+        return serializeUpdate(entry, false, target, targetOffset);
+    }
+
     /**
      * Serializes the given {@link TableEntry} to the given byte array.
      *
-     * @param entry        The {@link TableEntry} to serialize.
-     * @param target       The byte array to serialize to.
-     * @param targetOffset The first offset within the byte array to serialize at.
+     * @param entry           The {@link TableEntry} to serialize.
+     * @param explicitVersion If true, the {@link TableEntry}'s version will be serialized as well.
+     * @param target          The byte array to serialize to.
+     * @param targetOffset    The first offset within the byte array to serialize at.
      * @return The first offset in the given byte array after the serialization.
      */
-    private int serializeUpdate(@NonNull TableEntry entry, byte[] target, int targetOffset) {
+    private int serializeUpdate(@NonNull TableEntry entry, boolean explicitVersion, byte[] target, int targetOffset) {
         val key = entry.getKey().getKey();
         val value = entry.getValue();
         Preconditions.checkArgument(key.getLength() <= MAX_KEY_LENGTH, "Key too large.");
-        int serializationLength = getUpdateLength(entry);
+        int serializationLength = explicitVersion ? getUpdateWithExplicitVersionLength(entry) : getUpdateLength(entry);
         Preconditions.checkArgument(serializationLength <= MAX_SERIALIZATION_LENGTH, "Key+Value serialization too large.");
         Preconditions.checkElementIndex(targetOffset + serializationLength - 1, target.length, "serialization does not fit in target buffer");
 
         // Serialize Header.
-        target[targetOffset] = CURRENT_SERIALIZATION_VERSION;
+        target[targetOffset] = explicitVersion ? EXPLICIT_VERSION_SERIALIZATION_VERSION : CURRENT_SERIALIZATION_VERSION;
         targetOffset++;
         targetOffset += BitConverter.writeInt(target, targetOffset, key.getLength());
         targetOffset += BitConverter.writeInt(target, targetOffset, value.getLength());
+        if (explicitVersion) {
+            targetOffset += BitConverter.writeLong(target, targetOffset, entry.getKey().getVersion());
+        }
 
         // Key
         System.arraycopy(key.array(), key.arrayOffset(), target, targetOffset, key.getLength());
@@ -156,10 +195,20 @@ class EntrySerializer {
 
     //region Headers
 
+    /**
+     * Gets the length of the Entry's Header, based on the first byte of its serialization.
+     *
+     * @param serializationVersion The first byte of the Entry's serialization (its Serialization Version).
+     * @return The length of the Header.
+     */
+    int getHeaderLength(byte serializationVersion) {
+        return serializationVersion == EXPLICIT_VERSION_SERIALIZATION_VERSION ? MAX_HEADER_LENGTH : HEADER_LENGTH;
+    }
+
     /**
      * Reads the Entry's Header from the given {@link ArrayView}.
      *
-     * @param input The {@link ArrayView} to read from.
+     * @param input The {@link ArrayView} to read from. This must contain at least {@link #getHeaderLength} bytes.
      * @return The Entry Header.
      * @throws SerializationException If an invalid header was detected.
      */
@@ -168,7 +217,10 @@ class EntrySerializer {
         int keyLength = BitConverter.readInt(input, 1);
         int valueLength = BitConverter.readInt(input, 1 + Integer.BYTES);
         validateHeader(keyLength, valueLength);
-        return new Header(version, keyLength, valueLength);
+        long entryVersion = version == EXPLICIT_VERSION_SERIALIZATION_VERSION
+                ? BitConverter.readLong(input, HEADER_LENGTH)
+                : TableKey.NO_VERSION;
+        return new Header(version, keyLength, valueLength, entryVersion);
     }
 
     /**
@@ -183,7 +235,10 @@ class EntrySerializer {
         int keyLength = BitConverter.readInt(input);
         int valueLength = BitConverter.readInt(input);
         validateHeader(keyLength, valueLength);
-        return new Header(version, keyLength, valueLength);
+        long entryVersion = version == EXPLICIT_VERSION_SERIALIZATION_VERSION
+                ? BitConverter.readLong(input)
+                : TableKey.NO_VERSION;
+        return new Header(version, keyLength, valueLength, entryVersion);
     }
 
     private void validateHeader(int keyLength, int valueLength) throws SerializationException {
@@ -201,18 +256,27 @@ class EntrySerializer {
         private final byte version;
         private final int keyLength;
         private final int valueLength;
+        /**
+         * The version of the Entry, if explicitly serialized, or {@link TableKey#NO_VERSION} otherwise (in which case
+         * the Entry's version is the Segment offset it is serialized at).
+         */
+        private final long entryVersion;
 
         int getKeyOffset() {
-            return HEADER_LENGTH;
+            return this.version == EXPLICIT_VERSION_SERIALIZATION_VERSION ? MAX_HEADER_LENGTH : HEADER_LENGTH;
         }
 
         int getValueOffset() {
             Preconditions.checkState(!isDeletion(), "Cannot request value offset for a removal entry.");
-            return HEADER_LENGTH + this.keyLength;
+            return getKeyOffset() + this.keyLength;
         }
 
         int getTotalLength() {
-            return HEADER_LENGTH + this.keyLength + Math.max(0, this.valueLength);
+            return getKeyOffset() + this.keyLength + Math.max(0, this.valueLength);
+        }
+
+        boolean hasExplicitVersion() {
+            return this.entryVersion != TableKey.NO_VERSION;
         }
 
         boolean isDeletion() {
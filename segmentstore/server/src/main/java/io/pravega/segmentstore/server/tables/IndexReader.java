@@ -94,6 +94,17 @@ class IndexReader {
         return segmentInfo.getAttributes().getOrDefault(TableAttributes.TOTAL_ENTRY_COUNT, 0L);
     }
 
+    /**
+     * Gets the offset (from the given {@link SegmentProperties}'s Attributes) up to which the Segment has been compacted.
+     * This is never smaller than the Segment's Start Offset.
+     *
+     * @param segmentInfo A {@link SegmentProperties} from which to extract the information.
+     * @return The offset.
+     */
+    long getCompactionOffset(SegmentProperties segmentInfo) {
+        return Math.max(segmentInfo.getStartOffset(), segmentInfo.getAttributes().getOrDefault(TableAttributes.COMPACTION_OFFSET, 0L));
+    }
+
     /**
      * Gets the number of Table Buckets in the Segment for the given {@link SegmentProperties}.
      *
@@ -25,7 +25,7 @@ import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Consumer;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -94,7 +94,7 @@ abstract class TableBucketReader<ResultT> {
 
         // This handler ensures that items are only added once (per key) and only if they are not deleted. Since the items
         // are processed in descending version order, the first time we encounter its key is its latest value.
-        Consumer<ResultT> handler = item -> {
+        BiConsumer<ResultT, Long> handler = (item, offset) -> {
             TableKey key = getKey(item);
             HashedArray indexedKey = new HashedArray(key.getKey());
             if (!result.containsKey(indexedKey)) {
@@ -109,12 +109,13 @@ abstract class TableBucketReader<ResultT> {
      * Locates all {@link ResultT} instances in a TableBucket.
      *
      * @param bucketOffset The current segment offset of the Table Bucket we are looking into.
-     * @param handler      A {@link Consumer} that will be invoked every time a {@link ResultT} is fetched. This will not
-     *                     be invoked for any {@link ResultT} item that is marked as deleted.
+     * @param handler      A {@link BiConsumer} that will be invoked every time a {@link ResultT} is fetched, along with
+     *                     the Segment offset it was read from. This will not be invoked for any {@link ResultT} item that
+     *                     is marked as deleted.
      * @param timer        A {@link TimeoutTimer} for the operation.
      * @return A CompletableFuture that, when completed, will indicate the operation completed.
      */
-    CompletableFuture<Void> findAll(long bucketOffset, Consumer<ResultT> handler, TimeoutTimer timer) {
+    CompletableFuture<Void> findAll(long bucketOffset, BiConsumer<ResultT, Long> handler, TimeoutTimer timer) {
         AtomicLong offset = new AtomicLong(bucketOffset);
         return Futures.loop(
                 () -> offset.get() >= 0,
@@ -126,7 +127,7 @@ abstract class TableBucketReader<ResultT> {
                     return reader.getResult()
                             .thenComposeAsync(entryResult -> {
                                 // Record the entry, but only if we haven't processed its Key before and only if it exists.
-                                handler.accept(entryResult);
+                                handler.accept(entryResult, offset.get());
 
                                 // Get the next Key Location for this bucket.
                                 return this.getBackpointer.apply(segment, offset.get(), timer.getRemaining());
@@ -269,7 +270,7 @@ abstract class TableBucketReader<ResultT> {
 
         @Override
         protected int getMaxReadLength() {
-            return EntrySerializer.HEADER_LENGTH + EntrySerializer.MAX_KEY_LENGTH;
+            return EntrySerializer.MAX_HEADER_LENGTH + EntrySerializer.MAX_KEY_LENGTH;
         }
 
         @Override
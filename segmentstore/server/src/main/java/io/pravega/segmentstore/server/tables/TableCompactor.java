@@ -0,0 +1,344 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.tables;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.TimeoutTimer;
+import io.pravega.common.concurrent.Futures;
+import io.pravega.common.io.EnhancedByteArrayOutputStream;
+import io.pravega.common.io.StreamHelpers;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.common.util.HashedArray;
+import io.pravega.segmentstore.contracts.AttributeUpdate;
+import io.pravega.segmentstore.contracts.AttributeUpdateType;
+import io.pravega.segmentstore.contracts.ReadResultEntry;
+import io.pravega.segmentstore.contracts.ReadResultEntryContents;
+import io.pravega.segmentstore.contracts.ReadResultEntryType;
+import io.pravega.segmentstore.contracts.tables.TableAttributes;
+import io.pravega.segmentstore.contracts.tables.TableEntry;
+import io.pravega.segmentstore.server.DirectSegmentAccess;
+import io.pravega.segmentstore.server.SegmentMetadata;
+import io.pravega.segmentstore.server.SegmentStoreMetrics;
+import io.pravega.segmentstore.server.reading.AsyncReadResultHandler;
+import io.pravega.segmentstore.server.reading.AsyncReadResultProcessor;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * Compacts a Table Segment in order to bound its size (and with it, the cost of reading from it or rebuilding its index).
+ * <p>
+ * Each compaction round processes Table Entries from the head of the Segment, beginning at its
+ * {@link TableAttributes#COMPACTION_OFFSET}. Those Table Entries that are still live (their Keys have not been updated
+ * or removed since) are copied to the end of the Segment, retaining their versions, and the
+ * {@link TableAttributes#COMPACTION_OFFSET} is advanced past all of them. The copies are then indexed by the
+ * {@link WriterTableProcessor} like any other update (copies that have become obsolete in the meantime are discarded
+ * at that time). Once the Segment is fully indexed, it is truncated at its {@link TableAttributes#COMPACTION_OFFSET}.
+ * <p>
+ * Compaction rounds are only executed if the Segment's utilization (the percentage of live Table Entries out of all
+ * Table Entries in it) is below {@link TableExtensionConfig#getCompactionMinUtilization()}, and each round processes
+ * at most {@link TableExtensionConfig#getMaxCompactionSize()} bytes.
+ */
+@Slf4j
+class TableCompactor {
+    //region Members
+
+    private final TableWriterConnector connector;
+    private final IndexReader indexReader;
+    private final ScheduledExecutorService executor;
+    private final SegmentStoreMetrics.TableCompaction metrics;
+    private final AtomicLong lastCopyOffset;
+    private final String traceObjectId;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the TableCompactor class.
+     *
+     * @param connector   The {@link TableWriterConnector} to use to access Table-related information.
+     * @param indexReader The {@link IndexReader} to use to access the Table Segment's index.
+     * @param executor    An Executor for async operations.
+     */
+    TableCompactor(@NonNull TableWriterConnector connector, @NonNull IndexReader indexReader, @NonNull ScheduledExecutorService executor) {
+        this.connector = connector;
+        this.indexReader = indexReader;
+        this.executor = executor;
+        this.metrics = new SegmentStoreMetrics.TableCompaction(this.connector.getMetadata().getContainerId());
+
+        // We do not know if a previous compaction round (before a recovery) has copied any Table Entries that have not yet
+        // been indexed, so we must assume that all the unindexed data in the Segment may contain such copies.
+        this.lastCopyOffset = new AtomicLong(this.connector.getMetadata().getLength());
+        this.traceObjectId = String.format("TableCompactor[%d-%d]", this.connector.getMetadata().getContainerId(), this.connector.getMetadata().getId());
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Truncates the Table Segment (if it has been compacted since the last truncation and it is fully indexed) and then
+     * executes a compaction round (if its utilization is below the configured threshold). Neither of these is done if
+     * there are Table Entries copied by a previous compaction round that have not yet been indexed.
+     *
+     * @param segment A {@link DirectSegmentAccess} representing the Table Segment to compact.
+     * @param timer   Timer for the operation.
+     * @return A CompletableFuture that, when completed, will indicate the operation has completed.
+     */
+    CompletableFuture<Void> compactIfNeeded(DirectSegmentAccess segment, TimeoutTimer timer) {
+        SegmentMetadata metadata = this.connector.getMetadata();
+        if (metadata.isDeleted() || this.indexReader.getLastIndexedOffset(metadata) < this.lastCopyOffset.get()) {
+            // Either nothing to do or the previous compaction round's copies must be indexed first.
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return truncateIfPossible(segment, timer)
+                .thenComposeAsync(v -> isCompactionRequired(metadata) ? compact(segment, timer) : CompletableFuture.completedFuture(null),
+                        this.executor);
+    }
+
+    /**
+     * Truncates the Segment at its {@link TableAttributes#COMPACTION_OFFSET}, but only if it is fully indexed. Updates that
+     * have not yet been indexed may have recorded backpointers to Table Entries that are about to be truncated out.
+     */
+    private CompletableFuture<Void> truncateIfPossible(DirectSegmentAccess segment, TimeoutTimer timer) {
+        SegmentMetadata metadata = this.connector.getMetadata();
+        long startOffset = metadata.getStartOffset();
+        long compactionOffset = this.indexReader.getCompactionOffset(metadata);
+        long indexOffset = this.indexReader.getLastIndexedOffset(metadata);
+        if (compactionOffset <= startOffset || metadata.getLength() > indexOffset) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Discard any cached information that may point to the section we are about to truncate. This may race with new
+        // updates, so check again that the Segment is still fully indexed.
+        this.connector.notifyCompacted();
+        if (metadata.getLength() > indexOffset) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        log.debug("{}: Truncating at offset {} (StartOffset={}).", this.traceObjectId, compactionOffset, startOffset);
+        return segment.truncate(compactionOffset, timer.getRemaining())
+                      .thenRun(() -> this.metrics.truncated(compactionOffset - startOffset));
+    }
+
+    private boolean isCompactionRequired(SegmentMetadata metadata) {
+        int minUtilization = this.connector.getConfig().getCompactionMinUtilization();
+        long totalEntryCount = this.indexReader.getTotalEntryCount(metadata);
+        if (minUtilization <= 0 || metadata.isSealed() || totalEntryCount <= 0) {
+            return false;
+        }
+
+        long utilization = 100 * this.indexReader.getEntryCount(metadata) / totalEntryCount;
+        return utilization < minUtilization
+                && this.indexReader.getCompactionOffset(metadata) < this.indexReader.getLastIndexedOffset(metadata);
+    }
+
+    /**
+     * Executes a single compaction round: reads up to {@link TableExtensionConfig#getMaxCompactionSize()} bytes worth
+     * of Table Entries from the Segment's {@link TableAttributes#COMPACTION_OFFSET}, copies the live ones at the end of
+     * the Segment and advances the {@link TableAttributes#COMPACTION_OFFSET}.
+     */
+    private CompletableFuture<Void> compact(DirectSegmentAccess segment, TimeoutTimer timer) {
+        SegmentMetadata metadata = this.connector.getMetadata();
+        long compactionOffset = this.indexReader.getCompactionOffset(metadata);
+        long indexOffset = this.indexReader.getLastIndexedOffset(metadata);
+        int maxCompactionSize = this.connector.getConfig().getMaxCompactionSize();
+
+        // Read a bit more than the maximum compaction size, so that we may finish processing the last Table Entry.
+        int readLength = (int) Math.min(indexOffset - compactionOffset,
+                (long) maxCompactionSize + EntrySerializer.MAX_HEADER_LENGTH + EntrySerializer.MAX_SERIALIZATION_LENGTH);
+        val collector = new ReadCollector(timer);
+        AsyncReadResultProcessor.process(segment.read(compactionOffset, readLength, timer.getRemaining()), collector, this.executor);
+        return collector.getResult()
+                        .thenApply(data -> parseEntries(data, compactionOffset, maxCompactionSize))
+                        .thenComposeAsync(args -> excludeObsolete(segment, args, timer)
+                                .thenComposeAsync(v -> copyLiveEntries(segment, args, timer), this.executor), this.executor);
+    }
+
+    /**
+     * Parses Table Entries out of the given data, until at least the given number of bytes have been processed.
+     */
+    @SneakyThrows(IOException.class)
+    private CompactionArgs parseEntries(ByteArraySegment data, long startOffset, int maxLength) {
+        val serializer = this.connector.getSerializer();
+        val result = new CompactionArgs();
+        int position = 0;
+        while (position < maxLength && position < data.getLength()) {
+            if (position + serializer.getHeaderLength(data.get(position)) > data.getLength()) {
+                // Partial header.
+                break;
+            }
+
+            val header = serializer.readHeader(data.subSegment(position, data.getLength() - position));
+            if (position + header.getTotalLength() > data.getLength()) {
+                // Partial entry.
+                break;
+            }
+
+            if (!header.isDeletion()) {
+                HashedArray key = new HashedArray(data.subSegment(position + header.getKeyOffset(), header.getKeyLength()));
+                ByteArraySegment value = data.subSegment(position + header.getValueOffset(), header.getValueLength());
+                long version = header.hasExplicitVersion() ? header.getEntryVersion() : startOffset + position;
+                result.entries.add(TableEntry.versioned(key, value, version));
+            }
+
+            result.processedCount++;
+            position += header.getTotalLength();
+        }
+
+        result.endOffset = startOffset + position;
+        return result;
+    }
+
+    /**
+     * Excludes those Table Entries from the given {@link CompactionArgs} that are not live anymore, i.e., their Keys have
+     * either been removed or updated since.
+     */
+    private CompletableFuture<Void> excludeObsolete(DirectSegmentAccess segment, CompactionArgs args, TimeoutTimer timer) {
+        val hasher = this.connector.getKeyHasher();
+        val hashes = args.entries.stream().map(e -> hasher.hash(e.getKey().getKey())).collect(Collectors.toSet());
+        val liveVersions = new HashMap<HashedArray, Long>();
+        val bucketReader = TableBucketReader.key(segment, this.indexReader::getBackpointerOffset, this.executor);
+        return this.indexReader
+                .locateBuckets(segment, hashes, timer)
+                .thenComposeAsync(buckets -> Futures.loop(
+                        buckets.values(),
+                        bucket -> {
+                            if (!bucket.exists()) {
+                                return CompletableFuture.completedFuture(true);
+                            }
+
+                            // Keys are encountered in descending version order, so the first time we see a Key is its
+                            // latest version. A removed Key will have a version that does not match any Table Entry.
+                            return bucketReader.findAll(bucket.getSegmentOffset(),
+                                    (k, offset) -> liveVersions.putIfAbsent(new HashedArray(k.getKey()), k.getVersion()), timer)
+                                               .thenApply(v -> true);
+                        },
+                        this.executor), this.executor)
+                .thenRun(() -> args.entries.removeIf(e -> !Objects.equals(liveVersions.get(e.getKey().getKey()), e.getKey().getVersion())));
+    }
+
+    /**
+     * Copies the live Table Entries in the given {@link CompactionArgs} to the end of the Segment and advances the
+     * {@link TableAttributes#COMPACTION_OFFSET} past all the processed Table Entries, in a single atomic operation.
+     */
+    private CompletableFuture<Void> copyLiveEntries(DirectSegmentAccess segment, CompactionArgs args, TimeoutTimer timer) {
+        val attributeUpdates = Arrays.asList(
+                new AttributeUpdate(TableAttributes.COMPACTION_OFFSET, AttributeUpdateType.ReplaceIfGreater, args.endOffset),
+                new AttributeUpdate(TableAttributes.TOTAL_ENTRY_COUNT, AttributeUpdateType.Accumulate, -args.processedCount));
+        CompletableFuture<Void> result;
+        if (args.entries.isEmpty()) {
+            // Nothing is live; we only need to record our progress.
+            result = segment.updateAttributes(attributeUpdates, timer.getRemaining());
+        } else {
+            val serializer = this.connector.getSerializer();
+            int length = args.entries.stream().mapToInt(serializer::getUpdateWithExplicitVersionLength).sum();
+            byte[] data = new byte[length];
+            serializer.serializeUpdateWithExplicitVersion(args.entries, data);
+            result = segment.append(data, attributeUpdates, timer.getRemaining())
+                            .thenAccept(offset -> this.lastCopyOffset.set(offset + length));
+        }
+
+        return result.thenRun(() -> {
+            log.debug("{}: Compacted up to offset {}. Processed {} Table Entries, of which {} were live.",
+                    this.traceObjectId, args.endOffset, args.processedCount, args.entries.size());
+            this.metrics.compacted(args.entries.size());
+        });
+    }
+
+    //endregion
+
+    //region Helper Classes
+
+    /**
+     * Arguments for a compaction round.
+     */
+    private static class CompactionArgs {
+        /**
+         * The Table Entries that are candidates for copying.
+         */
+        final List<TableEntry> entries = new ArrayList<>();
+        /**
+         * The number of Table Entries (including removals) processed.
+         */
+        int processedCount;
+        /**
+         * The Segment offset right after the last processed Table Entry.
+         */
+        long endOffset;
+    }
+
+    /**
+     * {@link AsyncReadResultHandler} that collects the contents of a ReadResult into a single buffer.
+     */
+    private static class ReadCollector implements AsyncReadResultHandler {
+        private final EnhancedByteArrayOutputStream readData;
+        private final TimeoutTimer timer;
+        @Getter
+        private final CompletableFuture<ByteArraySegment> result;
+
+        ReadCollector(TimeoutTimer timer) {
+            this.readData = new EnhancedByteArrayOutputStream();
+            this.timer = timer;
+            this.result = new CompletableFuture<>();
+        }
+
+        @Override
+        public boolean shouldRequestContents(ReadResultEntryType entryType, long streamSegmentOffset) {
+            // We only read data that has already been indexed, so this implies Cache and Storage.
+            return entryType == ReadResultEntryType.Cache || entryType == ReadResultEntryType.Storage;
+        }
+
+        @Override
+        public boolean processEntry(ReadResultEntry entry) {
+            try {
+                Preconditions.checkArgument(entry.getContent().isDone(), "Entry Contents is not yet fetched.");
+                ReadResultEntryContents contents = entry.getContent().join();
+                this.readData.write(StreamHelpers.readAll(contents.getData(), contents.getLength()));
+                return true;
+            } catch (Throwable ex) {
+                processError(ex);
+                return false;
+            }
+        }
+
+        @Override
+        public void processError(Throwable cause) {
+            this.result.completeExceptionally(cause);
+        }
+
+        @Override
+        public void processResultComplete() {
+            this.result.complete(this.readData.getData());
+        }
+
+        @Override
+        public Duration getRequestContentTimeout() {
+            return this.timer.getRemaining();
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.tables;
+
+import io.pravega.common.util.ConfigBuilder;
+import io.pravega.common.util.ConfigurationException;
+import io.pravega.common.util.Property;
+import io.pravega.common.util.TypedProperties;
+import lombok.Getter;
+
+/**
+ * Configuration for the Table Segment Extension.
+ */
+public class TableExtensionConfig {
+    //region Config Names
+
+    public static final Property<Integer> COMPACTION_MIN_UTILIZATION = Property.named("compactionMinUtilization", 0);
+    public static final Property<Integer> MAX_COMPACTION_SIZE = Property.named("maxCompactionSizeBytes", 4 * 1024 * 1024);
+    private static final String COMPONENT_CODE = "tables";
+
+    //endregion
+
+    //region Members
+
+    /**
+     * The minimum utilization (percentage of Table Entries in a Table Segment that are still live, out of all the Table
+     * Entries in it) that a Table Segment must have. If the utilization drops below this value, the Table Segment will
+     * be compacted: live Table Entries from the head of the Segment are copied to its end and the Segment is then
+     * truncated. Valid values are between 0 and 100; setting this to 0 disables compaction.
+     */
+    @Getter
+    private final int compactionMinUtilization;
+
+    /**
+     * The maximum number of bytes to process (from the head of the Table Segment) during a single compaction round.
+     */
+    @Getter
+    private final int maxCompactionSize;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the TableExtensionConfig class.
+     *
+     * @param properties The TypedProperties object to read Properties from.
+     */
+    private TableExtensionConfig(TypedProperties properties) throws ConfigurationException {
+        this.compactionMinUtilization = properties.getInt(COMPACTION_MIN_UTILIZATION);
+        if (this.compactionMinUtilization < 0 || this.compactionMinUtilization > 100) {
+            throw new ConfigurationException(String.format("Property '%s' must be a value between 0 and 100.", COMPACTION_MIN_UTILIZATION));
+        }
+
+        this.maxCompactionSize = properties.getInt(MAX_COMPACTION_SIZE);
+        if (this.maxCompactionSize <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", MAX_COMPACTION_SIZE));
+        }
+    }
+
+    /**
+     * Creates a new ConfigBuilder that can be used to create instances of this class.
+     *
+     * @return A new Builder for this class.
+     */
+    public static ConfigBuilder<TableExtensionConfig> builder() {
+        return new ConfigBuilder<>(COMPONENT_CODE, TableExtensionConfig::new);
+    }
+
+    //endregion
+}
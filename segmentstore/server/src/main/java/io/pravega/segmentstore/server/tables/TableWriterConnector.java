@@ -58,6 +58,20 @@ interface TableWriterConnector extends AutoCloseable {
      */
     void notifyIndexOffsetChanged(long lastIndexedOffset);
 
+    /**
+     * Gets the {@link TableExtensionConfig} to use for this Table Segment.
+     *
+     * @return The {@link TableExtensionConfig}.
+     */
+    TableExtensionConfig getConfig();
+
+    /**
+     * This method will be invoked by the {@link WriterTableProcessor} after the Table Segment this connector refers to
+     * has been compacted and right before it is truncated. Any cached information pointing to offsets that have already
+     * been indexed must be discarded, as those offsets may no longer be readable after the truncation.
+     */
+    void notifyCompacted();
+
     /**
      * This method will be invoked by the {@link WriterTableProcessor} when it is closed.
      */
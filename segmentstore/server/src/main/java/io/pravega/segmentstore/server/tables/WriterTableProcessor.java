@@ -57,6 +57,7 @@ public class WriterTableProcessor implements WriterSegmentProcessor {
 
     private final TableWriterConnector connector;
     private final IndexWriter indexWriter;
+    private final TableCompactor compactor;
     private final ScheduledExecutorService executor;
     private final OperationAggregator aggregator;
     private final AtomicLong lastAddedOffset;
@@ -77,6 +78,7 @@ public class WriterTableProcessor implements WriterSegmentProcessor {
         this.connector = connector;
         this.executor = executor;
         this.indexWriter = new IndexWriter(connector.getKeyHasher(), executor);
+        this.compactor = new TableCompactor(connector, this.indexWriter, executor);
         this.aggregator = new OperationAggregator(this.indexWriter.getLastIndexedOffset(this.connector.getMetadata()));
         this.lastAddedOffset = new AtomicLong(-1);
         this.closed = new AtomicBoolean();
@@ -163,23 +165,41 @@ public class WriterTableProcessor implements WriterSegmentProcessor {
         Exceptions.checkNotClosed(this.closed.get(), this);
         TimeoutTimer timer = new TimeoutTimer(timeout);
         return this.connector.getSegment(timer.getRemaining())
-                .thenComposeAsync(segment -> flushWithSingleRetry(segment, timer), this.executor)
-                .thenApply(lastIndexedOffset -> {
-                    // We're done processing. Reset the aggregator.
-                    this.aggregator.reset();
-
-                    // Update the Last Indexed Offset and then notify the connector.
-                    this.aggregator.setLastIndexedOffset(lastIndexedOffset);
-                    this.connector.notifyIndexOffsetChanged(this.aggregator.getLastIndexedOffset());
-                    log.debug("{}: FlushComplete (State={}).", this.traceObjectId, this.aggregator);
-                    return new WriterFlushResult();
-                });
+                .thenComposeAsync(segment -> flushWithSingleRetry(segment, timer)
+                        .thenComposeAsync(lastIndexedOffset -> {
+                            // We're done processing. Reset the aggregator.
+                            this.aggregator.reset();
+
+                            // Update the Last Indexed Offset and then notify the connector.
+                            this.aggregator.setLastIndexedOffset(lastIndexedOffset);
+                            this.connector.notifyIndexOffsetChanged(this.aggregator.getLastIndexedOffset());
+                            log.debug("{}: FlushComplete (State={}).", this.traceObjectId, this.aggregator);
+                            return compactIfNeeded(segment, timer);
+                        }, this.executor), this.executor)
+                .thenApply(v -> new WriterFlushResult());
     }
 
     //endregion
 
     //region Helpers
 
+    /**
+     * Compacts the Table Segment, if needed. Compaction is a best-effort operation, so any failures are logged and
+     * otherwise ignored: they do not affect the outcome of the flush and compaction will be re-attempted after the
+     * next flush.
+     *
+     * @param segment A {@link DirectSegmentAccess} representing the Segment to compact.
+     * @param timer   Timer for the operation.
+     * @return A CompletableFuture that, when completed, will indicate the compaction has completed.
+     */
+    private CompletableFuture<Void> compactIfNeeded(DirectSegmentAccess segment, TimeoutTimer timer) {
+        return this.compactor.compactIfNeeded(segment, timer)
+                .exceptionally(ex -> {
+                    log.warn("{}: Compaction failed.", this.traceObjectId, ex);
+                    return null;
+                });
+    }
+
     /**
      * Performs a flush attempt, and retries it in case it failed with {@link BadAttributeUpdateException} for the
      * {@link TableAttributes#INDEX_OFFSET} attribute.
@@ -302,8 +322,10 @@ public class WriterTableProcessor implements WriterSegmentProcessor {
         EntrySerializer.Header h = this.connector.getSerializer().readHeader(input);
         HashedArray key = new HashedArray(StreamHelpers.readAll(input, h.getKeyLength()));
 
-        // Index the Key. If it was used before, it must have had a lower offset, so this supersedes it.
-        keyUpdateCollection.add(new BucketUpdate.KeyUpdate(key, entryOffset, h.isDeletion()), h.getTotalLength());
+        // Index the Key. If it was used before, it must have had a lower offset, so this supersedes it (unless this is
+        // a copy made by compaction, which is never newer than any other update in the same batch).
+        long version = h.hasExplicitVersion() ? h.getEntryVersion() : entryOffset;
+        keyUpdateCollection.add(new BucketUpdate.KeyUpdate(key, entryOffset, version, h.isDeletion()), h.getTotalLength());
 
         // We don't care about the value; so skip over it.
         if (h.getValueLength() > 0) {
@@ -372,9 +394,15 @@ public class WriterTableProcessor implements WriterSegmentProcessor {
         return TableBucketReader
                 .key(segment, this.indexWriter::getBackpointerOffset, this.executor)
                 .findAll(bucketUpdate.getBucket().getSegmentOffset(),
-                        k -> bucketUpdate.withExistingKey(new BucketUpdate.KeyInfo(new HashedArray(k.getKey()), k.getVersion())),
-                        timer);
-
+                        (k, offset) -> bucketUpdate.withExistingKey(new BucketUpdate.KeyInfo(new HashedArray(k.getKey()), offset, k.getVersion())),
+                        timer)
+                .thenRun(() -> {
+                    // Now that we know the current version of each key, exclude any compaction copies that are obsolete.
+                    int obsoleteCopies = bucketUpdate.removeObsoleteCopies();
+                    if (obsoleteCopies > 0) {
+                        log.debug("{}: Excluded {} obsolete compaction copies from {}.", this.traceObjectId, obsoleteCopies, bucketUpdate.getBucket());
+                    }
+                });
     }
 
     private void logBucketUpdates(Collection<BucketUpdate> bucketUpdates) {
@@ -494,7 +522,13 @@ public class WriterTableProcessor implements WriterSegmentProcessor {
         private long lastIndexedOffset = -1L;
 
         void add(BucketUpdate.KeyUpdate update, int entryLength) {
-            this.updates.put(update.getKey(), update);
+            BucketUpdate.KeyUpdate existing = this.updates.get(update.getKey());
+            if (existing == null || existing.isCopy() || !update.isCopy()) {
+                // Compaction copies reflect the state of the index before this batch, so any other update (regardless of
+                // its offset) in the same batch supersedes them.
+                this.updates.put(update.getKey(), update);
+            }
+
             this.totalUpdateCount++;
             long lastOffset = update.getOffset() + entryLength;
             if (lastOffset > this.lastIndexedOffset) {
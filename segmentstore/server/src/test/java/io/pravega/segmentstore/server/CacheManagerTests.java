@@ -229,10 +229,141 @@ public class CacheManagerTests extends ThreadPooledTestSuite {
         cm.applyCachePolicy();
     }
 
+    /**
+     * Tests the case where the underlying Cache reports more allocated bytes than the clients do (i.e., due to allocation
+     * overhead), in which case the CacheManager should use that value when applying the policy.
+     */
+    @Test
+    public void testAllocatedBytesSupplier() {
+        final CachePolicy policy = new CachePolicy(1024, Duration.ofHours(10), Duration.ofHours(1));
+        @Cleanup
+        TestCacheManager cm = new TestCacheManager(policy, executorService());
+        TestClient client = new TestClient();
+        cm.register(client);
+        AtomicInteger updateCount = new AtomicInteger();
+        client.setUpdateGenerationsImpl((current, oldest) -> {
+            if (oldest > 0) {
+                updateCount.incrementAndGet();
+            }
+            return -1L;
+        });
+
+        // The client is within limits and so is the cache.
+        client.setCacheStatus(policy.getMaxSize() / 2, 0, 0);
+        cm.setAllocatedBytesSupplier(() -> policy.getMaxSize() / 2 + 1);
+        cm.applyCachePolicy();
+        Assert.assertEquals("Not expecting any evictions.", 0, updateCount.get());
+        Assert.assertEquals("Unexpected cache utilization.", 0.5 + 1.0 / policy.getMaxSize(), cm.getCacheUtilization(), 0.0001);
+
+        // The client is within limits but the cache is not (due to overhead).
+        client.setCacheStatus(policy.getMaxSize() / 2, 0, 1);
+        cm.setAllocatedBytesSupplier(() -> policy.getMaxSize() + 1);
+        cm.applyCachePolicy();
+        Assert.assertEquals("Expected an eviction to be triggered.", 1, updateCount.get());
+    }
+
+    /**
+     * Tests the ability of the CacheManager to evict from Clients with a lower {@link CachePriority} before evicting from
+     * Clients with a higher one.
+     */
+    @Test
+    public void testPriorities() {
+        final CachePolicy policy = new CachePolicy(1024, Duration.ofHours(10), Duration.ofHours(1));
+        @Cleanup
+        TestCacheManager cm = new TestCacheManager(policy, executorService());
+        TestClient normalClient = new TestClient();
+        TestClient highClient = new TestClient(CachePriority.High);
+        cm.register(normalClient);
+        cm.register(highClient);
+        AtomicInteger normalOldest = new AtomicInteger();
+        AtomicInteger highOldest = new AtomicInteger();
+
+        // Both clients together exceed the policy, but evicting from the Normal client is enough.
+        normalClient.setCacheStatus(600, 0, 0);
+        normalClient.setUpdateGenerationsImpl((current, oldest) -> {
+            normalOldest.set(oldest);
+            return oldest > 0 ? 600L : 0L;
+        });
+        highClient.setCacheStatus(600, 0, 0);
+        highClient.setUpdateGenerationsImpl((current, oldest) -> {
+            highOldest.set(oldest);
+            return oldest > 0 ? 600L : 0L;
+        });
+        cm.applyCachePolicy();
+        Assert.assertEquals("Expected the Normal client to be evicted from.", 1, normalOldest.get());
+        Assert.assertEquals("Not expecting the High client to be evicted from.", 0, highOldest.get());
+
+        // The High client exceeds the policy by itself; the Normal client is evicted from first (down to the current
+        // generation) and only then the High client.
+        normalClient.setCacheStatus(100, 1, 1);
+        normalClient.setUpdateGenerationsImpl((current, oldest) -> {
+            long result = oldest > normalOldest.get() ? 100L : 0L;
+            normalOldest.set(oldest);
+            return result;
+        });
+        highClient.setCacheStatus(1200, 0, 1);
+        highClient.setUpdateGenerationsImpl((current, oldest) -> {
+            long result = oldest > highOldest.get() ? 300L : 0L;
+            highOldest.set(oldest);
+            return result;
+        });
+        cm.applyCachePolicy();
+        Assert.assertEquals("Expected the Normal client to be evicted from up to the current generation.", 2, normalOldest.get());
+        Assert.assertEquals("Expected the High client to be evicted from.", 1, highOldest.get());
+        Assert.assertEquals("Unexpected cache utilization.", 900.0 / policy.getMaxSize(), cm.getCacheUtilization(), 0.0001);
+    }
+
+    /**
+     * Tests the ability of the CacheManager to only evict from those Containers that exceed their share of the cache.
+     */
+    @Test
+    public void testContainerBudgets() {
+        final CachePolicy policy = new CachePolicy(1024, Duration.ofHours(10), Duration.ofHours(1));
+        @Cleanup
+        TestCacheManager cm = new TestCacheManager(policy, executorService());
+        TestClient hotClient = new TestClient(CachePriority.Normal, 1);
+        TestClient coldClient = new TestClient(CachePriority.Normal, 2);
+        cm.register(hotClient);
+        cm.register(coldClient);
+        AtomicInteger hotOldest = new AtomicInteger();
+        AtomicInteger coldOldest = new AtomicInteger();
+
+        // Container 1 exceeds its share of the cache, but Container 2 does not. Only Container 1 should be evicted from.
+        hotClient.setCacheStatus(900, 0, 0);
+        hotClient.setUpdateGenerationsImpl((current, oldest) -> {
+            hotOldest.set(oldest);
+            return oldest > 0 ? 900L : 0L;
+        });
+        coldClient.setCacheStatus(300, 0, 0);
+        coldClient.setUpdateGenerationsImpl((current, oldest) -> {
+            coldOldest.set(oldest);
+            return oldest > 0 ? 300L : 0L;
+        });
+        cm.applyCachePolicy();
+        Assert.assertEquals("Expected the Container exceeding its budget to be evicted from.", 1, hotOldest.get());
+        Assert.assertEquals("Not expecting the Container within its budget to be evicted from.", 0, coldOldest.get());
+        Assert.assertEquals("Unexpected cache utilization.", 300.0 / policy.getMaxSize(), cm.getCacheUtilization(), 0.0001);
+    }
+
     private static class TestClient implements CacheManager.Client {
+        private final CachePriority priority;
+        private final int containerId;
         private CacheManager.CacheStatus currentStatus;
         private BiFunction<Integer, Integer, Long> updateGenerationsImpl = (current, oldest) -> -1L;
 
+        TestClient() {
+            this(CachePriority.Normal);
+        }
+
+        TestClient(CachePriority priority) {
+            this(priority, CacheManager.NO_CONTAINER_ID);
+        }
+
+        TestClient(CachePriority priority, int containerId) {
+            this.priority = priority;
+            this.containerId = containerId;
+        }
+
         void setCacheStatus(long size, int oldestGeneration, int newestGeneration) {
             this.currentStatus = new CacheManager.CacheStatus(size, oldestGeneration, newestGeneration);
         }
@@ -241,6 +372,16 @@ public class CacheManagerTests extends ThreadPooledTestSuite {
             this.updateGenerationsImpl = function;
         }
 
+        @Override
+        public CachePriority getCachePriority() {
+            return this.priority;
+        }
+
+        @Override
+        public int getCacheContainerId() {
+            return this.containerId;
+        }
+
         @Override
         public CacheManager.CacheStatus getCacheStatus() {
             return this.currentStatus;
@@ -173,6 +173,38 @@ public class StreamSegmentMetadataTests {
                 });
     }
 
+    /**
+     * Tests that getVersion() changes whenever the metadata is modified, but not when only accessing it or updating
+     * fields that are not part of Metadata Checkpoints (LastUsed, Pinned, Active).
+     */
+    @Test
+    public void testVersion() {
+        val metadata = new StreamSegmentMetadata(SEGMENT_NAME, SEGMENT_ID, CONTAINER_ID);
+        Stream.<Consumer<StreamSegmentMetadata>>of(
+                m -> m.setLength(100),
+                m -> m.setStorageLength(50),
+                m -> m.setStartOffset(10),
+                m -> m.setLastModified(new ImmutableDate()),
+                m -> m.updateAttributes(Collections.singletonMap(Attributes.EVENT_COUNT, 1L)),
+                StreamSegmentMetadata::markSealed,
+                StreamSegmentMetadata::markSealedInStorage,
+                StreamSegmentMetadata::markMerged,
+                StreamSegmentMetadata::markDeleted,
+                StreamSegmentMetadata::markDeletedInStorage)
+              .forEach(c -> {
+                  long version = metadata.getVersion();
+                  c.accept(metadata);
+                  AssertExtensions.assertGreaterThan("Expected the version to change.", version, metadata.getVersion());
+              });
+
+        long version = metadata.getVersion();
+        metadata.getAttributes().get(Attributes.EVENT_COUNT);
+        metadata.setLastUsed(123);
+        metadata.markPinned();
+        metadata.markInactive();
+        Assert.assertEquals("Not expecting the version to change.", version, metadata.getVersion());
+    }
+
     private void testCopyFrom(StreamSegmentMetadata baseMetadata) {
         baseMetadata.setStorageLength(1233);
         baseMetadata.updateAttributes(generateAttributes(new Random(0)));
@@ -31,6 +31,7 @@ import io.pravega.segmentstore.server.containers.StreamSegmentMetadata;
 import io.pravega.segmentstore.server.logs.operations.DeleteSegmentOperation;
 import io.pravega.segmentstore.server.logs.operations.MergeSegmentOperation;
 import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperation;
+import io.pravega.segmentstore.server.logs.operations.MetadataDeltaCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.logs.operations.StorageMetadataCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.StorageOperation;
@@ -186,7 +187,7 @@ public class ContainerMetadataUpdateTransactionTests {
         txn.preProcessOperation(appendOp);
         txn.acceptOperation(appendOp);
         Assert.assertEquals("acceptOperation did not update the transaction.",
-                SEGMENT_LENGTH + appendOp.getData().length, txn.getStreamSegmentMetadata(SEGMENT_ID).getLength());
+                SEGMENT_LENGTH + appendOp.getData().getLength(), txn.getStreamSegmentMetadata(SEGMENT_ID).getLength());
         Assert.assertEquals("acceptOperation updated the metadata.",
                 SEGMENT_LENGTH, metadata.getStreamSegmentMetadata(SEGMENT_ID).getLength());
     }
@@ -1016,6 +1017,113 @@ public class ContainerMetadataUpdateTransactionTests {
         assertMetadataSame("Unexpected metadata after deserializing checkpoint.", metadata, checkpointedMetadata);
     }
 
+    /**
+     * Tests that MetadataCheckpointOperations reuse the serialized entries of Segments that have not changed since the
+     * previous checkpoint, and that doing so does not change their contents.
+     */
+    @Test
+    public void testProcessMetadataCheckpointReuse() throws Exception {
+        AtomicLong seqNo = new AtomicLong();
+        UpdateableContainerMetadata metadata = createMetadata();
+        int segmentCount = metadata.getAllStreamSegmentIds().size();
+        val cache = new MetadataCheckpointCache();
+        val txn = new ContainerMetadataUpdateTransaction(metadata, metadata, 0, cache);
+
+        // Nothing to reuse the first time around.
+        val checkpoint1 = createMetadataCheckpoint();
+        processOperation(checkpoint1, txn, seqNo::incrementAndGet);
+        Assert.assertEquals("Not expecting any entries to be reused for the first checkpoint.", 0, cache.getLastReusedCount());
+        assertMetadataSame("Unexpected metadata in first checkpoint.", metadata, getCheckpointedMetadata(checkpoint1));
+
+        // Nothing changed: everything should be reused.
+        val checkpoint2 = createMetadataCheckpoint();
+        processOperation(checkpoint2, txn, seqNo::incrementAndGet);
+        Assert.assertEquals("Expected all entries to be reused.", segmentCount, cache.getLastReusedCount());
+        assertMetadataSame("Unexpected metadata in checkpoint with all entries reused.", metadata, getCheckpointedMetadata(checkpoint2));
+
+        // Modify one segment directly (as the StorageWriter would) and another one via an operation (which has not yet
+        // been committed). Neither of them should be reused.
+        val sm = metadata.getStreamSegmentMetadata(SEGMENT_ID);
+        sm.setStorageLength(sm.getStorageLength() + 1);
+        processOperation(new StreamSegmentSealOperation(NOTSEALED_SOURCE_ID), txn, seqNo::incrementAndGet);
+        val checkpoint3 = createMetadataCheckpoint();
+        processOperation(checkpoint3, txn, seqNo::incrementAndGet);
+        Assert.assertEquals("Not expecting modified entries to be reused.", segmentCount - 2, cache.getLastReusedCount());
+        txn.commit(metadata);
+        assertMetadataSame("Unexpected metadata in checkpoint with some entries reused.", metadata, getCheckpointedMetadata(checkpoint3));
+
+        // Committing the transaction changes the affected segments' metadata; the next checkpoint should pick that up.
+        val checkpoint4 = createMetadataCheckpoint();
+        processOperation(checkpoint4, txn, seqNo::incrementAndGet);
+        Assert.assertEquals("Not expecting committed entries to be reused.", segmentCount - 1, cache.getLastReusedCount());
+        assertMetadataSame("Unexpected metadata after commit.", metadata, getCheckpointedMetadata(checkpoint4));
+    }
+
+    /**
+     * Tests the processMetadataOperation method with MetadataDeltaCheckpoint operations.
+     */
+    @Test
+    public void testProcessMetadataDeltaCheckpoint() throws Exception {
+        // When encountering MetadataDeltaCheckpoint in non-Recovery Mode, the ContainerMetadataUpdateTransaction serializes
+        // only those Segments that have changed since the previous checkpoint (full or delta).
+        // When encountering MetadataDeltaCheckpoint in Recovery Mode, the ContainerMetadataUpdateTransaction applies them
+        // on top of the metadata it has accumulated so far (starting with a full checkpoint).
+        AtomicLong seqNo = new AtomicLong();
+        this.timeProvider.setElapsedMillis(1234);
+        UpdateableContainerMetadata metadata = createMetadata();
+        int segmentCount = metadata.getAllStreamSegmentIds().size();
+        val cache = new MetadataCheckpointCache();
+        val txn = new ContainerMetadataUpdateTransaction(metadata, metadata, 0, cache);
+
+        // Full checkpoint.
+        val fullCheckpoint = createMetadataCheckpoint();
+        processOperation(fullCheckpoint, txn, seqNo::incrementAndGet);
+
+        // Nothing changed: the delta should not contain any Segments.
+        val delta1 = new MetadataDeltaCheckpointOperation();
+        processOperation(delta1, txn, seqNo::incrementAndGet);
+        Assert.assertEquals("Expected all segments to be skipped.", segmentCount, cache.getLastReusedCount());
+        AssertExtensions.assertLessThan("Expected the delta to be smaller than the full checkpoint.",
+                fullCheckpoint.getContents().getLength(), delta1.getContents().getLength());
+
+        // Modify one segment directly (as the StorageWriter would) and another one via an operation (which has not yet
+        // been committed). Only these two should be included.
+        val sm = metadata.getStreamSegmentMetadata(SEGMENT_ID);
+        sm.setStorageLength(sm.getStorageLength() + 1);
+        processOperation(new StreamSegmentSealOperation(NOTSEALED_SOURCE_ID), txn, seqNo::incrementAndGet);
+        val delta2 = new MetadataDeltaCheckpointOperation();
+        processOperation(delta2, txn, seqNo::incrementAndGet);
+        Assert.assertEquals("Expected unmodified segments to be skipped.", segmentCount - 2, cache.getLastReusedCount());
+
+        // Committing the transaction changes the sealed segment's metadata; the next delta should pick that up.
+        txn.commit(metadata);
+        val delta3 = new MetadataDeltaCheckpointOperation();
+        processOperation(delta3, txn, seqNo::incrementAndGet);
+        Assert.assertEquals("Expected the committed segment to be included.", segmentCount - 1, cache.getLastReusedCount());
+        txn.commit(metadata);
+
+        // Only full checkpoints are valid truncation points.
+        Assert.assertTrue("Expected the full checkpoint to be a valid truncation point.",
+                metadata.isValidTruncationPoint(fullCheckpoint.getSequenceNumber()));
+        for (val delta : Arrays.asList(delta1, delta2, delta3)) {
+            Assert.assertFalse("Not expecting a delta checkpoint to be a valid truncation point.",
+                    metadata.isValidTruncationPoint(delta.getSequenceNumber()));
+        }
+
+        // Recover from the full checkpoint, then apply the deltas in order.
+        val recoveredMetadata = createBlankMetadata();
+        recoveredMetadata.enterRecoveryMode();
+        val txn2 = createUpdateTransaction(recoveredMetadata);
+        processOperation(fullCheckpoint, txn2, () -> 1L);
+        for (val delta : Arrays.asList(delta1, delta2, delta3)) {
+            processOperation(delta, txn2, () -> 1L);
+        }
+
+        txn2.commit(recoveredMetadata);
+        recoveredMetadata.exitRecoveryMode();
+        assertMetadataSame("Unexpected metadata after applying delta checkpoints.", metadata, recoveredMetadata);
+    }
+
     /**
      * Tests the processMetadataOperation method with StorageMetadataCheckpoint operations.
      */
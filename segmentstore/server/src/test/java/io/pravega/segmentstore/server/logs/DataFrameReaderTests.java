@@ -11,6 +11,7 @@ package io.pravega.segmentstore.server.logs;
 
 import io.pravega.common.Exceptions;
 import io.pravega.common.ObjectClosedException;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
 import io.pravega.common.function.Callbacks;
 import io.pravega.common.io.SerializationException;
 import io.pravega.segmentstore.server.DataCorruptionException;
@@ -23,11 +24,14 @@ import io.pravega.test.common.ThreadPooledTestSuite;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
+import lombok.Cleanup;
 import lombok.val;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -90,6 +94,61 @@ public class DataFrameReaderTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Tests the ability of the DataFrameReader to read compressed DataFrames, interleaved with uncompressed ones.
+     */
+    @Test
+    public void testReadsCompressed() throws Exception {
+        int frameSize = 64 * 1024;
+        ArrayList<TestLogItem> records = new ArrayList<>();
+        for (byte[] r : DataFrameTestHelpers.generateRecords(200, LARGE_RECORD_MIN_SIZE, LARGE_RECORD_MAX_SIZE)) {
+            if (records.size() % 2 == 0) {
+                // Make every other record compressible.
+                Arrays.fill(r, (byte) records.size());
+            }
+
+            records.add(new TestLogItem(records.size(), r));
+        }
+
+        try (TestDurableDataLog dataLog = TestDurableDataLog.create(CONTAINER_ID, frameSize, executorService())) {
+            dataLog.initialize(TIMEOUT);
+
+            ArrayList<DataFrameBuilder.CommitArgs> uncompressedFrames = new ArrayList<>();
+            ArrayList<DataFrameBuilder.CommitArgs> compressedFrames = new ArrayList<>();
+            BiConsumer<Throwable, DataFrameBuilder.CommitArgs> errorCallback = (ex, a) ->
+                    Assert.fail(String.format("Unexpected error occurred upon commit. %s", ex));
+            int splitIndex = records.size() / 2;
+            val uncompressedArgs = new DataFrameBuilder.Args(uncompressedFrames::add, Callbacks::doNothing, errorCallback, executorService());
+            try (DataFrameBuilder<TestLogItem> b = new DataFrameBuilder<>(dataLog, SERIALIZER, uncompressedArgs)) {
+                for (int i = 0; i < splitIndex; i++) {
+                    b.append(records.get(i));
+                }
+
+                b.flush();
+            }
+
+            val compressedArgs = new DataFrameBuilder.Args(compressedFrames::add, Callbacks::doNothing, errorCallback,
+                    executorService(), DataFrameCompression.DEFLATE);
+            try (DataFrameBuilder<TestLogItem> b = new DataFrameBuilder<>(dataLog, SERIALIZER, compressedArgs)) {
+                for (int i = splitIndex; i < records.size(); i++) {
+                    b.append(records.get(i));
+                }
+
+                b.flush();
+            }
+
+            // Verify the compressed DataFrames were actually smaller.
+            long uncompressedLength = uncompressedFrames.stream().mapToLong(DataFrameBuilder.CommitArgs::getDataFrameLength).sum();
+            long compressedLength = compressedFrames.stream().mapToLong(DataFrameBuilder.CommitArgs::getDataFrameLength).sum();
+            AssertExtensions.assertLessThan("Expected compressed DataFrames to be smaller.", uncompressedLength, compressedLength);
+
+            TestSerializer logItemFactory = new TestSerializer();
+            DataFrameReader<TestLogItem> reader = new DataFrameReader<>(dataLog, logItemFactory, CONTAINER_ID);
+            List<TestLogItem> readItems = readAll(reader);
+            checkReadResult(records, new ArrayList<>(), readItems);
+        }
+    }
+
     /**
      * Tests the case when we begin reading from a DataFrame which begins with a partial record. That record needs to
      * be dropped (not returned). DataFrameReader should always return full records.
@@ -205,8 +264,71 @@ public class DataFrameReaderTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Tests the ability of the DataFrameReader to read from a DataFramePrefetcher, using both compressed and uncompressed
+     * DataFrames, as well as the case when the DataFramePrefetcher encounters log read failures.
+     */
+    @Test
+    public void testReadsWithPrefetcher() throws Exception {
+        int readAheadCount = 5;
+        int failReadSyncEvery = 7; // Fail reads synchronously every X attempts.
+        ArrayList<TestLogItem> records = DataFrameTestHelpers.generateLogItems(100, SMALL_RECORD_MIN_SIZE, SMALL_RECORD_MAX_SIZE, 0);
+        records.addAll(DataFrameTestHelpers.generateLogItems(100, LARGE_RECORD_MIN_SIZE, LARGE_RECORD_MAX_SIZE, records.size()));
+
+        @Cleanup("shutdown")
+        val fetchExecutor = ExecutorServiceHelpers.newScheduledThreadPool(1, "test-prefetch");
+        try (TestDurableDataLog dataLog = TestDurableDataLog.create(CONTAINER_ID, FRAME_SIZE, executorService())) {
+            dataLog.initialize(TIMEOUT);
+
+            BiConsumer<Throwable, DataFrameBuilder.CommitArgs> errorCallback = (ex, a) ->
+                    Assert.fail(String.format("Unexpected error occurred upon commit. %s", ex));
+            int splitIndex = records.size() / 2;
+            val args = new DataFrameBuilder.Args(Callbacks::doNothing, Callbacks::doNothing, errorCallback, executorService());
+            try (DataFrameBuilder<TestLogItem> b = new DataFrameBuilder<>(dataLog, SERIALIZER, args)) {
+                for (int i = 0; i < splitIndex; i++) {
+                    b.append(records.get(i));
+                }
+
+                b.flush();
+            }
+
+            val compressedArgs = new DataFrameBuilder.Args(Callbacks::doNothing, Callbacks::doNothing, errorCallback,
+                    executorService(), DataFrameCompression.DEFLATE);
+            try (DataFrameBuilder<TestLogItem> b = new DataFrameBuilder<>(dataLog, SERIALIZER, compressedArgs)) {
+                for (int i = splitIndex; i < records.size(); i++) {
+                    b.append(records.get(i));
+                }
+
+                b.flush();
+            }
+
+            // Happy case.
+            TestSerializer logItemFactory = new TestSerializer();
+            val prefetcher = new DataFramePrefetcher(dataLog.getReader(), readAheadCount, fetchExecutor, executorService(), "Test");
+            try (DataFrameReader<TestLogItem> reader = new DataFrameReader<>(prefetcher, logItemFactory, CONTAINER_ID)) {
+                List<TestLogItem> readItems = readAll(reader);
+                checkReadResult(records, new ArrayList<>(), readItems);
+                Assert.assertNull("Not expecting any more items after reaching the end.", reader.getNext());
+            }
+
+            // Failures during getNext().
+            ErrorInjector<Exception> readErrorInjector = new ErrorInjector<>(
+                    count -> count % failReadSyncEvery == 0,
+                    () -> new DataLogNotAvailableException("intentional getNext exception"));
+            dataLog.setReadErrorInjectors(null, readErrorInjector);
+            testReadWithException(
+                    () -> new DataFrameReader<>(new DataFramePrefetcher(dataLog.getReader(), readAheadCount, fetchExecutor, executorService(), "Test"),
+                            logItemFactory, CONTAINER_ID),
+                    ex -> ex == readErrorInjector.getLastCycleException());
+        }
+    }
+
     private void testReadWithException(DurableDataLog dataLog, Serializer<TestLogItem> serializer, Predicate<Throwable> exceptionVerifier) throws Exception {
-        try (DataFrameReader<TestLogItem> reader = new DataFrameReader<>(dataLog, serializer, CONTAINER_ID)) {
+        testReadWithException(() -> new DataFrameReader<>(dataLog, serializer, CONTAINER_ID), exceptionVerifier);
+    }
+
+    private void testReadWithException(Callable<DataFrameReader<TestLogItem>> createReader, Predicate<Throwable> exceptionVerifier) throws Exception {
+        try (DataFrameReader<TestLogItem> reader = createReader.call()) {
             boolean encounteredException = false;
             while (true) {
                 DataFrameRecord<TestLogItem> dataFrameRecord;
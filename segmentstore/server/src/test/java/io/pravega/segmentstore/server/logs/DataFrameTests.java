@@ -9,9 +9,11 @@
  */
 package io.pravega.segmentstore.server.logs;
 
+import io.pravega.common.io.SerializationException;
 import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.storage.LogAddress;
 import io.pravega.test.common.AssertExtensions;
+import java.util.Arrays;
 import java.util.List;
 import lombok.val;
 import org.junit.Assert;
@@ -53,6 +55,71 @@ public class DataFrameTests {
         DataFrameTestHelpers.checkReadRecords(contents, allRecords, b -> b);
     }
 
+    /**
+     * Tests the ability to compress a DataFrame upon sealing it, and to read it back.
+     */
+    @Test
+    public void testCompressedSerialization() throws Exception {
+        int maxFrameSize = 2 * 1024 * 1024;
+        int maxRecordCount = 4500;
+        int minRecordSize = 0;
+        int maxRecordSize = 1024;
+
+        // Generate highly compressible records.
+        List<ByteArraySegment> allRecords = DataFrameTestHelpers.generateRecords(maxRecordCount, minRecordSize, maxRecordSize,
+                r -> {
+                    Arrays.fill(r, (byte) r.length);
+                    return new ByteArraySegment(r);
+                });
+
+        DataFrame writeFrame = new DataFrame(new ByteArraySegment(new byte[maxFrameSize]), DataFrameCompression.DEFLATE);
+        appendRecords(allRecords, writeFrame);
+        writeFrame.seal();
+        Assert.assertTrue("Expected the frame to be compressed.", writeFrame.isCompressed());
+        Assert.assertFalse("Not expecting a compressed frame to be reported as empty.", writeFrame.isEmpty());
+
+        val frameData = writeFrame.getData();
+        Assert.assertEquals("Unexpected length from getData().", writeFrame.getLength(), frameData.getLength());
+        AssertExtensions.assertLessThan("Expected the compressed frame to be smaller.", maxFrameSize / 2, frameData.getLength());
+
+        // Read them back, by deserializing the frame.
+        val contents = DataFrame.read(frameData.getReader(), frameData.getLength(), writeFrame.getAddress());
+        DataFrameTestHelpers.checkReadRecords(contents, allRecords, b -> b);
+
+        // Corrupt the compressed contents and verify it is detected upon reading.
+        byte[] corruptedData = frameData.getCopy();
+        Arrays.fill(corruptedData, corruptedData.length / 2, corruptedData.length, (byte) 0xFF);
+        AssertExtensions.assertThrows(
+                "read() accepted a corrupted compressed DataFrame.",
+                () -> DataFrame.read(new ByteArraySegment(corruptedData).getReader(), corruptedData.length, writeFrame.getAddress()),
+                ex -> ex instanceof SerializationException);
+    }
+
+    /**
+     * Tests the fact that DataFrames are not compressed if they are too small or if compression would not make them smaller.
+     */
+    @Test
+    public void testCompressionNotBeneficial() throws Exception {
+        int maxFrameSize = 64 * 1024;
+
+        // Incompressible (random) records.
+        List<ByteArraySegment> randomRecords = DataFrameTestHelpers.generateRecords(1000, 0, 1024, ByteArraySegment::new);
+        DataFrame randomFrame = new DataFrame(new ByteArraySegment(new byte[maxFrameSize]), DataFrameCompression.DEFLATE);
+        appendRecords(randomRecords, randomFrame);
+        randomFrame.seal();
+        Assert.assertFalse("Not expecting random data to be compressed.", randomFrame.isCompressed());
+        val randomContents = DataFrame.read(randomFrame.getData().getReader(), randomFrame.getLength(), randomFrame.getAddress());
+        DataFrameTestHelpers.checkReadRecords(randomContents, randomRecords, b -> b);
+
+        // Compressible, but too small.
+        DataFrame smallFrame = new DataFrame(new ByteArraySegment(new byte[maxFrameSize]), DataFrameCompression.DEFLATE);
+        smallFrame.startNewEntry(true);
+        smallFrame.append(new ByteArraySegment(new byte[DataFrame.MIN_COMPRESSION_LENGTH / 2]));
+        smallFrame.endEntry(true);
+        smallFrame.seal();
+        Assert.assertFalse("Not expecting a small frame to be compressed.", smallFrame.isCompressed());
+    }
+
     /**
      * Tests the ability to Start/End/Discard an entry.
      */
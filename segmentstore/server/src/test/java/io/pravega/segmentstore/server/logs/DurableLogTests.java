@@ -33,6 +33,7 @@ import io.pravega.segmentstore.server.UpdateableContainerMetadata;
 import io.pravega.segmentstore.server.UpdateableSegmentMetadata;
 import io.pravega.segmentstore.server.containers.StreamSegmentContainerMetadata;
 import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperation;
+import io.pravega.segmentstore.server.logs.operations.MetadataDeltaCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.logs.operations.OperationComparer;
 import io.pravega.segmentstore.server.logs.operations.StorageMetadataCheckpointOperation;
@@ -613,25 +614,30 @@ public class DurableLogTests extends OperationLogTestBase {
         OperationWithCompletion.allOf(completionFutures).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
         List<Operation> readOperations = readUpToSequenceNumber(durableLog, setup.metadata.getOperationSequenceNumber());
 
-        // Count the number of injected MetadataCheckpointOperations.
+        // Count the number of injected MetadataCheckpointOperations and MetadataDeltaCheckpointOperations.
         int injectedOperationCount = 0;
+        int injectedDeltaCount = 0;
         for (Operation o : readOperations) {
             if (o instanceof MetadataCheckpointOperation) {
                 injectedOperationCount++;
+            } else if (o instanceof MetadataDeltaCheckpointOperation) {
+                injectedDeltaCount++;
             }
         }
 
         // Calculate how many we were expecting.
         int expectedCheckpoints = readOperations.size() - operations.size();
 
-        if (expectedCheckpoints != injectedOperationCount) {
-            Assert.assertEquals("Unexpected operations were injected. Expected only MetadataCheckpointOperations.",
-                    expectedCheckpoints, injectedOperationCount);
+        if (expectedCheckpoints != injectedOperationCount + injectedDeltaCount) {
+            Assert.assertEquals("Unexpected operations were injected. Expected only MetadataCheckpointOperations and MetadataDeltaCheckpointOperations.",
+                    expectedCheckpoints, injectedOperationCount + injectedDeltaCount);
         }
 
-        // We expect at least 2 injected operations (one is the very first one (checked above), and then at least
-        // one more based on written data.
+        // We expect at least 2 injected full checkpoints (one is the very first one (checked above), and then at least
+        // one more based on written data), and delta checkpoints in between them.
         AssertExtensions.assertGreaterThan("Insufficient number of injected operations.", 1, injectedOperationCount);
+        AssertExtensions.assertGreaterThanOrEqual("Insufficient number of injected delta checkpoints.",
+                (injectedOperationCount - 1) * (durableLogConfig.getCheckpointFullSnapshotInterval() - 1), injectedDeltaCount);
 
         // Stop the processor.
         durableLog.stopAsync().awaitTerminated();
@@ -1324,6 +1330,97 @@ public class DurableLogTests extends OperationLogTestBase {
         }
     }
 
+    /**
+     * Tests recovery from a MetadataCheckpointOperation followed by MetadataDeltaCheckpointOperations, as well as truncating
+     * the DurableLog across them. The deltas carry Storage-related data (which is not updated via Log Operations), so the
+     * recovered metadata can only match if they have been applied, in order, on top of the full checkpoint.
+     */
+    @Test
+    public void testRecoveryWithDeltaCheckpoints() {
+        int streamSegmentCount = 50;
+        int appendsPerStreamSegment = 20;
+
+        // Setup a DurableLog and start it.
+        @Cleanup
+        TestDurableDataLogFactory dataLogFactory = new TestDurableDataLogFactory(new InMemoryDurableDataLogFactory(MAX_DATA_LOG_APPEND_SIZE, executorService()));
+        @Cleanup
+        Storage storage = InMemoryStorageFactory.newStorage(executorService());
+        storage.initialize(1);
+        val metadata1 = new MetadataBuilder(CONTAINER_ID).build();
+
+        @Cleanup
+        InMemoryCacheFactory cacheFactory = new InMemoryCacheFactory();
+        @Cleanup
+        CacheManager cacheManager = new CacheManager(CachePolicy.INFINITE, executorService());
+        @Cleanup
+        val readIndex1 = new ContainerReadIndex(DEFAULT_READ_INDEX_CONFIG, metadata1, cacheFactory, storage, cacheManager, executorService());
+        Set<Long> streamSegmentIds;
+        MetadataCheckpointOperation secondCheckpoint;
+
+        // First DurableLog. We use this for generating data.
+        try (DurableLog durableLog = new DurableLog(ContainerSetup.defaultDurableLogConfig(), metadata1, dataLogFactory, readIndex1, executorService())) {
+            durableLog.startAsync().awaitRunning();
+            streamSegmentIds = createStreamSegmentsWithOperations(streamSegmentCount, durableLog);
+            List<Operation> queuedOperations = generateOperations(streamSegmentIds, new HashMap<>(), appendsPerStreamSegment, METADATA_CHECKPOINT_EVERY, false, false);
+            OperationWithCompletion.allOf(processOperations(queuedOperations, durableLog)).join();
+
+            // Full checkpoint, which we truncate at right away.
+            val firstCheckpoint = new MetadataCheckpointOperation();
+            durableLog.add(firstCheckpoint, TIMEOUT).join();
+            durableLog.truncate(firstCheckpoint.getSequenceNumber(), TIMEOUT).join();
+            val firstOperation = durableLog.read(-1, 1, TIMEOUT).join().next();
+            Assert.assertTrue("Unexpected first operation after truncation: " + firstOperation, firstOperation instanceof MetadataCheckpointOperation);
+            AssertExtensions.assertLessThanOrEqual("Unexpected first operation after truncation.",
+                    firstCheckpoint.getSequenceNumber(), firstOperation.getSequenceNumber());
+
+            // A few delta checkpoints, each after updating the Storage state.
+            for (int i = 0; i < 2; i++) {
+                increaseStorageLengths(streamSegmentIds, metadata1);
+                val delta = new MetadataDeltaCheckpointOperation();
+                durableLog.add(delta, TIMEOUT).join();
+
+                // Verify we are not allowed to truncate on delta checkpoints.
+                AssertExtensions.assertSuppliedFutureThrows(
+                        "DurableLog allowed truncation on a MetadataDeltaCheckpointOperation.",
+                        () -> durableLog.truncate(delta.getSequenceNumber(), TIMEOUT),
+                        ex -> ex instanceof IllegalArgumentException);
+            }
+
+            // Another full checkpoint (not truncated at yet), followed by another delta.
+            secondCheckpoint = new MetadataCheckpointOperation();
+            durableLog.add(secondCheckpoint, TIMEOUT).join();
+            increaseStorageLengths(streamSegmentIds, metadata1);
+            durableLog.add(new MetadataDeltaCheckpointOperation(), TIMEOUT).join();
+            durableLog.stopAsync().awaitTerminated();
+        }
+
+        // Second DurableLog: recovers from the first full checkpoint and every delta after it.
+        val metadata2 = new MetadataBuilder(CONTAINER_ID).build();
+        @Cleanup
+        val readIndex2 = new ContainerReadIndex(DEFAULT_READ_INDEX_CONFIG, metadata2, cacheFactory, storage, cacheManager, executorService());
+        try (DurableLog durableLog = new DurableLog(ContainerSetup.defaultDurableLogConfig(), metadata2, dataLogFactory, readIndex2, executorService())) {
+            durableLog.startAsync().awaitRunning();
+            assertStorageStateSame("after recovering from the first checkpoint", streamSegmentIds, metadata1, metadata2);
+
+            // Truncate across the deltas, at the second full checkpoint, then add one more delta.
+            durableLog.truncate(secondCheckpoint.getSequenceNumber(), TIMEOUT).join();
+            verifyFirstItemIsMetadataCheckpoint(durableLog.read(-1, 1, TIMEOUT).join());
+            increaseStorageLengths(streamSegmentIds, metadata2);
+            durableLog.add(new MetadataDeltaCheckpointOperation(), TIMEOUT).join();
+            durableLog.stopAsync().awaitTerminated();
+        }
+
+        // Third DurableLog: recovers from the second full checkpoint and the deltas after it.
+        val metadata3 = new MetadataBuilder(CONTAINER_ID).build();
+        @Cleanup
+        val readIndex3 = new ContainerReadIndex(DEFAULT_READ_INDEX_CONFIG, metadata3, cacheFactory, storage, cacheManager, executorService());
+        try (DurableLog durableLog = new DurableLog(ContainerSetup.defaultDurableLogConfig(), metadata3, dataLogFactory, readIndex3, executorService())) {
+            durableLog.startAsync().awaitRunning();
+            assertStorageStateSame("after recovering from the second checkpoint", streamSegmentIds, metadata2, metadata3);
+            durableLog.stopAsync().awaitTerminated();
+        }
+    }
+
     //endregion
 
     //region Helpers
@@ -1380,6 +1477,24 @@ public class DurableLogTests extends OperationLogTestBase {
         return result;
     }
 
+    private void increaseStorageLengths(Collection<Long> streamSegmentIds, UpdateableContainerMetadata metadata) {
+        for (long segmentId : streamSegmentIds) {
+            val sm = metadata.getStreamSegmentMetadata(segmentId);
+            sm.setStorageLength(Math.min(sm.getStorageLength() + sm.getLength() / 4 + 1, sm.getLength()));
+        }
+    }
+
+    private void assertStorageStateSame(String message, Collection<Long> streamSegmentIds, UpdateableContainerMetadata expected,
+                                        UpdateableContainerMetadata actual) {
+        for (long segmentId : streamSegmentIds) {
+            val sm1 = expected.getStreamSegmentMetadata(segmentId);
+            val sm2 = actual.getStreamSegmentMetadata(segmentId);
+            Assert.assertEquals("Length differs " + message + " for segment " + segmentId, sm1.getLength(), sm2.getLength());
+            Assert.assertEquals("StorageLength differs " + message + " for segment " + segmentId,
+                    sm1.getStorageLength(), sm2.getStorageLength());
+        }
+    }
+
     private void verifyFirstItemIsMetadataCheckpoint(Iterator<Operation> logIterator) {
         Assert.assertTrue("DurableLog is empty even though a MetadataCheckpointOperation was expected.", logIterator.hasNext());
         Operation firstOp = logIterator.next();
@@ -11,6 +11,7 @@ package io.pravega.segmentstore.server.logs;
 
 import com.google.common.util.concurrent.Runnables;
 import io.pravega.common.Exceptions;
+import io.pravega.common.util.BufferView;
 import io.pravega.common.util.SequencedItemList;
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.StreamSegmentInformation;
@@ -160,7 +161,7 @@ public class MemoryStateUpdaterTests extends ThreadPooledTestSuite {
                 operations.add(mapOp);
                 StreamSegmentAppendOperation appendOp = new StreamSegmentAppendOperation(i, Integer.toString(i).getBytes(), null);
                 appendOp.setStreamSegmentOffset(offset);
-                offset += appendOp.getData().length;
+                offset += appendOp.getData().getLength();
                 operations.add(appendOp);
                 operations.add(new MergeSegmentOperation(i, j));
             }
@@ -193,7 +194,7 @@ public class MemoryStateUpdaterTests extends ThreadPooledTestSuite {
         }
 
         @Override
-        public void append(long segmentId, long offset, byte[] data) {
+        public void append(long segmentId, long offset, BufferView data) {
             invoke(new MethodInvocation(APPEND)
                     .withArg("streamSegmentId", segmentId)
                     .withArg("offset", offset)
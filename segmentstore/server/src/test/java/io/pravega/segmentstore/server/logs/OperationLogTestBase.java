@@ -320,7 +320,7 @@ abstract class OperationLogTestBase extends ThreadPooledTestSuite {
                 StreamSegmentAppendOperation appendOperation = (StreamSegmentAppendOperation) o.operation;
                 result.put(
                         appendOperation.getStreamSegmentId(),
-                        result.getOrDefault(appendOperation.getStreamSegmentId(), 0) + appendOperation.getData().length);
+                        result.getOrDefault(appendOperation.getStreamSegmentId(), 0) + appendOperation.getData().getLength());
             } else if (o.operation instanceof MergeSegmentOperation) {
                 MergeSegmentOperation mergeOperation = (MergeSegmentOperation) o.operation;
 
@@ -355,7 +355,7 @@ abstract class OperationLogTestBase extends ThreadPooledTestSuite {
                     partialContents.put(appendOperation.getStreamSegmentId(), segmentContents);
                 }
 
-                segmentContents.add(new ByteArrayInputStream(appendOperation.getData()));
+                segmentContents.add(new ByteArrayInputStream(appendOperation.getData().getCopy()));
             } else if (o.operation instanceof MergeSegmentOperation) {
                 MergeSegmentOperation mergeOperation = (MergeSegmentOperation) o.operation;
                 List<ByteArrayInputStream> targetSegmentContents = partialContents.get(mergeOperation.getStreamSegmentId());
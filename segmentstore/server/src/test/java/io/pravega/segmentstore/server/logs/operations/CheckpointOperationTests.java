@@ -32,6 +32,13 @@ public abstract class CheckpointOperationTests extends OperationTestsBase<Checkp
         }
     }
 
+    public static class MetadataDeltaCheckpointOperationTests extends CheckpointOperationTests {
+        @Override
+        protected CheckpointOperationBase createOperation(Random random) {
+            return new MetadataDeltaCheckpointOperation();
+        }
+    }
+
     @Override
     protected boolean isPreSerializationConfigRequired(CheckpointOperationBase operation) {
         return operation.getContents() == null;
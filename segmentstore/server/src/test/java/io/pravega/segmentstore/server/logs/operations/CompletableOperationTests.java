@@ -60,4 +60,34 @@ public class CompletableOperationTests {
         Assert.assertTrue("Failure callback was not invoked for valid fail() call.", failureCallbackCalled.get());
         Assert.assertFalse("Success callback invoked for valid fail() call.", successCallbackCalled.get());
     }
+
+    /**
+     * Tests the ability to record and report the duration of each Stage.
+     */
+    @Test
+    public void testStages() throws Exception {
+        MetadataCheckpointOperation op = new MetadataCheckpointOperation();
+        CompletableOperation co = new CompletableOperation(op, v -> { }, ex -> { });
+        for (CompletableOperation.Stage stage : CompletableOperation.Stage.values()) {
+            Assert.assertEquals("Not expecting a duration for a Stage that was not completed.", -1, co.getStageDurationNanos(stage));
+        }
+
+        // Skip the Process stage; its duration should be included in the next completed one.
+        co.stageCompleted(CompletableOperation.Stage.Queue);
+        Thread.sleep(10);
+        co.stageCompleted(CompletableOperation.Stage.DataFrame);
+        op.setSequenceNumber(VALID_SEQ_NO);
+        co.complete();
+
+        long queue = co.getStageDurationNanos(CompletableOperation.Stage.Queue);
+        long dataFrame = co.getStageDurationNanos(CompletableOperation.Stage.DataFrame);
+        long commit = co.getStageDurationNanos(CompletableOperation.Stage.Commit);
+        Assert.assertTrue("Expected a duration for the Queue stage.", queue >= 0);
+        Assert.assertEquals("Not expecting a duration for the Process stage.", -1, co.getStageDurationNanos(CompletableOperation.Stage.Process));
+        Assert.assertTrue("Expected the DataFrame stage to include the time since the Queue stage.", dataFrame >= 10_000_000);
+        Assert.assertEquals("Not expecting a duration for the DurableLog stage.", -1, co.getStageDurationNanos(CompletableOperation.Stage.DurableLog));
+        Assert.assertTrue("Expected a duration for the Commit stage (set by complete()).", commit >= 0);
+        Assert.assertTrue("Stage durations exceed the total elapsed time.",
+                queue + dataFrame + commit <= co.getTimer().getElapsedNanos());
+    }
 }
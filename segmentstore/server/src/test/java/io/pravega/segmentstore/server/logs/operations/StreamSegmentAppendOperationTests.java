@@ -10,15 +10,17 @@
 package io.pravega.segmentstore.server.logs.operations;
 
 import io.pravega.common.MathHelpers;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.contracts.AttributeUpdate;
 import io.pravega.segmentstore.contracts.AttributeUpdateType;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Random;
 import java.util.UUID;
-
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.val;
 import org.junit.Assert;
+import org.junit.Test;
 
 /**
  * Unit tests for StreamSegmentAppendOperation class.
@@ -49,6 +51,22 @@ public class StreamSegmentAppendOperationTests extends OperationTestsBase<Stream
         }
     }
 
+    /**
+     * Tests the fact that the data buffer is retained upon construction and released (exactly once) upon close().
+     */
+    @Test
+    public void testRetainRelease() {
+        val buffer = new RefCountedBuffer(new byte[10]);
+        val op = new StreamSegmentAppendOperation(1, buffer, null);
+        Assert.assertEquals("Expected the buffer to be retained.", 1, buffer.refCount.get());
+        Assert.assertEquals("Unexpected length.", buffer.getLength(), op.getLength());
+
+        op.close();
+        Assert.assertEquals("Expected the buffer to be released.", 0, buffer.refCount.get());
+        op.close();
+        Assert.assertEquals("Not expecting the buffer to be released more than once.", 0, buffer.refCount.get());
+    }
+
     static Collection<AttributeUpdate> createAttributes() {
         val result = new ArrayList<AttributeUpdate>();
         long currentValue = 0;
@@ -58,4 +76,22 @@ public class StreamSegmentAppendOperationTests extends OperationTestsBase<Stream
 
         return result;
     }
+
+    private static class RefCountedBuffer extends ByteArraySegment {
+        private final AtomicInteger refCount = new AtomicInteger();
+
+        RefCountedBuffer(byte[] array) {
+            super(array);
+        }
+
+        @Override
+        public void retain() {
+            this.refCount.incrementAndGet();
+        }
+
+        @Override
+        public void release() {
+            this.refCount.decrementAndGet();
+        }
+    }
 }
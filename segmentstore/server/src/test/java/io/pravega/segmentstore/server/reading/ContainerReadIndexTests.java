@@ -11,6 +11,8 @@ package io.pravega.segmentstore.server.reading;
 
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.io.StreamHelpers;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.common.util.ConfigBuilder;
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.ReadResultEntry;
 import io.pravega.segmentstore.contracts.ReadResultEntryContents;
@@ -47,6 +49,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
@@ -73,12 +76,11 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
     private static final int APPENDS_PER_SEGMENT = 100;
     private static final int CONTAINER_ID = 123;
 
-    private static final ReadIndexConfig DEFAULT_CONFIG = ReadIndexConfig
-            .builder()
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+    private final ReadIndexConfig defaultConfig = newConfig()
             .with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, 0) // Default: Off (we have a special test for this).
             .with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, 1024)
             .build();
-    private static final Duration TIMEOUT = Duration.ofSeconds(20);
 
     @Rule
     public Timeout globalTimeout = Timeout.seconds(TIMEOUT.getSeconds());
@@ -88,6 +90,19 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         return 5;
     }
 
+    /**
+     * Gets the type of index to use for each Segment's index entries.
+     */
+    protected ReadIndexConfig.IndexType getIndexType() {
+        return ReadIndexConfig.IndexType.AVL_TREE;
+    }
+
+    private ConfigBuilder<ReadIndexConfig> newConfig() {
+        return ReadIndexConfig.builder()
+                .with(ReadIndexConfig.INDEX_TYPE, getIndexType())
+                .with(ReadIndexConfig.STORAGE_READ_AHEAD_MAX_BLOCKS, 0); // Default: Off (we have a special test for this).
+    }
+
     /**
      * Tests the basic append-read functionality of the ContainerReadIndex, with data fully in it (no tail reads).
      */
@@ -124,7 +139,7 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         final Random rnd = new Random(0);
         rnd.nextBytes(segmentData);
 
-        final ReadIndexConfig config = ReadIndexConfig.builder().with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, minReadLength).build();
+        final ReadIndexConfig config = newConfig().with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, minReadLength).build();
 
         @Cleanup
         TestContext context = new TestContext(config, CachePolicy.INFINITE);
@@ -297,7 +312,7 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
     @Test
     public void testTruncate() throws Exception {
         @Cleanup
-        TestContext context = new TestContext(DEFAULT_CONFIG, new CachePolicy(Long.MAX_VALUE, Duration.ofMillis(1000000), Duration.ofMillis(10000)));
+        TestContext context = new TestContext(this.defaultConfig, new CachePolicy(Long.MAX_VALUE, Duration.ofMillis(1000000), Duration.ofMillis(10000)));
         ArrayList<Long> segmentIds = createSegments(context);
         HashMap<Long, ByteArrayOutputStream> segmentContents = new HashMap<>();
         appendData(segmentIds, segmentContents, context);
@@ -486,7 +501,7 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
                 // Make sure we increase the Length prior to appending; the ReadIndex checks for this.
                 long offset = segmentMetadata.getLength();
                 segmentMetadata.setLength(offset + data.length);
-                context.readIndex.append(segmentId, offset, data);
+                context.readIndex.append(segmentId, offset, new ByteArraySegment(data));
                 recordAppend(segmentId, data, segmentContents);
                 triggerFutureReadsCallback.run();
             }
@@ -592,28 +607,28 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         UpdateableSegmentMetadata segmentMetadata = context.metadata.getStreamSegmentMetadata(segmentId);
         long segmentOffset = segmentMetadata.getLength();
         segmentMetadata.setLength(segmentOffset + appendData.length);
-        context.readIndex.append(segmentId, segmentOffset, appendData);
+        context.readIndex.append(segmentId, segmentOffset, new ByteArraySegment(appendData));
 
         UpdateableSegmentMetadata transactionMetadata = context.metadata.getStreamSegmentMetadata(transactionId);
         long transactionOffset = transactionMetadata.getLength();
         transactionMetadata.setLength(transactionOffset + appendData.length);
-        context.readIndex.append(transactionId, transactionOffset, appendData);
+        context.readIndex.append(transactionId, transactionOffset, new ByteArraySegment(appendData));
 
         // 1. Appends at wrong offsets.
         AssertExtensions.assertThrows(
                 "append did not throw the correct exception when provided with an offset beyond the Segment's DurableLogOffset.",
-                () -> context.readIndex.append(segmentId, Integer.MAX_VALUE, "foo".getBytes()),
+                () -> context.readIndex.append(segmentId, Integer.MAX_VALUE, new ByteArraySegment("foo".getBytes())),
                 ex -> ex instanceof IllegalArgumentException);
 
         AssertExtensions.assertThrows(
                 "append did not throw the correct exception when provided with invalid offset.",
-                () -> context.readIndex.append(segmentId, 0, "foo".getBytes()),
+                () -> context.readIndex.append(segmentId, 0, new ByteArraySegment("foo".getBytes())),
                 ex -> ex instanceof IllegalArgumentException);
 
         // 2. Appends or reads with wrong SegmentIds
         AssertExtensions.assertThrows(
                 "append did not throw the correct exception when provided with invalid SegmentId.",
-                () -> context.readIndex.append(transactionId + 1, 0, "foo".getBytes()),
+                () -> context.readIndex.append(transactionId + 1, 0, new ByteArraySegment("foo".getBytes())),
                 ex -> ex instanceof IllegalArgumentException);
 
         AssertExtensions.assertThrows(
@@ -654,7 +669,7 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         context.readIndex.beginMerge(segmentId, mergeOffset, transactionId);
         AssertExtensions.assertThrows(
                 "append did not throw the correct exception when called on a Transaction that was already sealed.",
-                () -> context.readIndex.append(transactionId, transactionMetadata.getLength(), "foo".getBytes()),
+                () -> context.readIndex.append(transactionId, transactionMetadata.getLength(), new ByteArraySegment("foo".getBytes())),
                 ex -> ex instanceof IllegalArgumentException);
     }
 
@@ -694,6 +709,103 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         checkReadIndex("CacheReads", segmentContents, context);
     }
 
+    /**
+     * Tests that a Storage read whose data has been brought into the Cache (by another reader) after it was created is
+     * served from the Cache instead of being re-read from Storage.
+     */
+    @Test
+    public void testStorageReadAfterCacheInsert() throws Exception {
+        final int length = 1000;
+        @Cleanup
+        TestContext context = new TestContext();
+        long segmentId = createSegment(0, context);
+        UpdateableSegmentMetadata sm = context.metadata.getStreamSegmentMetadata(segmentId);
+        byte[] data = new byte[length];
+        new Random(0).nextBytes(data);
+        context.storage.create(sm.getName(), TIMEOUT).join();
+        val handle = context.storage.openWrite(sm.getName()).join();
+        context.storage.write(handle, 0, new ByteArrayInputStream(data), data.length, TIMEOUT).join();
+        sm.setStorageLength(data.length);
+        sm.setLength(data.length);
+
+        // Two readers get a Storage entry for the same offset.
+        @Cleanup
+        ReadResult result1 = context.readIndex.read(segmentId, 0, length, TIMEOUT);
+        @Cleanup
+        ReadResult result2 = context.readIndex.read(segmentId, 0, length, TIMEOUT);
+        ReadResultEntry entry1 = result1.next();
+        ReadResultEntry entry2 = result2.next();
+        Assert.assertEquals(ReadResultEntryType.Storage, entry1.getType());
+        Assert.assertEquals(ReadResultEntryType.Storage, entry2.getType());
+
+        // The first one fetches the data from Storage (and inserts it into the Cache).
+        CompletableFuture<Void> insertedInCache = new CompletableFuture<>();
+        context.cacheFactory.cache.insertCallback = ignored -> insertedInCache.complete(null);
+        entry1.requestContent(TIMEOUT);
+        Assert.assertEquals(length, entry1.getContent().get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).getLength());
+        insertedInCache.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+        // Delete the segment from Storage. If the second one went to Storage, it would fail.
+        context.storage.delete(handle, TIMEOUT).join();
+        entry2.requestContent(TIMEOUT);
+        ReadResultEntryContents contents = entry2.getContent().get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        Assert.assertEquals(length, contents.getLength());
+        AssertExtensions.assertArrayEquals("Unexpected data read.", data, 0, StreamHelpers.readAll(contents.getData(), length), 0, length);
+    }
+
+    /**
+     * Tests the ability to detect sequential Storage reads and read data ahead of them into the cache.
+     */
+    @Test
+    public void testStorageReadAhead() throws Exception {
+        final int blockSize = 1024;
+        final int blockCount = 20;
+        ReadIndexConfig config = newConfig()
+                .with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, blockSize)
+                .with(ReadIndexConfig.STORAGE_READ_AHEAD_MAX_BLOCKS, 4)
+                .build();
+
+        @Cleanup
+        TestContext context = new TestContext(config, CachePolicy.INFINITE);
+        Set<Long> insertedOffsets = Collections.synchronizedSet(new HashSet<>());
+        context.cacheFactory.cache.insertCallback = key -> insertedOffsets.add(key.getOffset());
+
+        // Create a segment and write its data directly to Storage.
+        long segmentId = createSegment(0, context);
+        UpdateableSegmentMetadata sm = context.metadata.getStreamSegmentMetadata(segmentId);
+        byte[] data = new byte[blockSize * blockCount];
+        new Random(0).nextBytes(data);
+        context.storage.create(sm.getName(), TIMEOUT).join();
+        val handle = context.storage.openWrite(sm.getName()).join();
+        context.storage.write(handle, 0, new ByteArrayInputStream(data), data.length, TIMEOUT).join();
+        sm.setStorageLength(data.length);
+        sm.setLength(data.length);
+
+        // The first two reads must go to Storage; by the second one we should have detected a sequential reader.
+        checkStorageReadAheadBlock(segmentId, 0, blockSize, ReadResultEntryType.Storage, data, context);
+        checkStorageReadAheadBlock(segmentId, blockSize, blockSize, ReadResultEntryType.Storage, data, context);
+
+        // From now on, every block should have been read ahead before we get to it.
+        for (int i = 2; i < blockCount; i++) {
+            long offset = (long) i * blockSize;
+            TestUtils.await(() -> insertedOffsets.contains(offset), 10, TIMEOUT.toMillis());
+            checkStorageReadAheadBlock(segmentId, offset, blockSize, ReadResultEntryType.Cache, data, context);
+        }
+    }
+
+    private void checkStorageReadAheadBlock(long segmentId, long offset, int length, ReadResultEntryType expectedType,
+                                            byte[] expectedData, TestContext context) throws Exception {
+        @Cleanup
+        ReadResult readResult = context.readIndex.read(segmentId, offset, length, TIMEOUT);
+        ReadResultEntry entry = readResult.next();
+        Assert.assertEquals("Unexpected ReadResultEntryType for offset " + offset, expectedType, entry.getType());
+        entry.requestContent(TIMEOUT);
+        ReadResultEntryContents contents = entry.getContent().get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        Assert.assertEquals("Unexpected read length for offset " + offset, length, contents.getLength());
+        byte[] actualData = StreamHelpers.readAll(contents.getData(), length);
+        AssertExtensions.assertArrayEquals("Unexpected data read at offset " + offset, expectedData, (int) offset, actualData, 0, length);
+    }
+
     /**
      * Tests the ability to handle Storage read failures.
      */
@@ -809,7 +921,7 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         CachePolicy cachePolicy = new CachePolicy(cacheMaxSize, Duration.ofMillis(1000 * 2 * entriesPerSegment), Duration.ofMillis(1000));
 
         // To properly test this, we want predictable storage reads.
-        ReadIndexConfig config = ReadIndexConfig.builder().with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, appendSize).build();
+        ReadIndexConfig config = newConfig().with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, appendSize).build();
 
         ArrayList<CacheKey> removedKeys = new ArrayList<>();
         @Cleanup
@@ -837,7 +949,7 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
             long offset = sm.getLength();
             sm.setLength(offset + data.length);
             try {
-                context.readIndex.append(segmentId, offset, data);
+                context.readIndex.append(segmentId, offset, new ByteArraySegment(data));
             } catch (StreamSegmentNotExistsException ex) {
                 throw new CompletionException(ex);
             }
@@ -951,6 +1063,110 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Tests the ability to move entries evicted from the Cache into a Disk Cache, and to move them back upon reading.
+     */
+    @Test
+    public void testDiskCache() throws Exception {
+        CachePolicy cachePolicy = new CachePolicy(1, Duration.ZERO, Duration.ofMillis(1));
+        @Cleanup
+        TestContext context = new TestContext(this.defaultConfig, cachePolicy, true);
+        ArrayList<Long> segmentIds = createSegments(context);
+        HashMap<Long, ByteArrayOutputStream> segmentContents = new HashMap<>();
+        appendData(segmentIds, segmentContents, context);
+        final int entryCount = segmentIds.size() * APPENDS_PER_SEGMENT;
+
+        // Mark all the data as being in Storage, but do not actually write it there. Any Storage read will fail.
+        for (long segmentId : segmentIds) {
+            val sm = context.metadata.getStreamSegmentMetadata(segmentId);
+            sm.setStorageLength(sm.getLength());
+        }
+
+        // Evict everything from the Cache.
+        val cacheRemovals = new ArrayList<CacheKey>();
+        val diskCacheInserts = new ArrayList<CacheKey>();
+        val diskCacheRemovals = new ArrayList<CacheKey>();
+        context.cacheFactory.cache.removeCallback = cacheRemovals::add;
+        context.diskCacheFactory.cache.insertCallback = diskCacheInserts::add;
+        context.diskCacheFactory.cache.removeCallback = diskCacheRemovals::add;
+        context.cacheManager.applyCachePolicy();
+        Assert.assertEquals("Expected all entries to be evicted from the Cache.", entryCount, cacheRemovals.size());
+        Assert.assertEquals("Expected all evicted entries to be moved to the Disk Cache.", cacheRemovals, diskCacheInserts);
+
+        // Read everything. All the data should be served from the Disk Cache, which in turn should move it back to the Cache.
+        checkReadIndex("DiskCacheReads", segmentContents, context);
+        Assert.assertEquals("Expected all entries to be removed from the Disk Cache after reading.", entryCount, diskCacheRemovals.size());
+        for (CacheKey key : diskCacheInserts) {
+            Assert.assertNotNull("Expected entry to be moved back into the Cache: " + key, context.cacheFactory.cache.get(key));
+        }
+
+        // Truncate all the segments and evict everything again. Truncated entries should not be moved to the Disk Cache.
+        for (long segmentId : segmentIds) {
+            val sm = context.metadata.getStreamSegmentMetadata(segmentId);
+            sm.setStartOffset(sm.getLength());
+        }
+
+        cacheRemovals.clear();
+        diskCacheInserts.clear();
+        context.cacheManager.applyCachePolicy();
+        Assert.assertEquals("Expected all entries to be evicted from the Cache after truncation.", entryCount, cacheRemovals.size());
+        Assert.assertEquals("Not expecting truncated entries to be moved to the Disk Cache.", 0, diskCacheInserts.size());
+    }
+
+    /**
+     * Tests that entries in the Disk Cache which have been handed out as part of a read, but whose contents were never
+     * requested, are still removed from the Disk Cache when their segments are truncated or cleaned up.
+     */
+    @Test
+    public void testDiskCacheUnfetchedReads() throws Exception {
+        CachePolicy cachePolicy = new CachePolicy(1, Duration.ZERO, Duration.ofMillis(1));
+        @Cleanup
+        TestContext context = new TestContext(this.defaultConfig, cachePolicy, true);
+        ArrayList<Long> segmentIds = createSegments(context);
+        HashMap<Long, ByteArrayOutputStream> segmentContents = new HashMap<>();
+        appendData(segmentIds, segmentContents, context);
+        for (long segmentId : segmentIds) {
+            val sm = context.metadata.getStreamSegmentMetadata(segmentId);
+            sm.setStorageLength(sm.getLength());
+        }
+
+        // Evict everything from the Cache into the Disk Cache.
+        val diskCacheInserts = new ArrayList<CacheKey>();
+        context.diskCacheFactory.cache.insertCallback = diskCacheInserts::add;
+        context.cacheManager.applyCachePolicy();
+        Assert.assertEquals("Expected all entries to be moved to the Disk Cache.", segmentIds.size() * APPENDS_PER_SEGMENT, diskCacheInserts.size());
+
+        // Begin a read for every spilled entry, but never request its contents.
+        for (CacheKey key : diskCacheInserts) {
+            @Cleanup
+            ReadResult rr = context.readIndex.read(key.getStreamSegmentId(), key.getOffset(), 1, TIMEOUT);
+            ReadResultEntry entry = rr.next();
+            Assert.assertEquals("Unexpected ReadResultEntryType for spilled entry.", ReadResultEntryType.Storage, entry.getType());
+            Assert.assertFalse("Not expecting the entry contents to be fetched.", entry.getContent().isDone());
+        }
+
+        // Truncate half of the segments and delete the other half. Truncated segments get one more append, so that the
+        // Cache is not empty and applying the CachePolicy does reach the ReadIndex.
+        val deletedSegmentIds = new ArrayList<Long>();
+        for (int i = 0; i < segmentIds.size(); i++) {
+            val sm = context.metadata.getStreamSegmentMetadata(segmentIds.get(i));
+            if (i % 2 == 0) {
+                sm.setStartOffset(sm.getLength());
+                appendSingleWrite(sm.getId(), new byte[1], context);
+            } else {
+                sm.markDeleted();
+                deletedSegmentIds.add(sm.getId());
+            }
+        }
+
+        context.cacheManager.applyCachePolicy();
+        context.readIndex.cleanup(deletedSegmentIds);
+
+        // Cleaning up deleted segments happens asynchronously.
+        TestUtils.await(() -> diskCacheInserts.stream().allMatch(key -> context.diskCacheFactory.cache.get(key) == null),
+                10, TIMEOUT.toMillis());
+    }
+
     // region Scenario-based tests
 
     /**
@@ -970,7 +1186,7 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
     public void testStorageReadTransactionNoCache() throws Exception {
         CachePolicy cachePolicy = new CachePolicy(1, Duration.ZERO, Duration.ofMillis(1));
         @Cleanup
-        TestContext context = new TestContext(DEFAULT_CONFIG, cachePolicy);
+        TestContext context = new TestContext(this.defaultConfig, cachePolicy);
 
         // Create parent segment and one transaction
         long parentId = createSegment(0, context);
@@ -1043,7 +1259,7 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
     public void testConcurrentReadTransactionStorageMerge() throws Exception {
         CachePolicy cachePolicy = new CachePolicy(1, Duration.ZERO, Duration.ofMillis(1));
         @Cleanup
-        TestContext context = new TestContext(DEFAULT_CONFIG, cachePolicy);
+        TestContext context = new TestContext(this.defaultConfig, cachePolicy);
 
         // Create parent segment and one transaction
         long parentId = createSegment(0, context);
@@ -1068,7 +1284,7 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
     public void testMergeReadCancelledOnClose() throws Exception {
         CachePolicy cachePolicy = new CachePolicy(1, Duration.ZERO, Duration.ofMillis(1));
         @Cleanup
-        TestContext context = new TestContext(DEFAULT_CONFIG, cachePolicy);
+        TestContext context = new TestContext(this.defaultConfig, cachePolicy);
 
         // Create parent segment and one transaction
         long parentId = createSegment(0, context);
@@ -1198,7 +1414,7 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         // Make sure we increase the Length prior to appending; the ReadIndex checks for this.
         long offset = segmentMetadata.getLength();
         segmentMetadata.setLength(offset + data.length);
-        context.readIndex.append(segmentId, offset, data);
+        context.readIndex.append(segmentId, offset, new ByteArraySegment(data));
     }
 
     private void appendDataInStorage(TestContext context, HashMap<Long, ByteArrayOutputStream> segmentContents) {
@@ -1419,6 +1635,20 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
 
     //endregion
 
+    //region PackedIndexTests
+
+    /**
+     * Runs all the tests in ContainerReadIndexTests using the {@link ReadIndexConfig.IndexType#PACKED} index type.
+     */
+    public static class PackedIndexTests extends ContainerReadIndexTests {
+        @Override
+        protected ReadIndexConfig.IndexType getIndexType() {
+            return ReadIndexConfig.IndexType.PACKED;
+        }
+    }
+
+    //endregion
+
     //region TestContext
 
     private class TestContext implements AutoCloseable {
@@ -1426,25 +1656,36 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         final ContainerReadIndex readIndex;
         final TestCacheManager cacheManager;
         final TestCacheFactory cacheFactory;
+        final TestCacheFactory diskCacheFactory;
         final Storage storage;
 
         TestContext() {
-            this(DEFAULT_CONFIG, CachePolicy.INFINITE);
+            this(ContainerReadIndexTests.this.defaultConfig, CachePolicy.INFINITE);
         }
 
         TestContext(ReadIndexConfig readIndexConfig, CachePolicy cachePolicy) {
+            this(readIndexConfig, cachePolicy, false);
+        }
+
+        TestContext(ReadIndexConfig readIndexConfig, CachePolicy cachePolicy, boolean withDiskCache) {
             this.cacheFactory = new TestCacheFactory();
+            this.diskCacheFactory = withDiskCache ? new TestCacheFactory() : null;
             this.metadata = new MetadataBuilder(CONTAINER_ID).build();
             this.storage = InMemoryStorageFactory.newStorage(executorService());
             this.storage.initialize(1);
             this.cacheManager = new TestCacheManager(cachePolicy, executorService());
-            this.readIndex = new ContainerReadIndex(readIndexConfig, this.metadata, this.cacheFactory, this.storage, this.cacheManager, executorService());
+            this.readIndex = new ContainerReadIndex(readIndexConfig, this.metadata, this.cacheFactory, this.diskCacheFactory,
+                    this.storage, this.cacheManager, executorService());
         }
 
         @Override
         public void close() {
             this.readIndex.close();
             this.cacheFactory.close();
+            if (this.diskCacheFactory != null) {
+                this.diskCacheFactory.close();
+            }
+
             this.storage.close();
             this.cacheManager.close();
         }
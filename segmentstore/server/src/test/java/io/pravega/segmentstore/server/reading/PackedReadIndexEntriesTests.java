@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.reading;
+
+import io.pravega.common.util.AvlTreeIndex;
+import io.pravega.common.util.SortedIndex;
+import io.pravega.test.common.AssertExtensions;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the PackedReadIndexEntries class.
+ */
+public class PackedReadIndexEntriesTests {
+    private static final int ITEM_COUNT = 10000;
+    private static final int KEY_SPACING = 100;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10);
+
+    /**
+     * Tests put(), remove() and all the lookup methods by executing random operations on both a PackedReadIndexEntries
+     * and an AvlTreeIndex and comparing the results.
+     */
+    @Test
+    public void testRandomOperations() {
+        final int operationCount = 10 * ITEM_COUNT;
+        Random rnd = new Random(0);
+        PackedReadIndexEntries index = new PackedReadIndexEntries();
+        SortedIndex<ReadIndexEntry> expected = new AvlTreeIndex<>();
+        for (int i = 0; i < operationCount; i++) {
+            long key = (long) rnd.nextInt(ITEM_COUNT) * KEY_SPACING;
+            int operation = rnd.nextInt(4);
+            if (operation == 0) {
+                assertEquals("remove", expected.remove(key), index.remove(key));
+            } else {
+                ReadIndexEntry entry = operation == 1
+                        ? new MergedIndexEntry(key, 1, new CacheIndexEntry(key * 2, rnd.nextInt(KEY_SPACING)))
+                        : new CacheIndexEntry(key, rnd.nextInt(KEY_SPACING));
+                entry.setGeneration(rnd.nextInt(100));
+                assertEquals("put", expected.put(entry), index.put(entry));
+            }
+
+            Assert.assertEquals("size", expected.size(), index.size());
+            long lookupKey = key + rnd.nextInt(2 * KEY_SPACING) - KEY_SPACING;
+            assertEquals("get", expected.get(key), index.get(key));
+            assertEquals("getFloor", expected.getFloor(lookupKey), index.getFloor(lookupKey));
+            assertEquals("getCeiling", expected.getCeiling(lookupKey), index.getCeiling(lookupKey));
+            assertEquals("getFirst", expected.getFirst(), index.getFirst());
+            assertEquals("getLast", expected.getLast(), index.getLast());
+        }
+
+        List<ReadIndexEntry> expectedEntries = new ArrayList<>();
+        expected.forEach(expectedEntries::add);
+        List<ReadIndexEntry> actualEntries = new ArrayList<>();
+        index.forEach(actualEntries::add);
+        Assert.assertEquals("forEach", expectedEntries.size(), actualEntries.size());
+        for (int i = 0; i < expectedEntries.size(); i++) {
+            assertEquals("forEach", expectedEntries.get(i), actualEntries.get(i));
+        }
+
+        index.clear();
+        Assert.assertEquals(0, index.size());
+        Assert.assertNull(index.getFirst());
+        Assert.assertNull(index.getFloor(Long.MAX_VALUE));
+    }
+
+    /**
+     * Tests that entries other than CacheIndexEntries are returned as-is, and that generation updates on CacheIndexEntries
+     * are applied to the index.
+     */
+    @Test
+    public void testEntries() {
+        PackedReadIndexEntries index = new PackedReadIndexEntries();
+        CacheIndexEntry cacheEntry = new CacheIndexEntry(0, 10);
+        cacheEntry.setGeneration(1);
+        index.put(cacheEntry);
+        MergedIndexEntry mergedEntry = new MergedIndexEntry(10, 1, new CacheIndexEntry(100, 10));
+        index.put(mergedEntry);
+
+        Assert.assertSame("Expected MergedIndexEntry to be retained.", mergedEntry, index.get(10));
+        ReadIndexEntry e = index.get(0);
+        Assert.assertEquals(CacheIndexEntry.class, e.getClass().getSuperclass());
+        Assert.assertEquals(1, e.getGeneration());
+
+        // Update the generation via a returned entry.
+        e.setGeneration(5);
+        Assert.assertEquals(5, index.get(0).getGeneration());
+
+        // Updates via the original entry do not apply (the index only keeps a copy of it).
+        cacheEntry.setGeneration(6);
+        Assert.assertEquals(5, index.get(0).getGeneration());
+
+        // Updates via an entry that has since been replaced (with different length) do not apply either.
+        index.put(new CacheIndexEntry(0, 20));
+        e.setGeneration(7);
+        Assert.assertEquals(0, index.get(0).getGeneration());
+
+        // Replacing a retained entry with a CacheIndexEntry.
+        index.put(new CacheIndexEntry(10, 10));
+        Assert.assertNotSame(mergedEntry, index.get(10));
+        Assert.assertEquals(CacheIndexEntry.class, index.get(10).getClass().getSuperclass());
+    }
+
+    /**
+     * Tests the typical ReadIndex pattern of appending entries at the end and evicting them from the beginning, and
+     * verifies that the index neither keeps growing nor holds on to more memory than needed.
+     */
+    @Test
+    public void testAppendAndEvict() {
+        final int maxSize = 1000;
+        PackedReadIndexEntries index = new PackedReadIndexEntries();
+        long nextKey = 0;
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            index.put(new CacheIndexEntry(nextKey, KEY_SPACING));
+            nextKey += KEY_SPACING;
+            if (index.size() > maxSize) {
+                index.remove(index.getFirst().key());
+            }
+
+            AssertExtensions.assertLessThanOrEqual("Unexpected capacity.", 4 * maxSize, index.getCapacity());
+        }
+
+        Assert.assertEquals(nextKey - maxSize * KEY_SPACING, index.getFirst().key());
+        Assert.assertEquals(nextKey - KEY_SPACING, index.getLast().key());
+        while (index.size() > 0) {
+            index.remove(index.getLast().key());
+        }
+
+        AssertExtensions.assertLessThanOrEqual("Expected the index to shrink.", 16, index.getCapacity());
+    }
+
+    /**
+     * Tests that forEach() detects modifications to the index.
+     */
+    @Test
+    public void testForEachModification() {
+        PackedReadIndexEntries index = new PackedReadIndexEntries();
+        for (int i = 0; i < 10; i++) {
+            index.put(new CacheIndexEntry(i * KEY_SPACING, KEY_SPACING));
+        }
+
+        AssertExtensions.assertThrows(
+                "forEach did not throw when the index was modified.",
+                () -> index.forEach(e -> index.put(new CacheIndexEntry(e.key() + 1, 1))),
+                ex -> ex instanceof ConcurrentModificationException);
+    }
+
+    private void assertEquals(String message, ReadIndexEntry expected, ReadIndexEntry actual) {
+        if (expected == null) {
+            Assert.assertNull(message, actual);
+            return;
+        }
+
+        Assert.assertNotNull(message, actual);
+        Assert.assertEquals(message + ": key", expected.key(), actual.key());
+        Assert.assertEquals(message + ": length", expected.getLength(), actual.getLength());
+        Assert.assertEquals(message + ": generation", expected.getGeneration(), actual.getGeneration());
+        if (expected instanceof MergedIndexEntry) {
+            Assert.assertSame(message, expected, actual);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.reading;
+
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the ReadAheadTracker class.
+ */
+public class ReadAheadTrackerTests {
+    private static final int BLOCK_SIZE = 100;
+    private static final int MAX_BLOCK_COUNT = 8;
+    private static final long MAX_OFFSET = 100 * BLOCK_SIZE;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10);
+
+    /**
+     * Tests the detection of sequential reads and the growth of the read-ahead window as the reader catches up with it.
+     */
+    @Test
+    public void testSequentialReads() {
+        val t = new ReadAheadTracker(BLOCK_SIZE, MAX_BLOCK_COUNT);
+
+        // First read: we do not know yet if this is a sequential reader.
+        t.recordStorageRead(0, BLOCK_SIZE);
+        Assert.assertNull("Not expecting a read-ahead after the first read.", t.getNextReadAhead(MAX_OFFSET, 0));
+
+        // Second read: this is sequential. Read ahead one block.
+        t.recordStorageRead(BLOCK_SIZE, BLOCK_SIZE);
+        checkRange(2 * BLOCK_SIZE, BLOCK_SIZE, t.getNextReadAhead(MAX_OFFSET, 0));
+        Assert.assertNull("Not expecting a read-ahead while the window is full.", t.getNextReadAhead(MAX_OFFSET, 0));
+
+        // Reader consumes the data we read ahead: top up the window, but do not grow it.
+        t.recordCacheRead(2 * BLOCK_SIZE, BLOCK_SIZE);
+        checkRange(3 * BLOCK_SIZE, BLOCK_SIZE, t.getNextReadAhead(MAX_OFFSET, 0));
+        Assert.assertEquals(1, t.getBlockCount());
+
+        // Reader misses the cache within the read-ahead window (it's faster than us): the window should double every time.
+        t.recordStorageRead(3 * BLOCK_SIZE, BLOCK_SIZE);
+        Assert.assertEquals(2, t.getBlockCount());
+        checkRange(4 * BLOCK_SIZE, 2 * BLOCK_SIZE, t.getNextReadAhead(MAX_OFFSET, 0));
+
+        t.recordStorageRead(4 * BLOCK_SIZE, BLOCK_SIZE);
+        Assert.assertEquals(4, t.getBlockCount());
+        checkRange(6 * BLOCK_SIZE, 3 * BLOCK_SIZE, t.getNextReadAhead(MAX_OFFSET, 0));
+
+        t.recordStorageRead(6 * BLOCK_SIZE, BLOCK_SIZE);
+        Assert.assertEquals(8, t.getBlockCount());
+        t.recordStorageRead(7 * BLOCK_SIZE, BLOCK_SIZE);
+        Assert.assertEquals("Not expecting the window to grow beyond the maximum.", MAX_BLOCK_COUNT, t.getBlockCount());
+
+        // Read-ahead never goes beyond the given maximum offset.
+        checkRange(9 * BLOCK_SIZE, BLOCK_SIZE / 2, t.getNextReadAhead(9 * BLOCK_SIZE + BLOCK_SIZE / 2, 0));
+        Assert.assertNull(t.getNextReadAhead(9 * BLOCK_SIZE + BLOCK_SIZE / 2, 0));
+    }
+
+    /**
+     * Tests that non-sequential reads reset the read-ahead window.
+     */
+    @Test
+    public void testRandomReads() {
+        val t = new ReadAheadTracker(BLOCK_SIZE, MAX_BLOCK_COUNT);
+        t.recordStorageRead(0, BLOCK_SIZE);
+        t.recordStorageRead(BLOCK_SIZE, BLOCK_SIZE);
+        Assert.assertNotNull(t.getNextReadAhead(MAX_OFFSET, 0));
+
+        // Backwards.
+        t.recordStorageRead(0, BLOCK_SIZE);
+        Assert.assertEquals(0, t.getBlockCount());
+        Assert.assertNull("Not expecting a read-ahead after a non-sequential read.", t.getNextReadAhead(MAX_OFFSET, 0));
+
+        // Forward, but skipping over some data.
+        t.recordStorageRead(10 * BLOCK_SIZE, BLOCK_SIZE);
+        Assert.assertEquals(0, t.getBlockCount());
+        Assert.assertNull("Not expecting a read-ahead after a non-sequential read.", t.getNextReadAhead(MAX_OFFSET, 0));
+
+        // Cache reads outside of the read-ahead window should not affect anything.
+        t.recordCacheRead(11 * BLOCK_SIZE, BLOCK_SIZE);
+        Assert.assertNull(t.getNextReadAhead(MAX_OFFSET, 0));
+
+        // Sequential again.
+        t.recordStorageRead(11 * BLOCK_SIZE, BLOCK_SIZE);
+        checkRange(12 * BLOCK_SIZE, BLOCK_SIZE, t.getNextReadAhead(MAX_OFFSET, 0));
+    }
+
+    /**
+     * Tests that the read-ahead window is scaled down as the cache utilization increases.
+     */
+    @Test
+    public void testCachePressure() {
+        val t = new ReadAheadTracker(BLOCK_SIZE, MAX_BLOCK_COUNT);
+        for (int i = 0; i < 4; i++) {
+            t.recordStorageRead(i * BLOCK_SIZE, BLOCK_SIZE);
+        }
+
+        Assert.assertEquals(4, t.getBlockCount());
+        Assert.assertNull("Not expecting a read-ahead when the cache is full.", t.getNextReadAhead(MAX_OFFSET, 1));
+        Assert.assertNull("Not expecting a read-ahead when the cache is over capacity.", t.getNextReadAhead(MAX_OFFSET, 1.5));
+
+        // Cache 75% full: half the window.
+        checkRange(4 * BLOCK_SIZE, 2 * BLOCK_SIZE, t.getNextReadAhead(MAX_OFFSET, 0.75));
+
+        // Cache 99% full: one block (which we already have).
+        Assert.assertNull(t.getNextReadAhead(MAX_OFFSET, 0.99));
+
+        // Pressure is gone: full window.
+        checkRange(6 * BLOCK_SIZE, 2 * BLOCK_SIZE, t.getNextReadAhead(MAX_OFFSET, 0.5));
+    }
+
+    private void checkRange(long expectedOffset, long expectedLength, ReadAheadTracker.Range actual) {
+        Assert.assertNotNull("Expected a read-ahead.", actual);
+        Assert.assertEquals("Unexpected read-ahead offset.", expectedOffset, actual.getOffset());
+        Assert.assertEquals("Unexpected read-ahead length.", expectedLength, actual.getLength());
+    }
+}
@@ -24,7 +24,9 @@ import io.pravega.test.common.IntentionalException;
 import io.pravega.test.common.ThreadPooledTestSuite;
 import java.io.ByteArrayInputStream;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
@@ -180,6 +182,41 @@ public class StorageReadManagerTests extends ThreadPooledTestSuite {
                 ex -> ex instanceof IntentionalException);
     }
 
+    /**
+     * Tests that overlapping requests never cause the same range to be read from Storage more than once:
+     * * Requests that begin inside an existing request are chained to it (whether fully contained or not).
+     * * Requests that begin before an existing request and overlap with it only read up to where that request begins.
+     */
+    @Test
+    public void testOverlappingRequests() throws Exception {
+        TestStorage storage = new TestStorage();
+        storage.readGate = new CompletableFuture<>();
+        @Cleanup
+        StorageReadManager reader = new StorageReadManager(SEGMENT_METADATA, storage, executorService());
+
+        val c1 = sendRequest(reader, 100, 100); // Read from Storage.
+        val c2 = sendRequest(reader, 120, 30);  // Contained within 1; no Storage read.
+        val c3 = sendRequest(reader, 50, 100);  // Overlaps with the beginning of 1; only read 50..100 from Storage.
+        val c4 = sendRequest(reader, 150, 100); // Overlaps with the end of 1; no Storage read.
+        storage.readGate.complete(null);
+
+        checkResult(c1, 100, false);
+        checkResult(c2, 30, true);
+        checkResult(c3, 50, false);
+        checkResult(c4, 50, true);
+
+        val expectedReads = new HashMap<Long, Integer>();
+        expectedReads.put(100L, 100);
+        expectedReads.put(50L, 50);
+        Assert.assertEquals("Unexpected Storage reads.", expectedReads, storage.reads);
+    }
+
+    private void checkResult(CompletableFuture<StorageReadManager.Result> resultFuture, int expectedLength, boolean expectedDerived) throws Exception {
+        val result = resultFuture.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        Assert.assertEquals("Unexpected result length.", expectedLength, result.getData().getLength());
+        Assert.assertEquals("Unexpected value for isDerived.", expectedDerived, result.isDerived());
+    }
+
     /**
      * Tests the ability to auto-cancel the requests when the StorageReadManager is closed.
      */
@@ -230,6 +267,8 @@ public class StorageReadManagerTests extends ThreadPooledTestSuite {
 
     private static class TestStorage implements ReadOnlyStorage {
         Supplier<CompletableFuture<Integer>> readImplementation;
+        CompletableFuture<Void> readGate; // If set, all reads complete successfully (with the requested length) with it.
+        final Map<Long, Integer> reads = Collections.synchronizedMap(new HashMap<>());
 
         @Override
         public void initialize(long epoch) {
@@ -248,6 +287,11 @@ public class StorageReadManagerTests extends ThreadPooledTestSuite {
 
         @Override
         public CompletableFuture<Integer> read(SegmentHandle handle, long offset, byte[] buffer, int bufferOffset, int length, Duration timeout) {
+            this.reads.put(offset, length);
+            if (this.readGate != null) {
+                return this.readGate.thenApply(v -> length);
+            }
+
             return this.readImplementation.get();
         }
 
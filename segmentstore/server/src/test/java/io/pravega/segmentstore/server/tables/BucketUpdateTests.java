@@ -56,4 +56,34 @@ public class BucketUpdateTests {
             Assert.assertEquals("Unexpected value for isDeleted " + i, i % 2 == 0, u.isDeleted());
         }
     }
+
+    /**
+     * Tests the {@link BucketUpdate#removeObsoleteCopies()} method.
+     */
+    @Test
+    public void testRemoveObsoleteCopies() {
+        val bu = new BucketUpdate(new TableBucket(UUID.randomUUID(), 0L));
+        val liveKey = new HashedArray(new byte[]{1});
+        val updatedKey = new HashedArray(new byte[]{2});
+        val removedKey = new HashedArray(new byte[]{3});
+        val regularKey = new HashedArray(new byte[]{4});
+        bu.withExistingKey(new BucketUpdate.KeyInfo(liveKey, 10, 10));
+        bu.withExistingKey(new BucketUpdate.KeyInfo(updatedKey, 50, 50));
+
+        // Copies (version != offset) of keys at versions 10 (still live), 20 (since updated) and 30 (since removed).
+        bu.withKeyUpdate(new BucketUpdate.KeyUpdate(liveKey, 100, 10, false));
+        bu.withKeyUpdate(new BucketUpdate.KeyUpdate(updatedKey, 110, 20, false));
+        bu.withKeyUpdate(new BucketUpdate.KeyUpdate(removedKey, 120, 30, false));
+        bu.withKeyUpdate(new BucketUpdate.KeyUpdate(regularKey, 90, false));
+        Assert.assertEquals(3, bu.getKeyUpdates().stream().filter(BucketUpdate.KeyInfo::isCopy).count());
+        Assert.assertEquals(120, bu.getBucketOffset());
+
+        Assert.assertEquals("Unexpected number of removed copies.", 2, bu.removeObsoleteCopies());
+        Assert.assertEquals("Unexpected remaining updates.", 2, bu.getKeyUpdates().size());
+        Assert.assertTrue("Live copy was removed.", bu.isKeyUpdated(liveKey));
+        Assert.assertTrue("Regular update was removed.", bu.isKeyUpdated(regularKey));
+        Assert.assertFalse("Obsolete copy was not removed.", bu.isKeyUpdated(updatedKey));
+        Assert.assertFalse("Obsolete copy was not removed.", bu.isKeyUpdated(removedKey));
+        Assert.assertEquals("Unexpected bucket offset.", 100, bu.getBucketOffset());
+    }
 }
@@ -66,6 +66,55 @@ public class EntrySerializerTests {
         Assert.assertEquals("Did not read the entire serialization.", serialization.length, offset);
     }
 
+    /**
+     * Tests the ability to serialize updates with explicit versions (as used by compaction).
+     */
+    @Test
+    public void testUpdateWithExplicitVersion() throws Exception {
+        val entries = generateEntries().stream()
+                .map(e -> TableEntry.versioned(e.getKey().getKey(), e.getValue(), e.getKey().getKey().getLength() * 1000L))
+                .collect(Collectors.toList());
+        val s = new EntrySerializer();
+        val length = entries.stream().map(s::getUpdateWithExplicitVersionLength).mapToInt(i -> i).sum();
+        byte[] serialization = new byte[length];
+        s.serializeUpdateWithExplicitVersion(entries, serialization);
+
+        int offset = 0;
+        for (val e : entries) {
+            val headerStream = s.readHeader(new ByteArrayInputStream(serialization, offset, serialization.length - offset));
+            val headerArray = s.readHeader(new ByteArraySegment(serialization, offset, serialization.length - offset));
+            Assert.assertEquals("Unexpected header length.", EntrySerializer.MAX_HEADER_LENGTH, s.getHeaderLength(serialization[offset]));
+            Assert.assertTrue("Expected an explicit version.", headerStream.hasExplicitVersion() && headerArray.hasExplicitVersion());
+            Assert.assertEquals("Unexpected version (stream).", e.getKey().getVersion(), headerStream.getEntryVersion());
+            Assert.assertEquals("Unexpected version (array).", e.getKey().getVersion(), headerArray.getEntryVersion());
+            Assert.assertEquals("Unexpected key length.", e.getKey().getKey().getLength(), headerArray.getKeyLength());
+            Assert.assertEquals("Unexpected value length.", e.getValue().getLength(), headerArray.getValueLength());
+
+            AssertExtensions.assertArrayEquals("Unexpected serialized key.",
+                    serialization, offset + headerArray.getKeyOffset(),
+                    e.getKey().getKey().array(), e.getKey().getKey().arrayOffset(), headerArray.getKeyLength());
+
+            AssertExtensions.assertArrayEquals("Unexpected serialized value.",
+                    serialization, offset + headerArray.getValueOffset(),
+                    e.getValue().array(), e.getValue().arrayOffset(), headerArray.getValueLength());
+
+            offset += headerArray.getTotalLength();
+        }
+
+        Assert.assertEquals("Did not read the entire serialization.", serialization.length, offset);
+
+        // Entries without versions cannot be serialized this way.
+        AssertExtensions.assertThrows(
+                "serializeUpdateWithExplicitVersion accepted an unversioned entry.",
+                () -> s.serializeUpdateWithExplicitVersion(generateEntries(), serialization),
+                ex -> ex instanceof IllegalArgumentException);
+
+        // Regular serializations have no explicit version.
+        val regular = new byte[s.getUpdateLength(entries.get(0))];
+        s.serializeUpdate(entries.subList(0, 1), regular);
+        Assert.assertFalse(s.readHeader(new ByteArraySegment(regular)).hasExplicitVersion());
+    }
+
     @Test
     public void testRemoval() throws Exception {
         val keys = generateKeys();
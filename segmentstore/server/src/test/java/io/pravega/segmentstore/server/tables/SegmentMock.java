@@ -16,6 +16,7 @@ import io.pravega.segmentstore.contracts.Attributes;
 import io.pravega.segmentstore.contracts.BadAttributeUpdateException;
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.SegmentProperties;
+import io.pravega.segmentstore.contracts.StreamSegmentTruncatedException;
 import io.pravega.segmentstore.server.AttributeIterator;
 import io.pravega.segmentstore.server.DirectSegmentAccess;
 import io.pravega.segmentstore.server.SegmentMetadata;
@@ -42,7 +43,7 @@ import lombok.SneakyThrows;
 import lombok.val;
 
 /**
- * {@link DirectSegmentAccess} implementation that only handles attribute updates/retrievals and segment reads. This
+ * {@link DirectSegmentAccess} implementation that only handles attribute updates/retrievals, segment reads and truncations. This
  * accurately mocks the behavior of the entire Segment Container with respect to Attributes and reading, without dealing
  * with all the complexities behind the actual implementation.
  */
@@ -99,11 +100,16 @@ class SegmentMock implements DirectSegmentAccess {
     }
 
     @Override
+    @SneakyThrows(StreamSegmentTruncatedException.class)
     public ReadResult read(long offset, int maxLength, Duration timeout) {
         // We actually get a view of the data frozen in time, as any changes to the contents field after exiting from the
         // synchronized block may create a new buffer, but we don't care as the data we already have won't change.
         ByteArraySegment dataView;
         synchronized (this) {
+            if (offset < this.metadata.getStartOffset()) {
+                throw new StreamSegmentTruncatedException(this.metadata.getStartOffset());
+            }
+
             dataView = this.contents.getData();
         }
 
@@ -111,6 +117,19 @@ class SegmentMock implements DirectSegmentAccess {
         return new ReadResultMock(offset, dataView.subSegment((int) offset, dataView.getLength() - (int) offset), maxLength, 3);
     }
 
+    @Override
+    public CompletableFuture<Void> truncate(long offset, Duration timeout) {
+        return CompletableFuture.runAsync(() -> {
+            synchronized (this) {
+                if (offset < this.metadata.getStartOffset() || offset > this.metadata.getLength()) {
+                    throw new IllegalArgumentException("Invalid truncation offset.");
+                }
+
+                this.metadata.setStartOffset(offset);
+            }
+        }, this.executor);
+    }
+
     @Override
     public CompletableFuture<Map<UUID, Long>> getAttributes(Collection<UUID> attributeIds, boolean cache, Duration timeout) {
         return CompletableFuture.supplyAsync(() -> {
@@ -202,11 +221,6 @@ class SegmentMock implements DirectSegmentAccess {
         throw new UnsupportedOperationException("seal");
     }
 
-    @Override
-    public CompletableFuture<Void> truncate(long offset, Duration timeout) {
-        throw new UnsupportedOperationException("offset");
-    }
-
     @Override
     public CompletableFuture<AttributeIterator> attributeIterator(UUID fromId, UUID toId, Duration timeout) {
         return CompletableFuture.supplyAsync(() -> new AttributeIteratorImpl(this.metadata, fromId, toId), this.executor);
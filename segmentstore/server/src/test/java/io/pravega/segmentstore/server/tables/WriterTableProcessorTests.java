@@ -156,8 +156,8 @@ public class WriterTableProcessorTests extends ThreadPooledTestSuite {
         val e2 = TableEntry.unversioned(new ByteArraySegment("k2".getBytes()), new ByteArraySegment("v2".getBytes()));
         val append1 = generateRawAppend(e1, INITIAL_LAST_INDEXED_OFFSET, context);
         val append2 = generateRawAppend(e2, append1.getLastStreamSegmentOffset(), context);
-        context.segmentMock.append(append1.getData(), null, TIMEOUT).join();
-        context.segmentMock.append(append2.getData(), null, TIMEOUT).join();
+        context.segmentMock.append(append1.getData().getCopy(), null, TIMEOUT).join();
+        context.segmentMock.append(append2.getData().getCopy(), null, TIMEOUT).join();
         context.processor.add(new CachedStreamSegmentAppendOperation(append1));
         context.processor.add(new CachedStreamSegmentAppendOperation(append2));
 
@@ -198,7 +198,7 @@ public class WriterTableProcessorTests extends ThreadPooledTestSuite {
         // 4. INDEX_OFFSET changes beyond the last append.
         val e3 = TableEntry.unversioned(new ByteArraySegment("k3".getBytes()), new ByteArraySegment("v3".getBytes()));
         val append3 = generateRawAppend(e3, append2.getLastStreamSegmentOffset(), context);
-        context.segmentMock.append(append3.getData(), null, TIMEOUT).join();
+        context.segmentMock.append(append3.getData().getCopy(), null, TIMEOUT).join();
         context.processor.add(new CachedStreamSegmentAppendOperation(append3));
         context.metadata.updateAttributes(Collections.singletonMap(TableAttributes.INDEX_OFFSET, append3.getLastStreamSegmentOffset() + 1));
 
@@ -211,6 +211,53 @@ public class WriterTableProcessorTests extends ThreadPooledTestSuite {
         Assert.assertFalse("Unexpected result from mustFlush() after full reconciliation.", context.processor.mustFlush());
     }
 
+    /**
+     * Tests the ability to compact the Table Segment as part of {@link WriterTableProcessor#flush}, by copying live Table
+     * Entries to the end of the Segment and then truncating it.
+     */
+    @Test
+    public void testCompaction() throws Exception {
+        val config = TableExtensionConfig.builder()
+                                         .with(TableExtensionConfig.COMPACTION_MIN_UTILIZATION, 75)
+                                         .with(TableExtensionConfig.MAX_COMPACTION_SIZE, 100 * 1024)
+                                         .build();
+        @Cleanup
+        val context = new TestContext(KeyHashers.DEFAULT_HASHER, config);
+
+        // There is nothing to compact before the INITIAL_LAST_INDEXED_OFFSET.
+        context.segmentMock.updateAttributes(Collections.singletonMap(TableAttributes.COMPACTION_OFFSET, INITIAL_LAST_INDEXED_OFFSET));
+
+        Map<HashedArray, TableEntry> expectedEntries = Collections.emptyMap();
+        int count = 0;
+        while (count < UPDATE_COUNT) {
+            val batch = generateAndPopulateEntriesBatch(UPDATE_BATCH_SIZE, expectedEntries, context);
+            expectedEntries = batch.expectedEntries;
+            count += UPDATE_BATCH_SIZE;
+            for (val op : batch.operations) {
+                context.processor.add(op);
+            }
+
+            // Flush, then feed back to the processor whatever the compaction has copied (as the Segment Container would
+            // do), and repeat until there is nothing else to index.
+            while (context.processor.mustFlush()) {
+                long lengthBefore = context.metadata.getLength();
+                context.processor.flush(TIMEOUT).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                if (context.metadata.getLength() > lengthBefore) {
+                    context.processor.add(readAppend(lengthBefore, context));
+                }
+            }
+
+            // Verify all Table Entries can be read, with their original versions.
+            checkEntries(expectedEntries, context);
+        }
+
+        AssertExtensions.assertGreaterThan("Expected the segment to have been compacted.",
+                INITIAL_LAST_INDEXED_OFFSET, context.indexReader.getCompactionOffset(context.metadata));
+        AssertExtensions.assertGreaterThan("Expected the segment to have been truncated.",
+                INITIAL_LAST_INDEXED_OFFSET, context.metadata.getStartOffset());
+        Assert.assertEquals("Unexpected ENTRY_COUNT.", expectedEntries.size(), context.indexReader.getEntryCount(context.metadata));
+    }
+
     private void testFlushWithHasher(KeyHasher hasher) throws Exception {
         // Generate a set of operations, each containing one or more entries. Each entry is an update or a remove.
         // Towards the beginning we have more updates than removes, then removes will prevail.
@@ -290,6 +337,31 @@ public class WriterTableProcessorTests extends ThreadPooledTestSuite {
         }
     }
 
+    private void checkEntries(Map<HashedArray, TableEntry> expectedEntries, TestContext context) throws Exception {
+        val timer = new TimeoutTimer(TIMEOUT);
+        val bucketReader = TableBucketReader.entry(context.segmentMock, context.indexReader::getBackpointerOffset, executorService());
+        val hashes = expectedEntries.keySet().stream().collect(Collectors.toMap(k -> k, context.keyHasher::hash));
+        val bucketsByHash = context.indexReader.locateBuckets(context.segmentMock, hashes.values(), timer)
+                                               .get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        for (val e : expectedEntries.entrySet()) {
+            val bucket = bucketsByHash.get(hashes.get(e.getKey()));
+            Assert.assertTrue("Existing key has no Table Bucket.", bucket != null && bucket.exists());
+            val actual = bucketReader.find(e.getKey(), bucket.getSegmentOffset(), timer).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            Assert.assertNotNull("Existing key could not be found.", actual);
+            Assert.assertEquals("Unexpected version.", e.getValue().getKey().getVersion(), actual.getKey().getVersion());
+            Assert.assertEquals("Unexpected value.", new HashedArray(e.getValue().getValue()), new HashedArray(actual.getValue()));
+        }
+    }
+
+    private CachedStreamSegmentAppendOperation readAppend(long offset, TestContext context) {
+        byte[] data = new byte[(int) (context.metadata.getLength() - offset)];
+        context.segmentMock.read(offset, data.length, TIMEOUT).readRemaining(data, TIMEOUT);
+        val append = new StreamSegmentAppendOperation(SEGMENT_ID, data, null);
+        append.setSequenceNumber(context.nextSequenceNumber());
+        append.setStreamSegmentOffset(offset);
+        return new CachedStreamSegmentAppendOperation(append);
+    }
+
     private ArrayList<TestBatchData> generateAndPopulateEntries(TestContext context) {
         val result = new ArrayList<TestBatchData>();
         int count = 0;
@@ -333,7 +405,7 @@ public class WriterTableProcessorTests extends ThreadPooledTestSuite {
 
             // Add to segment.
             context.metadata.setLength(context.metadata.getLength() + append.getLength());
-            context.segmentMock.append(append.getData(), null, TIMEOUT).join();
+            context.segmentMock.append(append.getData().getCopy(), null, TIMEOUT).join();
 
             // Add to result.
             result.operations.add(new CachedStreamSegmentAppendOperation(append));
@@ -377,6 +449,7 @@ public class WriterTableProcessorTests extends ThreadPooledTestSuite {
     //region TestContext
 
     private class TestContext implements AutoCloseable {
+        final TableExtensionConfig config;
         final UpdateableSegmentMetadata metadata;
         final EntrySerializer serializer;
         final KeyHasher keyHasher;
@@ -392,6 +465,11 @@ public class WriterTableProcessorTests extends ThreadPooledTestSuite {
         }
 
         TestContext(KeyHasher hasher) {
+            this(hasher, TableExtensionConfig.builder().build());
+        }
+
+        TestContext(KeyHasher hasher, TableExtensionConfig config) {
+            this.config = config;
             this.metadata = new StreamSegmentMetadata(SEGMENT_NAME, SEGMENT_ID, 0);
             this.serializer = new EntrySerializer();
             this.keyHasher = hasher;
@@ -455,6 +533,16 @@ public class WriterTableProcessorTests extends ThreadPooledTestSuite {
                 this.notifyCount.incrementAndGet();
             }
 
+            @Override
+            public TableExtensionConfig getConfig() {
+                return config;
+            }
+
+            @Override
+            public void notifyCompacted() {
+                // Nothing to do; there is no cache to clear.
+            }
+
             @Override
             public void close() {
                 this.closed.set(true);
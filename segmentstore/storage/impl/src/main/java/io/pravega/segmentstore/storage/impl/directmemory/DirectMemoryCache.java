@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.function.Callbacks;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.storage.Cache;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache that stores its entries in direct (off-heap) memory, using Blocks allocated by a SlabAllocator.
+ *
+ * Each entry is stored as a chain of one or more Blocks. Every Block begins with a header made up of the address of the
+ * next Block in the chain (or SlabAllocator.NO_ADDRESS if none) and the number of payload bytes stored in that Block.
+ * Keys are never serialized; they are used as-is to look up the address of the first Block of their entry.
+ */
+@Slf4j
+@ThreadSafe
+class DirectMemoryCache implements Cache {
+    //region Members
+
+    static final int BLOCK_HEADER_LENGTH = Long.BYTES + Integer.BYTES;
+    private static final int NEXT_ADDRESS_OFFSET = 0;
+    private static final int LENGTH_OFFSET = Long.BYTES;
+    @Getter
+    private final String id;
+    private final SlabAllocator allocator;
+    private final int blockCapacity;
+    @GuardedBy("entries")
+    private final HashMap<Key, Long> entries;
+    private final AtomicBoolean closed;
+    private final Consumer<String> closeCallback;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DirectMemoryCache class.
+     *
+     * @param id            The Cache Id.
+     * @param allocator     The SlabAllocator to allocate Blocks from.
+     * @param closeCallback A callback to invoke when the cache is closed.
+     */
+    DirectMemoryCache(String id, SlabAllocator allocator, Consumer<String> closeCallback) {
+        Exceptions.checkNotNullOrEmpty(id, "id");
+        this.id = id;
+        this.allocator = Preconditions.checkNotNull(allocator, "allocator");
+        this.blockCapacity = allocator.getBlockSize() - BLOCK_HEADER_LENGTH;
+        this.closeCallback = closeCallback;
+        this.entries = new HashMap<>();
+        this.closed = new AtomicBoolean();
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            ArrayList<Long> toRelease;
+            synchronized (this.entries) {
+                toRelease = new ArrayList<>(this.entries.values());
+                this.entries.clear();
+            }
+
+            toRelease.forEach(this::releaseChain);
+            log.info("DirectMemoryCache[{}]: Closed.", this.id);
+
+            Consumer<String> callback = this.closeCallback;
+            if (callback != null) {
+                Callbacks.invokeSafely(callback, this.id, null);
+            }
+        }
+    }
+
+    //endregion
+
+    //region Cache Implementation
+
+    @Override
+    public void insert(Key key, byte[] data) {
+        insert(key, data, 0, data.length);
+    }
+
+    @Override
+    public void insert(Key key, ByteArraySegment data) {
+        // No need to make a copy of the data; we will be copying it into direct memory anyway.
+        insert(key, data.array(), data.arrayOffset(), data.getLength());
+    }
+
+    @Override
+    public byte[] get(Key key) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.entries) {
+            Long firstAddress = this.entries.get(key);
+            if (firstAddress == null) {
+                return null;
+            }
+
+            // Blocks in a chain may only be released while holding this lock, so it is safe to read them here.
+            byte[] result = new byte[getLength(firstAddress)];
+            int offset = 0;
+            long address = firstAddress;
+            while (address != SlabAllocator.NO_ADDRESS) {
+                ByteBuffer block = this.allocator.getBlock(address);
+                int blockLength = block.getInt(LENGTH_OFFSET);
+                block.position(BLOCK_HEADER_LENGTH);
+                block.get(result, offset, blockLength);
+                offset += blockLength;
+                address = block.getLong(NEXT_ADDRESS_OFFSET);
+            }
+
+            return result;
+        }
+    }
+
+    @Override
+    public void remove(Key key) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.entries) {
+            Long firstAddress = this.entries.remove(key);
+            if (firstAddress != null) {
+                releaseChain(firstAddress);
+            }
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    private void insert(Key key, byte[] array, int arrayOffset, int length) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        Preconditions.checkNotNull(key, "key");
+
+        // The new chain is not visible to anyone until we add it to the map, so we can write it outside of the lock.
+        long newAddress = write(array, arrayOffset, length);
+        synchronized (this.entries) {
+            Long oldAddress = this.entries.put(key, newAddress);
+            if (oldAddress != null) {
+                releaseChain(oldAddress);
+            }
+        }
+    }
+
+    /**
+     * Writes the given data into a new chain of Blocks.
+     *
+     * @return The address of the first Block in the chain.
+     */
+    private long write(byte[] array, int arrayOffset, int length) {
+        long firstAddress = SlabAllocator.NO_ADDRESS;
+        ByteBuffer previousBlock = null;
+        try {
+            do {
+                long address = this.allocator.allocate();
+                ByteBuffer block = this.allocator.getBlock(address);
+                int blockLength = Math.min(length, this.blockCapacity);
+                block.putLong(NEXT_ADDRESS_OFFSET, SlabAllocator.NO_ADDRESS);
+                block.putInt(LENGTH_OFFSET, blockLength);
+                block.position(BLOCK_HEADER_LENGTH);
+                block.put(array, arrayOffset, blockLength);
+                if (previousBlock == null) {
+                    firstAddress = address;
+                } else {
+                    previousBlock.putLong(NEXT_ADDRESS_OFFSET, address);
+                }
+
+                previousBlock = block;
+                arrayOffset += blockLength;
+                length -= blockLength;
+            } while (length > 0);
+        } catch (Throwable ex) {
+            // Do not leak any Blocks we may have allocated so far.
+            if (firstAddress != SlabAllocator.NO_ADDRESS) {
+                releaseChain(firstAddress);
+            }
+
+            throw ex;
+        }
+
+        return firstAddress;
+    }
+
+    private int getLength(long firstAddress) {
+        int length = 0;
+        long address = firstAddress;
+        while (address != SlabAllocator.NO_ADDRESS) {
+            ByteBuffer block = this.allocator.getBlock(address);
+            length += block.getInt(LENGTH_OFFSET);
+            address = block.getLong(NEXT_ADDRESS_OFFSET);
+        }
+
+        return length;
+    }
+
+    private void releaseChain(long firstAddress) {
+        long address = firstAddress;
+        while (address != SlabAllocator.NO_ADDRESS) {
+            // Releasing a Block overwrites its header, so we must read the next address beforehand.
+            long nextAddress = this.allocator.getBlock(address).getLong(NEXT_ADDRESS_OFFSET);
+            this.allocator.release(address);
+            address = nextAddress;
+        }
+    }
+
+    //endregion
+}
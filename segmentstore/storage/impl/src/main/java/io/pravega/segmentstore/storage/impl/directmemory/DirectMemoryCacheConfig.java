@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import io.pravega.common.util.ConfigBuilder;
+import io.pravega.common.util.ConfigurationException;
+import io.pravega.common.util.Property;
+import io.pravega.common.util.TypedProperties;
+import lombok.Getter;
+
+/**
+ * Configuration for the Direct Memory (off-heap) Cache.
+ */
+public class DirectMemoryCacheConfig {
+    //region Config Names
+
+    public static final Property<Integer> BLOCK_SIZE = Property.named("blockSize", 4 * 1024);
+    public static final Property<Integer> SLAB_SIZE = Property.named("slabSize", 16 * 1024 * 1024);
+    public static final Property<Long> MAX_SIZE = Property.named("maxSize", 16L * 1024 * 1024 * 1024);
+    private static final String COMPONENT_CODE = "directmemorycache";
+
+    //endregion
+
+    //region Members
+
+    /**
+     * The size of a single Block, in bytes. This is the unit of allocation: every cache entry occupies an integral
+     * number of Blocks, so smaller values reduce wasted space at the expense of more per-block overhead.
+     */
+    @Getter
+    private final int blockSize;
+
+    /**
+     * The size of a single Slab, in bytes. Direct memory is allocated from the OS in Slabs of this size, which are then
+     * divided into Blocks. Must be a multiple of the Block Size.
+     */
+    @Getter
+    private final int slabSize;
+
+    /**
+     * The maximum number of bytes that can be allocated by the Cache. This should be no smaller than the CachePolicy's
+     * max size, otherwise the Cache may become full before the CacheManager gets a chance to evict entries. The JVM's
+     * -XX:MaxDirectMemorySize setting must be configured to accommodate this value as well.
+     */
+    @Getter
+    private final long maxSize;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DirectMemoryCacheConfig class.
+     *
+     * @param properties The TypedProperties object to read Properties from.
+     */
+    private DirectMemoryCacheConfig(TypedProperties properties) throws ConfigurationException {
+        this.blockSize = properties.getInt(BLOCK_SIZE);
+        if (this.blockSize <= DirectMemoryCache.BLOCK_HEADER_LENGTH) {
+            throw new ConfigurationException(String.format("Property '%s' must be larger than %s.",
+                    BLOCK_SIZE, DirectMemoryCache.BLOCK_HEADER_LENGTH));
+        }
+
+        this.slabSize = properties.getInt(SLAB_SIZE);
+        if (this.slabSize < this.blockSize || this.slabSize % this.blockSize != 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive multiple of '%s'.", SLAB_SIZE, BLOCK_SIZE));
+        }
+
+        this.maxSize = properties.getLong(MAX_SIZE);
+        if (this.maxSize < this.slabSize) {
+            throw new ConfigurationException(String.format("Property '%s' must be at least the value of '%s'.", MAX_SIZE, SLAB_SIZE));
+        }
+    }
+
+    /**
+     * Creates a new ConfigBuilder that can be used to create instances of this class.
+     *
+     * @return A new Builder for this class.
+     */
+    public static ConfigBuilder<DirectMemoryCacheConfig> builder() {
+        return new ConfigBuilder<>(COMPONENT_CODE, DirectMemoryCacheConfig::new);
+    }
+
+    //endregion
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import com.google.common.base.Preconditions;
+import io.pravega.segmentstore.storage.CacheFullException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+
+/**
+ * Allocates fixed-size Blocks out of direct-memory Slabs.
+ *
+ * Slabs are allocated lazily (but in their entirety) as needed, up to the configured maximum size, and are never released
+ * back to the OS until this object is closed. Free Blocks are tracked using an intrusive free list: the first 8 bytes of
+ * every free Block contain the address of the next free Block, which means that tracking free space requires no heap memory.
+ *
+ * Every Block is identified by a primitive long address, composed of the Slab Index (upper 32 bits) and the Block Index
+ * within that Slab (lower 32 bits).
+ */
+@ThreadSafe
+class SlabAllocator implements AutoCloseable {
+    //region Members
+
+    /**
+     * Address that indicates there is no Block.
+     */
+    static final long NO_ADDRESS = -1L;
+    @Getter
+    private final int blockSize;
+    private final int blocksPerSlab;
+    private final int maxSlabCount;
+    @GuardedBy("slabs")
+    private final ArrayList<ByteBuffer> slabs;
+    @GuardedBy("slabs")
+    private long freeListHead;
+    @GuardedBy("slabs")
+    private long usedBlockCount;
+    @GuardedBy("slabs")
+    private boolean closed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the SlabAllocator class.
+     *
+     * @param config The DirectMemoryCacheConfig to use.
+     */
+    SlabAllocator(DirectMemoryCacheConfig config) {
+        Preconditions.checkNotNull(config, "config");
+        this.blockSize = config.getBlockSize();
+        this.blocksPerSlab = config.getSlabSize() / config.getBlockSize();
+        this.maxSlabCount = (int) Math.min(Integer.MAX_VALUE, config.getMaxSize() / config.getSlabSize());
+        this.slabs = new ArrayList<>();
+        this.freeListHead = NO_ADDRESS;
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        synchronized (this.slabs) {
+            if (!this.closed) {
+                // We cannot explicitly free direct memory; dropping all references makes it eligible for collection.
+                this.slabs.clear();
+                this.freeListHead = NO_ADDRESS;
+                this.usedBlockCount = 0;
+                this.closed = true;
+            }
+        }
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Allocates a new Block.
+     *
+     * @return The address of the allocated Block.
+     * @throws CacheFullException If the maximum number of Blocks has already been allocated.
+     */
+    long allocate() {
+        synchronized (this.slabs) {
+            Preconditions.checkState(!this.closed, "SlabAllocator is closed.");
+            if (this.freeListHead == NO_ADDRESS) {
+                allocateSlab();
+            }
+
+            long address = this.freeListHead;
+            this.freeListHead = getSlab(address).getLong(getBlockOffset(address));
+            this.usedBlockCount++;
+            return address;
+        }
+    }
+
+    /**
+     * Releases the Block with given address, making it available for future allocations.
+     *
+     * @param address The address of the Block to release.
+     */
+    void release(long address) {
+        synchronized (this.slabs) {
+            if (this.closed) {
+                // Nothing to release to.
+                return;
+            }
+
+            getSlab(address).putLong(getBlockOffset(address), this.freeListHead);
+            this.freeListHead = address;
+            this.usedBlockCount--;
+        }
+    }
+
+    /**
+     * Gets a ByteBuffer that spans exactly the Block with given address. The returned buffer is independent of any other
+     * buffers returned by this method, so its position and limit may be freely changed by the caller.
+     *
+     * @param address The address of the Block.
+     * @return The ByteBuffer.
+     */
+    ByteBuffer getBlock(long address) {
+        ByteBuffer slab;
+        synchronized (this.slabs) {
+            Preconditions.checkState(!this.closed, "SlabAllocator is closed.");
+            slab = getSlab(address);
+        }
+
+        ByteBuffer result = slab.duplicate();
+        int offset = getBlockOffset(address);
+        result.position(offset);
+        result.limit(offset + this.blockSize);
+        return result.slice();
+    }
+
+    /**
+     * Gets a value indicating the number of bytes used by allocated Blocks.
+     *
+     * @return The number of bytes.
+     */
+    long getUsedBytes() {
+        synchronized (this.slabs) {
+            return this.usedBlockCount * this.blockSize;
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    @GuardedBy("slabs")
+    private void allocateSlab() {
+        if (this.slabs.size() >= this.maxSlabCount) {
+            throw new CacheFullException(String.format("Unable to allocate more than %d slabs of %d bytes each.",
+                    this.maxSlabCount, this.blocksPerSlab * this.blockSize));
+        }
+
+        int slabIndex = this.slabs.size();
+        ByteBuffer slab = ByteBuffer.allocateDirect(this.blocksPerSlab * this.blockSize);
+        this.slabs.add(slab);
+
+        // Thread all the new Blocks into the free list, in reverse order, so that they are handed out sequentially.
+        for (int blockIndex = this.blocksPerSlab - 1; blockIndex >= 0; blockIndex--) {
+            slab.putLong(blockIndex * this.blockSize, this.freeListHead);
+            this.freeListHead = getAddress(slabIndex, blockIndex);
+        }
+    }
+
+    @GuardedBy("slabs")
+    private ByteBuffer getSlab(long address) {
+        return this.slabs.get((int) (address >>> 32));
+    }
+
+    private int getBlockOffset(long address) {
+        return (int) address * this.blockSize;
+    }
+
+    private static long getAddress(int slabIndex, int blockIndex) {
+        return ((long) slabIndex << 32) | blockIndex;
+    }
+
+    //endregion
+}
@@ -0,0 +1,310 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.diskcache;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.function.Callbacks;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.CacheException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache that stores its entries in append-only files on local disk, with an in-memory index pointing to them.
+ *
+ * New entries are always appended to the most recent file, which is rolled over once it reaches the configured size.
+ * Removing (or overwriting) an entry only removes it from the index; a file is deleted once it no longer contains any
+ * live entries, or, if the DiskCacheFactory's size limit has been exceeded, when it is the oldest file in this Cache (in
+ * which case all of its entries are dropped as well).
+ */
+@Slf4j
+@ThreadSafe
+class DiskCache implements Cache {
+    //region Members
+
+    @Getter
+    private final String id;
+    private final Path directory;
+    private final DiskCacheFactory.SpaceTracker spaceTracker;
+    private final int fileSize;
+    @GuardedBy("files")
+    private final HashMap<Key, Location> entries;
+    @GuardedBy("files")
+    private final ArrayDeque<CacheFile> files;
+    @GuardedBy("files")
+    private int nextFileId;
+    private final AtomicBoolean closed;
+    private final Consumer<String> closeCallback;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DiskCache class.
+     *
+     * @param id            The Cache Id.
+     * @param directory     The directory where to store files. This directory must exist and be empty.
+     * @param fileSize      The size at which to roll over files.
+     * @param spaceTracker  A SpaceTracker that keeps track of the space used by all the Caches in the same factory.
+     * @param closeCallback A callback to invoke when the cache is closed.
+     */
+    DiskCache(String id, Path directory, int fileSize, DiskCacheFactory.SpaceTracker spaceTracker, Consumer<String> closeCallback) {
+        Exceptions.checkNotNullOrEmpty(id, "id");
+        Preconditions.checkArgument(fileSize > 0, "fileSize must be a positive number.");
+        this.id = id;
+        this.directory = Preconditions.checkNotNull(directory, "directory");
+        this.fileSize = fileSize;
+        this.spaceTracker = Preconditions.checkNotNull(spaceTracker, "spaceTracker");
+        this.closeCallback = closeCallback;
+        this.entries = new HashMap<>();
+        this.files = new ArrayDeque<>();
+        this.closed = new AtomicBoolean();
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            ArrayList<CacheFile> toDelete;
+            synchronized (this.files) {
+                this.entries.clear();
+                toDelete = new ArrayList<>(this.files);
+                this.files.clear();
+            }
+
+            toDelete.forEach(this::deleteFile);
+            try {
+                Files.deleteIfExists(this.directory);
+            } catch (IOException ex) {
+                log.warn("DiskCache[{}]: Unable to delete directory '{}'.", this.id, this.directory, ex);
+            }
+
+            log.info("DiskCache[{}]: Closed.", this.id);
+            Consumer<String> callback = this.closeCallback;
+            if (callback != null) {
+                Callbacks.invokeSafely(callback, this.id, null);
+            }
+        }
+    }
+
+    //endregion
+
+    //region Cache Implementation
+
+    @Override
+    public void insert(Key key, byte[] data) {
+        insert(key, new ByteArraySegment(data));
+    }
+
+    @Override
+    public void insert(Key key, ByteArraySegment data) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        Preconditions.checkNotNull(key, "key");
+        Preconditions.checkNotNull(data, "data");
+        ArrayList<CacheFile> toDelete = new ArrayList<>();
+        synchronized (this.files) {
+            removeEntry(key, toDelete);
+            CacheFile file = getWritableFile(data.getLength(), toDelete);
+            long position;
+            try {
+                position = file.append(data);
+            } catch (IOException ex) {
+                throw new CacheException(String.format("Unable to insert entry into DiskCache[%s].", this.id), ex);
+            }
+
+            this.spaceTracker.add(data.getLength());
+            file.liveEntryCount++;
+            this.entries.put(key, new Location(file, position, data.getLength()));
+
+            // Make room for this entry, if needed, by dropping the oldest files. Never drop the file we are writing to.
+            while (this.spaceTracker.isFull() && this.files.size() > 1) {
+                CacheFile oldest = this.files.removeFirst();
+                this.entries.values().removeIf(l -> l.file == oldest);
+                toDelete.add(oldest);
+
+                // Account for the file right away (even though it is deleted outside of the lock), otherwise we would
+                // keep dropping files until only the current one is left.
+                this.spaceTracker.add(-oldest.length);
+                oldest.released = true;
+            }
+        }
+
+        toDelete.forEach(this::deleteFile);
+    }
+
+    @Override
+    public byte[] get(Key key) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        Location location;
+        synchronized (this.files) {
+            location = this.entries.get(key);
+        }
+
+        if (location == null) {
+            return null;
+        }
+
+        // Read outside of the lock, since this involves disk access. The file may get deleted while we are reading from
+        // it, in which case we report the entry as missing (the cache may drop entries at any time).
+        try {
+            return location.file.read(location.position, location.length);
+        } catch (IOException ex) {
+            log.debug("DiskCache[{}]: Unable to read entry {}; treating as a miss.", this.id, key, ex);
+            return null;
+        }
+    }
+
+    @Override
+    public void remove(Key key) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        ArrayList<CacheFile> toDelete = new ArrayList<>();
+        synchronized (this.files) {
+            removeEntry(key, toDelete);
+        }
+
+        toDelete.forEach(this::deleteFile);
+    }
+
+    //endregion
+
+    //region Helpers
+
+    @GuardedBy("files")
+    private void removeEntry(Key key, ArrayList<CacheFile> toDelete) {
+        Location location = this.entries.remove(key);
+        if (location != null) {
+            location.file.liveEntryCount--;
+            if (location.file.liveEntryCount <= 0 && location.file != this.files.peekLast()) {
+                // Nothing else in this file and we aren't writing to it anymore.
+                this.files.remove(location.file);
+                toDelete.add(location.file);
+            }
+        }
+    }
+
+    @GuardedBy("files")
+    private CacheFile getWritableFile(int length, ArrayList<CacheFile> toDelete) {
+        CacheFile last = this.files.peekLast();
+        if (last == null || (last.length > 0 && last.length + length > this.fileSize)) {
+            if (last != null && last.liveEntryCount <= 0) {
+                // We are rolling over from a file that has no more entries in it; no need to keep it around.
+                this.files.removeLast();
+                toDelete.add(last);
+            }
+
+            Path path = this.directory.resolve(Integer.toString(this.nextFileId++));
+            try {
+                last = new CacheFile(path, FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE));
+            } catch (IOException ex) {
+                throw new CacheException(String.format("Unable to create file '%s' for DiskCache[%s].", path, this.id), ex);
+            }
+
+            this.files.addLast(last);
+            log.debug("DiskCache[{}]: Created file '{}'.", this.id, path);
+        }
+
+        return last;
+    }
+
+    private void deleteFile(CacheFile file) {
+        if (!file.released) {
+            this.spaceTracker.add(-file.length);
+        }
+
+        try {
+            file.channel.close();
+            Files.deleteIfExists(file.path);
+            log.debug("DiskCache[{}]: Deleted file '{}'.", this.id, file.path);
+        } catch (IOException ex) {
+            log.warn("DiskCache[{}]: Unable to delete file '{}'.", this.id, file.path, ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DiskCache[%s]", this.id);
+    }
+
+    //endregion
+
+    //region CacheFile and Location
+
+    /**
+     * A single append-only file.
+     */
+    @RequiredArgsConstructor
+    private static class CacheFile {
+        private final Path path;
+        private final FileChannel channel;
+        @GuardedBy("DiskCache.files")
+        private long length;
+        @GuardedBy("DiskCache.files")
+        private int liveEntryCount;
+        @GuardedBy("DiskCache.files")
+        private boolean released;
+
+        @GuardedBy("DiskCache.files")
+        long append(ByteArraySegment data) throws IOException {
+            long position = this.length;
+            ByteBuffer buffer = ByteBuffer.wrap(data.array(), data.arrayOffset(), data.getLength());
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer, position + buffer.position() - data.arrayOffset());
+            }
+
+            this.length += data.getLength();
+            return position;
+        }
+
+        byte[] read(long position, int length) throws IOException {
+            byte[] result = new byte[length];
+            ByteBuffer buffer = ByteBuffer.wrap(result);
+            while (buffer.hasRemaining()) {
+                if (this.channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException(String.format("Unexpected end of file '%s'.", this.path));
+                }
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * The location of an entry.
+     */
+    @RequiredArgsConstructor
+    private static class Location {
+        private final CacheFile file;
+        private final long position;
+        private final int length;
+    }
+
+    //endregion
+}
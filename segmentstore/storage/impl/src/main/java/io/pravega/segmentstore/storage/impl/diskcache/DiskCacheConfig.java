@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.diskcache;
+
+import io.pravega.common.util.ConfigBuilder;
+import io.pravega.common.util.ConfigurationException;
+import io.pravega.common.util.Property;
+import io.pravega.common.util.TypedProperties;
+import lombok.Getter;
+
+/**
+ * Configuration for the Disk Cache (the local-disk tier of the Read Index Cache).
+ */
+public class DiskCacheConfig {
+    //region Config Names
+
+    public static final Property<String> PATH = Property.named("path", "/tmp/pravega/diskcache");
+    public static final Property<Integer> FILE_SIZE = Property.named("fileSize", 64 * 1024 * 1024);
+    public static final Property<Long> MAX_SIZE = Property.named("maxSize", 64L * 1024 * 1024 * 1024);
+    private static final String COMPONENT_CODE = "diskcache";
+
+    //endregion
+
+    //region Members
+
+    /**
+     * The local directory where the Disk Cache files are stored. Any existing contents of this directory are deleted
+     * upon startup.
+     */
+    @Getter
+    private final String path;
+
+    /**
+     * The size, in bytes, at which a Disk Cache file is rolled over. Files are only ever appended to, and are deleted as
+     * a whole, so this is also the granularity at which space is reclaimed.
+     */
+    @Getter
+    private final int fileSize;
+
+    /**
+     * The maximum number of bytes that can be stored in all Disk Cache files. Once exceeded, the oldest files are deleted
+     * (along with all the entries they contain).
+     */
+    @Getter
+    private final long maxSize;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DiskCacheConfig class.
+     *
+     * @param properties The TypedProperties object to read Properties from.
+     */
+    private DiskCacheConfig(TypedProperties properties) throws ConfigurationException {
+        this.path = properties.get(PATH);
+        this.fileSize = properties.getInt(FILE_SIZE);
+        if (this.fileSize <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", FILE_SIZE));
+        }
+
+        this.maxSize = properties.getLong(MAX_SIZE);
+        if (this.maxSize < this.fileSize) {
+            throw new ConfigurationException(String.format("Property '%s' must be at least the value of '%s'.", MAX_SIZE, FILE_SIZE));
+        }
+    }
+
+    /**
+     * Creates a new ConfigBuilder that can be used to create instances of this class.
+     *
+     * @return A new Builder for this class.
+     */
+    public static ConfigBuilder<DiskCacheConfig> builder() {
+        return new ConfigBuilder<>(COMPONENT_CODE, DiskCacheConfig::new);
+    }
+
+    //endregion
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.diskcache;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.CacheException;
+import io.pravega.segmentstore.storage.CacheFactory;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Cache Factory for the Disk Cache implementation. All Caches created by this factory share the same root directory
+ * (each one has its own sub-directory in it) and the same size limit.
+ */
+@Slf4j
+public class DiskCacheFactory implements CacheFactory {
+    //region Members
+
+    private static final String LOG_ID = "DiskCacheFactory";
+    private final DiskCacheConfig config;
+    private final Path root;
+    private final HashMap<String, DiskCache> caches;
+    private final SpaceTracker spaceTracker;
+    private final AtomicBoolean closed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DiskCacheFactory class. Any existing contents of the configured directory are deleted.
+     *
+     * @param config The configuration to use.
+     */
+    public DiskCacheFactory(DiskCacheConfig config) {
+        this.config = Preconditions.checkNotNull(config, "config");
+        this.root = Paths.get(config.getPath());
+        this.caches = new HashMap<>();
+        this.spaceTracker = new SpaceTracker(config.getMaxSize());
+        this.closed = new AtomicBoolean();
+        try {
+            // Whatever is in there is left over from a previous run; we have no index for it so it is of no use.
+            FileUtils.deleteDirectory(this.root.toFile());
+            Files.createDirectories(this.root);
+        } catch (IOException ex) {
+            throw new CacheException(String.format("Unable to initialize Disk Cache directory '%s'.", this.root), ex);
+        }
+
+        log.info("{}: Initialized (Path = {}, FileSize = {}, MaxSize = {}).", LOG_ID, config.getPath(),
+                config.getFileSize(), config.getMaxSize());
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (!this.closed.getAndSet(true)) {
+            ArrayList<DiskCache> toClose;
+            synchronized (this.caches) {
+                toClose = new ArrayList<>(this.caches.values());
+            }
+
+            toClose.forEach(DiskCache::close);
+            log.info("{}: Closed.", LOG_ID);
+        }
+    }
+
+    //endregion
+
+    //region CacheFactory Implementation
+
+    @Override
+    public Cache getCache(String id) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.caches) {
+            return this.caches.computeIfAbsent(id, this::createCache);
+        }
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return this.spaceTracker.getUsedBytes();
+    }
+
+    private DiskCache createCache(String id) {
+        Path directory = this.root.resolve(id.replace(File.separatorChar, '_'));
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new CacheException(String.format("Unable to create directory '%s' for DiskCache[%s].", directory, id), ex);
+        }
+
+        return new DiskCache(id, directory, this.config.getFileSize(), this.spaceTracker, this::cacheClosed);
+    }
+
+    private void cacheClosed(String cacheId) {
+        synchronized (this.caches) {
+            this.caches.remove(cacheId);
+        }
+    }
+
+    //endregion
+
+    //region SpaceTracker
+
+    /**
+     * Keeps track of the number of bytes stored on disk by all the Caches created by a DiskCacheFactory.
+     */
+    @RequiredArgsConstructor
+    static class SpaceTracker {
+        private final long maxSize;
+        private final AtomicLong usedBytes = new AtomicLong();
+
+        void add(long delta) {
+            this.usedBytes.addAndGet(delta);
+        }
+
+        long getUsedBytes() {
+            return this.usedBytes.get();
+        }
+
+        boolean isFull() {
+            return this.usedBytes.get() > this.maxSize;
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.CacheFullException;
+import io.pravega.segmentstore.storage.CacheTestBase;
+import io.pravega.test.common.AssertExtensions;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.Cleanup;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for DirectMemoryCache.
+ */
+public class DirectMemoryCacheTests extends CacheTestBase {
+    private static final int BLOCK_SIZE = 64;
+    private static final int SLAB_SIZE = BLOCK_SIZE * 1024;
+    private static final int MAX_SIZE = SLAB_SIZE * 512;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(30);
+    private final AtomicReference<DirectMemoryCacheFactory> factory = new AtomicReference<>();
+
+    @Before
+    public void setUp() {
+        this.factory.set(new DirectMemoryCacheFactory(createConfig(MAX_SIZE)));
+    }
+
+    @After
+    public void tearDown() {
+        this.factory.getAndSet(null).close();
+    }
+
+    @Override
+    protected Cache createCache(String cacheId) {
+        return this.factory.get().getCache(cacheId);
+    }
+
+    /**
+     * Tests the ability to store entries that span multiple Blocks, as well as the accuracy of the allocated bytes.
+     */
+    @Test
+    public void testMultiBlockEntries() {
+        final int blockCapacity = BLOCK_SIZE - DirectMemoryCache.BLOCK_HEADER_LENGTH;
+        final int maxLength = blockCapacity * 10;
+        Random rnd = new Random(0);
+        @Cleanup
+        Cache cache = createCache("cache");
+        long expectedAllocatedBytes = 0;
+        for (int length = 0; length <= maxLength; length++) {
+            byte[] data = new byte[length];
+            rnd.nextBytes(data);
+            TestKey key = new TestKey(length);
+            if (length % 2 == 0) {
+                cache.insert(key, data);
+            } else {
+                // Insert using a ByteArraySegment that does not start at the beginning of its array.
+                byte[] buffer = new byte[length + 1];
+                System.arraycopy(data, 0, buffer, 1, length);
+                cache.insert(key, new ByteArraySegment(buffer, 1, length));
+            }
+
+            expectedAllocatedBytes += (long) Math.max(1, (length + blockCapacity - 1) / blockCapacity) * BLOCK_SIZE;
+            Assert.assertArrayEquals("Unexpected data read back for length " + length, data, cache.get(key));
+            Assert.assertEquals("Unexpected allocated bytes after inserting length " + length,
+                    expectedAllocatedBytes, this.factory.get().getAllocatedBytes());
+        }
+
+        // Overwrite existing entries with smaller ones and verify the old Blocks are released.
+        for (int length = 0; length <= maxLength; length++) {
+            byte[] data = new byte[1];
+            TestKey key = new TestKey(length);
+            cache.insert(key, data);
+            Assert.assertArrayEquals("Unexpected data read back after overwrite for length " + length, data, cache.get(key));
+        }
+
+        Assert.assertEquals("Unexpected allocated bytes after overwrites.", (long) (maxLength + 1) * BLOCK_SIZE, this.factory.get().getAllocatedBytes());
+
+        // Remove everything.
+        for (int length = 0; length <= maxLength; length++) {
+            cache.remove(new TestKey(length));
+        }
+
+        Assert.assertEquals("Unexpected allocated bytes after removals.", 0, this.factory.get().getAllocatedBytes());
+    }
+
+    /**
+     * Tests the behavior of the Cache when it reaches its maximum capacity.
+     */
+    @Test
+    public void testCacheFull() {
+        @Cleanup
+        DirectMemoryCacheFactory factory = new DirectMemoryCacheFactory(createConfig(SLAB_SIZE));
+        @Cleanup
+        Cache cache1 = factory.getCache("cache1");
+        @Cleanup
+        Cache cache2 = factory.getCache("cache2");
+
+        // Fill the cache up with an entry that occupies all Blocks but one.
+        final int blockCapacity = BLOCK_SIZE - DirectMemoryCache.BLOCK_HEADER_LENGTH;
+        final int blockCount = SLAB_SIZE / BLOCK_SIZE;
+        cache1.insert(new TestKey(1), new byte[blockCapacity * (blockCount - 1)]);
+        Assert.assertEquals("Unexpected allocated bytes.", SLAB_SIZE - BLOCK_SIZE, factory.getAllocatedBytes());
+
+        // An entry that requires two Blocks must fail, and it must not leak the Block it did manage to allocate.
+        AssertExtensions.assertThrows(
+                "Expected insert to fail when the cache is full.",
+                () -> cache2.insert(new TestKey(2), new byte[blockCapacity + 1]),
+                ex -> ex instanceof CacheFullException);
+        Assert.assertNull("Not expecting failed insert to be stored.", cache2.get(new TestKey(2)));
+        Assert.assertEquals("Unexpected allocated bytes after failed insert.", SLAB_SIZE - BLOCK_SIZE, factory.getAllocatedBytes());
+
+        // Closing a cache releases all of its Blocks, which can then be used by other caches.
+        cache1.close();
+        Assert.assertEquals("Unexpected allocated bytes after closing cache.", 0, factory.getAllocatedBytes());
+        cache2.insert(new TestKey(2), new byte[blockCapacity + 1]);
+        Assert.assertEquals("Unexpected allocated bytes after insert.", 2 * BLOCK_SIZE, factory.getAllocatedBytes());
+    }
+
+    private DirectMemoryCacheConfig createConfig(long maxSize) {
+        return DirectMemoryCacheConfig
+                .builder()
+                .with(DirectMemoryCacheConfig.BLOCK_SIZE, BLOCK_SIZE)
+                .with(DirectMemoryCacheConfig.SLAB_SIZE, SLAB_SIZE)
+                .with(DirectMemoryCacheConfig.MAX_SIZE, maxSize)
+                .build();
+    }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode(callSuper = false)
+    private static class TestKey extends Cache.Key {
+        private final int id;
+
+        @Override
+        public byte[] serialize() {
+            throw new UnsupportedOperationException("DirectMemoryCache should not need to serialize keys.");
+        }
+    }
+}
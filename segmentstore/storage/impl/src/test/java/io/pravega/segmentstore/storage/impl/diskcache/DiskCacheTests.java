@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.diskcache;
+
+import com.google.common.io.Files;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.CacheTestBase;
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.Cleanup;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for DiskCache.
+ */
+public class DiskCacheTests extends CacheTestBase {
+    private static final int ENTRY_SIZE = 1024;
+    private static final int FILE_SIZE = ENTRY_SIZE * 10;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(30);
+    private final AtomicReference<File> tempDir = new AtomicReference<>();
+    private final AtomicReference<DiskCacheFactory> factory = new AtomicReference<>();
+
+    @Before
+    public void setUp() {
+        this.tempDir.set(Files.createTempDir());
+        this.factory.set(new DiskCacheFactory(createConfig(this.tempDir.get(), 1024 * 1024 * 1024)));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.factory.getAndSet(null).close();
+        FileUtils.deleteDirectory(this.tempDir.getAndSet(null));
+    }
+
+    @Override
+    protected Cache createCache(String cacheId) {
+        return this.factory.get().getCache(cacheId);
+    }
+
+    /**
+     * Tests that files are rolled over and deleted once they no longer contain any entries, and that overwritten entries
+     * return the most recent data.
+     */
+    @Test
+    public void testFileRollover() {
+        final int entryCount = FILE_SIZE / ENTRY_SIZE * 3;
+        Random rnd = new Random(0);
+        @Cleanup
+        Cache cache = createCache("cache");
+        File cacheDir = new File(this.tempDir.get(), "cache");
+        byte[][] data = new byte[entryCount][];
+        for (int i = 0; i < entryCount; i++) {
+            data[i] = new byte[ENTRY_SIZE];
+            rnd.nextBytes(data[i]);
+
+            // Insert using a ByteArraySegment that does not start at the beginning of its array.
+            byte[] buffer = new byte[ENTRY_SIZE + 1];
+            System.arraycopy(data[i], 0, buffer, 1, ENTRY_SIZE);
+            cache.insert(new TestKey(i), new ByteArraySegment(buffer, 1, ENTRY_SIZE));
+        }
+
+        Assert.assertEquals("Unexpected number of files.", 3, cacheDir.list().length);
+        Assert.assertEquals("Unexpected allocated bytes.", (long) entryCount * ENTRY_SIZE, this.factory.get().getAllocatedBytes());
+        for (int i = 0; i < entryCount; i++) {
+            Assert.assertArrayEquals("Unexpected data for entry " + i, data[i], cache.get(new TestKey(i)));
+        }
+
+        // Overwrite an entry; it is appended to the last file.
+        byte[] newData = new byte[ENTRY_SIZE / 2];
+        rnd.nextBytes(newData);
+        cache.insert(new TestKey(0), newData);
+        Assert.assertArrayEquals("Unexpected data after overwrite.", newData, cache.get(new TestKey(0)));
+        Assert.assertEquals("Unexpected number of files after overwrite.", 4, cacheDir.list().length);
+
+        // Remove all the entries from the first file (the first one was already overwritten); this should delete it.
+        for (int i = 1; i < FILE_SIZE / ENTRY_SIZE; i++) {
+            cache.remove(new TestKey(i));
+        }
+
+        Assert.assertEquals("Expected first file to be deleted.", 3, cacheDir.list().length);
+        Assert.assertEquals("Unexpected allocated bytes after removal.",
+                (long) (entryCount - FILE_SIZE / ENTRY_SIZE) * ENTRY_SIZE + newData.length, this.factory.get().getAllocatedBytes());
+        Assert.assertArrayEquals("Unexpected data for unaffected entry.", data[entryCount - 1], cache.get(new TestKey(entryCount - 1)));
+
+        cache.close();
+        Assert.assertFalse("Expected cache directory to be deleted after close.", cacheDir.exists());
+        Assert.assertEquals("Unexpected allocated bytes after close.", 0, this.factory.get().getAllocatedBytes());
+    }
+
+    /**
+     * Tests that the oldest files are deleted when the maximum size is exceeded.
+     */
+    @Test
+    public void testMaxSize() {
+        final int maxFileCount = 3;
+        @Cleanup
+        DiskCacheFactory factory = new DiskCacheFactory(createConfig(new File(this.tempDir.get(), "maxSize"), FILE_SIZE * maxFileCount));
+        @Cleanup
+        Cache cache = factory.getCache("cache");
+        final int entriesPerFile = FILE_SIZE / ENTRY_SIZE;
+        final int entryCount = entriesPerFile * maxFileCount * 2;
+        for (int i = 0; i < entryCount; i++) {
+            cache.insert(new TestKey(i), new byte[ENTRY_SIZE]);
+            Assert.assertTrue("Maximum size exceeded.", factory.getAllocatedBytes() <= FILE_SIZE * maxFileCount);
+        }
+
+        // Only the entries in the most recent files should still be there.
+        int firstRetained = entryCount - maxFileCount * entriesPerFile;
+        for (int i = 0; i < entryCount; i++) {
+            byte[] result = cache.get(new TestKey(i));
+            if (i < firstRetained) {
+                Assert.assertNull("Expected entry to have been evicted: " + i, result);
+            } else {
+                Assert.assertNotNull("Expected entry to have been retained: " + i, result);
+            }
+        }
+    }
+
+    /**
+     * Tests that exceeding the maximum size by a single file only drops the oldest file.
+     */
+    @Test
+    public void testMaxSizeDropsOldestFileOnly() {
+        final int maxFileCount = 3;
+        @Cleanup
+        DiskCacheFactory factory = new DiskCacheFactory(createConfig(new File(this.tempDir.get(), "maxSizeOne"), FILE_SIZE * maxFileCount));
+        @Cleanup
+        Cache cache = factory.getCache("cache");
+        final int entriesPerFile = FILE_SIZE / ENTRY_SIZE;
+        final int entryCount = entriesPerFile * maxFileCount + 1;
+        for (int i = 0; i < entryCount; i++) {
+            cache.insert(new TestKey(i), new byte[ENTRY_SIZE]);
+        }
+
+        // Only the first file should have been dropped; everything else must still be there.
+        for (int i = 0; i < entryCount; i++) {
+            byte[] result = cache.get(new TestKey(i));
+            if (i < entriesPerFile) {
+                Assert.assertNull("Expected entry to have been evicted: " + i, result);
+            } else {
+                Assert.assertNotNull("Expected entry to have been retained: " + i, result);
+            }
+        }
+
+        Assert.assertEquals("Unexpected allocated bytes.", (long) (entryCount - entriesPerFile) * ENTRY_SIZE, factory.getAllocatedBytes());
+        Assert.assertEquals("Unexpected number of files.", maxFileCount, new File(new File(this.tempDir.get(), "maxSizeOne"), "cache").list().length);
+    }
+
+    private DiskCacheConfig createConfig(File path, long maxSize) {
+        return DiskCacheConfig
+                .builder()
+                .with(DiskCacheConfig.PATH, path.getAbsolutePath())
+                .with(DiskCacheConfig.FILE_SIZE, FILE_SIZE)
+                .with(DiskCacheConfig.MAX_SIZE, maxSize)
+                .build();
+    }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode(callSuper = false)
+    private static class TestKey extends Cache.Key {
+        private final int id;
+
+        @Override
+        public byte[] serialize() {
+            throw new UnsupportedOperationException("DiskCache should not need to serialize keys.");
+        }
+    }
+}
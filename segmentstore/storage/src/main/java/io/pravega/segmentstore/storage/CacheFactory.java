@@ -20,6 +20,17 @@ public interface CacheFactory extends AutoCloseable {
      */
     Cache getCache(String id);
 
+    /**
+     * Gets a value indicating the number of bytes currently allocated by all the Caches created by this factory, including
+     * any internal overhead (such as partially used blocks). This can be used by a CacheManager to make eviction decisions
+     * based on the actual memory consumption rather than the logical size of the cached data.
+     *
+     * @return The number of allocated bytes, or -1 if this information is not available.
+     */
+    default long getAllocatedBytes() {
+        return -1;
+    }
+
     @Override
     void close();
 }
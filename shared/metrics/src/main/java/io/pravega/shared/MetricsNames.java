@@ -29,6 +29,7 @@ package io.pravega.shared;
  * - controller.retention: metrics related to data retention, per stream (e.g., frequency, size of truncated data)
  * - controller.hosts: metrics related to Pravega servers in the cluster (e.g., number of servers, failures)
  * - controller.container: metrics related to container lifecycle (e.g., failovers)
+ * - controller.store: metrics related to the stream metadata store (e.g., cache hits and misses)
  *
  * We have two types of metrics:
  * - Global metric: Values are directly associated to the metric name that appears in this file. They are convenient if
@@ -59,6 +60,7 @@ public final class MetricsNames {
     public static final String SEGMENT_DELETE_LATENCY = "segmentstore.segment.delete_latency_ms"; // Histogram
     public static final String SEGMENT_READ_LATENCY = "segmentstore.segment.read_latency_ms";     // Histogram
     public static final String SEGMENT_WRITE_LATENCY = "segmentstore.segment.write_latency_ms";   // Histogram
+    public static final String SEGMENT_APPEND_QUEUE_LATENCY = "segmentstore.segment.append_queue_latency_ms"; // Histogram
     public static final String SEGMENT_READ_BYTES = "segmentstore.segment.read_bytes";            // Counter and Per-segment Counter
     public static final String SEGMENT_WRITE_BYTES = "segmentstore.segment.write_bytes";          // Counter and Per-segment Counter
     public static final String SEGMENT_WRITE_EVENTS = "segmentstore.segment.write_events";        // Counter and Per-segment Counter
@@ -80,6 +82,10 @@ public final class MetricsNames {
     public static final String TABLE_SEGMENT_ITERATE_KEYS = "segmentstore.tablesegment.iterate_keys";             // Counter and Per-segment Counter
     public static final String TABLE_SEGMENT_ITERATE_ENTRIES = "segmentstore.tablesegment.iterate_entries";       // Counter and Per-segment Counter
 
+    public static final String TABLE_SEGMENT_COMPACTION_COUNT = "segmentstore.tablesegment.compaction_count";                   // Per-container Event Counter
+    public static final String TABLE_SEGMENT_COMPACTION_COPIED_ENTRIES = "segmentstore.tablesegment.compaction_copied_entries"; // Per-container Event Counter
+    public static final String TABLE_SEGMENT_COMPACTION_TRUNCATED_BYTES = "segmentstore.tablesegment.compaction_truncated_bytes"; // Per-container Event Counter
+
     // Storage stats
     public static final String STORAGE_READ_LATENCY = "segmentstore.storage.read_latency_ms";   // Histogram
     public static final String STORAGE_WRITE_LATENCY = "segmentstore.storage.write_latency_ms"; // Histogram
@@ -94,6 +100,8 @@ public final class MetricsNames {
     public static final String CACHE_READ_BYTES = "segmentstore.cache.read_bytes";              // Counter
     public static final String CACHE_TOTAL_SIZE_BYTES = "segmentstore.cache.size_bytes";        // Gauge
     public static final String CACHE_GENERATION_SPREAD = "segmentstore.cache.gen";              // Histogram
+    public static final String CACHE_NORMAL_PRIORITY_SIZE_BYTES = "segmentstore.cache.normal_priority_size_bytes"; // Gauge
+    public static final String CACHE_HIGH_PRIORITY_SIZE_BYTES = "segmentstore.cache.high_priority_size_bytes";     // Gauge
 
     // DurableDataLog (Tier1) stats
     public static final String BK_TOTAL_WRITE_LATENCY = "segmentstore.bookkeeper.total_write_latency_ms";   // Including Queue. Per-container Histogram.
@@ -128,6 +136,11 @@ public final class MetricsNames {
     public static final String OPERATION_COMMIT_METADATA_TXN_COUNT = "segmentstore.container.operation_commit.metadata_txn_count";  // Per-container Histogram
     public static final String OPERATION_COMMIT_MEMORY_LATENCY = "segmentstore.container.operation_commit.memory_latency_ms";       // Per-container Histogram
     public static final String OPERATION_LOG_SIZE = "segmentstore.container.operation.log_size";                                    // Per-container Counter
+    public static final String OPERATION_STAGE_QUEUE_LATENCY = "segmentstore.container.operation_stage.queue_latency_ms";           // Per-container Histogram
+    public static final String OPERATION_STAGE_PROCESS_LATENCY = "segmentstore.container.operation_stage.process_latency_ms";       // Per-container Histogram
+    public static final String OPERATION_STAGE_DATA_FRAME_LATENCY = "segmentstore.container.operation_stage.data_frame_latency_ms"; // Per-container Histogram
+    public static final String OPERATION_STAGE_DURABLE_LOG_LATENCY = "segmentstore.container.operation_stage.durable_log_latency_ms"; // Per-container Histogram
+    public static final String OPERATION_STAGE_COMMIT_LATENCY = "segmentstore.container.operation_stage.commit_latency_ms";         // Per-container Histogram
 
     // Segment container metadata
     public static final String ACTIVE_SEGMENT_COUNT = "segmentstore.container.active_segments";   // Per-container Gauge
@@ -184,6 +197,11 @@ public final class MetricsNames {
     public static final String RETENTION_FREQUENCY = "controller.retention.frequency";   // Per-stream Counter
     public static final String TRUNCATED_SIZE = "controller.retention.truncated_size";   // Per-stream Gauge
 
+    // Stream metadata store cache
+    public static final String STORE_CACHE_HITS = "controller.store.cache_hits";             // Counter
+    public static final String STORE_CACHE_MISSES = "controller.store.cache_misses";         // Counter
+    public static final String STORE_CACHE_EVICTIONS = "controller.store.cache_evictions";   // Counter
+
     private static String escapeSpecialChar(String name) {
         return name.replace('/', '.').replace(':', '.').replace('|', '.').replaceAll("\\s+", "_");
     }
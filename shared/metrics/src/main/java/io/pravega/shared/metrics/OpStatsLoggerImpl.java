@@ -63,12 +63,14 @@ class OpStatsLoggerImpl implements OpStatsLogger {
 
     @Override
     public void reportFailEvent(Duration duration) {
-        fail.update(duration.toMillis(), TimeUnit.MILLISECONDS);
+        fail.update(duration.toNanos(), TimeUnit.NANOSECONDS);
     }
 
     @Override
     public void reportSuccessEvent(Duration duration) {
-        success.update(duration.toMillis(), TimeUnit.MILLISECONDS);
+        // Events are recorded at full precision; reporters convert them to milliseconds, so sub-millisecond durations
+        // are not lost.
+        success.update(duration.toNanos(), TimeUnit.NANOSECONDS);
     }
 
     @Override
@@ -63,6 +63,11 @@ public abstract class DelegatingReplyProcessor implements ReplyProcessor {
     public void segmentRead(WireCommands.SegmentRead data) {
         getNextReplyProcessor().segmentRead(data);
     }
+
+    @Override
+    public void segmentsRead(WireCommands.SegmentsRead segmentsRead) {
+        getNextReplyProcessor().segmentsRead(segmentsRead);
+    }
     
     @Override
     public void segmentAttributeUpdated(WireCommands.SegmentAttributeUpdated segmentAttributeUpdated) {
@@ -79,6 +84,16 @@ public abstract class DelegatingReplyProcessor implements ReplyProcessor {
         getNextReplyProcessor().streamSegmentInfo(streamInfo);
     }
 
+    @Override
+    public void streamSegmentsInfo(WireCommands.StreamSegmentsInfo streamSegmentsInfo) {
+        getNextReplyProcessor().streamSegmentsInfo(streamSegmentsInfo);
+    }
+
+    @Override
+    public void segmentsAttribute(WireCommands.SegmentsAttribute segmentsAttribute) {
+        getNextReplyProcessor().segmentsAttribute(segmentsAttribute);
+    }
+
     @Override
     public void segmentCreated(WireCommands.SegmentCreated streamsSegmentCreated) {
         getNextReplyProcessor().segmentCreated(streamsSegmentCreated);
@@ -45,6 +45,11 @@ public abstract class DelegatingRequestProcessor implements RequestProcessor {
         getNextRequestProcessor().readSegment(readSegment);
     }
 
+    @Override
+    public void readSegments(WireCommands.ReadSegments readSegments) {
+        getNextRequestProcessor().readSegments(readSegments);
+    }
+
     @Override
     public void updateSegmentAttribute(UpdateSegmentAttribute updateSegmentAttribute) {
         getNextRequestProcessor().updateSegmentAttribute(updateSegmentAttribute);
@@ -60,6 +65,16 @@ public abstract class DelegatingRequestProcessor implements RequestProcessor {
         getNextRequestProcessor().getStreamSegmentInfo(getStreamInfo);
     }
 
+    @Override
+    public void getStreamSegmentsInfo(WireCommands.GetStreamSegmentsInfo getStreamSegmentsInfo) {
+        getNextRequestProcessor().getStreamSegmentsInfo(getStreamSegmentsInfo);
+    }
+
+    @Override
+    public void getSegmentsAttribute(WireCommands.GetSegmentsAttribute getSegmentsAttribute) {
+        getNextRequestProcessor().getSegmentsAttribute(getSegmentsAttribute);
+    }
+
     @Override
     public void createSegment(CreateSegment createStreamsSegment) {
         getNextRequestProcessor().createSegment(createStreamsSegment);
@@ -104,6 +104,14 @@ public abstract class FailingReplyProcessor implements ReplyProcessor {
     public void segmentRead(SegmentRead data) {
         throw new IllegalStateException("Unexpected operation: " + data);
     }
+
+    /**
+     * Processes each of the contained SegmentReads individually, as if they had been received separately.
+     */
+    @Override
+    public void segmentsRead(WireCommands.SegmentsRead segmentsRead) {
+        segmentsRead.getReads().forEach(this::segmentRead);
+    }
     
     @Override
     public void segmentAttributeUpdated(WireCommands.SegmentAttributeUpdated segmentAttributeUpdated) {
@@ -120,6 +128,16 @@ public abstract class FailingReplyProcessor implements ReplyProcessor {
         throw new IllegalStateException("Unexpected operation: " + streamInfo);
     }
 
+    @Override
+    public void streamSegmentsInfo(WireCommands.StreamSegmentsInfo streamSegmentsInfo) {
+        throw new IllegalStateException("Unexpected operation: " + streamSegmentsInfo);
+    }
+
+    @Override
+    public void segmentsAttribute(WireCommands.SegmentsAttribute segmentsAttribute) {
+        throw new IllegalStateException("Unexpected operation: " + segmentsAttribute);
+    }
+
     @Override
     public void segmentCreated(SegmentCreated streamsSegmentCreated) {
         throw new IllegalStateException("Unexpected operation: " + streamsSegmentCreated);
@@ -48,6 +48,11 @@ public class FailingRequestProcessor implements RequestProcessor {
     public void readSegment(ReadSegment readSegment) {
         throw new IllegalStateException("Unexpected operation");
     }
+
+    @Override
+    public void readSegments(WireCommands.ReadSegments readSegments) {
+        throw new IllegalStateException("Unexpected operation");
+    }
     
     @Override
     public void updateSegmentAttribute(UpdateSegmentAttribute updateSegmentAttribute) {
@@ -64,6 +69,16 @@ public class FailingRequestProcessor implements RequestProcessor {
         throw new IllegalStateException("Unexpected operation");
     }
 
+    @Override
+    public void getStreamSegmentsInfo(WireCommands.GetStreamSegmentsInfo getStreamSegmentsInfo) {
+        throw new IllegalStateException("Unexpected operation");
+    }
+
+    @Override
+    public void getSegmentsAttribute(WireCommands.GetSegmentsAttribute getSegmentsAttribute) {
+        throw new IllegalStateException("Unexpected operation");
+    }
+
     @Override
     public void createSegment(CreateSegment createStreamsSegment) {
         throw new IllegalStateException("Unexpected operation");
@@ -43,12 +43,18 @@ public interface ReplyProcessor {
     void conditionalCheckFailed(WireCommands.ConditionalCheckFailed dataNotAppended);
 
     void segmentRead(WireCommands.SegmentRead segmentRead);
+
+    void segmentsRead(WireCommands.SegmentsRead segmentsRead);
     
     void segmentAttributeUpdated(WireCommands.SegmentAttributeUpdated segmentAttributeUpdated);
     
     void segmentAttribute(WireCommands.SegmentAttribute segmentAttribute);
     
     void streamSegmentInfo(WireCommands.StreamSegmentInfo streamInfo);
+
+    void streamSegmentsInfo(WireCommands.StreamSegmentsInfo streamSegmentsInfo);
+
+    void segmentsAttribute(WireCommands.SegmentsAttribute segmentsAttribute);
     
     void segmentCreated(WireCommands.SegmentCreated segmentCreated);
 
@@ -40,6 +40,8 @@ public interface RequestProcessor {
     void append(Append append);
 
     void readSegment(ReadSegment readSegment);
+
+    void readSegments(WireCommands.ReadSegments readSegments);
     
     void updateSegmentAttribute(UpdateSegmentAttribute updateSegmentAttribute);
     
@@ -47,6 +49,10 @@ public interface RequestProcessor {
 
     void getStreamSegmentInfo(GetStreamSegmentInfo getStreamInfo);
 
+    void getStreamSegmentsInfo(WireCommands.GetStreamSegmentsInfo getStreamSegmentsInfo);
+
+    void getSegmentsAttribute(WireCommands.GetSegmentsAttribute getSegmentsAttribute);
+
     void createSegment(CreateSegment createSegment);
 
     void mergeSegments(MergeSegments mergeSegments);
@@ -103,6 +103,15 @@ public enum WireCommandType {
     READ_TABLE_ENTRIES(85, WireCommands.ReadTableEntries::readFrom),
     TABLE_ENTRIES_READ(86, WireCommands.TableEntriesRead::readFrom),
 
+    READ_SEGMENTS(87, WireCommands.ReadSegments::readFrom),
+    SEGMENTS_READ(88, WireCommands.SegmentsRead::readFrom),
+
+    GET_STREAM_SEGMENTS_INFO(89, WireCommands.GetStreamSegmentsInfo::readFrom),
+    STREAM_SEGMENTS_INFO(90, WireCommands.StreamSegmentsInfo::readFrom),
+
+    GET_SEGMENTS_ATTRIBUTE(91, WireCommands.GetSegmentsAttribute::readFrom),
+    SEGMENTS_ATTRIBUTE(92, WireCommands.SegmentsAttribute::readFrom),
+
     KEEP_ALIVE(100, WireCommands.KeepAlive::readFrom);
 
     private final int code;
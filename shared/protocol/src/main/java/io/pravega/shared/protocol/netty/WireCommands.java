@@ -51,7 +51,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * Incompatible changes should instead create a new WireCommand object.
  */
 public final class WireCommands {
-    public static final int WIRE_VERSION = 7;
+    public static final int WIRE_VERSION = 9;
     public static final int OLDEST_COMPATIBLE_VERSION = 5;
     public static final int TYPE_SIZE = 4;
     public static final int TYPE_PLUS_LENGTH_SIZE = 8;
@@ -806,6 +806,76 @@ public final class WireCommands {
         }
     }
 
+    /**
+     * Requests ranges from several segments at once. Each of the contained reads is processed as if it were sent on its
+     * own, except that the replies that are available right away are combined into a single {@link SegmentsRead}.
+     */
+    @Data
+    public static final class ReadSegments implements Request, WireCommand {
+        final WireCommandType type = WireCommandType.READ_SEGMENTS;
+        final long requestId;
+        final List<ReadSegment> reads;
+
+        @Override
+        public void process(RequestProcessor cp) {
+            cp.readSegments(this);
+        }
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            out.writeLong(requestId);
+            out.writeInt(reads.size());
+            for (ReadSegment read : reads) {
+                read.writeFields(out);
+            }
+        }
+
+        public static WireCommand readFrom(DataInput in, int length) throws IOException {
+            long requestId = in.readLong();
+            int count = in.readInt();
+            List<ReadSegment> reads = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                reads.add((ReadSegment) ReadSegment.readFrom(in, length));
+            }
+            return new ReadSegments(requestId, reads);
+        }
+    }
+
+    /**
+     * The combined reply to a {@link ReadSegments} request. Contains a {@link SegmentRead} for each of the requested
+     * reads that could be served right away; the others are replied to individually.
+     */
+    @Data
+    public static final class SegmentsRead implements Reply, WireCommand {
+        final WireCommandType type = WireCommandType.SEGMENTS_READ;
+        final long requestId;
+        final List<SegmentRead> reads;
+
+        @Override
+        public void process(ReplyProcessor cp) {
+            cp.segmentsRead(this);
+        }
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            out.writeLong(requestId);
+            out.writeInt(reads.size());
+            for (SegmentRead read : reads) {
+                read.writeFields(out);
+            }
+        }
+
+        public static WireCommand readFrom(DataInput in, int length) throws IOException {
+            long requestId = in.readLong();
+            int count = in.readInt();
+            List<SegmentRead> reads = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                reads.add((SegmentRead) SegmentRead.readFrom(in, length));
+            }
+            return new SegmentsRead(requestId, reads);
+        }
+    }
+
     @Data
     public static final class GetSegmentAttribute implements Request, WireCommand {
         final WireCommandType type = WireCommandType.GET_SEGMENT_ATTRIBUTE;
@@ -860,6 +930,83 @@ public final class WireCommands {
             return new SegmentAttribute(requestId, value);
         }
     }
+
+    /**
+     * Gets the value of the same attribute for multiple segments (which must all be owned by the same segment store).
+     * The reply is a {@link SegmentsAttribute}, or an error reply if any of the segments could not be looked up.
+     */
+    @Data
+    public static final class GetSegmentsAttribute implements Request, WireCommand {
+        final WireCommandType type = WireCommandType.GET_SEGMENTS_ATTRIBUTE;
+        final long requestId;
+        final List<String> segmentNames;
+        final UUID attributeId;
+        final String delegationToken;
+
+        @Override
+        public void process(RequestProcessor cp) {
+            cp.getSegmentsAttribute(this);
+        }
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            out.writeLong(requestId);
+            out.writeInt(segmentNames.size());
+            for (String segmentName : segmentNames) {
+                out.writeUTF(segmentName);
+            }
+            out.writeLong(attributeId.getMostSignificantBits());
+            out.writeLong(attributeId.getLeastSignificantBits());
+            out.writeUTF(delegationToken == null ? "" : delegationToken);
+        }
+
+        public static WireCommand readFrom(DataInput in, int length) throws IOException {
+            long requestId = in.readLong();
+            int count = in.readInt();
+            List<String> segmentNames = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                segmentNames.add(in.readUTF());
+            }
+            UUID attributeId = new UUID(in.readLong(), in.readLong());
+            String delegationToken = in.readUTF();
+            return new GetSegmentsAttribute(requestId, segmentNames, attributeId, delegationToken);
+        }
+    }
+
+    /**
+     * The reply to a {@link GetSegmentsAttribute} request. Contains the attribute values in the same order as the segments
+     * were requested in ({@link #NULL_ATTRIBUTE_VALUE} for segments that do not have the attribute set).
+     */
+    @Data
+    public static final class SegmentsAttribute implements Reply, WireCommand {
+        final WireCommandType type = WireCommandType.SEGMENTS_ATTRIBUTE;
+        final long requestId;
+        final List<Long> values;
+
+        @Override
+        public void process(ReplyProcessor cp) {
+            cp.segmentsAttribute(this);
+        }
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            out.writeLong(requestId);
+            out.writeInt(values.size());
+            for (long value : values) {
+                out.writeLong(value);
+            }
+        }
+
+        public static WireCommand readFrom(DataInput in, int length) throws IOException {
+            long requestId = in.readLong();
+            int count = in.readInt();
+            List<Long> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(in.readLong());
+            }
+            return new SegmentsAttribute(requestId, values);
+        }
+    }
     
     @Data
     public static final class UpdateSegmentAttribute implements Request, WireCommand {
@@ -996,6 +1143,81 @@ public final class WireCommands {
         }
     }
 
+    /**
+     * Gets information about multiple segments (which must all be owned by the same segment store). The reply is a
+     * {@link StreamSegmentsInfo}, or an error reply if any of the segments could not be looked up.
+     */
+    @Data
+    public static final class GetStreamSegmentsInfo implements Request, WireCommand {
+        final WireCommandType type = WireCommandType.GET_STREAM_SEGMENTS_INFO;
+        final long requestId;
+        final List<String> segmentNames;
+        final String delegationToken;
+
+        @Override
+        public void process(RequestProcessor cp) {
+            cp.getStreamSegmentsInfo(this);
+        }
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            out.writeLong(requestId);
+            out.writeInt(segmentNames.size());
+            for (String segmentName : segmentNames) {
+                out.writeUTF(segmentName);
+            }
+            out.writeUTF(delegationToken == null ? "" : delegationToken);
+        }
+
+        public static WireCommand readFrom(DataInput in, int length) throws IOException {
+            long requestId = in.readLong();
+            int count = in.readInt();
+            List<String> segmentNames = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                segmentNames.add(in.readUTF());
+            }
+            String delegationToken = in.readUTF();
+            return new GetStreamSegmentsInfo(requestId, segmentNames, delegationToken);
+        }
+    }
+
+    /**
+     * The reply to a {@link GetStreamSegmentsInfo} request. Contains a {@link StreamSegmentInfo} for each of the requested
+     * segments, in the same order as they were requested in.
+     */
+    @Data
+    public static final class StreamSegmentsInfo implements Reply, WireCommand {
+        final WireCommandType type = WireCommandType.STREAM_SEGMENTS_INFO;
+        final long requestId;
+        final List<StreamSegmentInfo> segments;
+
+        @Override
+        public void process(ReplyProcessor cp) {
+            cp.streamSegmentsInfo(this);
+        }
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            out.writeLong(requestId);
+            out.writeInt(segments.size());
+            for (StreamSegmentInfo info : segments) {
+                info.writeFields(out);
+            }
+        }
+
+        public static WireCommand readFrom(DataInput in, int length) throws IOException {
+            long requestId = in.readLong();
+            int count = in.readInt();
+            List<StreamSegmentInfo> segments = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                // Not using StreamSegmentInfo.readFrom, since it relies on being the only command in the input.
+                segments.add(new StreamSegmentInfo(in.readLong(), in.readUTF(), in.readBoolean(), in.readBoolean(),
+                        in.readBoolean(), in.readLong(), in.readLong(), in.readLong()));
+            }
+            return new StreamSegmentsInfo(requestId, segments);
+        }
+    }
+
     @Data
     public static final class CreateSegment implements Request, WireCommand {
         public static final byte NO_SCALE = ScaleType.NoScaling.getValue();
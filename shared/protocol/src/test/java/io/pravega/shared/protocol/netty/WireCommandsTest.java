@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -409,6 +410,22 @@ public class WireCommandsTest {
         testCommand(new WireCommands.SegmentRead(testString1, l, true, false, buffer));
     }
     
+    @Test
+    public void testReadSegments() throws IOException {
+        testCommand(new WireCommands.ReadSegments(l, Arrays.asList(
+                new WireCommands.ReadSegment(testString1, l, i, ""),
+                new WireCommands.ReadSegment(testString2, l + 1, i, "token"))));
+        testCommand(new WireCommands.ReadSegments(l, Collections.emptyList()));
+    }
+
+    @Test
+    public void testSegmentsRead() throws IOException {
+        testCommand(new WireCommands.SegmentsRead(l, Arrays.asList(
+                new WireCommands.SegmentRead(testString1, l, true, false, buffer),
+                new WireCommands.SegmentRead(testString2, l, false, true, ByteBuffer.allocate(0)))));
+        testCommand(new WireCommands.SegmentsRead(l, Collections.emptyList()));
+    }
+
     @Test
     public void testUpdateSegmentAttribute() throws IOException {
         testCommand(new WireCommands.UpdateSegmentAttribute(l, testString1, uuid, l, l, ""));
@@ -429,6 +446,18 @@ public class WireCommandsTest {
     public void testSegmentAttribute() throws IOException {
         testCommand(new WireCommands.SegmentAttribute(l, l + 1));
     }
+
+    @Test
+    public void testGetSegmentsAttribute() throws IOException {
+        testCommand(new WireCommands.GetSegmentsAttribute(l, Arrays.asList(testString1, testString2), uuid, ""));
+        testCommand(new WireCommands.GetSegmentsAttribute(l, Collections.emptyList(), uuid, ""));
+    }
+
+    @Test
+    public void testSegmentsAttribute() throws IOException {
+        testCommand(new WireCommands.SegmentsAttribute(l, Arrays.asList(l, l + 1, WireCommands.NULL_ATTRIBUTE_VALUE)));
+        testCommand(new WireCommands.SegmentsAttribute(l, Collections.emptyList()));
+    }
     
     @Test
     public void testGetStreamSegmentInfo() throws IOException {
@@ -440,6 +469,20 @@ public class WireCommandsTest {
         testCommand(new WireCommands.StreamSegmentInfo(l - 1, testString1, true, false, false, l, l + 1, l - 1));
     }
 
+    @Test
+    public void testGetStreamSegmentsInfo() throws IOException {
+        testCommand(new WireCommands.GetStreamSegmentsInfo(l, Arrays.asList(testString1, testString2), ""));
+        testCommand(new WireCommands.GetStreamSegmentsInfo(l, Collections.emptyList(), ""));
+    }
+
+    @Test
+    public void testStreamSegmentsInfo() throws IOException {
+        testCommand(new WireCommands.StreamSegmentsInfo(l, Arrays.asList(
+                new WireCommands.StreamSegmentInfo(l, testString1, true, false, false, l, l + 1, l - 1),
+                new WireCommands.StreamSegmentInfo(l, testString2, false, false, false, 0, 0, 0))));
+        testCommand(new WireCommands.StreamSegmentsInfo(l, Collections.emptyList()));
+    }
+
     @Test
     public void testCreateSegment() throws IOException {
         testCommand(new WireCommands.CreateSegment(l, testString1, b, i, ""));
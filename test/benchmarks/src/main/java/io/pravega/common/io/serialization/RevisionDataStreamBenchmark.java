@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.common.io.serialization;
+
+import io.pravega.common.io.EnhancedByteArrayOutputStream;
+import io.pravega.common.util.ByteArraySegment;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for RevisionDataOutputStream and RevisionDataInputStream, using a record shaped like a typical Segment
+ * Store serialization (a few scalar fields, an attribute map and a payload).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RevisionDataStreamBenchmark {
+    private static final long ID = 123456789L;
+    private static final String NAME = "Scope/Stream/0.#epoch.0";
+    private static final long LENGTH = 1024L * 1024 * 1024;
+    private static final int ATTRIBUTE_COUNT = 10;
+
+    @Param({"RandomAccess", "NonSeekable"})
+    private String outputType;
+    @Param({"0", "1024"})
+    private int payloadSize;
+    private Map<UUID, Long> attributes;
+    private ByteArraySegment payload;
+    private EnhancedByteArrayOutputStream randomAccessOutput;
+    private ByteArrayOutputStream nonSeekableOutput;
+    private byte[] serialization;
+
+    @Setup
+    public void setup() throws IOException {
+        Random rnd = new Random(0);
+        this.attributes = new HashMap<>();
+        for (int i = 0; i < ATTRIBUTE_COUNT; i++) {
+            this.attributes.put(new UUID(rnd.nextLong(), rnd.nextLong()), rnd.nextLong());
+        }
+
+        byte[] data = new byte[this.payloadSize];
+        rnd.nextBytes(data);
+        this.payload = new ByteArraySegment(data);
+        this.randomAccessOutput = new EnhancedByteArrayOutputStream();
+        this.nonSeekableOutput = new ByteArrayOutputStream();
+        this.serialization = serialize().getCopy();
+    }
+
+    /**
+     * Measures the serialization of a single record.
+     */
+    @Benchmark
+    public ByteArraySegment serialize() throws IOException {
+        if ("RandomAccess".equals(this.outputType)) {
+            this.randomAccessOutput.reset();
+            try (RevisionDataOutputStream out = RevisionDataOutputStream.wrap(this.randomAccessOutput)) {
+                write(out);
+            }
+
+            return this.randomAccessOutput.getData();
+        } else {
+            this.nonSeekableOutput.reset();
+            try (RevisionDataOutputStream out = RevisionDataOutputStream.wrap(this.nonSeekableOutput)) {
+                write(out);
+            }
+
+            return new ByteArraySegment(this.nonSeekableOutput.toByteArray());
+        }
+    }
+
+    /**
+     * Measures the deserialization of a single record.
+     */
+    @Benchmark
+    public void deserialize(Blackhole blackhole) throws IOException {
+        try (RevisionDataInputStream in = RevisionDataInputStream.wrap(new ByteArrayInputStream(this.serialization))) {
+            blackhole.consume(in.readLong());
+            blackhole.consume(in.readUTF());
+            blackhole.consume(in.readCompactLong());
+            blackhole.consume(in.readMap(RevisionDataInput::readUUID, RevisionDataInput::readLong));
+            blackhole.consume(in.readArray());
+        }
+    }
+
+    private void write(RevisionDataOutput out) throws IOException {
+        if (out.requiresExplicitLength()) {
+            out.length(Long.BYTES
+                    + out.getUTFLength(NAME)
+                    + out.getCompactLongLength(LENGTH)
+                    + out.getMapLength(this.attributes.size(), RevisionDataOutput.UUID_BYTES, Long.BYTES)
+                    + out.getCompactIntLength(this.payload.getLength()) + this.payload.getLength());
+        }
+
+        out.writeLong(ID);
+        out.writeUTF(NAME);
+        out.writeCompactLong(LENGTH);
+        out.writeMap(this.attributes, RevisionDataOutput::writeUUID, RevisionDataOutput::writeLong);
+        out.writeBuffer(this.payload);
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.common.util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the performance of the SortedIndex implementations (AvlTreeIndex and RedBlackTreeIndex). Entry keys are
+ * spaced out the same way Segment offsets would be in a ReadIndex.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SortedIndexBenchmark {
+    private static final int KEY_SPACING = 1024;
+    private static final int LOOKUP_COUNT = 64 * 1024;
+
+    @Param({"AVL", "RedBlack"})
+    private String indexType;
+    @Param({"1000", "100000"})
+    private int size;
+    private SortedIndex<Entry> index;
+    private long[] lookupKeys;
+    private int lookupPosition;
+    private long nextKey;
+
+    @Setup
+    public void setup() {
+        this.index = "AVL".equals(this.indexType) ? new AvlTreeIndex<>() : new RedBlackTreeIndex<>();
+        for (int i = 0; i < this.size; i++) {
+            this.index.put(new Entry((long) i * KEY_SPACING));
+        }
+
+        Random rnd = new Random(0);
+        this.lookupKeys = new long[LOOKUP_COUNT];
+        for (int i = 0; i < this.lookupKeys.length; i++) {
+            this.lookupKeys[i] = (long) rnd.nextInt(this.size) * KEY_SPACING;
+        }
+
+        this.nextKey = (long) this.size * KEY_SPACING;
+    }
+
+    /**
+     * Measures exact-key lookups.
+     */
+    @Benchmark
+    public SortedIndex.IndexEntry get() {
+        return this.index.get(nextLookupKey());
+    }
+
+    /**
+     * Measures floor lookups (the most common lookup done by the ReadIndex).
+     */
+    @Benchmark
+    public SortedIndex.IndexEntry getFloor() {
+        return this.index.getFloor(nextLookupKey() + KEY_SPACING / 2);
+    }
+
+    /**
+     * Measures the insertion of a new highest key (the pattern used by appends), followed by the removal of the lowest
+     * key (the pattern used by cache eviction), which keeps the size of the index constant.
+     */
+    @Benchmark
+    public SortedIndex.IndexEntry putAndRemove() {
+        this.index.put(new Entry(this.nextKey));
+        this.nextKey += KEY_SPACING;
+        return this.index.remove(this.index.getFirst().key());
+    }
+
+    private long nextLookupKey() {
+        long key = this.lookupKeys[this.lookupPosition];
+        this.lookupPosition = (this.lookupPosition + 1) % this.lookupKeys.length;
+        return key;
+    }
+
+    private static class Entry implements SortedIndex.IndexEntry {
+        private final long key;
+
+        Entry(long key) {
+            this.key = key;
+        }
+
+        @Override
+        public long key() {
+            return this.key;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.common.util.btree;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.util.BitConverter;
+import io.pravega.common.util.ByteArraySegment;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for BTreeIndex lookups and updates, using the same key, value and page sizes as the Segment Attribute Index.
+ * The index is backed by an in-memory data source that executes all requests synchronously, so the results reflect the
+ * CPU cost of the index itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BTreeIndexBenchmark {
+    private static final int KEY_LENGTH = 16;
+    private static final int VALUE_LENGTH = 8;
+    private static final int MAX_PAGE_SIZE = Short.MAX_VALUE;
+    private static final int UPDATE_BATCH_SIZE = 100;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Param({"10000", "1000000"})
+    private int keyCount;
+    private BTreeIndex index;
+    private List<ByteArraySegment> keys;
+    private int nextKey;
+    private long nextValue;
+
+    @Setup
+    public void setup() {
+        DataSource ds = new DataSource();
+        this.index = BTreeIndex.builder()
+                               .keyLength(KEY_LENGTH)
+                               .valueLength(VALUE_LENGTH)
+                               .maxPageSize(MAX_PAGE_SIZE)
+                               .readPage(ds::read)
+                               .writePages(ds::write)
+                               .getLength(ds::getLength)
+                               .executor(Runnable::run)
+                               .build();
+        this.index.initialize(TIMEOUT).join();
+
+        Random rnd = new Random(0);
+        this.keys = new ArrayList<>(this.keyCount);
+        for (int i = 0; i < this.keyCount; i++) {
+            byte[] key = new byte[KEY_LENGTH];
+            rnd.nextBytes(key);
+            this.keys.add(new ByteArraySegment(key));
+        }
+
+        // Populate the index in large batches.
+        for (int i = 0; i < this.keyCount; i += 10000) {
+            this.index.update(nextBatch(10000), TIMEOUT).join();
+        }
+
+        Collections.shuffle(this.keys, rnd);
+    }
+
+    /**
+     * Measures single-key lookups.
+     */
+    @Benchmark
+    public ByteArraySegment get() {
+        ByteArraySegment key = this.keys.get(this.nextKey);
+        this.nextKey = (this.nextKey + 1) % this.keys.size();
+        return this.index.get(key, TIMEOUT).join();
+    }
+
+    /**
+     * Measures batched updates of existing keys.
+     */
+    @Benchmark
+    @OperationsPerInvocation(UPDATE_BATCH_SIZE)
+    public long update() {
+        return this.index.update(nextBatch(UPDATE_BATCH_SIZE), TIMEOUT).join();
+    }
+
+    private List<PageEntry> nextBatch(int count) {
+        List<PageEntry> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] value = new byte[VALUE_LENGTH];
+            BitConverter.writeLong(value, 0, this.nextValue++);
+            result.add(new PageEntry(this.keys.get(this.nextKey), new ByteArraySegment(value)));
+            this.nextKey = (this.nextKey + 1) % this.keys.size();
+        }
+
+        return result;
+    }
+
+    //region DataSource
+
+    /**
+     * In-memory, synchronous data source for a BTreeIndex. Only live pages are retained.
+     */
+    @NotThreadSafe
+    private static class DataSource {
+        private final TreeMap<Long, ByteArraySegment> pages = new TreeMap<>();
+        private long length;
+
+        CompletableFuture<Long> getLength(Duration timeout) {
+            return CompletableFuture.completedFuture(this.length);
+        }
+
+        CompletableFuture<ByteArraySegment> read(long offset, int length, Duration timeout) {
+            ByteArraySegment page = this.pages.get(offset);
+            Preconditions.checkArgument(page != null && page.getLength() == length, "No page at offset %s with length %s.", offset, length);
+            return CompletableFuture.completedFuture(page);
+        }
+
+        CompletableFuture<Long> write(List<Map.Entry<Long, ByteArraySegment>> toWrite, Collection<Long> obsoleteOffsets,
+                                      long truncateOffset, Duration timeout) {
+            for (Map.Entry<Long, ByteArraySegment> e : toWrite) {
+                Preconditions.checkArgument(e.getKey() == this.length, "Bad offset. Expected %s, given %s.", this.length, e.getKey());
+                this.pages.put(e.getKey(), new ByteArraySegment(e.getValue().getCopy()));
+                this.length += e.getValue().getLength();
+            }
+
+            obsoleteOffsets.forEach(this.pages::remove);
+            this.pages.headMap(truncateOffset).clear();
+            return CompletableFuture.completedFuture(this.length);
+        }
+    }
+
+    //endregion
+}
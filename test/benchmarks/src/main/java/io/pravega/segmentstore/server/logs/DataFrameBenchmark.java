@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.function.Callbacks;
+import io.pravega.common.util.ArrayView;
+import io.pravega.common.util.CloseableIterator;
+import io.pravega.segmentstore.server.logs.operations.Operation;
+import io.pravega.segmentstore.server.logs.operations.OperationSerializer;
+import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperation;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import io.pravega.segmentstore.storage.LogAddress;
+import io.pravega.segmentstore.storage.QueueStats;
+import io.pravega.segmentstore.storage.mocks.InMemoryDurableDataLogFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for DataFrameBuilder and DataFrameReader, using StreamSegmentAppendOperations of various sizes.
+ * Results are reported as Operations per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class DataFrameBenchmark {
+    private static final int CONTAINER_ID = 0;
+    private static final int MAX_FRAME_SIZE = 1024 * 1024;
+    private static final int OPERATION_COUNT = 1000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Param({"100", "1024", "10240"})
+    private int appendSize;
+    @Param({"NONE", "DEFLATE"})
+    private DataFrameCompression compression;
+    private ScheduledExecutorService executor;
+    private List<Operation> operations;
+    private DurableDataLog populatedLog;
+    private DataFrameBuilder.Args builderArgs;
+
+    @Setup
+    public void setup() throws Exception {
+        this.executor = ExecutorServiceHelpers.newScheduledThreadPool(1, "data-frame-benchmark");
+        Random rnd = new Random(0);
+        this.operations = new ArrayList<>();
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            // Use text-like payloads (limited alphabet), so that compression has something to work with.
+            byte[] data = new byte[this.appendSize];
+            for (int j = 0; j < data.length; j++) {
+                data[j] = (byte) ('a' + rnd.nextInt(16));
+            }
+
+            val op = new StreamSegmentAppendOperation(i % 10, (long) i * this.appendSize, data, Collections.emptyList());
+            op.setSequenceNumber(i + 1);
+            this.operations.add(op);
+        }
+
+        // Commits are "executed" by a log that discards them, so we do not need to hop threads for the callbacks.
+        this.builderArgs = new DataFrameBuilder.Args(Callbacks::doNothing, Callbacks::doNothing, this::commitFailure, Runnable::run, this.compression);
+
+        // Pre-populate a log for the read benchmark.
+        val logFactory = new InMemoryDurableDataLogFactory(MAX_FRAME_SIZE, this.executor);
+        this.populatedLog = logFactory.createDurableDataLog(CONTAINER_ID);
+        this.populatedLog.initialize(TIMEOUT);
+        val committed = new CompletableFuture<Void>();
+        val args = new DataFrameBuilder.Args(Callbacks::doNothing,
+                ca -> {
+                    if (ca.getLastFullySerializedSequenceNumber() == OPERATION_COUNT) {
+                        committed.complete(null);
+                    }
+                },
+                (ex, ca) -> committed.completeExceptionally(ex),
+                this.executor,
+                this.compression);
+        try (DataFrameBuilder<Operation> b = new DataFrameBuilder<>(this.populatedLog, OperationSerializer.DEFAULT, args)) {
+            for (Operation op : this.operations) {
+                b.append(op);
+            }
+
+            b.flush();
+        }
+
+        committed.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.populatedLog.close();
+        ExecutorServiceHelpers.shutdown(this.executor);
+    }
+
+    /**
+     * Measures the serialization of Operations into DataFrames.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATION_COUNT)
+    public long build() throws Exception {
+        val log = new NullDurableDataLog();
+        try (DataFrameBuilder<Operation> b = new DataFrameBuilder<>(log, OperationSerializer.DEFAULT, this.builderArgs)) {
+            for (Operation op : this.operations) {
+                b.append(op);
+            }
+
+            b.flush();
+        }
+
+        return log.bytesWritten.get();
+    }
+
+    /**
+     * Measures the deserialization of Operations from DataFrames.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATION_COUNT)
+    public void read(Blackhole blackhole) throws Exception {
+        try (DataFrameReader<Operation> reader = new DataFrameReader<>(this.populatedLog, OperationSerializer.DEFAULT, CONTAINER_ID)) {
+            DataFrameRecord<Operation> record;
+            while ((record = reader.getNext()) != null) {
+                blackhole.consume(record.getItem());
+            }
+        }
+    }
+
+    private void commitFailure(Throwable ex, DataFrameBuilder.CommitArgs commitArgs) {
+        throw new IllegalStateException("DataFrame commit failed.", ex);
+    }
+
+    //region NullDurableDataLog
+
+    /**
+     * DurableDataLog that discards everything written to it.
+     */
+    private static class NullDurableDataLog implements DurableDataLog {
+        private final AtomicLong bytesWritten = new AtomicLong();
+        private final AtomicLong sequence = new AtomicLong();
+
+        @Override
+        public void initialize(Duration timeout) {
+        }
+
+        @Override
+        public void enable() {
+        }
+
+        @Override
+        public void disable() {
+        }
+
+        @Override
+        public CompletableFuture<LogAddress> append(ArrayView data, Duration timeout) {
+            this.bytesWritten.addAndGet(data.getLength());
+            return CompletableFuture.completedFuture(new LogAddress(this.sequence.incrementAndGet()) {
+            });
+        }
+
+        @Override
+        public CompletableFuture<Void> truncate(LogAddress upToAddress, Duration timeout) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CloseableIterator<ReadItem, DurableDataLogException> getReader() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getMaxAppendLength() {
+            return MAX_FRAME_SIZE;
+        }
+
+        @Override
+        public long getEpoch() {
+            return 0;
+        }
+
+        @Override
+        public QueueStats getQueueStatistics() {
+            return QueueStats.DEFAULT;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.util.SequencedItemList;
+import io.pravega.segmentstore.contracts.StreamSegmentInformation;
+import io.pravega.segmentstore.server.CacheManager;
+import io.pravega.segmentstore.server.CachePolicy;
+import io.pravega.segmentstore.server.ReadIndex;
+import io.pravega.segmentstore.server.containers.StreamSegmentContainerMetadata;
+import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperation;
+import io.pravega.segmentstore.server.logs.operations.Operation;
+import io.pravega.segmentstore.server.logs.operations.OperationSerializer;
+import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperation;
+import io.pravega.segmentstore.server.logs.operations.StreamSegmentMapOperation;
+import io.pravega.segmentstore.server.reading.ContainerReadIndexFactory;
+import io.pravega.segmentstore.server.reading.ReadIndexConfig;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.Storage;
+import io.pravega.segmentstore.storage.mocks.InMemoryCacheFactory;
+import io.pravega.segmentstore.storage.mocks.InMemoryDurableDataLogFactory;
+import io.pravega.segmentstore.storage.mocks.InMemoryStorageFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time it takes a RecoveryProcessor to recover a Container from an InMemoryDurableDataLog, with and
+ * without read-ahead (pipelining). The log contains a MetadataCheckpointOperation, followed by a number of
+ * StreamSegmentMapOperations and StreamSegmentAppendOperations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class RecoveryBenchmark {
+    private static final int CONTAINER_ID = 0;
+    private static final int MAX_FRAME_SIZE = 1024 * 1024;
+    private static final int MAX_ACTIVE_SEGMENT_COUNT = 1000;
+    private static final int SEGMENT_COUNT = 100;
+    private static final int APPEND_COUNT = 100000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    @Param({"0", "64"})
+    private int readAheadCount;
+    @Param({"100", "10240"})
+    private int appendSize;
+    @Param({"NONE", "DEFLATE"})
+    private DataFrameCompression compression;
+    private ScheduledExecutorService executor;
+    private DurableDataLog log;
+    private DurableLogConfig config;
+    private CacheManager cacheManager;
+    private InMemoryCacheFactory cacheFactory;
+    private Storage storage;
+    private ContainerReadIndexFactory readIndexFactory;
+    private StreamSegmentContainerMetadata metadata;
+    private ReadIndex readIndex;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.executor = ExecutorServiceHelpers.newScheduledThreadPool(2, "recovery-benchmark");
+        this.config = DurableLogConfig.builder().with(DurableLogConfig.RECOVERY_READ_AHEAD_COUNT, this.readAheadCount).build();
+        this.log = new InMemoryDurableDataLogFactory(MAX_FRAME_SIZE, this.executor).createDurableDataLog(CONTAINER_ID);
+        this.log.initialize(TIMEOUT);
+        populateLog();
+
+        this.cacheManager = new CacheManager(new CachePolicy(Long.MAX_VALUE, Duration.ofHours(1), Duration.ofHours(1)), this.executor);
+        this.cacheFactory = new InMemoryCacheFactory();
+        this.storage = new InMemoryStorageFactory(this.executor).createStorageAdapter();
+        this.readIndexFactory = new ContainerReadIndexFactory(ReadIndexConfig.builder().build(), this.cacheFactory, this.cacheManager, this.executor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.readIndexFactory.close();
+        this.storage.close();
+        this.cacheFactory.close();
+        this.cacheManager.close();
+        this.log.close();
+        ExecutorServiceHelpers.shutdown(this.executor);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        this.metadata = new StreamSegmentContainerMetadata(CONTAINER_ID, MAX_ACTIVE_SEGMENT_COUNT);
+        this.readIndex = this.readIndexFactory.createReadIndex(this.metadata, this.storage);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() {
+        this.readIndex.close();
+    }
+
+    /**
+     * Measures the recovery of the entire log.
+     */
+    @Benchmark
+    public int recover() throws Exception {
+        val stateUpdater = new MemoryStateUpdater(new SequencedItemList<>(), this.readIndex, null);
+        val recoveryProcessor = new RecoveryProcessor(this.metadata, this.log, stateUpdater, this.config);
+        return recoveryProcessor.performRecovery();
+    }
+
+    private void populateLog() throws Exception {
+        // Generate the Operations using an OperationMetadataUpdater, the same way the OperationProcessor would.
+        val updater = new OperationMetadataUpdater(new StreamSegmentContainerMetadata(CONTAINER_ID, MAX_ACTIVE_SEGMENT_COUNT));
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new MetadataCheckpointOperation());
+        List<Long> segmentIds = new ArrayList<>();
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            val mapOp = new StreamSegmentMapOperation(StreamSegmentInformation.builder().name("Segment_" + i).build());
+            process(mapOp, updater);
+            operations.add(mapOp);
+            segmentIds.add(mapOp.getStreamSegmentId());
+        }
+
+        // Use text-like payloads (limited alphabet), so that compression has something to work with.
+        Random rnd = new Random(0);
+        for (int i = 0; i < APPEND_COUNT; i++) {
+            byte[] data = new byte[this.appendSize];
+            for (int j = 0; j < data.length; j++) {
+                data[j] = (byte) ('a' + rnd.nextInt(16));
+            }
+
+            operations.add(new StreamSegmentAppendOperation(segmentIds.get(i % segmentIds.size()), data, Collections.emptyList()));
+        }
+
+        val committed = new CompletableFuture<Void>();
+        val args = new DataFrameBuilder.Args(ca -> { },
+                ca -> {
+                    if (ca.getLastFullySerializedSequenceNumber() == operations.size()) {
+                        committed.complete(null);
+                    }
+                },
+                (ex, ca) -> committed.completeExceptionally(ex),
+                this.executor,
+                this.compression);
+        try (DataFrameBuilder<Operation> b = new DataFrameBuilder<>(this.log, OperationSerializer.DEFAULT, args)) {
+            for (Operation op : operations) {
+                if (op.getSequenceNumber() < 0) {
+                    process(op, updater);
+                }
+
+                b.append(op);
+            }
+
+            b.flush();
+        }
+
+        committed.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void process(Operation op, OperationMetadataUpdater updater) throws Exception {
+        op.setSequenceNumber(updater.nextOperationSequenceNumber());
+        updater.preProcessOperation(op);
+        updater.acceptOperation(op);
+    }
+}
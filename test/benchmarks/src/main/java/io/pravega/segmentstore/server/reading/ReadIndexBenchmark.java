@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.reading;
+
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.io.StreamHelpers;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.contracts.ReadResult;
+import io.pravega.segmentstore.contracts.ReadResultEntry;
+import io.pravega.segmentstore.contracts.ReadResultEntryContents;
+import io.pravega.segmentstore.server.CacheManager;
+import io.pravega.segmentstore.server.CachePolicy;
+import io.pravega.segmentstore.server.UpdateableContainerMetadata;
+import io.pravega.segmentstore.server.UpdateableSegmentMetadata;
+import io.pravega.segmentstore.server.containers.StreamSegmentContainerMetadata;
+import io.pravega.segmentstore.storage.CacheFactory;
+import io.pravega.segmentstore.storage.Storage;
+import io.pravega.segmentstore.storage.impl.directmemory.DirectMemoryCacheConfig;
+import io.pravega.segmentstore.storage.impl.directmemory.DirectMemoryCacheFactory;
+import io.pravega.segmentstore.storage.mocks.InMemoryCacheFactory;
+import io.pravega.segmentstore.storage.mocks.InMemoryStorageFactory;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for appending to and reading from the ReadIndex (ContainerReadIndex and StreamSegmentReadIndex), with all
+ * data residing in the Cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ReadIndexBenchmark {
+    private static final int CONTAINER_ID = 0;
+    private static final long MAX_CACHE_SIZE = 1024 * 1024 * 1024;
+    private static final long SEGMENT_ROLLOVER_SIZE = 64 * 1024 * 1024;
+    private static final int READ_SEGMENT_APPEND_COUNT = 10000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Param({"InMemory", "DirectMemory"})
+    private String cacheType;
+    @Param({"100", "1024"})
+    private int appendSize;
+    @Param({"8192"})
+    private int readSize;
+
+    private ScheduledExecutorService executor;
+    private UpdateableContainerMetadata metadata;
+    private CacheFactory cacheFactory;
+    private Storage storage;
+    private CacheManager cacheManager;
+    private ContainerReadIndex readIndex;
+    private ByteArraySegment appendData;
+    private long readSegmentId;
+    private long appendSegmentId;
+    private long nextSegmentId;
+    private long[] readOffsets;
+    private int nextReadOffset;
+    private byte[] readBuffer;
+
+    @Setup
+    public void setup() throws Exception {
+        this.executor = ExecutorServiceHelpers.newScheduledThreadPool(1, "read-index-benchmark");
+        this.metadata = new StreamSegmentContainerMetadata(CONTAINER_ID, 100000);
+        this.cacheFactory = "DirectMemory".equals(this.cacheType)
+                ? new DirectMemoryCacheFactory(DirectMemoryCacheConfig.builder().with(DirectMemoryCacheConfig.MAX_SIZE, MAX_CACHE_SIZE).build())
+                : new InMemoryCacheFactory();
+        this.storage = InMemoryStorageFactory.newStorage(this.executor);
+        this.storage.initialize(1);
+        this.cacheManager = new CacheManager(new CachePolicy(MAX_CACHE_SIZE, Duration.ofHours(1), Duration.ofHours(1)), this.executor);
+        ReadIndexConfig config = ReadIndexConfig.builder().build();
+        this.readIndex = new ContainerReadIndex(config, this.metadata, this.cacheFactory, this.storage, this.cacheManager, this.executor);
+
+        byte[] data = new byte[this.appendSize];
+        new Random(0).nextBytes(data);
+        this.appendData = new ByteArraySegment(data);
+
+        // Populate the segment used by the read benchmark.
+        this.readSegmentId = createSegment();
+        for (int i = 0; i < READ_SEGMENT_APPEND_COUNT; i++) {
+            append(this.readSegmentId);
+        }
+
+        long readSegmentLength = this.metadata.getStreamSegmentMetadata(this.readSegmentId).getLength();
+        Random rnd = new Random(0);
+        this.readOffsets = new long[1024];
+        for (int i = 0; i < this.readOffsets.length; i++) {
+            this.readOffsets[i] = (long) (rnd.nextDouble() * (readSegmentLength - this.readSize));
+        }
+
+        this.readBuffer = new byte[this.readSize];
+        this.appendSegmentId = createSegment();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.readIndex.close();
+        this.cacheManager.close();
+        this.storage.close();
+        this.cacheFactory.close();
+        ExecutorServiceHelpers.shutdown(this.executor);
+    }
+
+    /**
+     * Measures appends of a fixed size to a single segment. Every SEGMENT_ROLLOVER_SIZE bytes, the segment is deleted
+     * and a new one is created (to bound memory usage); the cost of doing so is amortized over all the appends.
+     */
+    @Benchmark
+    public void append() throws Exception {
+        if (this.metadata.getStreamSegmentMetadata(this.appendSegmentId).getLength() >= SEGMENT_ROLLOVER_SIZE) {
+            this.metadata.getStreamSegmentMetadata(this.appendSegmentId).markDeleted();
+            this.readIndex.cleanup(Collections.singleton(this.appendSegmentId));
+            this.appendSegmentId = createSegment();
+        }
+
+        append(this.appendSegmentId);
+    }
+
+    /**
+     * Measures reads of a fixed size, at random offsets, from a segment whose data is entirely cached.
+     */
+    @Benchmark
+    public int read() throws Exception {
+        long offset = this.readOffsets[this.nextReadOffset];
+        this.nextReadOffset = (this.nextReadOffset + 1) % this.readOffsets.length;
+        int bytesRead = 0;
+        try (ReadResult readResult = this.readIndex.read(this.readSegmentId, offset, this.readSize, TIMEOUT)) {
+            while (readResult.hasNext()) {
+                ReadResultEntry entry = readResult.next();
+                ReadResultEntryContents contents = entry.getContent().join();
+                bytesRead += StreamHelpers.readAll(contents.getData(), this.readBuffer, bytesRead, contents.getLength());
+            }
+        }
+
+        return bytesRead;
+    }
+
+    private long createSegment() {
+        long segmentId = this.nextSegmentId++;
+        UpdateableSegmentMetadata sm = this.metadata.mapStreamSegmentId("Segment_" + segmentId, segmentId);
+        sm.setLength(0);
+        sm.setStorageLength(0);
+        return segmentId;
+    }
+
+    private void append(long segmentId) throws Exception {
+        UpdateableSegmentMetadata sm = this.metadata.getStreamSegmentMetadata(segmentId);
+        long offset = sm.getLength();
+        sm.setLength(offset + this.appendData.getLength());
+        this.readIndex.append(segmentId, offset, this.appendData);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.reading;
+
+import io.pravega.common.util.AvlTreeIndex;
+import io.pravega.common.util.SortedIndex;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the ReadIndexConfig.IndexType implementations for a single Segment's ReadIndex entries, both in terms of
+ * performance and memory footprint. The memory footprint (retained heap per entry) is measured once per trial, after
+ * populating the index, and is printed to the benchmark output.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReadIndexEntriesBenchmark {
+    private static final int ENTRY_LENGTH = 1024;
+    private static final int LOOKUP_COUNT = 64 * 1024;
+
+    @Param({"AVL_TREE", "PACKED"})
+    private ReadIndexConfig.IndexType indexType;
+    @Param({"1000", "1000000"})
+    private int size;
+    private SortedIndex<ReadIndexEntry> index;
+    private long[] lookupOffsets;
+    private int lookupPosition;
+    private long nextOffset;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        long heapBefore = getUsedHeap();
+        this.index = this.indexType == ReadIndexConfig.IndexType.PACKED ? new PackedReadIndexEntries() : new AvlTreeIndex<>();
+        for (int i = 0; i < this.size; i++) {
+            this.index.put(new CacheIndexEntry((long) i * ENTRY_LENGTH, ENTRY_LENGTH));
+        }
+
+        long heapAfter = getUsedHeap();
+        System.out.printf("%n%s: %d entries, approximately %.1f bytes per entry.%n",
+                this.indexType, this.size, (double) (heapAfter - heapBefore) / this.size);
+
+        Random rnd = new Random(0);
+        this.lookupOffsets = new long[LOOKUP_COUNT];
+        for (int i = 0; i < this.lookupOffsets.length; i++) {
+            this.lookupOffsets[i] = (long) rnd.nextInt(this.size) * ENTRY_LENGTH + rnd.nextInt(ENTRY_LENGTH);
+        }
+
+        this.nextOffset = (long) this.size * ENTRY_LENGTH;
+    }
+
+    /**
+     * Measures floor lookups (used by the ReadIndex to locate the entry containing an offset).
+     */
+    @Benchmark
+    public ReadIndexEntry getFloor() {
+        return this.index.getFloor(nextLookupOffset());
+    }
+
+    /**
+     * Measures the insertion of an entry at the end of the Segment (appends), followed by the removal of the entry with
+     * the lowest offset (cache eviction), which keeps the size of the index constant.
+     */
+    @Benchmark
+    public ReadIndexEntry appendAndEvict() {
+        this.index.put(new CacheIndexEntry(this.nextOffset, ENTRY_LENGTH));
+        this.nextOffset += ENTRY_LENGTH;
+        return this.index.remove(this.index.getFirst().key());
+    }
+
+    private long nextLookupOffset() {
+        long offset = this.lookupOffsets[this.lookupPosition];
+        this.lookupPosition = (this.lookupPosition + 1) % this.lookupOffsets.length;
+        return offset;
+    }
+
+    private static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.shared.protocol.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for encoding and decoding WireCommands, using CommandEncoder, CommandDecoder and AppendDecoder the same way
+ * the client and the Segment Store pipelines do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class WireCommandsBenchmark {
+    private static final int APPEND_COUNT = 1000;
+    private static final int APPEND_BLOCK_SIZE = 256 * 1024;
+    private static final String SEGMENT = "Scope/Stream/0";
+    private static final UUID WRITER_ID = new UUID(1, 2);
+
+    @Param({"100", "1024", "10240"})
+    private int eventSize;
+    private ByteBuf eventData;
+    private ByteBuf encodedAppends;
+    private ByteBuf encodedSegmentRead;
+    private ByteBuf output;
+    private WireCommands.SegmentRead segmentRead;
+
+    @Setup
+    public void setup() throws Exception {
+        byte[] data = new byte[this.eventSize];
+        new Random(0).nextBytes(data);
+        this.eventData = Unpooled.wrappedBuffer(data);
+        this.segmentRead = new WireCommands.SegmentRead(SEGMENT, 0, false, false, ByteBuffer.wrap(data));
+        this.output = Unpooled.buffer(APPEND_COUNT * (this.eventSize + 64));
+        this.encodedAppends = Unpooled.buffer(APPEND_COUNT * (this.eventSize + 64));
+        encodeAppends(this.encodedAppends);
+        this.encodedSegmentRead = Unpooled.buffer(this.eventSize + 64);
+        new CommandEncoder(new FixedBatchSizeTracker()).encode(null, this.segmentRead, this.encodedSegmentRead);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.eventData.release();
+        this.output.release();
+        this.encodedAppends.release();
+        this.encodedSegmentRead.release();
+    }
+
+    /**
+     * Measures the client-side encoding of Appends into AppendBlocks.
+     */
+    @Benchmark
+    @OperationsPerInvocation(APPEND_COUNT)
+    public int encodeAppends() throws Exception {
+        this.output.clear();
+        encodeAppends(this.output);
+        return this.output.readableBytes();
+    }
+
+    /**
+     * Measures the server-side decoding of AppendBlocks back into Appends.
+     */
+    @Benchmark
+    @OperationsPerInvocation(APPEND_COUNT)
+    public void decodeAppends(Blackhole blackhole) throws Exception {
+        decode(this.encodedAppends.duplicate(), blackhole);
+    }
+
+    /**
+     * Measures the encoding of a single SegmentRead reply.
+     */
+    @Benchmark
+    public int encodeSegmentRead() throws Exception {
+        this.output.clear();
+        new CommandEncoder(new FixedBatchSizeTracker()).encode(null, this.segmentRead, this.output);
+        return this.output.readableBytes();
+    }
+
+    /**
+     * Measures the decoding of a single SegmentRead reply.
+     */
+    @Benchmark
+    public void decodeSegmentRead(Blackhole blackhole) throws Exception {
+        decode(this.encodedSegmentRead.duplicate(), blackhole);
+    }
+
+    private void encodeAppends(ByteBuf out) throws Exception {
+        CommandEncoder encoder = new CommandEncoder(new FixedBatchSizeTracker());
+        encoder.encode(null, new WireCommands.SetupAppend(1, WRITER_ID, SEGMENT, ""), out);
+        for (int i = 0; i < APPEND_COUNT; i++) {
+            Append append = new Append(SEGMENT, WRITER_ID, i, new WireCommands.Event(this.eventData.slice()));
+            encoder.encode(null, append, out);
+        }
+
+        // Any non-append command will close the current AppendBlock.
+        encoder.encode(null, new WireCommands.KeepAlive(), out);
+    }
+
+    private void decode(ByteBuf in, Blackhole blackhole) throws Exception {
+        LengthDecoder lengthDecoder = new LengthDecoder();
+        AppendDecoder appendDecoder = new AppendDecoder();
+        ByteBuf frame = (ByteBuf) lengthDecoder.decode(null, in);
+        while (frame != null) {
+            try {
+                WireCommand command = CommandDecoder.parseCommand(frame);
+                if (appendDecoder.acceptInboundMessage(command)) {
+                    blackhole.consume(appendDecoder.processCommand(command));
+                } else {
+                    blackhole.consume(command);
+                }
+            } finally {
+                frame.release();
+            }
+
+            frame = (ByteBuf) lengthDecoder.decode(null, in);
+        }
+    }
+
+    private static class FixedBatchSizeTracker implements AppendBatchSizeTracker {
+        @Override
+        public void recordAppend(long eventNumber, int size) {
+        }
+
+        @Override
+        public void recordAck(long eventNumber) {
+        }
+
+        @Override
+        public int getAppendBlockSize() {
+            return APPEND_BLOCK_SIZE;
+        }
+
+        @Override
+        public int getBatchTimeout() {
+            return 0;
+        }
+    }
+
+    private static class LengthDecoder extends LengthFieldBasedFrameDecoder {
+        LengthDecoder() {
+            super(WireCommands.MAX_WIRECOMMAND_SIZE, 4, 4);
+        }
+
+        @Override
+        protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
+            return super.decode(ctx, in);
+        }
+    }
+}
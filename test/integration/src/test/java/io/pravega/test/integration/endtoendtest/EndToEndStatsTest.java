@@ -165,6 +165,11 @@ public class EndToEndStatsTest {
             });
         }
 
+        @Override
+        public void recordAppendQueueTime(Duration elapsed) {
+
+        }
+
         @Override
         public void merge(String streamSegmentName, long dataLength, int numOfEvents, long txnCreationTime) {
             segments.computeIfPresent(streamSegmentName, (x, y) -> {